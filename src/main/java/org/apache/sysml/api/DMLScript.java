@@ -79,6 +79,7 @@ import org.apache.sysml.parser.ParserFactory;
 import org.apache.sysml.parser.ParserWrapper;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.codegen.CodegenClassCache;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
@@ -697,6 +698,7 @@ public class DMLScript
 					dmlconf.getBooleanValue(DMLConfig.CODEGEN_PLANCACHE),
 					dmlconf.getIntValue(DMLConfig.CODEGEN_LITERALS)==2);
 			SpoofCompiler.setExecTypeSpecificJavaCompiler();
+			CodegenClassCache.init(dmlconf.getTextValue(DMLConfig.CODEGEN_CLASSCACHE));
 			if( SpoofCompiler.INTEGRATION==IntegrationType.HOPS )
 				dmlt.codgenHopsDAG(prog);
 		}
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Batched scoring over a prepared script, which coalesces many small
+ * scoring requests (e.g., single rows) into one input matrix, executes
+ * the script once, and splits the output rows back into per-request
+ * results. This amortizes the interpretation overhead across requests
+ * but is only valid for row-independent scripts (e.g., GLM-predict or
+ * l2-svm-predict), where the i-th output row depends only on the i-th
+ * input row.
+ *
+ * Requests are submitted asynchronously and executed by a background
+ * thread, which triggers a batch once the number of pending rows reaches
+ * the maximum batch size or the oldest pending request waited for the
+ * maximum delay. All other inputs (e.g., the model) need to be bound to
+ * the prepared script with reuse before the first request is submitted.
+ *
+ * <pre>
+ * BatchedScript bscript = new BatchedScript(pstmt, "X", "predicted_y", 1024, 5);
+ * Future&lt;MatrixBlock&gt; y = bscript.submit(x);
+ * ...
+ * bscript.close();
+ * </pre>
+ */
+public class BatchedScript implements Closeable
+{
+	//marker of the last request after close
+	private static final ScoringRequest CLOSE = new ScoringRequest(null);
+
+	private final PreparedScript _pstmt;
+	private final String _inVarname;
+	private final String _outVarname;
+	private final int _maxBatchRows;
+	private final long _maxDelay; //in ms
+
+	private final LinkedBlockingQueue<ScoringRequest> _queue;
+	private final Thread _worker;
+	private boolean _closed = false;
+
+	/**
+	 * Creates a batched script and starts its background worker.
+	 *
+	 * @param pstmt prepared script with bound reused inputs
+	 * @param inVarname registered input variable of batched rows
+	 * @param outVarname registered output variable of scored rows
+	 * @param maxBatchRows size trigger, i.e., maximum number of rows per batch
+	 * @param maxDelay latency trigger, i.e., maximum wait time of a request in ms
+	 */
+	public BatchedScript(PreparedScript pstmt, String inVarname, String outVarname, int maxBatchRows, long maxDelay) {
+		_pstmt = pstmt;
+		_inVarname = inVarname;
+		_outVarname = outVarname;
+		_maxBatchRows = Math.max(maxBatchRows, 1);
+		_maxDelay = Math.max(maxDelay, 0);
+		_queue = new LinkedBlockingQueue<ScoringRequest>();
+
+		_worker = new Thread(new BatchWorker(), "BatchedScript-worker");
+		_worker.setDaemon(true);
+		_worker.start();
+	}
+
+	/**
+	 * Submits a scoring request of one or multiple rows.
+	 *
+	 * @param in input rows
+	 * @return future of the output rows
+	 * @throws DMLException if the batched script is already closed
+	 */
+	public Future<MatrixBlock> submit(MatrixBlock in)
+		throws DMLException
+	{
+		ScoringRequest req = new ScoringRequest(in);
+		synchronized( _queue ) {
+			if( _closed )
+				throw new DMLException("Batched script already closed.");
+			_queue.add(req);
+		}
+		return req;
+	}
+
+	/**
+	 * Submits a scoring request of one or multiple rows.
+	 *
+	 * @param in input rows as two-dimensional double array
+	 * @return future of the output rows
+	 * @throws DMLException if the batched script is already closed
+	 */
+	public Future<MatrixBlock> submit(double[][] in)
+		throws DMLException
+	{
+		return submit(DataConverter.convertToMatrixBlock(in));
+	}
+
+	/**
+	 * Synchronously scores the given requests in batches of at most the
+	 * maximum batch size, without waiting for additional requests.
+	 *
+	 * @param in list of input rows
+	 * @return list of output rows, aligned with the inputs
+	 * @throws DMLException if DMLException occurs
+	 */
+	public List<MatrixBlock> scoreAll(List<MatrixBlock> in)
+		throws DMLException
+	{
+		ArrayList<MatrixBlock> ret = new ArrayList<MatrixBlock>();
+		ArrayList<MatrixBlock> batch = new ArrayList<MatrixBlock>();
+		int rows = 0;
+		for( MatrixBlock mb : in ) {
+			if( !batch.isEmpty() && rows + mb.getNumRows() > _maxBatchRows ) {
+				ret.addAll(executeBatch(batch));
+				batch.clear();
+				rows = 0;
+			}
+			batch.add(mb);
+			rows += mb.getNumRows();
+		}
+		if( !batch.isEmpty() )
+			ret.addAll(executeBatch(batch));
+		return ret;
+	}
+
+	/**
+	 * Closes the batched script, which scores all pending requests
+	 * and subsequently stops the background worker.
+	 */
+	@Override
+	public void close() {
+		synchronized( _queue ) {
+			if( _closed )
+				return;
+			_closed = true;
+			_queue.add(CLOSE);
+		}
+		try {
+			_worker.join();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private synchronized List<MatrixBlock> executeBatch(List<MatrixBlock> batch)
+		throws DMLException
+	{
+		//rbind all request inputs into a single matrix
+		MatrixBlock in = batch.get(0);
+		if( batch.size() > 1 ) {
+			int rlen = 0, clen = in.getNumColumns();
+			long nnz = 0;
+			for( MatrixBlock mb : batch ) {
+				if( mb.getNumColumns() != clen )
+					throw new DMLException("Incompatible number of columns in batched requests: "
+						+ mb.getNumColumns()+" vs "+clen+".");
+				rlen += mb.getNumRows();
+				nnz += mb.getNonZeros();
+			}
+			in = new MatrixBlock(rlen, clen,
+				MatrixBlock.evalSparseFormatInMemory(rlen, clen, nnz), nnz);
+			int rl = 0;
+			for( MatrixBlock mb : batch ) {
+				if( mb.getNumRows() > 0 )
+					in.copy(rl, rl+mb.getNumRows()-1, 0, clen-1, mb, false);
+				rl += mb.getNumRows();
+			}
+			in.setNonZeros(nnz);
+		}
+
+		//execute script once for entire batch
+		_pstmt.setMatrix(_inVarname, in, false);
+		MatrixBlock out = _pstmt.executeScript().getMatrixBlock(_outVarname);
+		if( out.getNumRows() != in.getNumRows() )
+			throw new DMLException("Batched scoring requires row-independent scripts, but "
+				+ "output rows ("+out.getNumRows()+") do not match input rows ("+in.getNumRows()+").");
+
+		//split output rows into per-request results
+		ArrayList<MatrixBlock> ret = new ArrayList<MatrixBlock>();
+		if( batch.size() == 1 ) {
+			ret.add(out);
+			return ret;
+		}
+		int rl = 0;
+		for( MatrixBlock mb : batch ) {
+			int nrow = mb.getNumRows();
+			ret.add( (nrow > 0) ? out.sliceOperations(rl, rl+nrow-1,
+				0, out.getNumColumns()-1, new MatrixBlock()) :
+				new MatrixBlock(0, out.getNumColumns(), true) );
+			rl += nrow;
+		}
+		return ret;
+	}
+
+	private class BatchWorker implements Runnable
+	{
+		@Override
+		public void run() {
+			ArrayList<ScoringRequest> batch = new ArrayList<ScoringRequest>();
+			ArrayList<MatrixBlock> inputs = new ArrayList<MatrixBlock>();
+			boolean done = false;
+
+			while( !done ) {
+				try {
+					//wait for first request of next batch
+					ScoringRequest req = _queue.take();
+					if( req == CLOSE )
+						break;
+					batch.add(req);
+					int rows = req._in.getNumRows();
+
+					//collect requests until size or latency trigger
+					long deadline = System.nanoTime() + _maxDelay * 1000000;
+					while( rows < _maxBatchRows ) {
+						long remaining = deadline - System.nanoTime();
+						req = (remaining > 0) ?
+							_queue.poll(remaining, TimeUnit.NANOSECONDS) : _queue.poll();
+						if( req == null )
+							break;
+						if( req == CLOSE ) {
+							done = true;
+							break;
+						}
+						batch.add(req);
+						rows += req._in.getNumRows();
+					}
+				}
+				catch(InterruptedException ex) {
+					//score pending requests and terminate
+					done = true;
+				}
+
+				//score batch and complete request futures
+				if( batch.isEmpty() )
+					continue;
+				try {
+					for( ScoringRequest lreq : batch )
+						inputs.add(lreq._in);
+					List<MatrixBlock> outputs = executeBatch(inputs);
+					for( int i=0; i<batch.size(); i++ )
+						batch.get(i).complete(outputs.get(i), null);
+				}
+				catch(Exception ex) {
+					for( ScoringRequest lreq : batch )
+						lreq.complete(null, ex);
+				}
+				batch.clear();
+				inputs.clear();
+			}
+
+			//fail remaining requests on abnormal termination
+			ScoringRequest req = null;
+			while( (req = _queue.poll()) != null )
+				if( req != CLOSE )
+					req.complete(null, new DMLException("Batched script terminated."));
+		}
+	}
+
+	private static class ScoringRequest implements Future<MatrixBlock>
+	{
+		private final MatrixBlock _in;
+		private final CountDownLatch _latch;
+		private MatrixBlock _out = null;
+		private Exception _ex = null;
+
+		public ScoringRequest(MatrixBlock in) {
+			_in = in;
+			_latch = new CountDownLatch(1);
+		}
+
+		public void complete(MatrixBlock out, Exception ex) {
+			_out = out;
+			_ex = ex;
+			_latch.countDown();
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return false; //not supported
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			return _latch.getCount() == 0;
+		}
+
+		@Override
+		public MatrixBlock get()
+			throws InterruptedException, ExecutionException
+		{
+			_latch.await();
+			return getResult();
+		}
+
+		@Override
+		public MatrixBlock get(long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException
+		{
+			if( !_latch.await(timeout, unit) )
+				throw new TimeoutException();
+			return getResult();
+		}
+
+		private MatrixBlock getResult()
+			throws ExecutionException
+		{
+			if( _ex != null )
+				throw new ExecutionException(_ex);
+			return _out;
+		}
+	}
+}
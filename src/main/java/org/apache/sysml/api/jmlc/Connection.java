@@ -93,6 +93,7 @@ import org.apache.wink.json4j.JSONObject;
 public class Connection implements Closeable
 {		
 	private DMLConfig _dmlconf = null;
+	private CompilerConfig _cconf = null;
 
 	/**
 	 * Connection constructor, the starting point for any other JMLC API calls.
@@ -118,6 +119,7 @@ public class Connection implements Closeable
 		cconf.set(ConfigType.ALLOW_INDIVIDUAL_SB_SPECIFIC_OPS, false);
 		cconf.set(ConfigType.ALLOW_CSE_PERSISTENT_READS, false);
 		ConfigurationManager.setLocalConfig(cconf);
+		_cconf = cconf;
 		
 		//disable caching globally 
 		CacheableData.disableCaching();
@@ -159,6 +161,13 @@ public class Connection implements Closeable
 	{
 		DMLScript.SCRIPT_TYPE = parsePyDML ? ScriptType.PYDML : ScriptType.DML;
 
+		//setup thread-local configs (connection might be used by other threads),
+		//which are restored after compilation to leave the calling thread unchanged
+		DMLConfig dmlconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		ConfigurationManager.setLocalConfig(_dmlconf);
+		ConfigurationManager.setLocalConfig(_cconf);
+		
 		//prepare arguments
 		
 		//simplified compilation chain
@@ -199,9 +208,13 @@ public class Connection implements Closeable
 		catch(Exception ex) {
 			throw new DMLException(ex);
 		}
+		finally {
+			ConfigurationManager.setLocalConfig(dmlconf);
+			ConfigurationManager.setLocalConfig(cconf);
+		}
 			
 		//return newly create precompiled script 
-		return new PreparedScript(rtprog, inputs, outputs);
+		return new PreparedScript(rtprog, inputs, outputs, _dmlconf, _cconf);
 	}
 	
 	/**
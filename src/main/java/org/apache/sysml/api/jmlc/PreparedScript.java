@@ -19,8 +19,6 @@
 
 package org.apache.sysml.api.jmlc;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,7 +26,10 @@ import java.util.List;
 import java.util.Map.Entry;
 
 import org.apache.sysml.api.DMLException;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
@@ -50,10 +51,16 @@ import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.utils.ExecutionStatistics;
 import org.apache.sysml.utils.Explain;
 
 /**
  * Representation of a prepared (precompiled) DML/PyDML script.
+ * 
+ * A prepared script is not thread-safe with regard to binding inputs, but
+ * each execution uses a private symbol table and the configurations of its
+ * connection. Hence, multiple threads can concurrently score the same
+ * precompiled program via independent copies (see {@link #copy()}).
  */
 public class PreparedScript 
 {
@@ -61,22 +68,32 @@ public class PreparedScript
 	private HashSet<String> _inVarnames = null;
 	private HashSet<String> _outVarnames = null;
 	private HashMap<String,Data> _inVarReuse = null;
+	private boolean _stats = false;
+	private boolean _bypassBufferPool = false;
 	
 	//internal state (reused)
 	private Program _prog = null;
 	private LocalVariableMap _vars = null; 
 	
+	//configurations of the creating connection
+	private DMLConfig _dmlconf = null;
+	private CompilerConfig _cconf = null;
+	
 	/**
 	 * Meant to be invoked only from Connection.
 	 * 
 	 * @param prog the DML/PyDML program
 	 * @param inputs input variables to register
 	 * @param outputs output variables to register
+	 * @param dmlconf dml configuration of the connection
+	 * @param cconf compiler configuration of the connection
 	 */
-	protected PreparedScript( Program prog, String[] inputs, String[] outputs ) 
+	protected PreparedScript( Program prog, String[] inputs, String[] outputs, DMLConfig dmlconf, CompilerConfig cconf ) 
 	{
 		_prog = prog;
 		_vars = new LocalVariableMap();
+		_dmlconf = dmlconf;
+		_cconf = cconf;
 		
 		//populate input/output vars
 		_inVarnames = new HashSet<String>();
@@ -86,6 +103,48 @@ public class PreparedScript
 		_inVarReuse = new HashMap<String, Data>();
 	}
 	
+	/**
+	 * Creates a shallow copy of this prepared script, which shares the
+	 * precompiled runtime program and reused inputs but has its own bound
+	 * inputs. This allows concurrent executions of the same script from
+	 * multiple threads (one copy per thread) without recompilation. 
+	 * 
+	 * @return new prepared script sharing the runtime program
+	 */
+	public PreparedScript copy() {
+		PreparedScript ret = new PreparedScript(_prog, new String[0], new String[0], _dmlconf, _cconf);
+		ret._inVarnames = _inVarnames;
+		ret._outVarnames = _outVarnames;
+		ret._inVarReuse.putAll(_inVarReuse);
+		ret._stats = _stats;
+		ret._bypassBufferPool = _bypassBufferPool;
+		return ret;
+	}
+	
+	/**
+	 * Enables the collection of per-execution statistics, which are
+	 * returned with the results of each <code>executeScript</code> call
+	 * (see {@link ResultVariables#getStatistics()}), independent of 
+	 * concurrent executions of copies of this script.
+	 * 
+	 * @param stats if {@code true}, collect per-execution statistics
+	 */
+	public void setStatistics(boolean stats) {
+		_stats = stats;
+	}
+	
+	/**
+	 * Enables the execution over plain in-memory matrix and frame blocks,
+	 * where inputs and intermediates are not subject to buffer pool 
+	 * bookkeeping (acquire/release, pinning, and eviction checks). This 
+	 * reduces the per-call overhead of small scoring requests.
+	 * 
+	 * @param flag if {@code true}, bypass the buffer pool
+	 */
+	public void setBufferPoolBypass(boolean flag) {
+		_bypassBufferPool = flag;
+	}
+	
 	/**
 	 * Binds a scalar boolean to a registered input variable.
 	 * 
@@ -235,14 +294,18 @@ public class PreparedScript
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 				
-		int blocksize = ConfigurationManager.getBlocksize();
+		int blocksize = _cconf.getInt(ConfigType.BLOCK_SIZE);
 		
 		//create new matrix object
 		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
 		MatrixFormatMetaData meta = new MatrixFormatMetaData(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
 		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, OptimizerUtils.getUniqueTempFileName(), meta);
-		mo.acquireModify(matrix); 
-		mo.release();
+		if( _bypassBufferPool )
+			mo.acquireModifyInMemory(matrix);
+		else {
+			mo.acquireModify(matrix); 
+			mo.release();
+		}
 		
 		//put create matrix wrapper into symbol table
 		_vars.put(varname, mo);
@@ -348,8 +411,12 @@ public class PreparedScript
 		MatrixCharacteristics mc = new MatrixCharacteristics(frame.getNumRows(), frame.getNumColumns(), -1, -1);
 		MatrixFormatMetaData meta = new MatrixFormatMetaData(mc, OutputInfo.BinaryCellOutputInfo, InputInfo.BinaryCellInputInfo);
 		FrameObject fo = new FrameObject(OptimizerUtils.getUniqueTempFileName(), meta);
-		fo.acquireModify(frame);
-		fo.release();
+		if( _bypassBufferPool )
+			fo.acquireModifyInMemory(frame);
+		else {
+			fo.acquireModify(frame);
+			fo.release();
+		}
 		
 		//put create matrix wrapper into symbol table
 		_vars.put(varname, fo);
@@ -377,28 +444,49 @@ public class PreparedScript
 	public ResultVariables executeScript() 
 		throws DMLException
 	{
+		//create private symbol table for this execution, in order to allow 
+		//concurrent executions of clones that share the runtime program
+		LocalVariableMap vars = new LocalVariableMap(_vars);
+		_vars.removeAll();
+		
 		//add reused variables
 		for( Entry<String,Data> e : _inVarReuse.entrySet() )
-			_vars.put(e.getKey(), e.getValue());
+			vars.put(e.getKey(), e.getValue());
 		
-		//create and populate execution context
-		ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
-		ec.setVariables(_vars);
+		//setup thread-local configs of the creating connection 
+		//(executing thread might differ from the creating thread)
+		DMLConfig dmlconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		ConfigurationManager.setLocalConfig(_dmlconf);
+		ConfigurationManager.setLocalConfig(_cconf);
 		
-		//core execute runtime program	
-		_prog.execute( ec );  
+		//create per-execution statistics if requested
+		ExecutionStatistics stats = _stats ? new ExecutionStatistics() : null;
 		
-		//cleanup unnecessary outputs
-		Collection<String> tmpVars = new ArrayList<String>(_vars.keySet());
-		for( String var :  tmpVars )
-			if( !_outVarnames.contains(var) )
-				_vars.remove(var);
+		try {
+			//create and populate execution context
+			ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
+			ec.setVariables(vars);
+			ec.setStatistics(stats);
+			ec.setBufferPoolBypass(_bypassBufferPool);
+			
+			//core execute runtime program	
+			long t0 = _stats ? System.nanoTime() : 0;
+			_prog.execute( ec );  
+			if( _stats )
+				stats.setExecTime(System.nanoTime()-t0);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(dmlconf);
+			ConfigurationManager.setLocalConfig(cconf);
+		}
 		
 		//construct results
 		ResultVariables rvars = new ResultVariables();
+		rvars.setStatistics(stats);
 		for( String ovar : _outVarnames )
-			if( _vars.keySet().contains(ovar) )
-				rvars.addResult(ovar, _vars.get(ovar));
+			if( vars.keySet().contains(ovar) )
+				rvars.addResult(ovar, vars.get(ovar));
 			
 		return rvars;
 	}
@@ -30,6 +30,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.utils.ExecutionStatistics;
 
 /**
  * A ResultVariables object holds the data returned by a call
@@ -41,6 +42,7 @@ public class ResultVariables
 {
 	
 	private HashMap<String, Data> _out = null;
+	private ExecutionStatistics _stats = null;
 	
 	public ResultVariables()
 	{
@@ -96,6 +98,33 @@ public class ResultVariables
 		return ret;
 	}
 	
+	/**
+	 * Obtain the matrix block represented by the given output variable.
+	 * 
+	 * @param varname output variable name
+	 * @return matrix as matrix block
+	 * @throws DMLException if DMLException occurs
+	 */
+	public MatrixBlock getMatrixBlock(String varname) 
+		throws DMLException
+	{
+		if( !_out.containsKey(varname) )
+			throw new DMLException("Non-existent output variable: "+varname);
+		
+		Data dat = _out.get(varname);
+		
+		//basic checks for data type	
+		if( !(dat instanceof MatrixObject) )
+			throw new DMLException("Expected matrix result '"+varname+"' not a matrix.");
+		
+		//obtain output matrix block (pinned in memory)
+		MatrixObject mo = (MatrixObject)dat;
+		MatrixBlock ret = mo.acquireRead();
+		mo.release();
+		
+		return ret;
+	}
+	
 	/**
 	 * Obtain the frame represented by the given output variable.
 	 * 
@@ -208,4 +237,18 @@ public class ResultVariables
 	{
 		_out.put(ovar, data);
 	}
+	
+	/**
+	 * Obtain the statistics of the execution that produced these results,
+	 * if enabled via {@link PreparedScript#setStatistics(boolean)}.
+	 * 
+	 * @return per-execution statistics, or null if not enabled
+	 */
+	public ExecutionStatistics getStatistics() {
+		return _stats;
+	}
+	
+	protected void setStatistics(ExecutionStatistics stats) {
+		_stats = stats;
+	}
 }
@@ -178,6 +178,21 @@ public class ConfigurationManager
 		return getCompilerConfigFlag(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR);
 	}
 	
+	public static boolean isCompressionEnabled() {
+		DMLConfig dconf = getDMLConfig();
+		return (dconf!=null) && dconf.getBooleanValue(DMLConfig.COMPRESSED_LINALG);
+	}
+	
+	public static boolean isCodegenAsyncCompilation() {
+		DMLConfig dconf = getDMLConfig();
+		return (dconf!=null) && dconf.getBooleanValue(DMLConfig.CODEGEN_ASYNC);
+	}
+	
+	public static double getCompressionErrorBound() {
+		DMLConfig dconf = getDMLConfig();
+		return (dconf!=null) ? dconf.getDoubleValue(DMLConfig.COMPRESSED_LOSSY) : 0;
+	}
+	
 	
 	///////////////////////////////////////
 	// Thread-local classes
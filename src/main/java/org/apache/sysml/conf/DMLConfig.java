@@ -71,10 +71,13 @@ public class DMLConfig
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
 	public static final String COMPRESSED_LINALG    = "compressed.linalg";
+	public static final String COMPRESSED_LOSSY     = "compressed.linalg.lossy"; //max rel error, 0 for lossless
 	public static final String NATIVE_BLAS    			= "native.blas";
 	public static final String CODEGEN              = "codegen.enabled"; //boolean
 	public static final String CODEGEN_PLANCACHE    = "codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE   = "codegen.classcache"; //local dir, none for disabled
+	public static final String CODEGEN_ASYNC        = "codegen.async"; //boolean
 	public static final String EXTRA_GPU_STATS			= "systemml.stats.extraGPU"; //boolean
 	public static final String EXTRA_DNN_STATS			= "systemml.stats.extraDNN"; //boolean
 	public static final String MAX_GPUS_PER_PROCESS = "systemml.gpu.perProcessMax"; // boolean, maximum number of gpus to use, -1 for all
@@ -113,9 +116,12 @@ public class DMLConfig
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
 		_defaultVals.put(COMPRESSED_LINALG,      "false" );
+		_defaultVals.put(COMPRESSED_LOSSY,       "0" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "none" );
+		_defaultVals.put(CODEGEN_ASYNC,          "false" );
 		_defaultVals.put(NATIVE_BLAS,      			 "none" );
 
 		_defaultVals.put(EXTRA_GPU_STATS,       "false" );
@@ -403,7 +409,7 @@ public class DMLConfig
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
 				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, NATIVE_BLAS,
-				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE,
+				COMPRESSED_LINALG, COMPRESSED_LOSSY, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE, CODEGEN_CLASSCACHE, CODEGEN_ASYNC,
 				EXTRA_GPU_STATS, EXTRA_DNN_STATS
 		}; 
 		
@@ -368,11 +368,17 @@ public abstract class Hop
 					setRequiresRecompile();
 				}
 			
+				//compress checkpoints of read-only persistent reads only (as in CP), 
+				//but not intermediates that are potentially checkpointed per iteration
+				boolean compress = getDataType()==DataType.MATRIX && Checkpoint.CHECKPOINT_COMPRESSED
+					&& ConfigurationManager.isCompressionEnabled() && getDim2() != 1
+					&& this instanceof DataOp && ((DataOp)this).getDataOpType()==DataOpTypes.PERSISTENTREAD;
+				
 				//construct checkpoint w/ right storage level
 				Lop input = getLops();			
 				Lop chkpoint = new Checkpoint(input, getDataType(), getValueType(), 
 						serializedStorage ? Checkpoint.getSerializeStorageLevelString() :
-								            Checkpoint.getDefaultStorageLevelString() );
+								            Checkpoint.getDefaultStorageLevelString(), compress );
 				
 				setOutputDimensions( chkpoint );
 				setLineNumbers( chkpoint );
@@ -1072,7 +1078,7 @@ public abstract class Hop
 	public enum ParamBuiltinOp {
 		INVALID, CDF, INVCDF, GROUPEDAGG, RMEMPTY, REPLACE, REXPAND, 
 		TRANSFORMAPPLY, TRANSFORMDECODE, TRANSFORMMETA,
-		TOSTRING
+		TOSTRING, QUANTILEAPPROX, COUNTDISTINCTAPPROX
 	};
 
 	public enum FileFormatTypes {
@@ -1335,6 +1341,8 @@ public abstract class Hop
 		HopsParameterizedBuiltinLops.put(ParamBuiltinOp.TRANSFORMDECODE, org.apache.sysml.lops.ParameterizedBuiltin.OperationTypes.TRANSFORMDECODE);
 		HopsParameterizedBuiltinLops.put(ParamBuiltinOp.TRANSFORMMETA, org.apache.sysml.lops.ParameterizedBuiltin.OperationTypes.TRANSFORMMETA);
 		HopsParameterizedBuiltinLops.put(ParamBuiltinOp.TOSTRING, org.apache.sysml.lops.ParameterizedBuiltin.OperationTypes.TOSTRING);		
+		HopsParameterizedBuiltinLops.put(ParamBuiltinOp.QUANTILEAPPROX, org.apache.sysml.lops.ParameterizedBuiltin.OperationTypes.QUANTILEAPPROX);
+		HopsParameterizedBuiltinLops.put(ParamBuiltinOp.COUNTDISTINCTAPPROX, org.apache.sysml.lops.ParameterizedBuiltin.OperationTypes.COUNTDISTINCTAPPROX);
 	}
 
 	protected static final HashMap<Hop.OpOp2, String> HopsOpOp2String;
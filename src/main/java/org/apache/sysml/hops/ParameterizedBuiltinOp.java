@@ -213,7 +213,9 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 			case TRANSFORMAPPLY: 
 			case TRANSFORMDECODE: 
 			case TRANSFORMMETA: 
-			case TOSTRING: {
+			case TOSTRING: 
+			case QUANTILEAPPROX: 
+			case COUNTDISTINCTAPPROX: {
 				ExecType et = optFindExecType();			
 				ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops,
 						HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et);
@@ -949,7 +951,7 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 	@Override
 	protected long[] inferOutputCharacteristics( MemoTable memo )
 	{
-		//Notes: CDF, TOSTRING always known because scalar outputs
+		//Notes: CDF, TOSTRING, sketches always known because scalar outputs
 		
 		long[] ret = null;
 	
@@ -1056,6 +1058,11 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 		return ret;
 	}
 	
+	public boolean isSketchOperation() {
+		return (_op == ParamBuiltinOp.QUANTILEAPPROX 
+			|| _op == ParamBuiltinOp.COUNTDISTINCTAPPROX);
+	}
+	
 	@Override 
 	public boolean allowsAllExecTypes()
 	{
@@ -1098,7 +1105,8 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 			|| _op == ParamBuiltinOp.TRANSFORMDECODE && REMOTE==ExecType.MR
 			|| _op == ParamBuiltinOp.TRANSFORMMETA 
 			|| _op == ParamBuiltinOp.TOSTRING 
-			|| _op == ParamBuiltinOp.CDF || _op == ParamBuiltinOp.INVCDF) {
+			|| _op == ParamBuiltinOp.CDF || _op == ParamBuiltinOp.INVCDF
+			|| (isSketchOperation() && REMOTE==ExecType.MR) ) {
 			_etype = ExecType.CP;
 		}
 		
@@ -1116,7 +1124,9 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 		{
 			case CDF:
 			case INVCDF:	
-				//do nothing; CDF is a scalar
+			case QUANTILEAPPROX:
+			case COUNTDISTINCTAPPROX:
+				//do nothing; CDF and sketches are scalars
 				break;
 			
 			case GROUPEDAGG: { 
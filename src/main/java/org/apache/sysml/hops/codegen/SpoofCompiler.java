@@ -28,6 +28,11 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +40,7 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.sysml.api.DMLException;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.codegen.cplan.CNode;
 import org.apache.sysml.hops.codegen.cplan.CNodeCell;
 import org.apache.sysml.hops.codegen.cplan.CNodeData;
@@ -149,6 +155,18 @@ public class SpoofCompiler
 	//note: if PLAN_CACHE_SIZE is exceeded, we evict the least-recently-used plan (LRU policy)
 	private static final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
 	
+	//background compilation of fused operators during dynamic recompilation, where
+	//pending cplans are compiled once and fall back to unfused operators meanwhile
+	private static final Set<CNode> asyncPending = 
+			Collections.newSetFromMap(new ConcurrentHashMap<CNode, Boolean>());
+	private static ExecutorService asyncPool = null;
+	
+	//thread-local indicator if the last optimize call kept unfused fallback operators,
+	//used by the recompiler to retain recompilation flags until the class is available
+	private static final ThreadLocal<Boolean> asyncFallback = new ThreadLocal<Boolean>() {
+		@Override protected Boolean initialValue() { return false; }
+	};
+	
 	private static ProgramRewriter rewriteCSE = new ProgramRewriter(
 			new RewriteCommonSubexpressionElimination(true),
 			new RewriteRemoveUnnecessaryCasts());
@@ -335,6 +353,7 @@ public class SpoofCompiler
 	public static ArrayList<Hop> optimize(ArrayList<Hop> roots, boolean recompile) 
 		throws DMLRuntimeException 
 	{
+		asyncFallback.set(false);
 		if( roots == null || roots.isEmpty() )
 			return roots;
 	
@@ -359,6 +378,10 @@ public class SpoofCompiler
 				LOG.trace("Codegen EXPLAIN (before optimize): \n"+Explain.explainHops(roots));
 			}
 			
+			//asynchronous class compilation only during dynamic recompilation
+			boolean async = ConfigurationManager.isCodegenAsyncCompilation() 
+				&& recompile && PLAN_CACHE_POLICY!=PlanCachePolicy.NONE;
+			
 			//source code generation for all cplans
 			HashMap<Long, Pair<Hop[],Class<?>>> clas = new HashMap<Long, Pair<Hop[],Class<?>>>();
 			for( Entry<Long, Pair<Hop[],CNodeTpl>> cplan : cplans.entrySet() ) 
@@ -366,7 +389,11 @@ public class SpoofCompiler
 				Pair<Hop[],CNodeTpl> tmp = cplan.getValue();
 				Class<?> cla = planCache.getPlan(tmp.getValue());
 				
-				if( cla == null ) {
+				if( cla == null && async && asyncPending.contains(tmp.getValue()) ) {
+					//pending background compilation, keep unfused operators
+					asyncFallback.set(true);
+				}
+				else if( cla == null ) {
 					//generate java source code
 					String src = tmp.getValue().codegen(false);
 					
@@ -383,13 +410,23 @@ public class SpoofCompiler
 						LOG.info(src);
 					}
 					
-					//compile generated java source code
-					cla = CodegenUtils.compileClass("codegen."+
+					if( async ) {
+						//compile generated java source code in the background, and keep 
+						//unfused operators until the compiled class becomes available 
+						//via the plan cache in subsequent recompilations
+						compileClassAsync(tmp.getValue(), "codegen."+
 							tmp.getValue().getClassname(), src);
-					
-					//maintain plan cache
-					if( PLAN_CACHE_POLICY!=PlanCachePolicy.NONE )
-						planCache.putPlan(tmp.getValue(), cla);
+						asyncFallback.set(true);
+					}
+					else {
+						//compile generated java source code
+						cla = CodegenUtils.compileClass("codegen."+
+								tmp.getValue().getClassname(), src);
+						
+						//maintain plan cache
+						if( PLAN_CACHE_POLICY!=PlanCachePolicy.NONE )
+							planCache.putPlan(tmp.getValue(), cla);
+					}
 				}
 				else if( DMLScript.STATISTICS ) {
 					Statistics.incrementCodegenPlanCacheHits();
@@ -437,7 +474,57 @@ public class SpoofCompiler
 		if( PLAN_CACHE_POLICY != PlanCachePolicy.NONE ) {
 			CodegenUtils.clearClassCache(); //class cache
 			planCache.clear(); //plan cache
+			asyncPending.clear(); //pending compilations
+		}
+	}
+	
+	private static void compileClassAsync(final CNodeTpl cplan, final String name, final String src) {
+		//avoid redundant compilation of equivalent cplans
+		if( !asyncPending.add(cplan) )
+			return;
+		getAsyncPool().submit(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Class<?> cla = CodegenUtils.compileClass(name, src);
+					planCache.putPlan(cplan, cla);
+				}
+				catch(Exception ex) {
+					LOG.error("Failed asynchronous compilation of class "+name+".", ex);
+				}
+				finally {
+					asyncPending.remove(cplan);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Indicates if the last call to {@link #optimize(ArrayList, boolean)} of the 
+	 * current thread kept unfused operators because of pending background compilation.
+	 * In this case, the recompiler retains the recompilation flags such that the 
+	 * compiled fused operators are swapped in on subsequent recompilations.
+	 * 
+	 * @return true if unfused fallback operators have been kept
+	 */
+	public static boolean hasAsyncFallback() {
+		return asyncFallback.get();
+	}
+	
+	private static synchronized ExecutorService getAsyncPool() {
+		//single daemon thread in order to not interfere with the
+		//actual computation and to not block the JVM shutdown
+		if( asyncPool == null ) {
+			asyncPool = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "codegen-compile");
+					t.setDaemon(true);
+					return t;
+				}
+			});
 		}
+		return asyncPool;
 	}
 	
 	/**
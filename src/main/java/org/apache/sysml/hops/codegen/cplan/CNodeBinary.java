@@ -41,7 +41,7 @@ public class CNodeBinary extends CNode
 		VECT_EQUAL_SCALAR, VECT_NOTEQUAL_SCALAR, VECT_LESS_SCALAR, 
 		VECT_LESSEQUAL_SCALAR, VECT_GREATER_SCALAR, VECT_GREATEREQUAL_SCALAR,
 		//vector-vector operations
-		VECT_MULT, VECT_DIV, VECT_MINUS, VECT_PLUS, VECT_MIN, VECT_MAX, VECT_EQUAL, 
+		VECT_MULT, VECT_DIV, VECT_MINUS, VECT_PLUS, VECT_POW, VECT_MIN, VECT_MAX, VECT_EQUAL, 
 		VECT_NOTEQUAL, VECT_LESS, VECT_LESSEQUAL, VECT_GREATER, VECT_GREATEREQUAL,
 		//scalar-scalar operations
 		MULT, DIV, PLUS, MINUS, MODULUS, INTDIV, 
@@ -130,6 +130,7 @@ public class CNodeBinary extends CNode
 				case VECT_DIV:
 				case VECT_MINUS:
 				case VECT_PLUS:
+				case VECT_POW:
 				case VECT_MIN:
 				case VECT_MAX:	
 				case VECT_EQUAL:
@@ -207,6 +208,7 @@ public class CNodeBinary extends CNode
 		public boolean isVectorVectorPrimitive() {
 			return this == VECT_DIV || this == VECT_MULT 
 				|| this == VECT_MINUS || this == VECT_PLUS
+				|| this == VECT_POW
 				|| this == VECT_MIN || this == VECT_MAX
 				|| this == VECT_EQUAL || this == VECT_NOTEQUAL
 				|| this == VECT_LESS || this == VECT_LESSEQUAL
@@ -346,6 +348,7 @@ public class CNodeBinary extends CNode
 			case VECT_DIV:                 return "b(v2d)";
 			case VECT_MINUS:               return "b(v2mi)";
 			case VECT_PLUS:                return "b(v2p)";
+			case VECT_POW:                 return "b(v2pow)";
 			case VECT_MIN:                 return "b(v2min)";
 			case VECT_MAX:                 return "b(v2max)";
 			case VECT_EQUAL:               return "b(v2eq)";
@@ -423,6 +426,7 @@ public class CNodeBinary extends CNode
 			case VECT_MULT:
 			case VECT_MINUS:
 			case VECT_PLUS:
+			case VECT_POW:
 			case VECT_MIN:
 			case VECT_MAX:
 			case VECT_EQUAL: 
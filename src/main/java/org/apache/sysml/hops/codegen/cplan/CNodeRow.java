@@ -36,6 +36,7 @@ public class CNodeRow extends CNodeTpl
 			+ "import org.apache.sysml.runtime.codegen.SpoofOperator.SideInput;\n"
 			+ "import org.apache.sysml.runtime.codegen.SpoofRowwise;\n"
 			+ "import org.apache.sysml.runtime.codegen.SpoofRowwise.RowType;\n"
+			+ "import org.apache.sysml.runtime.matrix.data.SparseBlock;\n"
 			+ "import org.apache.commons.math3.util.FastMath;\n"
 			+ "\n"
 			+ "public final class %TMP% extends SpoofRowwise { \n"
@@ -47,7 +48,16 @@ public class CNodeRow extends CNodeTpl
 			+ "  }\n"
 			+ "  protected void genexec(double[] avals, int[] aix, int ai, SideInput[] b, double[] scalars, double[] c, int alen, int len, int rowIndex) { \n"
 			+ "%BODY_sparse%"
-			+ "  }\n"			
+			+ "  }\n"
+			+ "  protected void genexecSparse(SparseBlock sblock, SideInput[] b, double[] scalars, double[] c, int len, int rl, int ru) { \n"
+			+ "    for( int rowIndex=rl; rowIndex<ru; rowIndex++ ) { \n"
+			+ "    boolean empty = sblock.isEmpty(rowIndex);\n"
+			+ "    double[] avals = empty ? EMPTY_VALS : sblock.values(rowIndex);\n"
+			+ "    int[] aix = empty ? EMPTY_INDEXES : sblock.indexes(rowIndex);\n"
+			+ "    int ai = empty ? 0 : sblock.pos(rowIndex), alen = empty ? 0 : sblock.size(rowIndex);\n"
+			+ "%BODY_sparse%"
+			+ "    }\n"
+			+ "  }\n"
 			+ "}\n";
 
 	private static final String TEMPLATE_ROWAGG_OUT  = "    c[rowIndex] = %IN%;\n";
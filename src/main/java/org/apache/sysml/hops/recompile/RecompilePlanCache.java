@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.recompile;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.OpOp1;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.rewrite.HopRewriteUtils;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.MRJobInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.utils.LRUCacheMap;
+
+/**
+ * Bounded LRU cache of recompiled instructions per hop DAG and size signature.
+ * The signature captures all symbol table entries read during recompilation,
+ * i.e., the dimensions and number of non-zeros of referenced matrices and frames,
+ * and the values of referenced scalars, as well as the memory budget, execution
+ * mode, optimization level, degree of parallelism, relevant configuration values
+ * of the current thread, and thread or exec type constraints of individual hops.
+ * Hence, a repeated recompilation of the same DAG with an equal signature
+ * would produce equivalent instructions, which allows us to skip the deep copy,
+ * rewrites, lop construction and instruction generation.
+ *
+ * DAGs whose recompilation depends on matrix values (e.g., literal replacement of
+ * small matrix aggregates) or file metadata are not cached. The cache holds weak
+ * references to the DAGs, i.e., entries of unreachable programs are purged.
+ * Cached instructions must not be handed out directly but via deep copies.
+ */
+public class RecompilePlanCache
+{
+	//max number of cached plans across all DAGs
+	public static final int MAX_SIZE = 256;
+
+	//configuration values that affect the generated instructions
+	private static final String[] CONFIG_KEYS = new String[] {
+		DMLConfig.CODEGEN, DMLConfig.CODEGEN_LITERALS, DMLConfig.CODEGEN_PLANCACHE,
+		DMLConfig.COMPRESSED_LINALG, DMLConfig.NATIVE_BLAS, DMLConfig.CP_PARALLEL_MATRIXMULT };
+
+	private static final LRUCacheMap<PlanKey, ArrayList<Instruction>> _plans
+		= new LRUCacheMap<PlanKey, ArrayList<Instruction>>();
+	private static final ReferenceQueue<Object> _queue = new ReferenceQueue<Object>();
+
+	/**
+	 * Creates the size signature of the given hop DAG w.r.t. the current
+	 * symbol table. Note that this traversal does not use or modify the
+	 * visit status of hops, which are shared across threads.
+	 *
+	 * @param hops hop DAG roots
+	 * @param vars local variable map
+	 * @param litreplace true if literal replacement
+	 * @return signature, or null if the DAG is not cacheable
+	 */
+	public static String createSignature(ArrayList<Hop> hops, LocalVariableMap vars, boolean litreplace) {
+		StringBuilder sb = createSignatureHeader();
+		HashSet<Long> memo = new HashSet<Long>();
+		for( Hop hop : hops )
+			if( !rAppendSignature(hop, vars, litreplace, memo, sb) )
+				return null;
+		return sb.toString();
+	}
+
+	/**
+	 * Creates the size signature of the given single-root hop DAG.
+	 *
+	 * @param hop hop DAG root
+	 * @param vars local variable map
+	 * @param litreplace true if literal replacement
+	 * @return signature, or null if the DAG is not cacheable
+	 */
+	public static String createSignature(Hop hop, LocalVariableMap vars, boolean litreplace) {
+		StringBuilder sb = createSignatureHeader();
+		return rAppendSignature(hop, vars, litreplace,
+			new HashSet<Long>(), sb) ? sb.toString() : null;
+	}
+
+	public static synchronized ArrayList<Instruction> getPlan(Object dag, String sig) {
+		return _plans.get(new PlanKey(dag, sig, null));
+	}
+
+	public static void putPlan(Object dag, String sig, ArrayList<Instruction> inst) {
+		//MR job instructions are modified during execution and
+		//have long latency anyway, hence we do not cache them
+		for( Instruction linst : inst )
+			if( linst instanceof MRJobInstruction )
+				return;
+
+		synchronized( RecompilePlanCache.class ) {
+			//purge entries of garbage-collected DAGs
+			for( Object ref = _queue.poll(); ref != null; ref = _queue.poll() )
+				_plans.remove(ref);
+			_plans.put(new PlanKey(dag, sig, _queue), inst);
+			try {
+				while( _plans.size() > MAX_SIZE )
+					_plans.removeAndGetLRUEntry();
+			}
+			catch(Exception ex) {
+				//robustness for corrupted cache state
+				_plans.clear();
+			}
+		}
+	}
+
+	public static synchronized int size() {
+		return _plans.size();
+	}
+
+	public static synchronized void clear() {
+		_plans.clear();
+	}
+
+	private static StringBuilder createSignatureHeader() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(DMLScript.rtplatform.name());
+		sb.append('|').append(OptimizerUtils.getLocalMemBudget());
+		sb.append('|').append(OptimizerUtils.getOptLevel().name());
+		sb.append('|').append(ConfigurationManager.isParallelMatrixOperations());
+		sb.append('|').append(OptimizerUtils.getConstrainedNumThreads(-1));
+		sb.append('|').append(ConfigurationManager.getBlocksize());
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		for( String key : CONFIG_KEYS )
+			sb.append('|').append(conf.getTextValue(key));
+		return sb;
+	}
+
+	private static boolean rAppendSignature(Hop hop, LocalVariableMap vars, boolean litreplace, HashSet<Long> memo, StringBuilder sb)
+	{
+		if( !memo.add(hop.getHopID()) )
+			return true;
+
+		for( Hop c : hop.getInput() )
+			if( !rAppendSignature(c, vars, litreplace, memo, sb) )
+				return false;
+
+		//constraints set by parfor or other optimizers on the shared DAG
+		if( hop instanceof MultiThreadedHop )
+			sb.append("|k").append(((MultiThreadedHop)hop).getMaxNumThreads());
+		if( hop.getForcedExecType() != null )
+			sb.append("|e").append(hop.getForcedExecType().name());
+
+		if( hop instanceof DataOp ) {
+			DataOp dop = (DataOp) hop;
+			if( dop.getDataOpType() == DataOpTypes.PERSISTENTREAD ) {
+				//read-after-write with metadata from file
+				if( !dop.dimsKnown() )
+					return false;
+			}
+			else {
+				//all symbol table entries read by statistics updates
+				//and literal replacement (see Recompiler)
+				Data dat = vars.get(dop.getName());
+				sb.append('|');
+				sb.append(dop.getName());
+				sb.append('=');
+				if( dat instanceof MatrixObject ) {
+					MatrixObject mo = (MatrixObject) dat;
+					sb.append(mo.getNumRows()).append('x').append(mo.getNumColumns());
+					sb.append('x').append(mo.getNnz());
+				}
+				else if( dat instanceof FrameObject ) {
+					FrameObject fo = (FrameObject) dat;
+					sb.append(fo.getNumRows()).append('x').append(fo.getNumColumns());
+				}
+				else if( dat instanceof ScalarObject ) {
+					ScalarObject so = (ScalarObject) dat;
+					sb.append(so.getValueType().name()).append(':');
+					sb.append(so.getStringValue());
+				}
+				else if( dat != null ) {
+					sb.append(dat.getDataType().name());
+				}
+			}
+		}
+		//scalars derived from matrix values (e.g., as.scalar(X), sum(X)) might be
+		//replaced by literals of the current value, except for size metadata
+		else if( litreplace && hop.getDataType().isScalar()
+			&& !HopRewriteUtils.isUnary(hop, OpOp1.NROW, OpOp1.NCOL, OpOp1.LENGTH) ) {
+			for( Hop c : hop.getInput() )
+				if( !c.getDataType().isScalar() )
+					return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Cache key of DAG identity (shared across executions of
+	 * the same statement block or predicate) and size signature.
+	 * The DAG is weakly referenced in order to not pin hop DAGs of
+	 * obsolete programs, where cleared keys are only equal to themselves.
+	 */
+	private static class PlanKey extends WeakReference<Object> {
+		private final String _sig;
+		private final int _hash;
+
+		public PlanKey(Object dag, String sig, ReferenceQueue<Object> queue) {
+			super(dag, queue);
+			_sig = sig;
+			_hash = System.identityHashCode(dag) * 31 + sig.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if( this == o )
+				return true;
+			if( !(o instanceof PlanKey) )
+				return false;
+			PlanKey that = (PlanKey) o;
+			Object dag = get();
+			return dag != null && dag == that.get() && _sig.equals(that._sig);
+		}
+	}
+}
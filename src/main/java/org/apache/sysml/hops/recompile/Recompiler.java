@@ -105,6 +105,7 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.sysml.utils.Explain;
 import org.apache.sysml.utils.Explain.ExplainType;
 import org.apache.sysml.utils.JSONHelper;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Dynamic recompilation of hop dags to runtime instructions, which includes the 
@@ -127,6 +128,10 @@ public class Recompiler
 	private static final long CP_REBLOCK_THRESHOLD_SIZE = 1L*1024*1024*1024; 
 	private static final long CP_CSV_REBLOCK_UNKNOWN_THRESHOLD_SIZE = CP_REBLOCK_THRESHOLD_SIZE;
 	
+	//reuse of generated instructions for repeated recompilation of the same
+	//hop dag w/ equal input sizes (e.g., in loops w/ unknown but fixed sizes)
+	public static boolean ALLOW_RECOMPILE_PLAN_CACHE = true;
+	
 	/** Local reused rewriter for dynamic rewrites during recompile */
 
 	/** Local DML configuration for thread-local config updates */
@@ -139,6 +144,32 @@ public class Recompiler
 	 */
 	public static void reinitRecompiler() {
 		_rewriter.set(new ProgramRewriter(false, true));
+		RecompilePlanCache.clear();
+	}
+	
+	private static boolean isPlanCacheApplicable(boolean inplace, RecompileStatus status) {
+		//no reuse for in-place recompilation (modifies the original dag), 
+		//recompile status tracking, explain of recompiled hops, and 
+		//asynchronous codegen (plans with fallback operators)
+		return ALLOW_RECOMPILE_PLAN_CACHE && !inplace && status == null
+			&& DMLScript.EXPLAIN != ExplainType.RECOMPILE_HOPS
+			&& DMLScript.EXPLAIN != ExplainType.RECOMPILE_RUNTIME
+			&& !(ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN)
+				&& ConfigurationManager.isCodegenAsyncCompilation());
+	}
+	
+	private static ArrayList<Instruction> getCachedPlan(Object dag, String sig) 
+		throws DMLRuntimeException 
+	{
+		ArrayList<Instruction> ret = RecompilePlanCache.getPlan(dag, sig);
+		if( ret == null )
+			return null;
+		if( DMLScript.STATISTICS )
+			Statistics.incrementHOPRecompilePlanCacheHits();
+		//deep copy because instructions (e.g., operators) carry mutable 
+		//state and callers might modify the list (immutable ones are reused)
+		return ProgramConverter.createDeepCopyInstructionSet(
+			ret, 0, -1, null, null, null, true, false);
 	}
 	
 	/**
@@ -171,71 +202,84 @@ public class Recompiler
 		//however, we create deep copies for most dags to allow for concurrent recompile
 		synchronized( hops ) 
 		{	
-			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
-					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
+			//probe plan cache w/ size signature of current inputs
+			ArrayList<Hop> dagKey = hops;
+			String sig = isPlanCacheApplicable(inplace, status) ?
+				RecompilePlanCache.createSignature(hops, vars, litreplace) : null;
+			if( sig != null )
+				newInst = getCachedPlan(dagKey, sig);
+			
+			if( newInst == null )
+			{
+				LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
+						   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 	
-			// prepare hops dag for recompile
-			if( !inplace ){ 
-				// deep copy hop dag (for non-reversable rewrites)
-				hops = deepCopyHopsDag(hops);
-			}
-			else {
-				// clear existing lops
-				Hop.resetVisitStatus(hops);
-				for( Hop hopRoot : hops )
-					rClearLops( hopRoot );
-			}
+				// prepare hops dag for recompile
+				if( !inplace ){ 
+					// deep copy hop dag (for non-reversable rewrites)
+					hops = deepCopyHopsDag(hops);
+				}
+				else {
+					// clear existing lops
+					Hop.resetVisitStatus(hops);
+					for( Hop hopRoot : hops )
+						rClearLops( hopRoot );
+				}
 
-			// replace scalar reads with literals 
-			if( !inplace && litreplace ) {
-				Hop.resetVisitStatus(hops);
-				for( Hop hopRoot : hops )
-					rReplaceLiterals( hopRoot, vars, false );
-			}
-			
-			// refresh matrix characteristics (update stats)			
-			Hop.resetVisitStatus(hops);
-			for( Hop hopRoot : hops )
-				rUpdateStatistics( hopRoot, vars );
+				// replace scalar reads with literals 
+				if( !inplace && litreplace ) {
+					Hop.resetVisitStatus(hops);
+					for( Hop hopRoot : hops )
+						rReplaceLiterals( hopRoot, vars, false );
+				}
 			
-			// dynamic hop rewrites
-			if( !inplace ) {
-				_rewriter.get().rewriteHopDAGs( hops, null );
-				
-				//update stats after rewrites
+				// refresh matrix characteristics (update stats)			
 				Hop.resetVisitStatus(hops);
 				for( Hop hopRoot : hops )
 					rUpdateStatistics( hopRoot, vars );
-			}
 			
-			// refresh memory estimates (based on updated stats,
-			// before: init memo table with propagated worst-case estimates,
-			// after: extract worst-case estimates from memo table 
-			Hop.resetVisitStatus(hops);
-			MemoTable memo = new MemoTable();
-			memo.init(hops, status);
-			Hop.resetVisitStatus(hops);
-			for( Hop hopRoot : hops )
-				hopRoot.refreshMemEstimates(memo); 
-			memo.extract(hops, status);
+				// dynamic hop rewrites
+				if( !inplace ) {
+					_rewriter.get().rewriteHopDAGs( hops, null );
+				
+					//update stats after rewrites
+					Hop.resetVisitStatus(hops);
+					for( Hop hopRoot : hops )
+						rUpdateStatistics( hopRoot, vars );
+				}
 			
-			// codegen if enabled
-			if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN) 
-					&& SpoofCompiler.RECOMPILE_CODEGEN ) {
+				// refresh memory estimates (based on updated stats,
+				// before: init memo table with propagated worst-case estimates,
+				// after: extract worst-case estimates from memo table 
 				Hop.resetVisitStatus(hops);
-				hops = SpoofCompiler.optimize(hops, 
-					(status==null || !status.isInitialCodegen()));
-			}
+				MemoTable memo = new MemoTable();
+				memo.init(hops, status);
+				Hop.resetVisitStatus(hops);
+				for( Hop hopRoot : hops )
+					hopRoot.refreshMemEstimates(memo); 
+				memo.extract(hops, status);
 			
-			// construct lops			
-			Dag<Lop> dag = new Dag<Lop>();
-			for( Hop hopRoot : hops ){
-				Lop lops = hopRoot.constructLops();
-				lops.addToDag(dag);	
-			}		
+				// codegen if enabled
+				if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN) 
+						&& SpoofCompiler.RECOMPILE_CODEGEN ) {
+					Hop.resetVisitStatus(hops);
+					hops = SpoofCompiler.optimize(hops, 
+						(status==null || !status.isInitialCodegen()));
+				}
 			
-			// generate runtime instructions (incl piggybacking)
-			newInst = dag.getJobs(sb, ConfigurationManager.getDMLConfig());	
+				// construct lops			
+				Dag<Lop> dag = new Dag<Lop>();
+				for( Hop hopRoot : hops ){
+					Lop lops = hopRoot.constructLops();
+					lops.addToDag(dag);	
+				}		
+			
+				// generate runtime instructions (incl piggybacking)
+				newInst = dag.getJobs(sb, ConfigurationManager.getDMLConfig());	
+				
+				if( sig != null )
+					RecompilePlanCache.putPlan(dagKey, sig, new ArrayList<Instruction>(newInst));
+			}
 		}
 		
 		// replace thread ids in new instructions
@@ -287,62 +331,75 @@ public class Recompiler
 		//need for synchronization as we do temp changes in shared hops/lops
 		synchronized( hops ) 
 		{	
-			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
-					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
-
-			// prepare hops dag for recompile
-			if( !inplace ) {
-				// deep copy hop dag (for non-reversable rewrites)
-				//(this also clears existing lops in the created dag) 
-				hops = deepCopyHopsDag(hops);	
-			}
-			else {
-				// clear existing lops
-				hops.resetVisitStatus();
-				rClearLops( hops );	
-			}
+			//probe plan cache w/ size signature of current inputs
+			Hop dagKey = hops;
+			String sig = isPlanCacheApplicable(inplace, status) ?
+				RecompilePlanCache.createSignature(hops, vars, litreplace) : null;
+			if( sig != null )
+				newInst = getCachedPlan(dagKey, sig);
 			
-			// replace scalar reads with literals 
-			if( !inplace && litreplace ) {
-				hops.resetVisitStatus();
-				rReplaceLiterals( hops, vars, false );
-			}
+			if( newInst == null )
+			{
+				LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
+						   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
+
+				// prepare hops dag for recompile
+				if( !inplace ) {
+					// deep copy hop dag (for non-reversable rewrites)
+					//(this also clears existing lops in the created dag) 
+					hops = deepCopyHopsDag(hops);	
+				}
+				else {
+					// clear existing lops
+					hops.resetVisitStatus();
+					rClearLops( hops );	
+				}
 			
-			// refresh matrix characteristics (update stats)			
-			hops.resetVisitStatus();
-			rUpdateStatistics( hops, vars );
+				// replace scalar reads with literals 
+				if( !inplace && litreplace ) {
+					hops.resetVisitStatus();
+					rReplaceLiterals( hops, vars, false );
+				}
 			
-			// dynamic hop rewrites
-			if( !inplace ) {
-				_rewriter.get().rewriteHopDAG( hops, null );
-				
-				//update stats after rewrites
+				// refresh matrix characteristics (update stats)			
 				hops.resetVisitStatus();
 				rUpdateStatistics( hops, vars );
-			}
 			
-			// refresh memory estimates (based on updated stats)
-			MemoTable memo = new MemoTable();
-			hops.resetVisitStatus();
-			memo.init(hops, status);
-			hops.resetVisitStatus();
-			hops.refreshMemEstimates(memo); 		
+				// dynamic hop rewrites
+				if( !inplace ) {
+					_rewriter.get().rewriteHopDAG( hops, null );
+				
+					//update stats after rewrites
+					hops.resetVisitStatus();
+					rUpdateStatistics( hops, vars );
+				}
 			
-			// codegen if enabled
-			if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN) 
-					&& SpoofCompiler.RECOMPILE_CODEGEN ) {
+				// refresh memory estimates (based on updated stats)
+				MemoTable memo = new MemoTable();
 				hops.resetVisitStatus();
-				hops = SpoofCompiler.optimize(hops,
-					(status==null || !status.isInitialCodegen()));
-			}
+				memo.init(hops, status);
+				hops.resetVisitStatus();
+				hops.refreshMemEstimates(memo); 		
 			
-			// construct lops			
-			Dag<Lop> dag = new Dag<Lop>();
-			Lop lops = hops.constructLops();
-			lops.addToDag(dag);		
+				// codegen if enabled
+				if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN) 
+						&& SpoofCompiler.RECOMPILE_CODEGEN ) {
+					hops.resetVisitStatus();
+					hops = SpoofCompiler.optimize(hops,
+						(status==null || !status.isInitialCodegen()));
+				}
 			
-			// generate runtime instructions (incl piggybacking)
-			newInst = dag.getJobs(null, ConfigurationManager.getDMLConfig());
+				// construct lops			
+				Dag<Lop> dag = new Dag<Lop>();
+				Lop lops = hops.constructLops();
+				lops.addToDag(dag);		
+			
+				// generate runtime instructions (incl piggybacking)
+				newInst = dag.getJobs(null, ConfigurationManager.getDMLConfig());
+				
+				if( sig != null )
+					RecompilePlanCache.putPlan(dagKey, sig, new ArrayList<Instruction>(newInst));
+			}
 		}
 		
 		// replace thread ids in new instructions
@@ -876,10 +933,11 @@ public class Recompiler
 				//propagate stats across hops (should be executed on clone of vars)
 				Recompiler.extractDAGOutputStatistics(sb.get_hops(), vars);
 				
-				//reset recompilation flags (w/ special handling functions)
+				//reset recompilation flags (w/ special handling functions),
+				//except for pending async codegen to swap in fused operators later
 				if(    ParForProgramBlock.RESET_RECOMPILATION_FLAGs 
 					&& !containsRootFunctionOp(sb.get_hops())  
-					&& resetRecompile ) 
+					&& resetRecompile && !SpoofCompiler.hasAsyncFallback() ) 
 				{
 					Hop.resetRecompilationFlag(sb.get_hops(), ExecType.CP);
 					sb.updateRecompilationFlag();
@@ -1127,7 +1185,7 @@ public class Recompiler
 						hops, vars, status, true, false, tid);
 				ipb.setPredicate( tmp );
 				if( ParForProgramBlock.RESET_RECOMPILATION_FLAGs
-					&& resetRecompile ) 
+					&& resetRecompile && !SpoofCompiler.hasAsyncFallback() ) 
 				{
 					Hop.resetRecompilationFlag(hops, ExecType.CP);
 					isb.updatePredicateRecompilationFlag();
@@ -1151,7 +1209,7 @@ public class Recompiler
 					hops, vars, status, true, false, tid);
 				wpb.setPredicate( tmp );
 				if( ParForProgramBlock.RESET_RECOMPILATION_FLAGs 
-					&& resetRecompile ) 
+					&& resetRecompile && !SpoofCompiler.hasAsyncFallback() ) 
 				{
 					Hop.resetRecompilationFlag(hops, ExecType.CP);
 					wsb.updatePredicateRecompilationFlag();
@@ -45,8 +45,10 @@ public class Checkpoint extends Lop
 	public static final StorageLevel DEFAULT_STORAGE_LEVEL = StorageLevel.MEMORY_AND_DISK();
 	public static final StorageLevel SER_STORAGE_LEVEL = StorageLevel.MEMORY_AND_DISK_SER();
 	public static final boolean CHECKPOINT_SPARSE_CSR = true; 
+	public static final boolean CHECKPOINT_COMPRESSED = true; //if compressed.linalg enabled
 
 	private StorageLevel _storageLevel;
+	private boolean _compress;
 	
 
 	/**
@@ -61,12 +63,27 @@ public class Checkpoint extends Lop
 	 */
 	public Checkpoint(Lop input, DataType dt, ValueType vt, String level) 
 		throws LopsException
+	{
+		this(input, dt, vt, level, false);
+	}
+	
+	/**
+	 * @param input low-level operator
+	 * @param dt data type
+	 * @param vt value type
+	 * @param level storage level
+	 * @param compress compress blocks of read-only inputs (if compressed.linalg enabled)
+	 * @throws LopsException if LopsException occurs
+	 */
+	public Checkpoint(Lop input, DataType dt, ValueType vt, String level, boolean compress) 
+		throws LopsException
 	{
 		super(Lop.Type.Checkpoint, dt, vt);		
 		this.addInput(input);
 		input.addOutput(this);
 		
 		_storageLevel = StorageLevel.fromString(level);
+		_compress = compress;
 		
 		boolean breaksAlignment = false;
 		boolean aligner = false;
@@ -86,6 +103,10 @@ public class Checkpoint extends Lop
 		_storageLevel = level;
 	}
 	
+	public boolean isCompressed() {
+		return _compress;
+	}
+	
 	@Override
 	public String toString() {
 		return "Checkpoint - storage.level = " + _storageLevel.toString();
@@ -110,6 +131,8 @@ public class Checkpoint extends Lop
 		sb.append( prepOutputOperand(output));
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( getStorageLevelString(_storageLevel) );
+		sb.append( OPERAND_DELIMITOR );
+		sb.append( _compress );
 		
 		return sb.toString();
 
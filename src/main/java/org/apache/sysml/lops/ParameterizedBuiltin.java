@@ -40,7 +40,7 @@ public class ParameterizedBuiltin extends Lop
 	public enum OperationTypes { 
 		CDF, INVCDF, RMEMPTY, REPLACE, REXPAND,
 		TRANSFORMAPPLY, TRANSFORMDECODE, TRANSFORMMETA,
-		TOSTRING
+		TOSTRING, QUANTILEAPPROX, COUNTDISTINCTAPPROX
 	};
 	
 	private OperationTypes _operation;
@@ -221,6 +221,13 @@ public class ParameterizedBuiltin extends Lop
 				sb.append(compileGenericParamMap(_inputParams));
 				break;
 			}
+			case QUANTILEAPPROX:
+			case COUNTDISTINCTAPPROX: {
+				sb.append(_operation.toString().toLowerCase()); //opcode
+				sb.append(OPERAND_DELIMITOR);
+				sb.append(compileGenericParamMap(_inputParams));
+				break;
+			}
 				
 			default:
 				throw new LopsException(this.printErrorLocation() + "In ParameterizedBuiltin Lop, Unknown operation: " + _operation);
@@ -1938,6 +1938,14 @@ public class DMLTranslator
 									target.getValueType(), ParamBuiltinOp.TOSTRING, 
 									paramHops);
 			break;
+		
+		case QUANTILEAPPROX:
+		case COUNTDISTINCTAPPROX:
+			currBuiltinOp = new ParameterizedBuiltinOp(
+									target.getName(), target.getDataType(), 
+									target.getValueType(), ParameterizedBuiltinFunctionExpression.pbHopMap.get(source.getOpCode()), 
+									paramHops);
+			break;
 			
 		default:
 			
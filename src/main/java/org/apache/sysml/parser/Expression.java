@@ -141,6 +141,7 @@ public abstract class Expression
 		CDF, INVCDF, PNORM, QNORM, PT, QT, PF, QF, PCHISQ, QCHISQ, PEXP, QEXP,
 		TRANSFORMAPPLY, TRANSFORMDECODE, TRANSFORMENCODE, TRANSFORMMETA,
 		TOSTRING,	// The "toString" method for DML; named arguments accepted to format output
+		QUANTILEAPPROX, COUNTDISTINCTAPPROX, // sketch-based approximate statistics
 		INVALID
 	};
 	
@@ -71,6 +71,10 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 
 		// toString
 		opcodeMap.put("toString", Expression.ParameterizedBuiltinFunctionOp.TOSTRING);
+		
+		// approximate statistics via sketches
+		opcodeMap.put("quantileApprox", Expression.ParameterizedBuiltinFunctionOp.QUANTILEAPPROX);
+		opcodeMap.put("countDistinctApprox", Expression.ParameterizedBuiltinFunctionOp.COUNTDISTINCTAPPROX);
 	}
 	
 	public static HashMap<Expression.ParameterizedBuiltinFunctionOp, ParamBuiltinOp> pbHopMap;
@@ -101,6 +105,10 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		
 		// toString
 		pbHopMap.put(Expression.ParameterizedBuiltinFunctionOp.TOSTRING, ParamBuiltinOp.TOSTRING);
+		
+		// approximate statistics via sketches
+		pbHopMap.put(Expression.ParameterizedBuiltinFunctionOp.QUANTILEAPPROX, ParamBuiltinOp.QUANTILEAPPROX);
+		pbHopMap.put(Expression.ParameterizedBuiltinFunctionOp.COUNTDISTINCTAPPROX, ParamBuiltinOp.COUNTDISTINCTAPPROX);
 	}
 	
 	public static ParameterizedBuiltinFunctionExpression getParamBuiltinFunctionExpression(String functionName, 
@@ -234,6 +242,11 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		case TOSTRING:
 			validateCastAsString(output, conditional);
 			break;
+		
+		case QUANTILEAPPROX:
+		case COUNTDISTINCTAPPROX:
+			validateSketch(output, conditional);
+			break;
 			
 		default: //always unconditional (because unsupported operation)
 			//handle common issue of transformencode
@@ -673,6 +686,47 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		output.setDimensions(0, 0);
 	}
 
+	// example: q = quantileApprox(X, p=0.5), d = countDistinctApprox(X)
+	private void validateSketch(DataIdentifier output, boolean conditional) 
+		throws LanguageException 
+	{
+		HashMap<String, Expression> varParams = getVarParams();
+		boolean quantile = (getOpCode() == ParameterizedBuiltinFunctionOp.QUANTILEAPPROX);
+		String fname = quantile ? "quantileApprox" : "countDistinctApprox";
+		
+		// replace parameter name for matrix argument
+		if( varParams.containsKey(null) )
+			varParams.put("target", varParams.remove(null));
+		
+		// check validate parameter names
+		String[] validArgsArr = quantile ? new String[]{"target", "p"} : new String[]{"target"};
+		HashSet<String> validArgs = new HashSet<String>(Arrays.asList(validArgsArr));
+		for( String k : varParams.keySet() ) {
+			if( !validArgs.contains(k) ) {
+				raiseValidateError("Invalid parameter " + k + " for " + fname + ", valid parameters are " + 
+						Arrays.toString(validArgsArr), conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+			}
+		}
+		
+		// validate data and quantile
+		checkDataType(fname, "target", DataType.MATRIX, conditional);
+		if( quantile ) {
+			checkDataType(fname, "p", DataType.SCALAR, conditional);
+			Expression p = getVarParam("p");
+			if( p instanceof DoubleIdentifier ) {
+				double pval = ((DoubleIdentifier)p).getValue();
+				if( pval < 0 || pval > 1 )
+					raiseValidateError("Invalid quantile " + pval + " for " + fname + ", expected value in [0,1].", 
+						conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+			}
+		}
+		
+		// set output characteristics
+		output.setDataType(DataType.SCALAR);
+		output.setValueType(ValueType.DOUBLE);
+		output.setDimensions(0, 0);
+	}
+
 	private void checkDataType( String fname, String pname, DataType dt, boolean conditional ) 
 		throws LanguageException 
 	{
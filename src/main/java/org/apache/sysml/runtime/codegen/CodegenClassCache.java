@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Persistent, content-addressed on-disk cache of compiled spoof classes in 
+ * order to avoid repeated class compilation across JVM runs. Generated source 
+ * code contains process-specific variable and class names (global sequence), 
+ * so we first canonicalize the source code by renumbering all generated 
+ * identifiers in order of appearance. The cache key is then a hash over the 
+ * SystemML version and this canonical source code, which in turn determines 
+ * the (content-addressed) class name used for compilation and class loading.
+ * If the SystemML version is unavailable (e.g., when running from classes) or
+ * a snapshot version, we use a hash over the runtime classes, generated 
+ * operators link against, as build identifier instead.
+ * <p>
+ * Cache entries are written via a temporary file and atomic rename, which 
+ * allows multiple concurrent processes to share a single cache directory.
+ */
+public class CodegenClassCache 
+{
+	private static final Log LOG = LogFactory.getLog(CodegenClassCache.class.getName());
+	
+	private static final String CLASS_PREFIX = "TMP_";
+	private static final String CLASS_PLACEHOLDER = "%CLASS%";
+	private static final Pattern GENVAR_PATTERN = Pattern.compile("\\bTMP(\\d+)\\b");
+	
+	//runtime classes referenced by generated operators (for build hash)
+	private static final Class<?>[] BUILD_CLASSES = new Class<?>[] {SpoofOperator.class, 
+		SpoofCellwise.class, SpoofMultiAggregate.class, SpoofOuterProduct.class, 
+		SpoofRowwise.class, LibSpoofPrimitives.class};
+	
+	//local cache directory, null if disabled
+	private static String _dir = null;
+	private static volatile boolean _initialized = false;
+	
+	//version or build hash, part of all cache keys
+	private static String _build = null;
+	
+	public static synchronized void init(String dir) {
+		_dir = (dir == null || dir.trim().isEmpty() 
+			|| dir.trim().equalsIgnoreCase("none")) ? null : dir.trim();
+		if( _dir != null && !LocalFileUtils.createLocalFileIfNotExist(_dir) ) {
+			LOG.warn("Failed to create codegen class cache directory: "+_dir);
+			_dir = null;
+		}
+		_initialized = true;
+	}
+	
+	public static boolean isEnabled() {
+		//lazy initialization from the (thread-local) configuration
+		//if not initialized by the command line api (e.g., jmlc, mlcontext)
+		if( !_initialized )
+			initFromConfig();
+		return _dir != null;
+	}
+	
+	private static synchronized void initFromConfig() {
+		if( !_initialized )
+			init(ConfigurationManager.getDMLConfig()
+				.getTextValue(DMLConfig.CODEGEN_CLASSCACHE));
+	}
+	
+	/**
+	 * Canonicalizes the given source code of a generated class, and 
+	 * replaces its class name by a content-addressed class name.
+	 * 
+	 * @param name fully qualified name of the generated class
+	 * @param src generated source code
+	 * @return pair of cache key and canonical source code 
+	 * @throws DMLRuntimeException if the hash computation fails
+	 */
+	public static String[] canonicalize(String name, String src) 
+		throws DMLRuntimeException
+	{
+		//replace class name by placeholder and renumber generated identifiers
+		String cname = name.substring(name.lastIndexOf('.')+1);
+		String tmp = src.replaceAll("\\b"+Pattern.quote(cname)+"\\b", CLASS_PLACEHOLDER);
+		HashMap<String, String> map = new HashMap<String, String>();
+		Matcher m = GENVAR_PATTERN.matcher(tmp);
+		StringBuffer sb = new StringBuffer();
+		while( m.find() ) {
+			String var = m.group();
+			if( !map.containsKey(var) )
+				map.put(var, "TMP"+map.size());
+			m.appendReplacement(sb, map.get(var));
+		}
+		m.appendTail(sb);
+		
+		//compute content-addressed key and class name
+		String key = createKey(sb.toString());
+		String csrc = sb.toString().replace(CLASS_PLACEHOLDER, CLASS_PREFIX+key);
+		return new String[]{key, csrc};
+	}
+	
+	public static String getClassname(String key) {
+		return "codegen."+CLASS_PREFIX+key;
+	}
+	
+	public static byte[] readClass(String key) {
+		File f = new File(_dir, key+".class");
+		if( !f.exists() )
+			return null;
+		try {
+			return Files.readAllBytes(f.toPath());
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to read cached codegen class "+f.getPath()+".", ex);
+			return null;
+		}
+	}
+	
+	public static void writeClass(String key, byte[] classBytes) {
+		if( classBytes == null )
+			return;
+		File f = new File(_dir, key+".class");
+		File ftmp = new File(_dir, key+".class."+UUID.randomUUID()+".tmp");
+		try {
+			//write to temporary file and atomic rename to avoid partial reads
+			LocalFileUtils.writeByteArrayToLocal(ftmp.getPath(), classBytes);
+			if( !ftmp.renameTo(f) )
+				LocalFileUtils.deleteFileIfExists(ftmp.getPath(), true);
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write cached codegen class "+f.getPath()+".", ex);
+			LocalFileUtils.deleteFileIfExists(ftmp.getPath(), true);
+		}
+	}
+	
+	private static String createKey(String csrc) 
+		throws DMLRuntimeException
+	{
+		try {
+			//version-specific key to avoid incompatible class files
+			MessageDigest md = MessageDigest.getInstance("MD5");
+			md.update(getBuild().getBytes("UTF-8"));
+			md.update(System.getProperty("java.specification.version").getBytes("UTF-8"));
+			return toHexString(md.digest(csrc.getBytes("UTF-8")));
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static synchronized String getBuild() {
+		if( _build != null )
+			return _build;
+		
+		//use release versions as is
+		String version = CodegenClassCache.class.getPackage().getImplementationVersion();
+		if( version != null && !version.endsWith("SNAPSHOT") )
+			return _build = version;
+		
+		//compute build hash over referenced runtime classes, 
+		//which ensures invalidation on changes of these classes
+		try {
+			MessageDigest md = MessageDigest.getInstance("MD5");
+			md.update(String.valueOf(version).getBytes("UTF-8"));
+			for( Class<?> cla : BUILD_CLASSES ) {
+				InputStream in = cla.getResourceAsStream(cla.getSimpleName()+".class");
+				try {
+					md.update(IOUtils.toByteArray(in));
+				}
+				finally {
+					IOUtilFunctions.closeSilently(in);
+				}
+			}
+			_build = toHexString(md.digest());
+		}
+		catch(Exception ex) {
+			//use a process-specific identifier, which disables reuse across runs
+			LOG.warn("Failed to compute codegen build hash, disabling reuse across processes.", ex);
+			_build = UUID.randomUUID().toString();
+		}
+		return _build;
+	}
+	
+	private static String toHexString(byte[] digest) {
+		StringBuilder sb = new StringBuilder();
+		for( byte b : digest )
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+}
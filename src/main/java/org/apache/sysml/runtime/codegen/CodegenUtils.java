@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.codegen;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
@@ -47,7 +48,12 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.utils.Statistics;
-import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 
 public class CodegenUtils 
 {
@@ -57,12 +63,28 @@ public class CodegenUtils
 	//janino-specific map of source code transfer/recompile on-demand
 	private static ConcurrentHashMap<String, String> _src = new ConcurrentHashMap<String,String>();
 	
+	//map of class files compiled by janino, loaded from the persistent class cache, or shipped to remote tasks
+	private static ConcurrentHashMap<String, byte[]> _bytes = new ConcurrentHashMap<String,byte[]>();
+	
+	//per-class locks to compile/load shipped classes once per jvm
+	private static ConcurrentHashMap<String, Object> _locks = new ConcurrentHashMap<String,Object>();
+	
 	//javac-specific working directory for src/class files
 	private static String _workingDir = null;
 	
 	public static Class<?> compileClass(String name, String src) 
 			throws DMLRuntimeException
 	{
+		//obtain content-addressed class name and source code 
+		//if the persistent class cache is enabled
+		String key = null;
+		if( CodegenClassCache.isEnabled() ) {
+			String[] tmp = CodegenClassCache.canonicalize(name, src);
+			key = tmp[0];
+			name = CodegenClassCache.getClassname(key);
+			src = tmp[1];
+		}
+		
 		//reuse existing compiled class
 		Class<?> ret = _cache.get(name);
 		if( ret != null ) 
@@ -70,20 +92,34 @@ public class CodegenUtils
 		
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
-		//compile java source w/ specific compiler
-		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
-			ret = compileClassJanino(name, src);
-		else
-			ret = compileClassJavac(name, src);
+		//probe persistent class cache, and compile java source 
+		//w/ specific compiler if not available
+		byte[] classBytes = (key != null) ? CodegenClassCache.readClass(key) : null;
+		if( classBytes != null ) {
+			ret = loadFromClassFile(name, classBytes);
+			_bytes.put(name, classBytes);
+			if( DMLScript.STATISTICS )
+				Statistics.incrementCodegenClassCacheHits();
+		}
+		else {
+			if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
+				ret = compileClassJanino(name, src);
+			else
+				ret = compileClassJavac(name, src);
+			
+			//write class file to persistent class cache
+			if( key != null )
+				CodegenClassCache.writeClass(key, getClassBytes(name));
+			
+			if( DMLScript.STATISTICS ) {
+				Statistics.incrementCodegenClassCompile();
+				Statistics.incrementCodegenClassCompileTime(System.nanoTime()-t0);
+			}
+		}
 		
 		//keep compiled class for reuse
 		_cache.put(name, ret);
 		
-		if( DMLScript.STATISTICS ) {
-			Statistics.incrementCodegenClassCompile();
-			Statistics.incrementCodegenClassCompileTime(System.nanoTime()-t0);
-		}
-		
 		return ret;
 	}
 	
@@ -99,20 +135,34 @@ public class CodegenUtils
 		if( ret != null ) 
 			return ret;
 		
-		//get class in a compiler-specific manner
-		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
-			ret = compileClassJanino(name, new String(classBytes));
-		else
-			ret = loadFromClassFile(name, classBytes);
-
-		//keep loaded class for reuse
-		_cache.put(name, ret);
+		//compile/load the class only once, even if requested by concurrent
+		//tasks of the same jvm (e.g., multiple spark tasks per executor)
+		synchronized( getClassLock(name) ) {
+			ret = _cache.get(name);
+			if( ret != null )
+				return ret;
+			
+			//get class in a compiler-specific manner (class files are 
+			//shipped as is, even with janino)
+			if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO && !isClassFile(classBytes) )
+				ret = compileClassJanino(name, new String(classBytes));
+			else
+				ret = loadFromClassFile(name, classBytes);
+			
+			//keep loaded class for reuse
+			_cache.put(name, ret);
+		}
 		return ret;
 	}
 	
 	public static byte[] getClassData(String name) 
 		throws DMLRuntimeException
 	{
+		//class files compiled by janino or loaded from the persistent class cache,
+		//which we prefer to ship in order to avoid recompilation on executors
+		if( _bytes.containsKey(name) )
+			return _bytes.get(name);
+		
 		//get class in a compiler-specific manner
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			return _src.get(name).getBytes();
@@ -123,6 +173,8 @@ public class CodegenUtils
 	public static void clearClassCache() {
 		_cache.clear();
 		_src.clear();
+		_bytes.clear();
+		_locks.clear();
 	}
 	
 	public static void clearClassCache(Class<?> cla) {
@@ -131,6 +183,7 @@ public class CodegenUtils
 		while( iter.hasNext() )
 			if( iter.next().getValue()==cla )
 				iter.remove();
+		_bytes.remove(cla.getName());
 	}
 	
 	public static SpoofOperator createInstance(Class<?> cla) 
@@ -148,6 +201,34 @@ public class CodegenUtils
 		return ret;
 	}
 	
+	private static Object getClassLock(String name) {
+		Object lock = _locks.get(name);
+		if( lock == null ) {
+			Object tmp = new Object();
+			lock = _locks.putIfAbsent(name, tmp);
+			lock = (lock != null) ? lock : tmp;
+		}
+		return lock;
+	}
+	
+	private static boolean isClassFile(byte[] classBytes) {
+		//check for magic number of java class files
+		return classBytes != null && classBytes.length > 4
+			&& (classBytes[0] & 0xFF) == 0xCA && (classBytes[1] & 0xFF) == 0xFE
+			&& (classBytes[2] & 0xFF) == 0xBA && (classBytes[3] & 0xFF) == 0xBE;
+	}
+	
+	private static byte[] getClassBytes(String name) {
+		try {
+			return (SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO) ?
+				_bytes.get(name) : getClassAsByteArray(name);
+		}
+		catch(Exception ex) {
+			//class files are not available, skip persistent class cache
+			return null;
+		}
+	}
+	
 	////////////////////////////
 	//JANINO-specific methods (used for spark environments)
 
@@ -155,21 +236,30 @@ public class CodegenUtils
 		throws DMLRuntimeException
 	{
 		try {
-			//compile source code
-			SimpleCompiler compiler = new SimpleCompiler();
-			compiler.cook(src);
+			//parse and compile source code via janino's unit compiler,
+			//which exposes the compiled class files (e.g., for shipping)
+			Java.CompilationUnit cu = new Parser(new Scanner(null, new StringReader(src)))
+				.parseCompilationUnit();
+			ClassFile[] cfiles = new UnitCompiler(cu, new ClassLoaderIClassLoader(
+				CodegenUtils.class.getClassLoader())).compileUnit(false, false, false);
+			if( cfiles.length != 1 || !cfiles[0].getThisClassName().equals(name) )
+				throw new DMLRuntimeException("Unexpected class files for generated class "+name+".");
+			byte[] classBytes = cfiles[0].toByteArray();
 			
-			//keep source code for later re-construction
+			//keep source code and class file for later re-construction
 			_src.put(name, src);
+			_bytes.put(name, classBytes);
 			
-			//load compile class
-			return compiler.getClassLoader()
-				.loadClass(name);
+			//load compiled class
+			return loadFromClassFile(name, classBytes);
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException("Failed to compile class "+name+".", ex);
 		}
-	}	
+	}
 	
 	////////////////////////////
 	//JAVAC-specific methods (used for hadoop environments)
@@ -290,7 +380,7 @@ public class CodegenUtils
 		}
 	}
 	
-	private static void createWorkingDir() throws DMLRuntimeException  {
+	private static synchronized void createWorkingDir() throws DMLRuntimeException  {
 		if( _workingDir != null )
 			return;
 		String tmp = LocalFileUtils.getWorkingDir(LocalFileUtils.CATEGORY_CODEGEN);
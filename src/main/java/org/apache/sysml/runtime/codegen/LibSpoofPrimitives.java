@@ -442,11 +442,12 @@ public class LibSpoofPrimitives
 	}
 
 	public static void vectPowAdd(double[] a, double bval, double[] c, int[] aix, int ai, int ci, int alen, int len) {
-		if( bval == 0 ) //handle 0^0=1
+		double init = (bval == 0) ? 1 : 0; //handle 0^0=1
+		if( init != 0 )
 			for( int j=0; j<len; j++ )
-				c[ci + j] += 1;
+				c[ci + j] += init;
 		for( int j = ai; j < ai+alen; j++ )
-			c[ci + aix[j]] += Math.pow(a[j], bval) - 1;
+			c[ci + aix[j]] += Math.pow(a[j], bval) - init;
 	}
 	
 	public static void vectPowAdd(double bval, double[] a, double[] c, int[] aix, int ai, int ci, int alen, int len) {
@@ -481,7 +482,7 @@ public class LibSpoofPrimitives
 		double init = (bval == 0) ? 1 : 0;
 		double[] c = allocVector(len, true, init);
 		for( int j = ai; j < ai+alen; j++ )
-			c[aix[j]] = Math.pow(a[j], bval) - init;
+			c[aix[j]] = Math.pow(a[j], bval);
 		return c;
 	}
 	
@@ -492,6 +493,16 @@ public class LibSpoofPrimitives
 		return c;
 	}
 	
+	public static double[] vectPowWrite(double[] a, double[] b, int[] aix, int ai, int bi, int alen, int len) {
+		//not sparse-safe: zeros in a yield 0^b, i.e., 1 for b=0 and 0 otherwise
+		double[] c = allocVector(len, false);
+		for( int j = 0; j < len; j++ )
+			c[j] = (b[bi+j] == 0) ? 1 : 0;
+		for( int j = ai; j < ai+alen; j++ )
+			c[aix[j]] = Math.pow(a[j], b[bi+aix[j]]);
+		return c;
+	}
+	
 	//custom vector min
 	
 	public static void vectMinAdd(double[] a, double bval, double[] c, int ai, int ci, int len) {
@@ -27,7 +27,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -140,7 +139,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = getThreadPool();
 				ArrayList<ParAggTask> tasks = new ArrayList<ParAggTask>();
 				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 				int blklen = (int)(Math.ceil((double)m/nk));
@@ -148,7 +147,6 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 					tasks.add(new ParAggTask(inputs.get(0), b, scalars, m, n, sparseSafe, i*blklen, Math.min((i+1)*blklen, m))); 
 				//execute tasks
 				List<Future<Double>> taskret = pool.invokeAll(tasks);	
-				pool.shutdown();
 			
 				//aggregate partial results
 				ValueFunction vfun = getAggFunction();
@@ -227,7 +225,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = getThreadPool();
 				ArrayList<ParExecTask> tasks = new ArrayList<ParExecTask>();
 				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 				int blklen = (int)(Math.ceil((double)m/nk));
@@ -239,7 +237,6 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 						sparseSafe, i*blklen, Math.min((i+1)*blklen, m))); 
 				//execute tasks
 				List<Future<Long>> taskret = pool.invokeAll(tasks);	
-				pool.shutdown();
 				
 				//aggregate nnz and error handling
 				for( Future<Long> task : taskret )
@@ -26,7 +26,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -108,7 +107,7 @@ public abstract class SpoofMultiAggregate extends SpoofOperator implements Seria
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = getThreadPool();
 				ArrayList<ParAggTask> tasks = new ArrayList<ParAggTask>();
 				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 				int blklen = (int)(Math.ceil((double)m/nk));
@@ -116,7 +115,6 @@ public abstract class SpoofMultiAggregate extends SpoofOperator implements Seria
 					tasks.add(new ParAggTask(inputs.get(0), b, scalars, m, n, i*blklen, Math.min((i+1)*blklen, m))); 
 				//execute tasks
 				List<Future<double[]>> taskret = pool.invokeAll(tasks);	
-				pool.shutdown();
 			
 				//aggregate partial results
 				ArrayList<double[]> pret = new ArrayList<double[]>();
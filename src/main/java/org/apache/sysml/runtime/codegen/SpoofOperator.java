@@ -21,11 +21,14 @@ package org.apache.sysml.runtime.codegen;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -37,6 +40,10 @@ public abstract class SpoofOperator implements Serializable
 	private static final long serialVersionUID = 3834006998853573319L;
 	private static final Log LOG = LogFactory.getLog(SpoofOperator.class.getName());
 	
+	//shared thread pool for multi-threaded operators, reused across
+	//invocations in order to avoid thread creation per operator call
+	private static ExecutorService _pool = null;
+	
 	public abstract void execute(ArrayList<MatrixBlock> inputs, ArrayList<ScalarObject> scalars, MatrixBlock out) 
 		throws DMLRuntimeException;
 	
@@ -49,6 +56,25 @@ public abstract class SpoofOperator implements Serializable
 	
 	public abstract String getSpoofType(); 
 	
+	/**
+	 * Obtains the shared thread pool for multi-threaded execution. The pool
+	 * is created lazily with daemon threads and never shut down by callers,
+	 * while the degree of parallelism is controlled by the number of tasks.
+	 * 
+	 * @return shared executor service
+	 */
+	protected static synchronized ExecutorService getThreadPool() {
+		if( _pool == null ) {
+			_pool = Executors.newFixedThreadPool(
+				InfrastructureAnalyzer.getLocalParallelism(), r -> {
+					Thread t = new Thread(r, "codegen-worker");
+					t.setDaemon(true);
+					return t;
+				});
+		}
+		return _pool;
+	}
+	
 	public ScalarObject execute(ArrayList<MatrixBlock> inputs, ArrayList<ScalarObject> scalars) throws DMLRuntimeException {
 		throw new RuntimeException("Invalid invocation in base class.");
 	}
@@ -25,7 +25,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -124,7 +123,7 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = getThreadPool();
 			ArrayList<ParOuterProdAggTask> tasks = new ArrayList<ParOuterProdAggTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -133,7 +132,6 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 				tasks.add(new ParOuterProdAggTask(inputs.get(0), ab[0], ab[1], b, scalars, m, n, k, _outerProductType, i*blklen, Math.min((i+1)*blklen,m), 0, n));
 			//execute tasks
 			List<Future<Double>> taskret = pool.invokeAll(tasks);
-			pool.shutdown();
 			for( Future<Double> task : taskret )
 				sum += task.get();
 		} 
@@ -270,7 +268,7 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ExecutorService pool = getThreadPool();
 			ArrayList<ParExecTask> tasks = new ArrayList<ParExecTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -297,7 +295,6 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 					tasks.add(new ParExecTask(a, ab[0], ab[1], b, scalars, out, m, n, k, _outerProductType, i*blklen, Math.min((i+1)*blklen,m), 0, n));
 			}
 			List<Future<Long>> taskret = pool.invokeAll(tasks);
-			pool.shutdown();
 			for( Future<Long> task : taskret )
 				out.setNonZeros(out.getNonZeros() + task.get());
 		} 
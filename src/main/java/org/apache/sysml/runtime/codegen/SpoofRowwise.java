@@ -24,7 +24,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -44,6 +43,10 @@ public abstract class SpoofRowwise extends SpoofOperator
 	private static final long serialVersionUID = 6242910797139642998L;
 	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
 	
+	//shared (read-only) row arrays passed for empty rows
+	protected static final double[] EMPTY_VALS = new double[1];
+	protected static final int[] EMPTY_INDEXES = new int[1];
+	
 	public enum RowType {
 		NO_AGG,    //no aggregation
 		NO_AGG_B1, //no aggregation w/ matrix mult B1
@@ -175,7 +178,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 		double[] scalars = prepInputScalars(scalarObjects);
 		
 		//core parallel execute
-		ExecutorService pool = Executors.newFixedThreadPool( k );
+		ExecutorService pool = getThreadPool();
 		int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 		int blklen = (int)(Math.ceil((double)m/nk));
 		try
@@ -205,7 +208,6 @@ public abstract class SpoofRowwise extends SpoofOperator
 				out.setNonZeros(nnz);
 			}
 			
-			pool.shutdown();
 			out.examSparsity();
 		}
 		catch(Exception ex) {
@@ -241,21 +243,16 @@ public abstract class SpoofRowwise extends SpoofOperator
 	
 	private void executeSparse(SparseBlock sblock, SideInput[] b, double[] scalars, double[] c, int n, int rl, int ru) 
 	{
-		SparseRow empty = new SparseRowVector(1);
-		for( int i=rl; i<ru; i++ ) {
-			if( sblock!=null && !sblock.isEmpty(i) ) {
-				double[] avals = sblock.values(i);
-				int[] aix = sblock.indexes(i);
-				int apos = sblock.pos(i);
-				int alen = sblock.size(i);
-				
-				//call generated method
-				genexec(avals, aix, apos, b, scalars, c, alen, n, i);
-			}
-			else
-				genexec(empty.values(), 
-					empty.indexes(), 0, b, scalars, c, 0, n, i);	
+		//specialized sparse execution for any sparse block (e.g., MCSR, CSR)
+		//via its pos/indexes/values accessors, w/ row loop inlined into generated code
+		if( sblock != null ) {
+			genexecSparse(sblock, b, scalars, c, n, rl, ru);
+			return;
 		}
+		
+		//empty sparse block
+		for( int i=rl; i<ru; i++ )
+			genexec(EMPTY_VALS, EMPTY_INDEXES, 0, b, scalars, c, 0, n, i);
 	}
 	
 	private void executeCompressed(CompressedMatrixBlock a, SideInput[] b, double[] scalars, double[] c, int n, int rl, int ru) 
@@ -291,6 +288,20 @@ public abstract class SpoofRowwise extends SpoofOperator
 	
 	protected abstract void genexec(double[] avals, int[] aix, int ai, 
 		SideInput[] b, double[] scalars, double[] c, int alen, int n, int rowIndex);
+	
+	//default sparse row loop, overwritten by generated operators with a specialized
+	//loop and inlined row body (kept for classes compiled w/o this method)
+	protected void genexecSparse(SparseBlock sblock, 
+		SideInput[] b, double[] scalars, double[] c, int n, int rl, int ru) 
+	{
+		for( int i=rl; i<ru; i++ ) {
+			if( !sblock.isEmpty(i) )
+				genexec(sblock.values(i), sblock.indexes(i), sblock.pos(i), 
+					b, scalars, c, sblock.size(i), n, i);
+			else
+				genexec(EMPTY_VALS, EMPTY_INDEXES, 0, b, scalars, c, 0, n, i);
+		}
+	}
 
 	
 	/**
@@ -54,6 +54,8 @@ import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory;
 import org.apache.sysml.runtime.compress.utils.ConverterUtils;
 import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysml.runtime.compress.utils.QuantizationUtils;
+import org.apache.sysml.runtime.compress.utils.QuantizationUtils.QuantizationStatistics;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
@@ -77,6 +79,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.MatrixValue;
 import org.apache.sysml.runtime.matrix.data.RandomMatrixGenerator;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.matrix.data.SparseRow;
 import org.apache.sysml.runtime.matrix.data.SparseRowVector;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
@@ -227,6 +230,24 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	 */
 	public void compress(int k) 
 		throws DMLRuntimeException 
+	{
+		//default lossless compression
+		compress(k, 0);
+	}
+	
+	/**
+	 * Compress block, optionally with lossy quantization of columns. For 
+	 * a positive error bound, columns are mapped to quantized dictionaries
+	 * such that the max absolute error relative to the column value range 
+	 * stays below the given bound (e.g., 0.002 for 8 bit codes). The 
+	 * achieved errors are reported in the compression statistics.
+	 * 
+	 * @param k  number of threads
+	 * @param errorBound max relative quantization error, 0 for lossless compression
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public void compress(int k, double errorBound) 
+		throws DMLRuntimeException 
 	{
 		//check for redundant compression
 		if( isCompressed() ){
@@ -250,6 +271,18 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		MatrixBlock rawblock = !TRANSPOSE_INPUT ? new MatrixBlock(this) :
 			LibMatrixReorg.transpose(this, new MatrixBlock(numCols, numRows, sparse), k);
 		
+		//opt-in lossy quantization of columns (on the private copy of the input),
+		//which reduces the number of distinct values per column to enable DDC
+		if( errorBound > 0 && TRANSPOSE_INPUT ) {
+			if( rawblock.isInSparseFormat() && !(rawblock.getSparseBlock() instanceof SparseBlockMCSR) )
+				rawblock = new MatrixBlock(rawblock, SparseBlock.Type.MCSR, true);
+			QuantizationStatistics qstats = QuantizationUtils.quantizeRows(rawblock, errorBound);
+			_stats.numQuantizedCols = qstats.numQuantizedCols;
+			_stats.maxAbsError = qstats.maxAbsError;
+			_stats.errorBound = qstats.maxRelError;
+			nonZeros = rawblock.getNonZeros();
+		}
+		
 		//construct sample-based size estimator
 		CompressedSizeEstimator bitmapSizeEstimator = 
 				SizeEstimatorFactory.getSizeEstimator(rawblock, numRows);
@@ -366,6 +399,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 					+counts[7]+","+counts[6]+","+counts[8]+","+counts[9]+","+counts[5]);
 			LOG.debug("--compressed size: "+_stats.size);
 			LOG.debug("--compression ratio: "+_stats.ratio);
+			if( _stats.numQuantizedCols > 0 )
+				LOG.debug("--quantized cols: "+_stats.numQuantizedCols
+					+" (error bound: "+_stats.errorBound+", max error: "+_stats.maxAbsError+")");
 		}
 	}
 
@@ -662,6 +698,10 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		public double estSize = -1;
 		public double size = -1;
 		public double ratio = -1;
+		//achieved errors of lossy compression (0 if lossless)
+		public int numQuantizedCols = 0;
+		public double maxAbsError = 0;
+		public double errorBound = 0;
 		
 		public CompressionStatistics() {
 			//do nothing
@@ -1062,7 +1102,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			 || (op.aggOp.increOp.fn instanceof Builtin && 
 				(((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MIN 
 				||((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX))) ){
-			throw new DMLRuntimeException("Unary aggregates other than sum/sumsq/min/max not supported yet.");
+			//graceful fallback to uncompressed aggregates (e.g., mean, var, prod), 
+			//which is required for blockwise aggregates over rdds of compressed blocks
+			printDecompressWarning("aggregateUnaryOperations");
+			return decompress().aggregateUnaryOperations(op, result, 
+				blockingFactorRow, blockingFactorCol, indexesIn, inCP);
 		}
 		
 		Timing time = LOG.isDebugEnabled() ? new Timing(true) : null;
@@ -2032,6 +2076,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixValue m1Value, MatrixIndexes m2Index, MatrixValue m2Value,
 			MatrixValue result, AggregateBinaryOperator op)
 			throws DMLRuntimeException {
+		//compressed matrix-vector multiplication if applicable (e.g., 
+		//for blockwise mapmm over rdds of compressed blocks)
+		if( isCompressed() && this==m1Value && m1Value.getNumRows() > 1
+			&& m2Value.getNumColumns()==1 && !(m2Value instanceof CompressedMatrixBlock) )
+			return aggregateBinaryOperations(m1Value, m2Value, result, op);
+		
 		printDecompressWarning("aggregateBinaryOperations");
 		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right = getUncompressed(m2Value);
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress.utils;
+
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+
+/**
+ * Utilities for lossy compression via column-wise quantization. Each column
+ * is mapped to an equi-width dictionary of levels between the min and max
+ * non-zero value, where the number of levels is derived from the given error
+ * bound (max absolute error relative to the column value range). Zeros are
+ * always kept exact in order to preserve sparsity. Columns with few distinct
+ * values or an error bound that would require more than 16 bit codes are kept
+ * lossless.
+ */
+public class QuantizationUtils
+{
+	//max number of non-zero levels, leaving one code for zero in order 
+	//to fit the 2-byte (DDC2) dictionaries; 254 levels fit into DDC1
+	public static final int MAX_LEVELS_16BIT = 65534;
+
+	/**
+	 * Quantizes all rows of the given (transposed) matrix block in-place,
+	 * i.e., each row of the block corresponds to a column of the original
+	 * data. The non-zeros of the block are maintained accordingly. Sparse
+	 * blocks are required in MCSR format, which allows removing values
+	 * quantized to zero by an in-place compaction of the affected rows.
+	 *
+	 * @param rawblock transposed input block, modified in-place
+	 * @param errorBound max relative error w.r.t. the column value range
+	 * @return quantization statistics of achieved errors
+	 */
+	public static QuantizationStatistics quantizeRows(MatrixBlock rawblock, double errorBound)
+	{
+		QuantizationStatistics ret = new QuantizationStatistics();
+		if( errorBound <= 0 || rawblock.isEmptyBlock(false) )
+			return ret;
+
+		//determine number of levels for given error bound (max error is step/2)
+		long levels = (long)Math.ceil(1 / (2 * errorBound)) + 1;
+		if( levels > MAX_LEVELS_16BIT )
+			return ret;
+		int nlevels = (int) Math.max(levels, 2);
+
+		int m = rawblock.getNumRows();
+		int n = rawblock.getNumColumns();
+		if( rawblock.isInSparseFormat() ) {
+			SparseBlock a = rawblock.getSparseBlock();
+			if( !(a instanceof SparseBlockMCSR) )
+				throw new RuntimeException("Quantization requires sparse blocks in MCSR format.");
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				//remove non-zeros that have been quantized to zero
+				if( quantizeSegment(a.values(i), a.pos(i), a.size(i), nlevels, ret) )
+					a.get(i).compact();
+			}
+		}
+		else {
+			double[] a = rawblock.getDenseBlock();
+			for( int i=0, aix=0; i<m; i++, aix+=n )
+				quantizeSegment(a, aix, n, nlevels, ret);
+		}
+
+		rawblock.recomputeNonZeros();
+		return ret;
+	}
+
+	private static boolean quantizeSegment(double[] a, int apos, int alen, int nlevels, QuantizationStatistics stats)
+	{
+		//determine value range of non-zeros and early abort
+		//on columns with few distinct values (lossless dictionary)
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+		double[] tmp = new double[alen];
+		int nnz = 0;
+		for( int k=apos; k<apos+alen; k++ ) {
+			double v = a[k];
+			if( v == 0 ) continue;
+			min = Math.min(min, v);
+			max = Math.max(max, v);
+			tmp[nnz++] = v;
+		}
+		if( nnz <= nlevels || countDistinct(tmp, nnz, nlevels) <= nlevels )
+			return false;
+
+		//snap non-zero values to the nearest level
+		double range = max - min;
+		double step = range / (nlevels - 1);
+		double maxErr = 0;
+		boolean zeros = false;
+		for( int k=apos; k<apos+alen; k++ ) {
+			double v = a[k];
+			if( v == 0 ) continue;
+			double q = min + Math.round((v - min) / step) * step;
+			maxErr = Math.max(maxErr, Math.abs(v - q));
+			zeros |= (q == 0);
+			a[k] = q;
+		}
+
+		//maintain statistics of achieved errors
+		stats.numQuantizedCols++;
+		stats.maxAbsError = Math.max(stats.maxAbsError, maxErr);
+		stats.maxRelError = Math.max(stats.maxRelError, maxErr / range);
+		return zeros;
+	}
+
+	private static int countDistinct(double[] a, int len, int maxDistinct) {
+		//sort-based distinct count w/o boxing, with early abort
+		Arrays.sort(a, 0, len);
+		int cnt = 1;
+		for( int k=1; k<len && cnt<=maxDistinct; k++ )
+			cnt += (a[k] != a[k-1]) ? 1 : 0;
+		return cnt;
+	}
+
+	public static class QuantizationStatistics {
+		public int numQuantizedCols = 0;
+		public double maxAbsError = 0;
+		public double maxRelError = 0;
+	}
+}
@@ -60,6 +60,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
 import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.RemoteDPParForMR;
@@ -141,6 +142,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,  //factoring task partitioner  
 		FACTORING_CMIN,  //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX,  //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,   //work-stealing over per-worker iteration ranges (local only, factoring otherwise)
 		UNSPECIFIED
 	}
 	
@@ -262,6 +264,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean ALLOW_NESTED_PARALLELISM	= true;    // if not, transparently change parfor to for on program conversions (local,remote)
 	public static       boolean ALLOW_REUSE_MR_JVMS         = true;    // potential benefits: less setup costs per task, NOTE> cannot be used MR4490 in Hadoop 1.0.3, still not fixed in 1.1.1
 	public static       boolean ALLOW_REUSE_MR_PAR_WORKER   = ALLOW_REUSE_MR_JVMS; //potential benefits: less initialization, reuse in-memory objects and result consolidation!
+	public static final boolean ALLOW_REUSE_SPARK_PAR_WORKER = true; //reuse parsed parfor bodies across tasks of a job per spark executor
 	public static final boolean USE_PARALLEL_RESULT_MERGE   = false;    // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
@@ -300,6 +303,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	
 	//specifics used for optimization
 	protected long             _numIterations   = -1; 
+	protected double           _iterTime        = -1; //observed avg time per iteration in ms
 	protected String[]         _iterablePredicateVarsOriginal = null;
 	
 	//specifics used for data partitioning
@@ -311,6 +315,8 @@ public class ParForProgramBlock extends ForProgramBlock
 	protected int              _replicationExport   = -1;
 	//specifics used for result partitioning
 	protected boolean          _jvmReuse            = true;
+	//specifics used for result merge (result vars w/ disjoint row/column writes)
+	protected HashMap<String,PDataPartitionFormat> _resultVarsDisjoint = null;
 	//specifics used for recompilation 
 	protected double           _oldMemoryBudget = -1;
 	protected double           _recompileMemoryBudget = -1;
@@ -320,6 +326,8 @@ public class ParForProgramBlock extends ForProgramBlock
 	//specifics for spark 
 	protected Collection<String> _variablesRP = null;
 	protected Collection<String> _variablesECache = null;
+	//specifics for shared read-only inputs of local parfor
+	protected Collection<String> _variablesShared = null;
 	
 	// program block meta data
 	protected long                _ID           = -1;
@@ -469,6 +477,21 @@ public class ParForProgramBlock extends ForProgramBlock
 		_params.put(ParForStatementBlock.EXEC_MODE, String.valueOf(_execMode)); //kept up-to-date for copies
 	}
 	
+	/**
+	 * Returns the average execution time per iteration observed during
+	 * the last local execution of this parfor, used as runtime statistics 
+	 * for subsequent optimization (e.g., degree of parallelism).
+	 * 
+	 * @return time per iteration in ms, or -1 if unknown
+	 */
+	public double getObservedIterationTime() {
+		return _iterTime;
+	}
+	
+	public PTaskPartitioner getTaskPartitioner() {
+		return _taskPartitioner;
+	}
+	
 	public void setTaskPartitioner( PTaskPartitioner partitioner ) {
 		_taskPartitioner = partitioner;
 		_params.put(ParForStatementBlock.TASK_PARTITIONER, String.valueOf(_taskPartitioner)); //kept up-to-date for copies
@@ -517,6 +540,15 @@ public class ParForProgramBlock extends ForProgramBlock
 		_params.put(ParForStatementBlock.RESULT_MERGE, String.valueOf(_resultMerge)); //kept up-to-date for copies
 	}
 	
+	public void setDisjointResultVariables(HashMap<String,PDataPartitionFormat> vars) {
+		//only called from optimizer
+		_resultVarsDisjoint = vars;
+	}
+	
+	public HashMap<String,PDataPartitionFormat> getDisjointResultVariables() {
+		return _resultVarsDisjoint;
+	}
+	
 	public void setRecompileMemoryBudget( double localMem ) {
 		_recompileMemoryBudget = localMem;
 	}
@@ -533,6 +565,14 @@ public class ParForProgramBlock extends ForProgramBlock
 		_variablesECache = vars;
 	}
 	
+	public void setSharedReadOnlyVariables(Collection<String> vars) {
+		_variablesShared = vars;
+	}
+	
+	public Collection<String> getSharedReadOnlyVariables() {
+		return _variablesShared;
+	}
+	
 	public long getNumIterations() {
 		return _numIterations;
 	}
@@ -743,10 +783,17 @@ public class ParForProgramBlock extends ForProgramBlock
 		if( _enableRuntimePiggybacking )
 			RuntimePiggybacking.start( _numThreads ); //default piggybacking worker
 		
+		ArrayList<MatrixObject> sharedInputs = new ArrayList<MatrixObject>();
 		try
 		{
+			//pin shared read-only inputs once for all workers
+			pinSharedReadOnlyVariables(ec, sharedInputs);
+			
 			// Step 1) init parallel workers, task queue and threads
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<Task>();
+			//(work-stealing queue creates tasks on demand from per-worker ranges)
+			boolean stealing = (_taskPartitioner == PTaskPartitioner.WORK_STEALING);
+			LocalTaskQueue<Task> queue = stealing ? new LocalTaskQueueWorkStealing(
+				_iterablePredicateVars[0], from, to, incr, _numThreads, _taskSize) : new LocalTaskQueue<Task>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			for( int i=0; i<_numThreads; i++ )
@@ -754,6 +801,9 @@ public class ParForProgramBlock extends ForProgramBlock
 				//create parallel workers as (lazy) deep copies
 				//including preparation of update-in-place variables
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i);
+				workers[i].setTaskQueueIndex(i);
+				if( hasDisjointResultVariables() )
+					workers[i].enableTaskRecording();
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
@@ -773,7 +823,11 @@ public class ParForProgramBlock extends ForProgramBlock
 			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
 			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
-			if( USE_STREAMING_TASK_CREATION )
+			if( stealing )
+			{
+				//tasks created on demand by the parallel workers
+			}
+			else if( USE_STREAMING_TASK_CREATION )
 			{
 				//put tasks into queue (parworker start work on first tasks while creating tasks) 
 				numCreatedTasks = partitioner.createTasks(queue);		
@@ -796,6 +850,11 @@ public class ParForProgramBlock extends ForProgramBlock
 			// Step 3) join all threads (wait for finished work)
 			for( Thread thread : threads )
 				thread.join();
+			if( stealing ) {
+				numCreatedTasks = ((LocalTaskQueueWorkStealing)queue).getNumCreatedTasks();
+				if( DMLScript.STATISTICS )
+					Statistics.incrementParForWorkStealing(numCreatedTasks);
+			}
 			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
@@ -804,15 +863,25 @@ public class ParForProgramBlock extends ForProgramBlock
 			// Step 4) collecting results from each parallel worker
 			//obtain results
 			LocalVariableMap [] localVariables = new LocalVariableMap [_numThreads]; 
+			ArrayList<List<Task>> executedTasks = hasDisjointResultVariables() ?
+				new ArrayList<List<Task>>() : null;
+			double execTime = 0;
 			for( int i=0; i<_numThreads; i++ )
 			{
 				localVariables[i] = workers[i].getVariables();
 				numExecutedTasks += workers[i].getExecutedTasks();
 				numExecutedIterations += workers[i].getExecutedIterations();			
+				execTime += workers[i].getExecutedTime();
+				if( executedTasks != null )
+					executedTasks.add(workers[i].getExecutedTaskList());
 			}
+			
+			//keep observed time per iteration for subsequent optimization
+			if( numExecutedIterations > 0 )
+				_iterTime = execTime / numExecutedIterations;
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
-					                    localVariables );
+					                    localVariables, executedTasks );
 			
 			// Step 5) cleanup local parworkers (e.g., remove created functions)
 			for( int i=0; i<_numThreads; i++ )
@@ -836,6 +905,10 @@ public class ParForProgramBlock extends ForProgramBlock
 		}
 		finally 
 		{
+			//unpin shared read-only inputs
+			for( MatrixObject mo : sharedInputs )
+				mo.release();
+			
 			//remove thread-local memory budget (reset to original budget)
 			//(in finally to prevent error side effects for multiple scripts in one jvm)
 			resetMemoryBudget();
@@ -928,7 +1001,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations , numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
 		
@@ -999,7 +1072,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
@@ -1064,7 +1137,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations , numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
 		
@@ -1130,7 +1203,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
@@ -1227,6 +1300,36 @@ public class ParForProgramBlock extends ForProgramBlock
 		}
 	}
 
+	/**
+	 * Pins the shared read-only inputs (as determined by the optimizer) in memory
+	 * for the entire local parfor execution. All workers share the same matrix
+	 * objects, and hence, this avoids repeated eviction and restore of these 
+	 * inputs under memory pressure, which the parfor optimizer already accounted 
+	 * for by counting them only once in its memory estimates.
+	 * 
+	 * @param ec execution context
+	 * @param pinned list of pinned matrix objects, to be released after execution
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private void pinSharedReadOnlyVariables( ExecutionContext ec, ArrayList<MatrixObject> pinned ) 
+		throws DMLRuntimeException
+	{
+		if( _variablesShared == null || _variablesShared.isEmpty() )
+			return;
+		
+		for( String var : _variablesShared ) {
+			Data dat = ec.getVariable(var);
+			//robustness for partitioned or non-matrix inputs
+			if( dat instanceof MatrixObject && !((MatrixObject)dat).isPartitioned() ) {
+				MatrixObject mo = (MatrixObject) dat;
+				mo.acquireRead();
+				pinned.add(mo);
+				if( DMLScript.STATISTICS )
+					Statistics.incrementParForSharedInputs();
+			}
+		}
+	}
+	
 	private void handleSparkEagerCaching( ExecutionContext ec ) 
 		throws DMLRuntimeException
 	{
@@ -1468,6 +1571,7 @@ public class ParForProgramBlock extends ForProgramBlock
                         					   from, to, incr );
 				break;
 			case FACTORING:
+			case WORK_STEALING: //for remote or task file creation
 				tp = new TaskPartitionerFactoring( _taskSize,_numThreads, _iterablePredicateVars[0],
 							                       from, to, incr );
 				break;
@@ -1516,6 +1620,9 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			case LOCAL:
 				dp = new DataPartitionerLocal(dpf, _numThreads);
+				//in-memory partitions if consumed by local parworkers
+				if( _execMode == PExecMode.LOCAL )
+					((DataPartitionerLocal)dp).enableInMemoryPartitions();
 				break;
 			case REMOTE_MR:
 				dp = new DataPartitionerRemoteMR( dpf, _ID, numRed,
@@ -1687,7 +1794,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		return ret;
 	}
 
-	private void consolidateAndCheckResults(ExecutionContext ec, long expIters, long expTasks, long numIters, long numTasks, LocalVariableMap [] results) 
+	private void consolidateAndCheckResults(ExecutionContext ec, long expIters, long expTasks, long numIters, long numTasks, LocalVariableMap [] results, List<List<Task>> executedTasks) 
 		throws DMLRuntimeException
 	{
 		Timing time = new Timing(true);
@@ -1744,8 +1851,10 @@ public class ParForProgramBlock extends ForProgramBlock
 						in[i] = (MatrixObject) results[i].get( var ); 			
 					String fname = constructResultMergeFileName();
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, ec);
+					if( executedTasks != null && _resultVarsDisjoint.containsKey(var) )
+						rm.setDisjointIterations(_resultVarsDisjoint.get(var), executedTasks);
 					MatrixObject outNew = null;
-					if( USE_PARALLEL_RESULT_MERGE )
+					if( USE_PARALLEL_RESULT_MERGE || rm.isDisjointMerge() )
 						outNew = rm.executeParallelMerge( _numThreads );
 					else
 						outNew = rm.executeSerialMerge(); 		
@@ -1777,6 +1886,14 @@ public class ParForProgramBlock extends ForProgramBlock
 			Statistics.incrementParForMergeTime((long) time.stop());
 	}
 	
+	private boolean hasDisjointResultVariables()
+	{
+		//disjoint merge only supported for local in-memory result merge
+		return _resultVarsDisjoint != null && !_resultVarsDisjoint.isEmpty()
+			&& (_resultMerge == PResultMerge.LOCAL_MEM 
+				|| _resultMerge == PResultMerge.LOCAL_AUTOMATIC);
+	}
+	
 	/**
 	 * NOTE: Currently we use a fixed rule (multiple results AND REMOTE_MR -> only selected by the optimizer
 	 * if mode was REMOTE_MR as well). 
@@ -1990,6 +2107,8 @@ public class ParForProgramBlock extends ForProgramBlock
 		_enableRuntimePiggybacking = false;
 		_variablesRP           = null;
 		_variablesECache       = null;
+		_variablesShared       = null;
+		_resultVarsDisjoint    = null;
 	}
 	
 	
@@ -280,8 +280,8 @@ public class ProgramBlock
 		try
 		{
 			// start time measurement for statistics
-			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ?
-					System.nanoTime() : 0;
+			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()
+				|| ec.getStatistics() != null) ? System.nanoTime() : 0;
 
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
@@ -297,6 +297,10 @@ public class ProgramBlock
 				Statistics.maintainCPHeavyHitters(
 					tmp.getExtendedOpcode(), System.nanoTime()-t0);
 			}
+			if( ec.getStatistics() != null ) {
+				ec.getStatistics().maintainHeavyHitters(
+					tmp.getExtendedOpcode(), System.nanoTime()-t0);
+			}
 
 			// optional trace information (instruction and runtime)
 			if( LOG.isTraceEnabled() ) {
@@ -107,7 +107,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
     };
 	
 	/** Global flag indicating if caching is enabled (controls eviction) */
-	private static boolean _activeFlag = false;
+	private static volatile boolean _activeFlag = false;
 	
 	/** Global sequence for generating unique ids. */
 	private static IDSequence _seq = null;   
@@ -193,6 +193,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	//for lazily evaluated RDDs, and (2) as abstraction for environments that do not necessarily have spark libraries available
 	private RDDObject _rddHandle = null; //RDD handle
 	private BroadcastObject<T> _bcHandle = null; //Broadcast handle
+	private long _bcCacheKey = -1; //executor-local broadcast cache key, reset on modification
 	protected HashMap<GPUContext, GPUObject> _gpuObjects = null; //Per GPUContext object allocated on GPU
 	
 	/**
@@ -347,6 +348,14 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if( _bcHandle != null )
 			bc.setBackReference(this);
 	}
+	
+	public long getBroadcastCacheKey() {
+		return _bcCacheKey;
+	}
+	
+	public void setBroadcastCacheKey(long key) {
+		_bcCacheKey = key;
+	}
 
 	public synchronized GPUObject getGPUObject(GPUContext gCtx) {
 		return _gpuObjects.get(gCtx);
@@ -394,6 +403,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			
 		//call acquireHostRead if gpuHandle is set as well as is allocated
         boolean copiedFromGPU = false;
+        if( !_gpuObjects.isEmpty() ) //avoid iterator creation
         for (Map.Entry<GPUContext, GPUObject> kv : _gpuObjects.entrySet()) {
             GPUObject gObj = kv.getValue();
             if (gObj != null && copiedFromGPU && gObj.isDirty()) {
@@ -512,6 +522,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		updateStatusPinned(true);
 		setDirty(true);
 		_isAcquireFromEmpty = false;
+		_bcCacheKey = -1; //invalidate cached broadcast blocks
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -551,6 +562,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		setDirty(true);
 		_isAcquireFromEmpty = false;
+		_bcCacheKey = -1; //invalidate cached broadcast blocks
 		
 		//set references to new data
 		if (newData == null)
@@ -635,6 +647,54 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		}
 	}
 	
+	/**
+	 * Obtains the in-memory cache block without buffer pool bookkeeping, i.e.,
+	 * without pinning, status maintenance, and a subsequent release. This is 
+	 * only valid if caching is disabled (e.g., JMLC), where in-memory blocks 
+	 * are never evicted. Data that is not yet in memory (e.g., persistent
+	 * reads) is acquired and released once.
+	 * 
+	 * @return cacheable data
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized T acquireReadInMemory() 
+		throws CacheException
+	{
+		if( isCachingActive() )
+			throw new CacheException("Buffer pool bypass not allowed with active caching.");
+		if( _data == null ) {
+			acquireRead();
+			release();
+		}
+		return _data;
+	}
+	
+	/**
+	 * Sets the in-memory cache block without buffer pool bookkeeping, i.e.,
+	 * without pinning and subsequent release (see {@link #acquireReadInMemory()}).
+	 * 
+	 * @param newData new data
+	 * @throws DMLRuntimeException if error occurs
+	 */
+	public synchronized void acquireModifyInMemory(T newData) 
+		throws DMLRuntimeException
+	{
+		if( isCachingActive() )
+			throw new CacheException("Buffer pool bypass not allowed with active caching.");
+		if( newData == null )
+			throw new CacheException("acquireModify with empty cache block.");
+		
+		//clear old data and set references to new data
+		clearData();
+		_data = newData;
+		_data.compactEmptyBlock();
+		setDirty(true);
+		_isAcquireFromEmpty = false;
+		_bcCacheKey = -1; //invalidate cached broadcast blocks
+		refreshMetaData();
+		setCached();
+	}
+	
 	protected void clearReusableData() {}
 	
 	/**
@@ -668,6 +728,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		// clear the in-memory data
 		clearReusableData();
 		_data = null;	
+		_bcCacheKey = -1;
 		clearCache();
 		
 		// clear rdd/broadcast back refs
@@ -1338,7 +1399,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		_activeFlag = true; //turn on caching
 	}
 	
-	public static synchronized boolean isCachingActive() {
+	public static boolean isCachingActive() {
+		//lock-free read of volatile flag (probed on every release)
 		return _activeFlag;
 	}
 	
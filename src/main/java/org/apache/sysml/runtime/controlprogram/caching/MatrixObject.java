@@ -79,6 +79,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	private int _partitionSize = -1; //indicates n for BLOCKWISE_N
 	private String _partitionCacheName = null; //name of cache block
 	private MatrixBlock _partitionInMemory = null;
+	private MatrixObject[] _partitionBlocks = null; //in-memory partitions (see DataPartitionerLocal)
 
 	/**
 	 * Constructor that takes the value type and the HDFS filename.
@@ -124,6 +125,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		_partitionFormat = mo._partitionFormat;
 		_partitionSize = mo._partitionSize;
 		_partitionCacheName = mo._partitionCacheName;
+		_partitionBlocks = mo._partitionBlocks;
 	}
 
 	public void setUpdateType(UpdateType flag) {
@@ -231,6 +233,38 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		_partitionInMemory = block;
 	}
 	
+	/**
+	 * Sets all partitions of a partitioned matrix, which are then served
+	 * from memory without read of partition files. The partitions are
+	 * indexed by partition id (i.e., row, column, row block or column block),
+	 * and managed by the buffer pool, i.e., they are accounted in the memory 
+	 * budget, evicted if necessary, and cleaned up along with this matrix.
+	 * 
+	 * @param blocks array of partitions
+	 * @param brlen number of rows per block
+	 * @param bclen number of columns per block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public synchronized void setInMemoryPartitions(MatrixBlock[] blocks, int brlen, int bclen)
+		throws DMLRuntimeException
+	{
+		_partitionBlocks = new MatrixObject[blocks.length];
+		for( int i=0; i<blocks.length; i++ ) {
+			MatrixCharacteristics mcp = new MatrixCharacteristics(blocks[i].getNumRows(), 
+				blocks[i].getNumColumns(), brlen, bclen, blocks[i].getNonZeros());
+			MatrixObject pmo = new MatrixObject(getValueType(), getFileName()+"_p"+(i+1), 
+				new MatrixFormatMetaData(mcp, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+			pmo.acquireModify(blocks[i]);
+			pmo.release();
+			_partitionBlocks[i] = pmo;
+		}
+	}
+	
+	public synchronized boolean hasInMemoryPartitions()
+	{
+		return _partitionBlocks != null;
+	}
+	
 	/**
 	 * NOTE: for reading matrix partitions, we could cache (in its real sense) the read block
 	 * with soft references (no need for eviction, as partitioning only applied for read-only matrices).
@@ -257,6 +291,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		if( _partitionInMemory != null )
 			return _partitionInMemory;
 		
+		//return partition of in-memory partitioned matrix
+		if( _partitionBlocks != null )
+			return readInMemoryPartition( pred );
+		
 		MatrixBlock mb = null;
 		
 		try
@@ -359,6 +397,63 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return mb;
 	}
 
+	private MatrixBlock readInMemoryPartition( IndexRange pred ) 
+		throws CacheException
+	{
+		MatrixCharacteristics mc = ((MatrixFormatMetaData) _metaData).getMatrixCharacteristics();
+		
+		//determine partition and position within blockwise partitions
+		int pix = -1;
+		switch( _partitionFormat ) {
+			case ROW_WISE:          pix = (int)(pred.rowStart-1); break;
+			case COLUMN_WISE:       pix = (int)(pred.colStart-1); break;
+			case ROW_BLOCK_WISE:    pix = (int)((pred.rowStart-1)/mc.getRowsPerBlock()); break;
+			case COLUMN_BLOCK_WISE: pix = (int)((pred.colStart-1)/mc.getColsPerBlock()); break;
+			default:
+				throw new CacheException("Unsupported partition format for in-memory partitions: "+_partitionFormat);
+		}
+		
+		//pin partition (potentially restored from the buffer pool) and return a copy
+		//or slice, which is owned by the caller and hence, safe to modify
+		MatrixObject pmo = _partitionBlocks[pix];
+		MatrixBlock mb = pmo.acquireRead();
+		try
+		{
+			switch( _partitionFormat ) {
+				case ROW_BLOCK_WISE: {
+					int rix = (int)((pred.rowStart-1)%mc.getRowsPerBlock());
+					return mb.sliceOperations(rix, rix, (int)(pred.colStart-1), (int)(pred.colEnd-1), new MatrixBlock());
+				}
+				case COLUMN_BLOCK_WISE: {
+					int cix = (int)((pred.colStart-1)%mc.getColsPerBlock());
+					return mb.sliceOperations((int)(pred.rowStart-1), (int)(pred.rowEnd-1), cix, cix, new MatrixBlock());
+				}
+				default:
+					return new MatrixBlock(mb);
+			}
+		}
+		catch(DMLRuntimeException ex) {
+			throw new CacheException(ex);
+		}
+		finally {
+			pmo.release();
+		}
+	}
+	
+	@Override
+	public synchronized void clearData() 
+		throws DMLRuntimeException
+	{
+		super.clearData();
+		
+		//cleanup in-memory partitions incl buffer pool entries
+		if( isCleanupEnabled() && _partitionBlocks != null ) {
+			for( MatrixObject pmo : _partitionBlocks )
+				pmo.clearData();
+			_partitionBlocks = null;
+		}
+	}
+	
 	public String getPartitionFileName( IndexRange pred, int brlen, int bclen ) 
 		throws CacheException
 	{
@@ -29,17 +29,17 @@ public class PageCache
 	private static final int CLEANUP_THRESHOLD = 128;
 	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
 
-	public static void init()
+	public static synchronized void init()
 	{
 		_pool = new HashMap<Integer, LinkedList<SoftReference<byte[]>>>();
 	}
 
-	public static void clear()
+	public static synchronized void clear()
 	{
 		_pool = null;
 	}
 
-	public static void putPage( byte[] data )
+	public static synchronized void putPage( byte[] data )
 	{
 		//cleanup if too many different size lists
 		if( _pool.size()>CLEANUP_THRESHOLD )
@@ -53,7 +53,7 @@ public class PageCache
 		list.addLast(new SoftReference<byte[]>(data));	
 	}
 
-	public static byte[] getPage( int size )
+	public static synchronized byte[] getPage( int size )
 	{
 		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
 		if( list!=null ) {
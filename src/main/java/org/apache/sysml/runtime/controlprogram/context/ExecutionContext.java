@@ -54,6 +54,7 @@ import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.utils.ExecutionStatistics;
 
 
 public class ExecutionContext {
@@ -67,6 +68,12 @@ public class ExecutionContext {
 	
 	//debugging (optional)
 	protected DebugState _dbState = null;
+	
+	//per-execution statistics (optional)
+	protected ExecutionStatistics _stats = null;
+	
+	//in-memory matrices w/o buffer pool bookkeeping (JMLC, optional)
+	protected boolean _bypassBufferPool = false;
 
 	/**
 	 * List of {@link GPUContext}s owned by this {@link ExecutionContext}
@@ -103,6 +110,29 @@ public class ExecutionContext {
 	public void setVariables(LocalVariableMap vars) {
 		_variables = vars;
 	}
+	
+	public ExecutionStatistics getStatistics() {
+		return _stats;
+	}
+	
+	public void setStatistics(ExecutionStatistics stats) {
+		_stats = stats;
+	}
+	
+	public boolean isBufferPoolBypass() {
+		return _bypassBufferPool;
+	}
+	
+	/**
+	 * Enables the use of plain in-memory matrix and frame blocks for inputs 
+	 * and outputs, without buffer pool bookkeeping (acquire/release, pinning,
+	 * and eviction checks). This requires disabled caching (e.g., JMLC).
+	 * 
+	 * @param flag if true, bypass the buffer pool
+	 */
+	public void setBufferPoolBypass(boolean flag) {
+		_bypassBufferPool = flag;
+	}
 
 	/**
 	 * Get the i-th GPUContext
@@ -241,7 +271,8 @@ public class ExecutionContext {
 		throws DMLRuntimeException 
 	{	
 		MatrixObject mo = getMatrixObject(varName);
-		return mo.acquireRead();
+		return _bypassBufferPool ? 
+			mo.acquireReadInMemory() : mo.acquireRead();
 	}
 	
 	public void setMetaData(String varName, long nrows, long ncols) 
@@ -348,6 +379,8 @@ public class ExecutionContext {
 	public void releaseMatrixInput(String varName) 
 		throws DMLRuntimeException 
 	{
+		if( _bypassBufferPool )
+			return; //no pinning on acquire
 		MatrixObject mo = getMatrixObject(varName);
 		mo.release();
 	}
@@ -370,7 +403,8 @@ public class ExecutionContext {
 		throws DMLRuntimeException 
 	{	
 		FrameObject fo = getFrameObject(varName);
-		return fo.acquireRead();
+		return _bypassBufferPool ? 
+			fo.acquireReadInMemory() : fo.acquireRead();
 	}
 	
 	/**
@@ -382,12 +416,17 @@ public class ExecutionContext {
 	public void releaseFrameInput(String varName) 
 		throws DMLRuntimeException 
 	{
+		if( _bypassBufferPool )
+			return; //no pinning on acquire
 		FrameObject fo = getFrameObject(varName);
 		fo.release();
 	}
 	
 	public ScalarObject getScalarInput(CPOperand input) throws DMLRuntimeException {
-		return getScalarInput(input.getName(), input.getValueType(), input.isLiteral());
+		//reuse literal scalar objects of the operand (avoid repeated parsing)
+		if( input.isLiteral() )
+			return input.getLiteral();
+		return getScalarInput(input.getName(), input.getValueType(), false);
 	}
 	
 	public ScalarObject getScalarInput(String name, ValueType vt, boolean isLiteral)
@@ -422,8 +461,12 @@ public class ExecutionContext {
 			throws DMLRuntimeException 
 	{
 		MatrixObject mo = getMatrixObject(varName);
-		mo.acquireModify(outputData);
-	    mo.release();
+		if( _bypassBufferPool )
+			mo.acquireModifyInMemory(outputData);
+		else {
+			mo.acquireModify(outputData);
+			mo.release();
+		}
 	    setVariable(varName, mo);
 	}
 
@@ -446,8 +489,12 @@ public class ExecutionContext {
 		FrameObject fo = getFrameObject(varName);
 		if( outputData.getNumColumns()>0 && outputData.getSchema()!=null )
 			fo.setValueType(outputData.getSchema()[0]);
-		fo.acquireModify(outputData);
-		fo.release();
+		if( _bypassBufferPool )
+			fo.acquireModifyInMemory(outputData);
+		else {
+			fo.acquireModify(outputData);
+			fo.release();
+		}
 		    
 	    setVariable(varName, fo);
 	}
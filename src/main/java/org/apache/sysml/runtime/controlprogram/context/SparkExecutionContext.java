@@ -51,6 +51,7 @@ import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.spark.data.BroadcastBlockCache;
 import org.apache.sysml.runtime.instructions.spark.data.BroadcastObject;
 import org.apache.sysml.runtime.instructions.spark.data.LineageObject;
 import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
@@ -511,19 +512,21 @@ public class SparkExecutionContext extends ExecutionContext
 
 		PartitionedBroadcast<MatrixBlock> bret = null;
 
-		//reuse existing broadcast handle
+		//reuse existing broadcast handle (if valid and unmodified)
 		if( mo.getBroadcastHandle()!=null
 			&& mo.getBroadcastHandle().isValid() )
 		{
 			bret = mo.getBroadcastHandle().getBroadcast();
+			if( bret != null && bret.getCacheKey() != mo.getBroadcastCacheKey() )
+				bret = null;
 		}
 
 		//create new broadcast handle (never created, evicted)
 		if( bret == null )
 		{
-			//account for overwritten invalid broadcast (e.g., evicted)
+			//destroy and account for overwritten stale broadcast (e.g., evicted, modified)
 			if( mo.getBroadcastHandle()!=null )
-				CacheableData.addBroadcastSize(-mo.getBroadcastHandle().getSize());
+				cleanupStaleBroadcast(mo.getBroadcastHandle());
 
 			//obtain meta data for matrix
 			int brlen = (int) mo.getNumRowsPerBlock();
@@ -552,7 +555,11 @@ public class SparkExecutionContext extends ExecutionContext
 				ret[0] = getSparkContext().broadcast(pmb);
 			}
 
-			bret = new PartitionedBroadcast<MatrixBlock>(ret);
+			//obtain executor-local cache key (reused until variable modified)
+			if( mo.getBroadcastCacheKey() < 0 )
+				mo.setBroadcastCacheKey(BroadcastBlockCache.getNextCacheKey());
+
+			bret = new PartitionedBroadcast<MatrixBlock>(ret, mo.getBroadcastCacheKey());
 			BroadcastObject<MatrixBlock> bchandle = new BroadcastObject<MatrixBlock>(bret, varname,
 					OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics()));
 			mo.setBroadcastHandle(bchandle);
@@ -577,19 +584,21 @@ public class SparkExecutionContext extends ExecutionContext
 
 		PartitionedBroadcast<FrameBlock> bret = null;
 
-		//reuse existing broadcast handle
+		//reuse existing broadcast handle (if valid and unmodified)
 		if( fo.getBroadcastHandle()!=null
 			&& fo.getBroadcastHandle().isValid() )
 		{
 			bret = fo.getBroadcastHandle().getBroadcast();
+			if( bret != null && bret.getCacheKey() != fo.getBroadcastCacheKey() )
+				bret = null;
 		}
 
 		//create new broadcast handle (never created, evicted)
 		if( bret == null )
 		{
-			//account for overwritten invalid broadcast (e.g., evicted)
+			//destroy and account for overwritten stale broadcast (e.g., evicted, modified)
 			if( fo.getBroadcastHandle()!=null )
-				CacheableData.addBroadcastSize(-fo.getBroadcastHandle().getSize());
+				cleanupStaleBroadcast(fo.getBroadcastHandle());
 
 			//obtain meta data for frame
 			int bclen = (int) fo.getNumColumns();
@@ -618,7 +627,11 @@ public class SparkExecutionContext extends ExecutionContext
 				ret[0] = getSparkContext().broadcast(pmb);
 			}
 
-			bret = new PartitionedBroadcast<FrameBlock>(ret);
+			//obtain executor-local cache key (reused until variable modified)
+			if( fo.getBroadcastCacheKey() < 0 )
+				fo.setBroadcastCacheKey(BroadcastBlockCache.getNextCacheKey());
+
+			bret = new PartitionedBroadcast<FrameBlock>(ret, fo.getBroadcastCacheKey());
 			BroadcastObject<FrameBlock> bchandle = new BroadcastObject<FrameBlock>(bret, varname,
 					OptimizerUtils.estimatePartitionedSizeExactSparsity(fo.getMatrixCharacteristics()));
 			fo.setBroadcastHandle(bchandle);
@@ -1058,6 +1071,40 @@ public class SparkExecutionContext extends ExecutionContext
 		parent.addLineageChild( child );
 	}
 
+	/**
+	 * Indicates if the rdds of the given variables are co-partitioned, i.e., both
+	 * have the same number of partitions and placement of keys to partitions. 
+	 * 
+	 * @param var1 first variable
+	 * @param var2 second variable
+	 * @return true if both rdds exist and are co-partitioned
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public boolean isCoPartitioned(String var1, String var2)
+		throws DMLRuntimeException
+	{
+		RDDObject rdd1 = getCacheableData(var1).getRDDHandle();
+		RDDObject rdd2 = getCacheableData(var2).getRDDHandle();
+		return rdd1 != null && rdd2 != null 
+			&& rdd1.isCoPartitioned(rdd2);
+	}
+	
+	/**
+	 * Marks the rdd of a parent variable as co-partitioned with the rdd of a child 
+	 * variable, which is only valid for key- and partitioning-preserving operations.
+	 * 
+	 * @param varParent parent variable
+	 * @param varChild child variable
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public void setCoPartitioned(String varParent, String varChild)
+		throws DMLRuntimeException
+	{
+		RDDObject parent = getCacheableData(varParent).getRDDHandle();
+		RDDObject child = getCacheableData(varChild).getRDDHandle();
+		parent.setCoPartitioned( child );
+	}
+
 	public void addLineage(String varParent, String varChild, boolean broadcast)
 		throws DMLRuntimeException
 	{
@@ -1153,6 +1200,25 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 	}
 
+	/**
+	 * Destroys the remaining broadcasts of a stale broadcast handle before it
+	 * is replaced. Handles that are still referenced by the lineage of other
+	 * rdds are left to the regular lineage cleanup on rmvar.
+	 *
+	 * @param bchandle stale broadcast handle
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void cleanupStaleBroadcast(BroadcastObject bchandle)
+	{
+		if( bchandle.getNumReferences() > 0 )
+			return;
+		PartitionedBroadcast pbm = bchandle.getBroadcast();
+		if( pbm != null ) //robustness for evictions
+			for( Broadcast<PartitionedBlock> bc : pbm.getBroadcasts() )
+				cleanupBroadcastVariable(bc);
+		CacheableData.addBroadcastSize(-bchandle.getSize());
+	}
+
 	/**
 	 * This call destroys a broadcast variable at all executors and the driver.
 	 * Hence, it is intended to be used on rmvar only. Depending on the
@@ -136,9 +136,13 @@ public abstract class DataPartitioner
 			//_format = PDataPartitionFormat.ROW_BLOCK_WISE_N;
 		}
 		
+		//in-memory partitioning w/o write of partitions (if supported by partitioner)
+		boolean inmem = partitionMatrixInMemory( in, out, rows, cols, brlen, bclen );
+		
 		//check changing to binarycell in case of sparse cols (robustness)
 		boolean convertBlock2Cell = false;
-		if(    ii == InputInfo.BinaryBlockInputInfo 
+		if(    !inmem 
+			&& ii == InputInfo.BinaryBlockInputInfo 
 			&& _allowBinarycell
 			&& _format == PDataPartitionFormat.COLUMN_WISE	
 			&& sparsity < SPARSITY_CELL_THRESHOLD )
@@ -148,18 +152,21 @@ public abstract class DataPartitioner
 			convertBlock2Cell = true;
 		}
 				
-		//prepare filenames and cleanup if required
-		String fnameNew = out.getFileName();
-		try{
-			MapReduceTool.deleteFileIfExistOnHDFS(fnameNew);
-		}
-		catch(Exception ex){
-			throw new DMLRuntimeException( ex );
+		if( !inmem )
+		{
+			//prepare filenames and cleanup if required
+			String fnameNew = out.getFileName();
+			try{
+				MapReduceTool.deleteFileIfExistOnHDFS(fnameNew);
+			}
+			catch(Exception ex){
+				throw new DMLRuntimeException( ex );
+			}
+			
+			//core partitioning (depending on subclass)
+			partitionMatrix( in, fnameNew, ii, oi, rows, cols, brlen, bclen );
 		}
 		
-		//core partitioning (depending on subclass)
-		partitionMatrix( in, fnameNew, ii, oi, rows, cols, brlen, bclen );
-		
 		//create output matrix object
 		out.setPartitioned( _format, _n ); 
 		
@@ -182,6 +189,26 @@ public abstract class DataPartitioner
 	protected abstract void partitionMatrix( MatrixObject in, String fnameNew, InputInfo ii, OutputInfo oi, long rlen, long clen, int brlen, int bclen )
 		throws DMLRuntimeException;
 
+	/**
+	 * Creates the partitions of the given input in memory and attaches them to the 
+	 * output matrix object, if supported by the partitioner and input. By default, 
+	 * partitions are always written to the output file via partitionMatrix.
+	 * 
+	 * @param in input matrix object
+	 * @param out output matrix object
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param brlen number of rows per block
+	 * @param bclen number of columns per block
+	 * @return true if partitioned in memory
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected boolean partitionMatrixInMemory( MatrixObject in, MatrixObject out, long rlen, long clen, int brlen, int bclen )
+		throws DMLRuntimeException
+	{
+		return false;
+	}
+
 	
 	public static MatrixBlock createReuseMatrixBlock( PDataPartitionFormat dpf, int rows, int cols ) 
 	{
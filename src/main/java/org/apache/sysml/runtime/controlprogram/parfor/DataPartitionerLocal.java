@@ -23,10 +23,16 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -40,6 +46,7 @@ import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PartitionFormat;
@@ -50,10 +57,12 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.FastStringTokenizer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
@@ -80,10 +89,16 @@ public class DataPartitionerLocal extends DataPartitioner
 {
 	private static final boolean PARALLEL = true; 
 	
+	//in-memory partitions for inputs that fit into a fraction of the local memory budget,
+	//which are created in parallel and directly served from the partitioned matrix object
+	public static final boolean ALLOW_IN_MEMORY_PARTITIONS = true;
+	public static final double IN_MEMORY_MAX_FRACTION = 0.3;
+	
 	private IDSequence _seq = null;
 	private MatrixBlock _reuseBlk = null;
 	
 	private int _par = -1;
+	private boolean _inMemory = false;
 	
 	/**
 	 * DataPartitionerLocal constructor.
@@ -105,6 +120,86 @@ public class DataPartitionerLocal extends DataPartitioner
 		_par = (par > 0) ? par : 1;
 	}
 	
+	/**
+	 * Enables in-memory partitions for sufficiently small inputs, which
+	 * is only valid if the partitioned matrix is consumed in the same process.
+	 */
+	public void enableInMemoryPartitions() {
+		_inMemory = true;
+	}
+	
+	@Override
+	protected boolean partitionMatrixInMemory(MatrixObject in, MatrixObject out, long rlen, long clen, int brlen, int bclen) 
+		throws DMLRuntimeException
+	{
+		//check applicability of in-memory partitions
+		if( !ALLOW_IN_MEMORY_PARTITIONS || !_inMemory || rlen <= 0 || clen <= 0
+			|| rlen > Integer.MAX_VALUE || clen > Integer.MAX_VALUE
+			|| !(_format == PDataPartitionFormat.ROW_WISE || _format == PDataPartitionFormat.COLUMN_WISE
+				|| _format == PDataPartitionFormat.ROW_BLOCK_WISE || _format == PDataPartitionFormat.COLUMN_BLOCK_WISE) )
+			return false;
+		long nnz = in.getNnz();
+		double sp = OptimizerUtils.getSparsity(rlen, clen, (nnz >= 0) ? nnz : rlen*clen);
+		if( OptimizerUtils.estimateSizeExactSparsity(rlen, clen, sp) 
+			> IN_MEMORY_MAX_FRACTION * OptimizerUtils.getLocalMemBudget() )
+			return false;
+		
+		//create partitions in parallel from the pinned input
+		MatrixBlock mb = in.acquireRead();
+		try {
+			out.setInMemoryPartitions(createInMemoryPartitions(mb, brlen, bclen), brlen, bclen);
+		}
+		finally {
+			in.release();
+		}
+		return true;
+	}
+	
+	private MatrixBlock[] createInMemoryPartitions(MatrixBlock mb, int brlen, int bclen) 
+		throws DMLRuntimeException
+	{
+		int m = mb.getNumRows();
+		int n = mb.getNumColumns();
+		
+		//column partitions via (multi-threaded) transpose, in order to
+		//extract columns as contiguous rows of the transposed input
+		MatrixBlock src = mb;
+		if( _format == PDataPartitionFormat.COLUMN_WISE ) {
+			src = LibMatrixReorg.transpose(mb, 
+				new MatrixBlock(n, m, mb.isInSparseFormat()), _par);
+		}
+		
+		//determine number of partitions and partition size
+		int blen = (_format == PDataPartitionFormat.ROW_BLOCK_WISE) ? brlen : 
+			(_format == PDataPartitionFormat.COLUMN_BLOCK_WISE) ? bclen : 1;
+		int len = (_format == PDataPartitionFormat.ROW_WISE || _format == PDataPartitionFormat.ROW_BLOCK_WISE) ? m : n;
+		MatrixBlock[] ret = new MatrixBlock[(int)Math.ceil((double)len/blen)];
+		
+		try
+		{
+			int k = Math.min(_par, ret.length);
+			if( k <= 1 ) {
+				new InMemoryPartitionTask(src, ret, 0, ret.length, blen).call();
+			}
+			else {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<InMemoryPartitionTask> tasks = new ArrayList<InMemoryPartitionTask>();
+				int tlen = (int)Math.ceil((double)ret.length/k);
+				for( int i=0; i<k & i*tlen<ret.length; i++ )
+					tasks.add(new InMemoryPartitionTask(src, ret, i*tlen, Math.min((i+1)*tlen, ret.length), blen));
+				List<Future<Object>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> rtask : rtasks )
+					rtask.get(); //error handling
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return ret;
+	}
+	
 	@Override
 	protected void partitionMatrix(MatrixObject in, String fnameNew, InputInfo ii, OutputInfo oi, long rlen, long clen, int brlen, int bclen)
 			throws DMLRuntimeException 
@@ -329,34 +424,24 @@ public class DataPartitionerLocal extends DataPartitioner
 			FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
 			
 			//prepare sequence file reader, and write to local staging area
-			MatrixIndexes key = new MatrixIndexes(); 
-			MatrixBlock value = new MatrixBlock();
-			
-			for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+			//(multi-threaded over input files, with disjoint staging files per block)
+			Path[] paths = IOUtilFunctions.getSequenceFilePaths(fs, path);
+			int k = Math.min(paths.length, _par);
+			if( PARALLEL && k > 1 )
 			{
-				SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
-				try
-				{
-					while(reader.next(key, value)) //for each block
-					{
-						long row_offset = (key.getRowIndex()-1)*brlen;
-						long col_offset = (key.getColumnIndex()-1)*bclen;
-						long rows = value.getNumRows();
-						long cols = value.getNumColumns();
-						
-						//bound check per block
-						if( row_offset + rows < 1 || row_offset + rows > rlen || col_offset + cols<1 || col_offset + cols > clen )
-						{
-							throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
-									              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
-						}
-						
-					    appendBlockToStagingArea(fnameStaging, value, row_offset, col_offset, brlen, bclen);
-					}
-				}
-				finally {
-					IOUtilFunctions.closeSilently(reader);
-				}
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<StagingTaskBinaryBlock> tasks = new ArrayList<StagingTaskBinaryBlock>();
+				for( Path lpath : paths )
+					tasks.add(new StagingTaskBinaryBlock(fs, lpath, job, fnameStaging, rlen, clen, brlen, bclen));
+				List<Future<Object>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> rtask : rtasks )
+					rtask.get(); //error handling
+			}
+			else
+			{
+				for( Path lpath : paths )
+					appendBinaryBlockFileToStagingArea(fs, lpath, job, fnameStaging, rlen, clen, brlen, bclen, _reuseBlk);
 			}
 
 			//STEP 2: read matrix blocks from staging area and write matrix to HDFS
@@ -494,7 +579,39 @@ public class DataPartitionerLocal extends DataPartitioner
 		}
 	}
 
-	private void appendBlockToStagingArea( String dir, MatrixBlock mb, long row_offset, long col_offset, long brlen, long bclen ) 
+	@SuppressWarnings("deprecation")
+	private void appendBinaryBlockFileToStagingArea( FileSystem fs, Path lpath, JobConf job, String fnameStaging, long rlen, long clen, int brlen, int bclen, MatrixBlock reuse ) 
+		throws DMLRuntimeException, IOException
+	{
+		MatrixIndexes key = new MatrixIndexes(); 
+		MatrixBlock value = new MatrixBlock();
+		
+		SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
+		try
+		{
+			while(reader.next(key, value)) //for each block
+			{
+				long row_offset = (key.getRowIndex()-1)*brlen;
+				long col_offset = (key.getColumnIndex()-1)*bclen;
+				long rows = value.getNumRows();
+				long cols = value.getNumColumns();
+				
+				//bound check per block
+				if( row_offset + rows < 1 || row_offset + rows > rlen || col_offset + cols<1 || col_offset + cols > clen )
+				{
+					throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+							              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+				}
+				
+			    appendBlockToStagingArea(fnameStaging, value, row_offset, col_offset, brlen, bclen, reuse);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	private void appendBlockToStagingArea( String dir, MatrixBlock mb, long row_offset, long col_offset, long brlen, long bclen, MatrixBlock reuse ) 
 		throws DMLRuntimeException, IOException
 	{
 		//NOTE: for temporary block we always create dense representations
@@ -506,14 +623,14 @@ public class DataPartitionerLocal extends DataPartitioner
 
 		if( _format == PDataPartitionFormat.ROW_WISE ) 
 		{	
-			_reuseBlk.reset( 1, (int)cols, sparse, (int) (cols*sparsity) ); 			
+			reuse.reset( 1, (int)cols, sparse, (int) (cols*sparsity) ); 			
 			for( int i=0; i<rows; i++ )
 			{
 				String pdir = LocalFileUtils.checkAndCreateStagingDir(dir+"/"+(row_offset+1+i));
 				String pfname = pdir+"/"+"block_"+(col_offset/bclen+1);
-				mb.sliceOperations(i, i, 0, (int)(cols-1), _reuseBlk);
-				LocalFileUtils.writeMatrixBlockToLocal(pfname, _reuseBlk);
-				_reuseBlk.reset();
+				mb.sliceOperations(i, i, 0, (int)(cols-1), reuse);
+				LocalFileUtils.writeMatrixBlockToLocal(pfname, reuse);
+				reuse.reset();
 			}
 		}
 		else if( _format == PDataPartitionFormat.ROW_BLOCK_WISE )
@@ -525,15 +642,15 @@ public class DataPartitionerLocal extends DataPartitioner
 		else if( _format == PDataPartitionFormat.COLUMN_WISE )
 		{
 			//create object for reuse
-			_reuseBlk.reset( (int)rows, 1, false );
+			reuse.reset( (int)rows, 1, false );
 			
 			for( int i=0; i<cols; i++ )
 			{
 				String pdir = LocalFileUtils.checkAndCreateStagingDir(dir+"/"+(col_offset+1+i));
 				String pfname = pdir+"/"+"block_"+(row_offset/brlen+1); 			
-				mb.sliceOperations(0, (int)(rows-1), i, i, _reuseBlk);
-				LocalFileUtils.writeMatrixBlockToLocal(pfname, _reuseBlk);
-				_reuseBlk.reset();
+				mb.sliceOperations(0, (int)(rows-1), i, i, reuse);
+				LocalFileUtils.writeMatrixBlockToLocal(pfname, reuse);
+				reuse.reset();
 			}				
 		}
 		else if( _format == PDataPartitionFormat.COLUMN_BLOCK_WISE )
@@ -755,6 +872,106 @@ public class DataPartitionerLocal extends DataPartitioner
 			throws IOException;
 	}
 	
+	private class StagingTaskBinaryBlock implements Callable<Object>
+	{
+		private final FileSystem _fs;
+		private final Path _path;
+		private final JobConf _job;
+		private final String _fnameStaging;
+		private final long _rlen;
+		private final long _clen;
+		private final int _brlen;
+		private final int _bclen;
+		
+		public StagingTaskBinaryBlock(FileSystem fs, Path path, JobConf job, String fnameStaging, long rlen, long clen, int brlen, int bclen) {
+			_fs = fs;
+			_path = path;
+			_job = job;
+			_fnameStaging = fnameStaging;
+			_rlen = rlen;
+			_clen = clen;
+			_brlen = brlen;
+			_bclen = bclen;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			//thread-local reuse block
+			MatrixBlock reuse = DataPartitioner.createReuseMatrixBlock(_format, _brlen, _bclen);
+			appendBinaryBlockFileToStagingArea(_fs, _path, _job, _fnameStaging, _rlen, _clen, _brlen, _bclen, reuse);
+			return null;
+		}
+	}
+	
+	private class InMemoryPartitionTask implements Callable<Object>
+	{
+		private final MatrixBlock _src;
+		private final MatrixBlock[] _ret;
+		private final int _pl;
+		private final int _pu;
+		private final int _blen;
+		
+		public InMemoryPartitionTask(MatrixBlock src, MatrixBlock[] ret, int pl, int pu, int blen) {
+			_src = src;
+			_ret = ret;
+			_pl = pl;
+			_pu = pu;
+			_blen = blen;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			int m = _src.getNumRows();
+			int n = _src.getNumColumns();
+			for( int p=_pl; p<_pu; p++ ) {
+				switch( _format ) {
+					case ROW_WISE:
+						_ret[p] = _src.sliceOperations(p, p, 0, n-1, new MatrixBlock());
+						break;
+					case ROW_BLOCK_WISE:
+						_ret[p] = _src.sliceOperations(p*_blen, Math.min((p+1)*_blen, m)-1, 0, n-1, new MatrixBlock());
+						break;
+					case COLUMN_WISE:
+						_ret[p] = createColumnPartition(_src, p);
+						break;
+					case COLUMN_BLOCK_WISE:
+						_ret[p] = _src.sliceOperations(0, m-1, p*_blen, Math.min((p+1)*_blen, n)-1, new MatrixBlock());
+						break;
+					default:
+						throw new DMLRuntimeException("Unsupported in-memory partition format: "+_format);
+				}
+			}
+			return null;
+		}
+		
+		private MatrixBlock createColumnPartition(MatrixBlock srcT, int j) {
+			//copy row j of the transposed input into a dense column vector
+			int m = srcT.getNumColumns();
+			MatrixBlock ret = new MatrixBlock(m, 1, false);
+			if( srcT.isEmptyBlock(false) )
+				return ret;
+			ret.allocateDenseBlock();
+			double[] c = ret.getDenseBlock();
+			if( srcT.isInSparseFormat() ) {
+				SparseBlock a = srcT.getSparseBlock();
+				if( a != null && !a.isEmpty(j) ) {
+					int apos = a.pos(j);
+					int alen = a.size(j);
+					int[] aix = a.indexes(j);
+					double[] avals = a.values(j);
+					for( int k=apos; k<apos+alen; k++ )
+						c[aix[k]] = avals[k];
+				}
+			}
+			else {
+				System.arraycopy(srcT.getDenseBlock(), j*m, c, 0, m);
+			}
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+	}
+	
 	private class DataPartitionerWorkerTextCell extends DataPartitionerWorker
 	{
 		public DataPartitionerWorkerTextCell(JobConf job, String fnameNew, String fnameStaging, String[] fnamesPartitions, int start, int end) 
@@ -41,6 +41,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 public class LocalParWorker extends ParWorker implements Runnable
 {
 	protected LocalTaskQueue<Task> _taskQueue   = null;
+	protected int                  _queueIx     = -1;
 	
 	protected Collection<String> _fnNames = null;
 	
@@ -48,6 +49,9 @@ public class LocalParWorker extends ParWorker implements Runnable
 	protected boolean   _stopped     = false;
 	protected int 		_max_retry   = -1;
 	
+	//total execution time of successful tasks in ms
+	protected double    _execTime    = 0;
+	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor )	
 	{
 		super(ID, body, monitor);
@@ -67,6 +71,26 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Sets the index of this worker, used for worker-specific 
+	 * reads from the task queue (e.g., work-stealing queue).
+	 * 
+	 * @param ix worker index
+	 */
+	public void setTaskQueueIndex(int ix) {
+		_queueIx = ix;
+	}
+	
+	/**
+	 * Returns the total execution time of successfully executed tasks,
+	 * which is only valid after the worker finished.
+	 * 
+	 * @return execution time in ms
+	 */
+	public double getExecutedTime() {
+		return _execTime;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -96,7 +120,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
 			try
 			{
-				lTask = _taskQueue.dequeueTask();
+				lTask = _taskQueue.dequeueTask(_queueIx);
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
@@ -112,6 +136,8 @@ public class LocalParWorker extends ParWorker implements Runnable
 			//execute the task sequentially (re-try on error)
 			boolean success = false;
 			int retrys = _max_retry;
+			long numIters = _numIters;
+			Timing ttask = new Timing(true);
 			
 			while( !success )
 			{
@@ -137,6 +163,13 @@ public class LocalParWorker extends ParWorker implements Runnable
 					}
 				}
 			}
+			
+			//runtime feedback of observed task execution time
+			if( success ) {
+				double ttime = ttask.stop();
+				_taskQueue.reportTaskTime(_queueIx, _numIters-numIters, ttime);
+				_execTime += ttime;
+			}
 		}	
 
 		//setup fair scheduler pool for worker thread
@@ -97,6 +97,33 @@ public class LocalTaskQueue<T>
 		return t;
 	}
 	
+	/**
+	 * Read of the next task by the given worker. By default, all workers
+	 * share the FIFO queue, but subclasses may use worker-specific queues.
+	 * 
+	 * @param workerIx index of the reading worker
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public T dequeueTask( int workerIx ) 
+		throws InterruptedException
+	{
+		return dequeueTask();
+	}
+	
+	/**
+	 * Feedback of the observed execution time of a task by the given worker,
+	 * which allows queues to adapt the size of subsequently created tasks.
+	 * By default, this feedback is ignored.
+	 * 
+	 * @param workerIx index of the reporting worker
+	 * @param numIters number of executed iterations
+	 * @param time execution time in milliseconds
+	 */
+	public void reportTaskTime( int workerIx, long numIters, double time ) {
+		//do nothing
+	}
+	
 	/**
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * Work-stealing task queue for local parfor workers. Instead of a single shared
+ * FIFO queue, the iteration space (from, to, incr) is statically split into one
+ * contiguous iteration range per worker. Each worker takes small range tasks from
+ * the front of its own range. Once its own range is exhausted, a worker steals the 
+ * back half of the largest remaining range of another worker, which achieves dynamic 
+ * load balance without a central queue and without eager materialization of tasks.
+ * 
+ * Note that this queue is not lock-free: each range is guarded by a synchronized
+ * lock on its range object, which is only contended while another worker steals 
+ * from this range. Only the victim selection reads the (volatile) range bounds 
+ * without locks, and re-checks the selected range under its lock.
+ *
+ * Since the iteration space is known upfront, this queue does not support
+ * enqueue of additional tasks, and is implicitly closed on creation.
+ *
+ * With adaptive task sizes, the size of tasks taken from the own range is derived
+ * from the observed execution times of previous tasks of the same worker, such that
+ * tasks of cheap iterations amortize the per-task overhead, while expensive or
+ * skewed iterations are still executed in small tasks and remain available for
+ * stealing by other workers.
+ */
+public class LocalTaskQueueWorkStealing extends LocalTaskQueue<Task>
+{
+	//adaptive task sizes from observed iteration costs
+	public static boolean ADAPTIVE_TASK_SIZES = true;
+	
+	//target execution time per task in ms (for adaptive task sizes)
+	public static final double ADAPTIVE_TARGET_TASK_TIME = 10;
+	
+	//decay of previously observed times (higher weight of recent tasks)
+	private static final double ADAPTIVE_DECAY = 0.5;
+	
+	private final String _iterVarName;
+	private final long _from;
+	private final long _incr;
+	private final long _chunk;
+
+	//per-worker iteration ranges [lfrom, lto) in terms of iteration
+	//positions, each guarded by the corresponding range object
+	private final IterRange[] _ranges;
+
+	//number of created tasks, maintained per worker to avoid contention
+	//(with an additional counter for consumers without own range)
+	private final long[] _numTasks;
+
+	//decayed execution times and iterations per worker, which are only
+	//updated and read by the owning worker (hence, w/o synchronization)
+	private final double[] _wTime;
+	private final double[] _wIters;
+
+	public LocalTaskQueueWorkStealing(String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal, int numWorkers, long taskSize)
+	{
+		//normalize and split the iteration space via the task partitioner
+		TaskPartitioner tp = new TaskPartitionerStatic(taskSize, numWorkers, iterVarName, fromVal, toVal, incrVal);
+		long numIter = tp.getNumIterations();
+
+		_iterVarName = iterVarName;
+		_from = tp._fromVal.getLongValue();
+		_incr = tp._incrVal.getLongValue();
+		_chunk = Math.max(taskSize, 1);
+		_ranges = new IterRange[numWorkers];
+		_numTasks = new long[numWorkers+1];
+		_wTime = new double[numWorkers];
+		_wIters = new double[numWorkers];
+
+		//initial static assignment of equally sized ranges
+		long blen = numIter / numWorkers;
+		long rem = numIter % numWorkers;
+		long pos = 0;
+		for( int i=0; i<numWorkers; i++ ) {
+			long len = blen + ((i < rem) ? 1 : 0);
+			_ranges[i] = new IterRange(pos, pos+len);
+			pos += len;
+		}
+
+		closeInput();
+	}
+
+	@Override
+	public void enqueueTask(Task t) {
+		throw new RuntimeException("Unsupported enqueue of tasks into work-stealing task queue.");
+	}
+
+	/**
+	 * Read of the next task by a consumer without own iteration range,
+	 * which always steals iterations from the worker ranges.
+	 *
+	 * @return task or NO_MORE_TASKS
+	 */
+	@Override
+	public Task dequeueTask() {
+		return dequeueTask(-1);
+	}
+
+	/**
+	 * Read of the next task by the given worker, which takes a task from the
+	 * front of its own range, or steals from other workers if empty.
+	 *
+	 * @param workerIx worker index in [0, numWorkers)
+	 * @return task or NO_MORE_TASKS
+	 */
+	@Override
+	public Task dequeueTask(int workerIx)
+	{
+		int k = _ranges.length;
+		IterRange own = (workerIx >= 0) ? _ranges[workerIx % k] : null;
+		int cix = (workerIx >= 0) ? workerIx % k : 0;
+
+		while( true ) {
+			//take next chunk from the front of own range
+			if( own != null ) {
+				synchronized( own ) {
+					if( own.lfrom < own.lto ) {
+						long lfrom = own.lfrom;
+						long lto = Math.min(lfrom + getTaskSize(cix, own.lto-lfrom), own.lto);
+						own.lfrom = lto;
+						_numTasks[cix]++;
+						return createTask(lfrom, lto);
+					}
+				}
+			}
+
+			//steal the back half of the largest remaining range
+			//(approximate victim selection w/o locks, checked on split;
+			//ranges in transfer might be missed, which only affects the
+			//load balance at the very end but not the correctness)
+			IterRange victim = null;
+			long vlen = 0;
+			for( int i=1; i<=k; i++ ) {
+				IterRange r = _ranges[(cix + i) % k];
+				long len = r.lto - r.lfrom;
+				if( r != own && len > vlen ) {
+					victim = r;
+					vlen = len;
+				}
+			}
+			if( victim == null )
+				return (Task) NO_MORE_TASKS; //all ranges exhausted
+
+			long sfrom = -1, sto = -1;
+			synchronized( victim ) {
+				long len = victim.lto - victim.lfrom;
+				if( len <= 0 )
+					continue; //concurrently exhausted, retry
+				sto = victim.lto;
+				sfrom = victim.lto - Math.max(len/2, Math.min(len, _chunk));
+				victim.lto = sfrom;
+			}
+
+			//consumer w/o own range, directly execute stolen range
+			if( own == null ) {
+				synchronized( _numTasks ) {
+					_numTasks[k]++;
+				}
+				return createTask(sfrom, sto);
+			}
+
+			//refill own range with stolen iterations
+			synchronized( own ) {
+				own.lfrom = sfrom;
+				own.lto = sto;
+			}
+		}
+	}
+
+	@Override
+	public void reportTaskTime(int workerIx, long numIters, double time) {
+		if( workerIx < 0 || numIters <= 0 )
+			return;
+		int ix = workerIx % _ranges.length;
+		_wTime[ix] = ADAPTIVE_DECAY * _wTime[ix] + time;
+		_wIters[ix] = ADAPTIVE_DECAY * _wIters[ix] + numIters;
+	}
+	
+	private long getTaskSize(int workerIx, long remaining) {
+		//initial tasks (or w/o measurable execution time)
+		if( !ADAPTIVE_TASK_SIZES || _wIters[workerIx] <= 0 || _wTime[workerIx] <= 0 )
+			return _chunk;
+		
+		//task size for target execution time, but at most half the remaining
+		//range in order to leave iterations for stealing on skewed costs
+		double iterTime = _wTime[workerIx] / _wIters[workerIx];
+		long size = (long) Math.min(ADAPTIVE_TARGET_TASK_TIME / iterTime, Long.MAX_VALUE);
+		return Math.max(_chunk, Math.min(size, remaining/2));
+	}
+	
+	/**
+	 * Obtains the number of created (i.e., dequeued) tasks, which is only
+	 * known after all tasks have been consumed and all workers joined.
+	 *
+	 * @return number of created tasks
+	 */
+	public long getNumCreatedTasks() {
+		long ret = 0;
+		for( long ntasks : _numTasks )
+			ret += ntasks;
+		return ret;
+	}
+
+	private Task createTask(long lfrom, long lto) {
+		//create range task over iteration positions [lfrom, lto)
+		Task t = new Task(TaskType.RANGE);
+		t.addIteration(new IntObject(_iterVarName, _from + lfrom * _incr));     //from
+		t.addIteration(new IntObject(_iterVarName, _from + (lto-1) * _incr));   //to
+		t.addIteration(new IntObject(_iterVarName, _incr));                    //increment
+		return t;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (workers=");
+		sb.append(_ranges.length);
+		sb.append(")\n");
+		for( int i=0; i<_ranges.length; i++ ) {
+			sb.append("  WORKER #");
+			sb.append(i);
+			sb.append(": [");
+			sb.append(_ranges[i].lfrom);
+			sb.append(",");
+			sb.append(_ranges[i].lto);
+			sb.append(")\n");
+		}
+		return sb.toString();
+	}
+
+	private static class IterRange {
+		private volatile long lfrom;
+		private volatile long lto;
+
+		public IterRange(long from, long to) {
+			lfrom = from;
+			lto = to;
+		}
+	}
+}
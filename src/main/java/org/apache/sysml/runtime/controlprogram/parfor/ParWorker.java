@@ -62,6 +62,9 @@ public abstract class ParWorker
 	protected long                      _numTasks    = -1;
 	protected long                      _numIters    = -1;
 	
+	//optional list of executed tasks (e.g., for disjoint result merge)
+	protected ArrayList<Task>           _execTasks   = null;
+	
 	public ParWorker()
 	{
 		//implicit constructor (required if parameters not known on object creation, 
@@ -112,6 +115,26 @@ public abstract class ParWorker
 		return _numIters;
 	}
 
+	/**
+	 * Enables the recording of executed tasks, which is required
+	 * for result merge of disjoint row or column writes.
+	 */
+	public void enableTaskRecording()
+	{
+		_execTasks = new ArrayList<Task>();
+	}
+	
+	/**
+	 * Returns the executed tasks if task recording is enabled, and 
+	 * hence should only be called after execution.
+	 * 
+	 * @return list of executed tasks, or null if not recorded
+	 */
+	public ArrayList<Task> getExecutedTaskList()
+	{
+		return _execTasks;
+	}
+
 	protected void pinResultVariables()
 	{
 		for( String var : _resultVars )
@@ -139,6 +162,9 @@ public abstract class ParWorker
 				executeRangeTask( task );
 				break;		
 		}
+		
+		if( _execTasks != null )
+			_execTasks.add( task );
 	}	
 
 	private void executeSetTask( Task task ) 
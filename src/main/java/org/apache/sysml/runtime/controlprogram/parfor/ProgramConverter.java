@@ -19,12 +19,20 @@
 
 package org.apache.sysml.runtime.controlprogram.parfor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.StringTokenizer;
 import java.util.Map.Entry;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -72,6 +80,7 @@ import org.apache.sysml.runtime.instructions.InstructionParser;
 import org.apache.sysml.runtime.instructions.MRJobInstruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction.CPINSTRUCTION_TYPE;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
@@ -111,6 +120,19 @@ public class ProgramConverter
 	public static final String LEVELOUT          = "\u23ac"; //variant of right curly bracket; "\u007d"; //"}";	
 	public static final String EMPTY             = "null";
 	
+	//reuse immutable instructions across deep copies (copy-on-write for thread-specific instructions)
+	public static final boolean ALLOW_SHARED_INSTRUCTIONS = true;
+	
+	//instruction types without mutable or thread-specific state, which can be safely shared 
+	//across parworkers (function objects and operators of these types are stateless)
+	private static final EnumSet<CPINSTRUCTION_TYPE> SHAREABLE_CP_INSTRUCTIONS = EnumSet.of(
+		CPINSTRUCTION_TYPE.AggregateUnary, CPINSTRUCTION_TYPE.AggregateBinary, CPINSTRUCTION_TYPE.AggregateTernary, 
+		CPINSTRUCTION_TYPE.ArithmeticBinary, CPINSTRUCTION_TYPE.Ternary, CPINSTRUCTION_TYPE.BooleanBinary, 
+		CPINSTRUCTION_TYPE.BooleanUnary, CPINSTRUCTION_TYPE.BuiltinBinary, CPINSTRUCTION_TYPE.BuiltinUnary, 
+		CPINSTRUCTION_TYPE.Builtin, CPINSTRUCTION_TYPE.Reorg, CPINSTRUCTION_TYPE.RelationalBinary, 
+		CPINSTRUCTION_TYPE.Append, CPINSTRUCTION_TYPE.MatrixIndexing, CPINSTRUCTION_TYPE.MMTSJ, 
+		CPINSTRUCTION_TYPE.MMChain, CPINSTRUCTION_TYPE.MatrixReshape);
+	
 	//public static final String CP_ROOT_THREAD_SEPARATOR = "/";//File.separator;
 	public static final String CP_ROOT_THREAD_ID = "_t0";       
 	public static final String CP_CHILD_THREAD   = "_t";
@@ -168,6 +190,8 @@ public class ProgramConverter
 	{
 		ExecutionContext cpec = ExecutionContextFactory.createContext(false, ec.getProgram());
 		cpec.setVariables((LocalVariableMap) ec.getVariables().clone());
+		cpec.setStatistics(ec.getStatistics());
+		cpec.setBufferPoolBypass(ec.isBufferPoolBypass());
 	
 		//handle result variables with in-place update flag
 		//(each worker requires its own copy of the empty matrix object)
@@ -495,6 +519,11 @@ public class ProgramConverter
 	public static Instruction cloneInstruction( Instruction oInst, long pid, boolean plain, boolean cpFunctions ) 
 		throws DMLRuntimeException
 	{
+		//reuse immutable instructions w/o thread-specific state, 
+		//which avoids the expensive string serialization and parsing
+		if( ALLOW_SHARED_INSTRUCTIONS && isShareableInstruction(oInst) )
+			return oInst;
+		
 		Instruction inst = null;
 		String tmpString = oInst.toString();
 		
@@ -537,6 +566,14 @@ public class ProgramConverter
 		return inst;
 	}
 
+	private static boolean isShareableInstruction( Instruction inst ) {
+		//note: variable instructions (thread-specific filenames), function calls 
+		//(thread-specific function names) and all other instruction types are cloned
+		return inst instanceof CPInstruction
+			&& SHAREABLE_CP_INSTRUCTIONS.contains(((CPInstruction)inst).getCPInstructionType())
+			&& !inst.toString().contains(CP_ROOT_THREAD_ID);
+	}
+
 	public static StatementBlock createStatementBlockCopy( StatementBlock sb, long pid, boolean plain, boolean forceDeepCopy ) 
 		throws DMLRuntimeException
 	{
@@ -721,6 +758,47 @@ public class ProgramConverter
 	// SERIALIZATION 
 	////////////////////////////////	
 
+	/**
+	 * Creates a compact binary representation of a serialized parfor body, which
+	 * is shipped to remote workers. Serialized programs contain many repeated
+	 * delimiters, opcodes and operand descriptors, which compress very well.
+	 * 
+	 * @param prog serialized parfor body
+	 * @return compressed parfor body
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static byte[] compressParForBody( String prog ) 
+		throws DMLRuntimeException
+	{
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DeflaterOutputStream dos = new DeflaterOutputStream(bos, new Deflater(Deflater.BEST_SPEED));
+			dos.write(prog.getBytes(StandardCharsets.UTF_8));
+			dos.close();
+			return bos.toByteArray();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	public static String decompressParForBody( byte[] prog ) 
+		throws DMLRuntimeException
+	{
+		try {
+			InflaterInputStream iis = new InflaterInputStream(new ByteArrayInputStream(prog));
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(prog.length * 4);
+			byte[] buff = new byte[8192];
+			for( int len = iis.read(buff); len > 0; len = iis.read(buff) )
+				bos.write(buff, 0, len);
+			iis.close();
+			return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
 	public static String serializeParForBody( ParForBody body ) throws DMLRuntimeException {
 		return serializeParForBody(body, new HashMap<String, byte[]>());
 	}	
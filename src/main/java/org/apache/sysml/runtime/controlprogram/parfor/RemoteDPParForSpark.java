@@ -95,7 +95,7 @@ public class RemoteDPParForSpark
 		int numReducers2 = Math.max(numReducers, Math.min(numParts, (int)dpf.getNumParts(mc)));
 		
 		//core parfor datapartition-execute (w/ or w/o shuffle, depending on data characteristics)
-		RemoteDPParForSparkWorker efun = new RemoteDPParForSparkWorker(program, clsMap, 
+		RemoteDPParForSparkWorker efun = new RemoteDPParForSparkWorker(ProgramConverter.compressParForBody(program), clsMap, 
 				matrixvar, itervar, enableCPCaching, mc, tSparseCol, dpf, oi, aTasks, aIters);
 		JavaPairRDD<Long,Writable> tmp = getPartitionedInput(sec, matrixvar, oi, dpf);
 		List<Tuple2<Long,String>> out = (requiresGrouping(dpf, mo) ?
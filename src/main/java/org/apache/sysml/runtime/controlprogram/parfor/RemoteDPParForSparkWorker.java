@@ -53,7 +53,7 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 {
 	private static final long serialVersionUID = 30223759283155139L;
 	
-	private final String  _prog;
+	private final byte[]  _prog; //compressed program
 	private final HashMap<String, byte[]> _clsMap;
 	private final boolean _caching;
 	private final String _inputVar;
@@ -70,7 +70,7 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 	private final LongAccumulator _aTasks;
 	private final LongAccumulator _aIters;
 	
-	public RemoteDPParForSparkWorker(String program, HashMap<String, byte[]> clsMap, String inputVar, String iterVar, 
+	public RemoteDPParForSparkWorker(byte[] program, HashMap<String, byte[]> clsMap, String inputVar, String iterVar, 
 			boolean cpCaching, MatrixCharacteristics mc, boolean tSparseCol, PartitionFormat dpf, OutputInfo oinfo, 
 			LongAccumulator atasks, LongAccumulator aiters) 
 		throws DMLRuntimeException
@@ -163,7 +163,8 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 		}
 		
 		//parse and setup parfor body program
-		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID);
+		ParForBody body = ProgramConverter.parseParForBody(
+			ProgramConverter.decompressParForBody(_prog), (int)_workerID);
 		_childBlocks = body.getChildBlocks();
 		_ec          = body.getEc();				
 		_resultVars  = body.getResultVarNames();
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -70,12 +71,18 @@ public class RemoteParForSpark
 		
 		//run remote_spark parfor job 
 		//(w/o lazy evaluation to fit existing parfor framework, e.g., result merge)
-		RemoteParForSparkWorker func = new RemoteParForSparkWorker(program, clsMap, cpCaching, aTasks, aIters);
+		//(compact binary program, parsed once per executor and reused across tasks)
+		byte[] cprogram = ProgramConverter.compressParForBody(program);
+		RemoteParForSparkWorker func = new RemoteParForSparkWorker(UUID.randomUUID().toString(),
+				cprogram, clsMap, cpCaching, aTasks, aIters);
 		List<Tuple2<Long,String>> out = sc
 				.parallelize(tasks, tasks.size()) //create rdd of parfor tasks
 				.flatMapToPair(func)              //execute parfor tasks 
 				.collect();                       //get output handles
 		
+		//cleanup cached workers of local executors
+		RemoteParForSparkWorker.cleanupCachedWorkers();
+		
 		//de-serialize results
 		LocalVariableMap[] results = RemoteParForUtils.getResults(out, LOG);
 		int numTasks = aTasks.value().intValue(); //get accumulator value
@@ -21,8 +21,10 @@ package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.Map.Entry;
 
 import org.apache.spark.TaskContext;
@@ -30,9 +32,12 @@ import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
+import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 import scala.Tuple2;
@@ -41,17 +46,27 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 {
 	private static final long serialVersionUID = -3254950138084272296L;
 
-	private final String  _prog;
+	//executor-local cache of idle parfor bodies (parsed program, symbol table) per job,
+	//which allows subsequent tasks of the same job to reuse the parsed program and 
+	//in-memory state, similar to the parworker reuse in parfor mr with jvm reuse
+	private static final HashMap<String, LinkedList<CachedWorker>> _sCache 
+		= new HashMap<String, LinkedList<CachedWorker>>();
+	
+	private final String  _jobID;
+	private final byte[]  _prog; //compressed program
 	private final HashMap<String, byte[]> _clsMap;
 	private boolean _initialized = false;
 	private boolean _caching = true;
+	private boolean _reused = false;
+	private HashMap<String, String> _resultFNames = null; //initial result filenames
 	
 	private final LongAccumulator _aTasks;
 	private final LongAccumulator _aIters;
 	
-	public RemoteParForSparkWorker(String program, HashMap<String, byte[]> clsMap, boolean cpCaching, LongAccumulator atasks, LongAccumulator aiters) 
+	public RemoteParForSparkWorker(String jobID, byte[] program, HashMap<String, byte[]> clsMap, boolean cpCaching, LongAccumulator atasks, LongAccumulator aiters) 
 		throws DMLRuntimeException
 	{
+		_jobID = jobID;
 		_prog = program;
 		_clsMap = clsMap;
 		_initialized = false;
@@ -66,8 +81,8 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 	public Iterator<Tuple2<Long, String>> call(Task arg0)
 		throws Exception 
 	{
-		//lazy parworker initialization
-		if( !_initialized )
+		//lazy parworker initialization (w/ reuse of cached workers)
+		if( !_initialized && !reuseCachedWorker() )
 			configureWorker( TaskContext.get().taskAttemptId() );
 		
 		//execute a single task
@@ -78,15 +93,75 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 		_aTasks.add( 1 );
 		_aIters.add( (int)(getExecutedIterations()-numIter) );
 		
+		//use task-specific result files for reused workers, which prevents a failing 
+		//task from overwriting (and thus corrupting) results of already completed tasks
+		if( _reused )
+			setTaskSpecificResultFileNames( TaskContext.get().taskAttemptId() );
+		
 		//write output if required (matrix indexed write) 
 		//note: this copy is necessary for environments without spark libraries
 		ArrayList<Tuple2<Long,String>> ret = new ArrayList<Tuple2<Long,String>>();
 		ArrayList<String> tmp = RemoteParForUtils.exportResultVariables( _workerID, _ec.getVariables(), _resultVars );
 		for( String val : tmp )
 			ret.add(new Tuple2<Long,String>(_workerID, val));
-			
+		
+		//return worker to cache after successful task execution 
+		//(failed tasks throw exceptions, i.e., their workers are never reused)
+		if( ParForProgramBlock.ALLOW_REUSE_SPARK_PAR_WORKER )
+			releaseWorker();
+		
 		return ret.iterator();
 	}
+	
+	/**
+	 * Removes all cached workers of this process, which is used
+	 * for cleanup of local executors after job completion.
+	 */
+	public static void cleanupCachedWorkers() {
+		synchronized( _sCache ) {
+			_sCache.clear();
+		}
+	}
+	
+	private boolean reuseCachedWorker() {
+		if( !ParForProgramBlock.ALLOW_REUSE_SPARK_PAR_WORKER )
+			return false;
+		
+		CachedWorker tmp = null;
+		synchronized( _sCache ) {
+			//drop cached workers of other, i.e., completed, jobs
+			_sCache.keySet().retainAll(Collections.singleton(_jobID));
+			LinkedList<CachedWorker> workers = _sCache.get(_jobID);
+			tmp = (workers != null) ? workers.poll() : null;
+		}
+		if( tmp == null )
+			return false;
+		
+		_workerID    = tmp.workerID;
+		_resultFNames = tmp.resultFNames;
+		_childBlocks = tmp.body.getChildBlocks();
+		_ec          = tmp.body.getEc();
+		_resultVars  = tmp.body.getResultVarNames();
+		_numTasks    = 0;
+		_numIters    = 0;
+		_initialized = true;
+		_reused      = true;
+		return true;
+	}
+	
+	private void releaseWorker() {
+		CachedWorker tmp = new CachedWorker(_workerID, _resultFNames,
+			new ParForBody(_childBlocks, _resultVars, _ec));
+		synchronized( _sCache ) {
+			LinkedList<CachedWorker> workers = _sCache.get(_jobID);
+			if( workers == null ) {
+				workers = new LinkedList<CachedWorker>();
+				_sCache.put(_jobID, workers);
+			}
+			workers.add(tmp);
+		}
+		_initialized = false;
+	}
 
 	private void configureWorker( long ID ) 
 		throws DMLRuntimeException, IOException
@@ -100,12 +175,22 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 		}
 		
 		//parse and setup parfor body program
-		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID);
+		ParForBody body = ProgramConverter.parseParForBody(
+			ProgramConverter.decompressParForBody(_prog), (int)_workerID);
 		_childBlocks = body.getChildBlocks();
 		_ec          = body.getEc();				
 		_resultVars  = body.getResultVarNames();
 		_numTasks    = 0;
 		_numIters    = 0;
+		_reused      = false;
+		
+		//keep initial result filenames for task-specific files of reused workers
+		_resultFNames = new HashMap<String, String>();
+		for( String rvar : _resultVars ) {
+			Data dat = _ec.getVariable(rvar);
+			if( dat instanceof MatrixObject )
+				_resultFNames.put(rvar, ((MatrixObject)dat).getFileName());
+		}
 
 		//init and register-cleanup of buffer pool (in parfor spark, multiple tasks might 
 		//share the process-local, i.e., per executor, buffer pool; hence we synchronize 
@@ -134,4 +219,25 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 		//mark as initialized
 		_initialized = true;
 	}
+	
+	private void setTaskSpecificResultFileNames(long taskID) {
+		for( Entry<String, String> e : _resultFNames.entrySet() ) {
+			Data dat = _ec.getVariable(e.getKey());
+			//only modified results are exported (see exportResultVariables)
+			if( dat instanceof MatrixObject && ((MatrixObject)dat).isDirty() )
+				((MatrixObject)dat).setFileName(e.getValue()+"_"+taskID);
+		}
+	}
+	
+	private static class CachedWorker {
+		private final long workerID;
+		private final HashMap<String, String> resultFNames;
+		private final ParForBody body;
+		
+		public CachedWorker(long id, HashMap<String, String> fnames, ParForBody pbody) {
+			workerID = id;
+			resultFNames = fnames;
+			body = pbody;
+		}
+	}
 }
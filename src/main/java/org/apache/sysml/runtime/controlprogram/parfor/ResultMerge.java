@@ -20,12 +20,16 @@
 package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 
@@ -47,6 +51,11 @@ public abstract class ResultMerge
 	protected MatrixObject[] _inputs      = null; 
 	protected String         _outputFName = null;
 	
+	//optional disjoint row/column writes, i.e., the executed tasks per input
+	//whose iteration values are exactly the written rows or columns
+	protected PDataPartitionFormat _disjointFormat = PDataPartitionFormat.NONE;
+	protected List<? extends List<Task>> _disjointTasks = null;
+	
 	protected ResultMerge( )
 	{
 		
@@ -82,6 +91,56 @@ public abstract class ResultMerge
 	public abstract MatrixObject executeParallelMerge( int par ) 
 		throws DMLRuntimeException;
 	
+	/**
+	 * Sets the executed tasks per input for result variables that are only
+	 * written via left indexing of rows or columns addressed by the parfor
+	 * iteration variable (e.g., R[i,] = ...). If valid, this allows merging the
+	 * disjoint rows or columns without comparison against the original output.
+	 * 
+	 * @param format ROW_WISE or COLUMN_WISE
+	 * @param tasks list of executed tasks, aligned with the inputs
+	 */
+	public void setDisjointIterations( PDataPartitionFormat format, List<? extends List<Task>> tasks )
+	{
+		_disjointFormat = format;
+		_disjointTasks = tasks;
+	}
+	
+	/**
+	 * Indicates if a disjoint merge is applicable, which requires ROW_WISE or
+	 * COLUMN_WISE writes, executed tasks for all inputs, and iteration values
+	 * within the output dimensions.
+	 * 
+	 * @return true if disjoint merge applicable
+	 */
+	public boolean isDisjointMerge()
+	{
+		if( _disjointTasks == null || _disjointTasks.size() != _inputs.length
+			|| (_disjointFormat != PDataPartitionFormat.ROW_WISE 
+				&& _disjointFormat != PDataPartitionFormat.COLUMN_WISE) )
+			return false;
+		
+		MatrixCharacteristics mc = _output.getMatrixCharacteristics();
+		long dim = (_disjointFormat == PDataPartitionFormat.ROW_WISE) ? mc.getRows() : mc.getCols();
+		for( List<Task> tasks : _disjointTasks ) {
+			for( Task t : tasks ) {
+				List<IntObject> iters = t.getIterations();
+				if( t.getType() == TaskType.RANGE ) {
+					long from = iters.get(0).getLongValue();
+					long to = iters.get(1).getLongValue();
+					if( Math.min(from, to) < 1 || Math.max(from, to) > dim )
+						return false;
+				}
+				else {
+					for( IntObject iter : iters )
+						if( iter.getLongValue() < 1 || iter.getLongValue() > dim )
+							return false;
+				}
+			}
+		}
+		return true;
+	}
+	
 	/**
 	 * ?
 	 * 
@@ -51,6 +51,7 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName );
+		_rm.setDisjointIterations(_disjointFormat, _disjointTasks);
 		
 		MatrixObject ret = _rm.executeSerialMerge();
 
@@ -67,10 +68,13 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		long rows = mc.getRows();
 		long cols = mc.getCols();
 		
-		if( OptimizerRuleBased.isInMemoryResultMerge(par * rows, cols, OptimizerUtils.getLocalMemBudget()) )
+		//disjoint merge requires only the output in memory (w/o compare matrix)
+		if( OptimizerRuleBased.isInMemoryResultMerge((isDisjointMerge() ? 1 : par) * rows, 
+				cols, OptimizerUtils.getLocalMemBudget()) )
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName );
+		_rm.setDisjointIterations(_disjointFormat, _disjointTasks);
 		
 		return _rm.executeParallelMerge(par);	
 	}
@@ -20,17 +20,27 @@
 package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
@@ -38,6 +48,9 @@ import org.apache.sysml.runtime.util.DataConverter;
  * small enough to fit into the JVM memory, this class can be used for efficient 
  * serial or multi-threaded merge.
  * 
+ * If all inputs write disjoint rows or columns given by their executed iterations,
+ * we bulk copy these rows or columns in parallel without comparison.
+ * 
  * 
  */
 public class ResultMergeLocalMemory extends ResultMerge
@@ -55,6 +68,10 @@ public class ResultMergeLocalMemory extends ResultMerge
 	public MatrixObject executeSerialMerge() 
 		throws DMLRuntimeException
 	{
+		//fast path for disjoint row/column writes
+		if( isDisjointMerge() )
+			return executeDisjointMerge(1);
+		
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 
 		LOG.trace("ResultMerge (local, in-memory): Execute serial merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
@@ -143,6 +160,10 @@ public class ResultMergeLocalMemory extends ResultMerge
 	public MatrixObject executeParallelMerge( int par ) 
 		throws DMLRuntimeException
 	{		
+		//fast path for disjoint row/column writes
+		if( isDisjointMerge() )
+			return executeDisjointMerge(par);
+		
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 	
 		//Timing time = null;
@@ -223,6 +244,88 @@ public class ResultMergeLocalMemory extends ResultMerge
 		return moNew;		
 	}
 
+	private MatrixObject executeDisjointMerge( int par ) 
+		throws DMLRuntimeException
+	{
+		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
+		boolean rowwise = (_disjointFormat == PDataPartitionFormat.ROW_WISE);
+		
+		LOG.trace("ResultMerge (local, in-memory): Execute disjoint "+(rowwise?"row":"column")+"-wise (par="
+			+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
+		
+		try
+		{
+			//get matrix blocks through caching 
+			MatrixBlock outMB = _output.acquireRead();
+			int rows = outMB.getNumRows();
+			int cols = outMB.getNumColumns();
+			
+			//collect non-empty inputs and estimate output non-zeros
+			ArrayList<Integer> inIx = new ArrayList<Integer>();
+			long outNnz = outMB.getNonZeros();
+			long estnnz = outNnz;
+			for( int i=0; i<_inputs.length; i++ ) {
+				//check for empty inputs (no iterations executed)
+				MatrixObject in = _inputs[i];
+				if( in != null && in != _output && !_disjointTasks.get(i).isEmpty() ) {
+					inIx.add(i);
+					long inNnz = in.getNnz();
+					estnnz += (inNnz >= 0) ? Math.max(inNnz - outNnz, 0) : (long)rows*cols;
+				}
+			}
+			
+			if( !inIx.isEmpty() ) //if there exist something to merge
+			{
+				//create output, where sparse is only used for row-wise merge
+				//because independent rows allow for unsynchronized updates (MCSR)
+				estnnz = Math.min(estnnz, (long)rows*cols);
+				boolean sparse = rowwise && MatrixBlock.evalSparseFormatInMemory(rows, cols, estnnz);
+				MatrixBlock outMBNew = new MatrixBlock(rows, cols, sparse, estnnz);
+				if( outNnz > 0 )
+					outMBNew.copy(outMB, sparse);
+				if( sparse )
+					outMBNew.allocateSparseRowsBlock(false);
+				else
+					outMBNew.allocateDenseBlock(false);
+				
+				//bulk copy of disjoint rows or columns, parallel over inputs
+				ArrayList<DisjointMergeTask> tasks = new ArrayList<DisjointMergeTask>();
+				for( Integer i : inIx )
+					tasks.add(new DisjointMergeTask(_inputs[i], _disjointTasks.get(i), outMBNew, rowwise));
+				int k = Math.min(Math.min(par, tasks.size()), InfrastructureAnalyzer.getLocalParallelism());
+				k = outMBNew.isThreadSafe() ? k : 1;
+				if( k <= 1 ) {
+					for( DisjointMergeTask task : tasks )
+						task.call();
+				}
+				else {
+					ExecutorService pool = Executors.newFixedThreadPool(k);
+					List<Future<Object>> rtasks = pool.invokeAll(tasks);
+					pool.shutdown();
+					for( Future<Object> rtask : rtasks )
+						rtask.get(); //error handling
+				}
+				
+				//maintain non-zeros and create new output matrix 
+				outMBNew.recomputeNonZeros();
+				moNew = createNewMatrixObject( outMBNew );
+			}
+			else
+			{
+				moNew = _output; //return old matrix, to prevent copy
+			}
+			
+			//release old output
+			_output.release();
+		}
+		catch(Exception ex)
+		{
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return moNew;
+	}
+
 	private double[][] createCompareMatrix( MatrixBlock output )
 	{
 		double[][] ret = null;
@@ -290,6 +393,131 @@ public class ResultMergeLocalMemory extends ResultMerge
 	}
 	
 	
+	/**
+	 * Copies all rows or columns written by the given input, i.e., the
+	 * iteration values of its executed tasks, into the output. Concurrent
+	 * tasks write disjoint cells of a dense output or disjoint rows of a
+	 * sparse MCSR output and hence require no synchronization.
+	 */
+	private static class DisjointMergeTask implements Callable<Object>
+	{
+		private final MatrixObject _inMO;
+		private final List<Task> _tasks;
+		private final MatrixBlock _outMB;
+		private final boolean _rowwise;
+		
+		public DisjointMergeTask(MatrixObject inMO, List<Task> tasks, MatrixBlock outMB, boolean rowwise) {
+			_inMO = inMO;
+			_tasks = tasks;
+			_outMB = outMB;
+			_rowwise = rowwise;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException 
+		{
+			LOG.trace("ResultMerge (local, in-memory): Merge disjoint input "+_inMO.getVarName()+" (fname="+_inMO.getFileName()+")");
+			
+			MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
+			for( Task t : _tasks ) {
+				List<IntObject> iters = t.getIterations();
+				if( t.getType() == TaskType.RANGE ) {
+					long from = iters.get(0).getLongValue();
+					long to = iters.get(1).getLongValue();
+					long incr = iters.get(2).getLongValue();
+					for( long i=from; (incr>0) ? i<=to : i>=to; i+=incr )
+						copy(inMB, (int)i-1);
+				}
+				else {
+					for( IntObject iter : iters )
+						copy(inMB, (int)iter.getLongValue()-1);
+				}
+			}
+			_inMO.release();
+			_inMO.clearData();
+			
+			return null;
+		}
+		
+		private void copy(MatrixBlock in, int ix) {
+			if( _rowwise )
+				copyRow(in, ix);
+			else
+				copyColumn(in, ix);
+		}
+		
+		private void copyRow(MatrixBlock in, int r) 
+		{
+			int n = _outMB.getNumColumns();
+			boolean empty = in.isEmptyBlock(false);
+			if( _outMB.isInSparseFormat() ) {
+				SparseBlock c = _outMB.getSparseBlock();
+				if( !c.isEmpty(r) ) //clear existing row
+					c.reset(r, 0, n);
+				if( empty )
+					return;
+				if( in.isInSparseFormat() ) {
+					SparseBlock a = in.getSparseBlock();
+					if( a.isEmpty(r) ) return;
+					int apos = a.pos(r);
+					int alen = a.size(r);
+					int[] aix = a.indexes(r);
+					double[] avals = a.values(r);
+					for( int k=apos; k<apos+alen; k++ )
+						c.append(r, aix[k], avals[k]);
+				}
+				else {
+					double[] a = in.getDenseBlock();
+					for( int j=0, aix=r*n; j<n; j++ )
+						if( a[aix+j] != 0 )
+							c.append(r, j, a[aix+j]);
+				}
+			}
+			else {
+				double[] c = _outMB.getDenseBlock();
+				int cix = r*n;
+				if( empty || in.isInSparseFormat() )
+					Arrays.fill(c, cix, cix+n, 0);
+				if( empty )
+					return;
+				if( in.isInSparseFormat() ) {
+					SparseBlock a = in.getSparseBlock();
+					if( a.isEmpty(r) ) return;
+					int apos = a.pos(r);
+					int alen = a.size(r);
+					int[] aix = a.indexes(r);
+					double[] avals = a.values(r);
+					for( int k=apos; k<apos+alen; k++ )
+						c[cix+aix[k]] = avals[k];
+				}
+				else {
+					System.arraycopy(in.getDenseBlock(), cix, c, cix, n);
+				}
+			}
+		}
+		
+		private void copyColumn(MatrixBlock in, int j) 
+		{
+			//note: column-wise merge always into dense output
+			int m = _outMB.getNumRows();
+			int n = _outMB.getNumColumns();
+			double[] c = _outMB.getDenseBlock();
+			if( in.isEmptyBlock(false) ) {
+				for( int i=0, cix=j; i<m; i++, cix+=n )
+					c[cix] = 0;
+			}
+			else if( in.isInSparseFormat() ) {
+				for( int i=0, cix=j; i<m; i++, cix+=n )
+					c[cix] = in.quickGetValue(i, j);
+			}
+			else {
+				double[] a = in.getDenseBlock();
+				for( int i=0, cix=j; i<m; i++, cix+=n )
+					c[cix] = a[cix];
+			}
+		}
+	}
+	
 	/**
 	 * NOTE: only used if matrix in dense
 	 */
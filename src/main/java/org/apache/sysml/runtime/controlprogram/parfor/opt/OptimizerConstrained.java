@@ -179,6 +179,9 @@ public class OptimizerConstrained extends OptimizerRuleBased
 		}
 		else //if( pn.getExecType() == ExecType.CP )
 		{
+			// rewrite 10a: shared read-only inputs
+			super.rewriteSetSharedReadOnlyInputs( pn, ec.getVariables(), partitionedMatrices );
+			
 			// rewrite 10: determine parallelism
 			rewriteSetDegreeOfParallelism( pn, M1, false );
 
@@ -22,6 +22,8 @@ package org.apache.sysml.runtime.controlprogram.parfor.opt;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -152,10 +154,20 @@ public class OptimizerRuleBased extends Optimizer
 	public static final double PROB_SIZE_THRESHOLD_REMOTE = 100; //wrt # top-level iterations (min)
 	public static final double PROB_SIZE_THRESHOLD_PARTITIONING = 2; //wrt # top-level iterations (min)
 	public static final double PROB_SIZE_THRESHOLD_MB = 256*1024*1024; //wrt overall memory consumption (min)
+	//runtime statistics of previous local executions (observed time per iteration)
+	public static final double PROB_TIME_THRESHOLD_REMOTE = 30000; //wrt local time per thread in ms (min)
+	public static final double PAR_MIN_WORKER_TIME = 10; //wrt local time per worker in ms (min)
 	public static final int MAX_REPLICATION_FACTOR_PARTITIONING = 5;
 	public static final int MAX_REPLICATION_FACTOR_EXPORT = 7;    
 	public static final boolean ALLOW_REMOTE_NESTED_PARALLELISM = false;
 	public static final boolean APPLY_REWRITE_NESTED_PARALLELISM = false;
+	public static final boolean ALLOW_WORK_STEALING_TASK_PARTITIONER = true; //local parfor w/ adaptive task sizes
+	//merge of disjoint row/column results w/o compare for local parfor
+	public static final boolean ALLOW_DISJOINT_RESULT_MERGE = true;
+	//shared read-only inputs for local parfor (pinned once for all workers)
+	public static final boolean ALLOW_SHARED_READONLY_INPUTS = true;
+	public static final double SHARED_READONLY_MIN_SIZE = 16*1024*1024; //16MB
+	public static final double SHARED_READONLY_MAX_FRACTION = 0.5; //of local mem
 	public static final String FUNCTION_UNFOLD_NAMEPREFIX = "__unfold_";
 	
 	public static final boolean APPLY_REWRITE_UPDATE_INPLACE_INTERMEDIATE = true;
@@ -181,6 +193,9 @@ public class OptimizerRuleBased extends Optimizer
 	
 	protected CostEstimator _cost = null;
 	
+	//shared read-only inputs and their estimated sizes
+	protected HashMap<String, Double> _sharedInputs = new HashMap<String, Double>();
+	
 	protected static ThreadLocal<ArrayList<String>> listUIPRes = new ThreadLocal<ArrayList<String>>() {
 		@Override protected ArrayList<String> initialValue() { return new ArrayList<String>(); }
 	};
@@ -309,6 +324,9 @@ public class OptimizerRuleBased extends Optimizer
 		}
 		else //if( pn.getExecType() == ExecType.CP )
 		{
+			// rewrite 10a: shared read-only inputs
+			rewriteSetSharedReadOnlyInputs( pn, ec.getVariables(), partitionedMatrices );
+			
 			// rewrite 10: determine parallelism
 			rewriteSetDegreeOfParallelism( pn, M1, false );
 			
@@ -901,8 +919,18 @@ public class OptimizerRuleBased extends Optimizer
 
 	protected boolean isLargeProblem(OptNode pn, double M0)
 	{
-		return ((_N >= PROB_SIZE_THRESHOLD_REMOTE || _Nmax >= 10 * PROB_SIZE_THRESHOLD_REMOTE )
+		boolean ret = ((_N >= PROB_SIZE_THRESHOLD_REMOTE || _Nmax >= 10 * PROB_SIZE_THRESHOLD_REMOTE )
 				&& M0 > PROB_SIZE_THRESHOLD_MB ); //original operations at least larger than 256MB
+		
+		//use observed runtime statistics of previous local executions if available
+		//(remote only if the expected local time per thread amortizes the job latency)
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+			.getAbstractPlanMapping().getMappedProg(pn.getID())[1];
+		double iterTime = pfpb.getObservedIterationTime();
+		if( ret && iterTime >= 0 )
+			ret = (_N * iterTime / _lk >= PROB_TIME_THRESHOLD_REMOTE);
+		
+		return ret;
 	}
 
 	protected boolean isCPOnlyPossible( OptNode n, double memBudget ) 
@@ -1270,12 +1298,27 @@ public class OptimizerRuleBased extends Optimizer
 			//ensure local memory constraint (for spark more conservative in order to 
 			//prevent unnecessary guarded collect)
 			double mem = (OptimizerUtils.isSparkExecutionMode() && !n.isCPOnly()) ? _lm/2 : _lm;
-			kMax = Math.min( kMax, (int)Math.floor( mem / M ) );
+			double Msh = getSharedInputsSize();
+			if( Msh > 0 && Msh < mem ) {
+				//shared read-only inputs only once, and per-worker memory w/o these inputs
+				double Mp = 0;
+				for( OptNode c : n.getChilds() )
+					Mp = Math.max(Mp, rComputePrivateMemoryEstimate(c, _sharedInputs.keySet()));
+				kMax = Math.min( kMax, (int)Math.floor( (mem - Msh) / Mp ) );
+			}
+			else
+				kMax = Math.min( kMax, (int)Math.floor( mem / M ) );
 			kMax = Math.max( kMax, 1);
 			
 			//constrain max parfor parallelism by problem size
 			int parforK = (int)((_N<kMax)? _N : kMax);
 			
+			//constrain max parfor parallelism by observed runtime statistics of previous
+			//local executions, in order to avoid workers with negligible work
+			double iterTime = pfpb.getObservedIterationTime();
+			if( iterTime >= 0 )
+				parforK = (int)Math.max(Math.min(parforK, Math.ceil(_N*iterTime/PAR_MIN_WORKER_TIME)), 1);
+			
 			//set parfor degree of parallelism
 			pfpb.setDegreeOfParallelism(parforK);
 			n.setK(parforK);	
@@ -1323,6 +1366,38 @@ public class OptimizerRuleBased extends Optimizer
 		LOG.debug(getOptMode()+" OPT: rewrite 'set degree of parallelism' - result=(see EXPLAIN)" );
 	}
 
+	/**
+	 * Estimates the per-worker memory of the given opt node, excluding the inputs
+	 * that are shared across workers (i.e., pinned once in the parent jvm).
+	 * 
+	 * @param n opt node
+	 * @param shared names of shared read-only inputs
+	 * @return memory estimate
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double rComputePrivateMemoryEstimate( OptNode n, Set<String> shared ) 
+		throws DMLRuntimeException
+	{
+		if( n.getNodeType() == NodeType.HOP ) {
+			double val = _cost.getLeafNodeEstimate(TestMeasure.MEMORY_USAGE, n);
+			if( n.getExecType() == ExecType.CP ) {
+				Hop h = OptTreeConverter.getAbstractPlanMapping().getMappedHop(n.getID());
+				for( Hop c : h.getInput() )
+					if( c instanceof DataOp && shared.contains(c.getName()) )
+						val -= c.getOutputMemEstimate();
+			}
+			return Math.max(val, CostEstimator.DEFAULT_MEM_ESTIMATE_CP);
+		}
+		
+		double val = 0;
+		if( !n.isLeaf() )
+			for( OptNode c : n.getChilds() )
+				val = Math.max(val, rComputePrivateMemoryEstimate(c, shared));
+		if( n.getNodeType() == NodeType.PARFOR && n.getExecType() == ExecType.CP )
+			val *= Math.max(n.getK(), 1); //nested local parfor
+		return val;
+	}
+	
 	protected void rAssignRemainingParallelism(OptNode n, int parforK, int opsK) 
 		throws DMLRuntimeException
 	{		
@@ -1412,9 +1487,17 @@ public class OptimizerRuleBased extends Optimizer
 			LOG.warn(getOptMode()+" OPT: Task partitioner decision has conflicting input from rewrites 'nested parallelism' and 'result partitioning'.");
 		
 		boolean jvmreuse = ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.JVM_REUSE); 
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+			.getAbstractPlanMapping().getMappedProg(pn.getID())[1];
 		
 		//set task partitioner
-		if( flagNested )
+		if( pfpb.getTaskPartitioner() == PTaskPartitioner.WORK_STEALING 
+			&& pn.getExecType()==ExecType.CP && !flagNested && !flagLIX )
+		{
+			//respect explicitly specified work-stealing (default is FIXED)
+			setTaskPartitioner( pn, PTaskPartitioner.WORK_STEALING );
+		}
+		else if( flagNested )
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.STATIC );
 			setTaskPartitioner( pn.getChilds().get(0), PTaskPartitioner.FACTORING );
@@ -1432,6 +1515,13 @@ public class OptimizerRuleBased extends Optimizer
 			//preaggregate results (less write / less read by result merge)
 			setTaskPartitioner( pn, PTaskPartitioner.STATIC );
 		}
+		else if( ALLOW_WORK_STEALING_TASK_PARTITIONER && pn.getExecType()==ExecType.CP 
+			&& pn.getK() > 1 && _N/4 >= pn.getK() )
+		{
+			//for local parfor, we use work-stealing over per-worker iteration ranges
+			//in order to avoid contention on the shared task queue and load imbalance
+			setTaskPartitioner( pn, PTaskPartitioner.WORK_STEALING );
+		}
 		else if( _N/4 >= pn.getK() ) //to prevent imbalance due to ceiling
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.FACTORING );
@@ -2971,6 +3061,21 @@ public class OptimizerRuleBased extends Optimizer
 		
 		// modify rtprog	
 		pfpb.setResultMerge(ret);
+		
+		//determine result vars w/ disjoint row/column writes (local parfor)
+		HashMap<String, PDataPartitionFormat> disjoint = new HashMap<String, PDataPartitionFormat>();
+		if( ALLOW_DISJOINT_RESULT_MERGE && !flagRemoteParFOR 
+			&& (ret == PResultMerge.LOCAL_MEM || ret == PResultMerge.LOCAL_AUTOMATIC) ) 
+		{
+			String iterVarname = pfpb.getIterablePredicateVars()[0];
+			for( String var : pfpb.getResultVariables() ) {
+				PDataPartitionFormat dpf = rGetDisjointResultFormat(
+					pfpb.getChildBlocks(), var, iterVarname, PDataPartitionFormat.NONE);
+				if( dpf == PDataPartitionFormat.ROW_WISE || dpf == PDataPartitionFormat.COLUMN_WISE )
+					disjoint.put(var, dpf);
+			}
+		}
+		pfpb.setDisjointResultVariables(disjoint);
 			
 		// modify plan
 		n.addParam(ParamType.RESULT_MERGE, ret.toString());			
@@ -2980,7 +3085,99 @@ public class OptimizerRuleBased extends Optimizer
 			rInvokeSetResultMerge(n.getChilds(), vars, inLocal && !flagRemoteParFOR);
 		
 		_numEvaluatedPlans++;
-		LOG.debug(getOptMode()+" OPT: rewrite 'set result merge' - result="+ret );
+		LOG.debug(getOptMode()+" OPT: rewrite 'set result merge' - result="+ret 
+			+ (disjoint.isEmpty() ? "" : " (disjoint: "+disjoint.keySet()+")") );
+	}
+	
+	/**
+	 * Determines if the given result variable is only written via left indexing
+	 * of entire rows (or columns) addressed by the parfor iteration variable,
+	 * i.e., R[i,] = ... or R[,i] = ..., which guarantees that all workers write
+	 * disjoint rows (or columns) given by their executed iterations.
+	 * 
+	 * @param pbs list of program blocks of parfor body
+	 * @param var result variable name
+	 * @param iterVarname parfor iteration variable name
+	 * @param dpf write pattern so far
+	 * @return ROW_WISE, COLUMN_WISE, NONE if no writes, or null if not disjoint
+	 */
+	protected static PDataPartitionFormat rGetDisjointResultFormat( ArrayList<ProgramBlock> pbs, String var, String iterVarname, PDataPartitionFormat dpf )
+	{
+		for( ProgramBlock pb : pbs ) 
+		{
+			if( dpf == null ) //early abort
+				return null;
+			
+			if( pb instanceof IfProgramBlock ) {
+				IfProgramBlock ipb = (IfProgramBlock) pb;
+				dpf = rGetDisjointResultFormat(ipb.getChildBlocksIfBody(), var, iterVarname, dpf);
+				if( dpf != null && ipb.getChildBlocksElseBody() != null )
+					dpf = rGetDisjointResultFormat(ipb.getChildBlocksElseBody(), var, iterVarname, dpf);
+			}
+			else if( pb instanceof WhileProgramBlock ) {
+				dpf = rGetDisjointResultFormat(((WhileProgramBlock)pb).getChildBlocks(), var, iterVarname, dpf);
+			}
+			else if( pb instanceof ForProgramBlock ) { //incl parfor
+				ForProgramBlock fpb = (ForProgramBlock) pb;
+				if( fpb.getIterablePredicateVars()[0].equals(iterVarname) )
+					return null; //shadowed iteration variable
+				dpf = rGetDisjointResultFormat(fpb.getChildBlocks(), var, iterVarname, dpf);
+			}
+			else if( pb instanceof FunctionProgramBlock ) {
+				return null; //robustness, not expected in parfor body
+			}
+			else if( pb.getStatementBlock() == null || pb.getStatementBlock().get_hops() == null ) {
+				return null; //unknown writes
+			}
+			else {
+				for( Hop root : pb.getStatementBlock().get_hops() ) {
+					dpf = getDisjointResultFormat(root, var, iterVarname, dpf);
+					if( dpf == null )
+						return null;
+				}
+			}
+		}
+		
+		return dpf;
+	}
+	
+	private static PDataPartitionFormat getDisjointResultFormat( Hop root, String var, String iterVarname, PDataPartitionFormat dpf )
+	{
+		//function outputs and updates of the iteration variable
+		if( root instanceof FunctionOp ) {
+			for( String out : ((FunctionOp)root).getOutputVariableNames() )
+				if( out.equals(var) || out.equals(iterVarname) )
+					return null;
+			return dpf;
+		}
+		if( !(root instanceof DataOp && ((DataOp)root).getDataOpType()==DataOpTypes.TRANSIENTWRITE) )
+			return dpf;
+		if( root.getName().equals(iterVarname) )
+			return null;
+		if( !root.getName().equals(var) )
+			return dpf;
+		
+		//check left indexing chain on the result variable
+		Hop lix = root.getInput().get(0);
+		while( lix instanceof LeftIndexingOp ) {
+			PDataPartitionFormat tmp = null;
+			if( lix.getInput().get(2).getName().equals(iterVarname)
+				&& lix.getInput().get(3).getName().equals(iterVarname) )
+				tmp = PDataPartitionFormat.ROW_WISE;
+			else if( lix.getInput().get(4).getName().equals(iterVarname) 
+				&& lix.getInput().get(5).getName().equals(iterVarname) )
+				tmp = PDataPartitionFormat.COLUMN_WISE;
+			if( tmp == null || (dpf != PDataPartitionFormat.NONE && dpf != tmp) )
+				return null;
+			dpf = tmp;
+			lix = lix.getInput().get(0);
+		}
+		
+		//chain needs to start at the result variable itself
+		boolean valid = lix instanceof DataOp && lix.getName().equals(var)
+			&& ((DataOp)lix).getDataOpType() == DataOpTypes.TRANSIENTREAD
+			&& dpf != PDataPartitionFormat.NONE;
+		return valid ? dpf : null;
 	}
 
 	protected boolean determineFlagCellFormatWoCompare( ArrayList<String> resultVars, LocalVariableMap vars  )
@@ -3109,7 +3306,8 @@ public class OptimizerRuleBased extends Optimizer
 			case STATIC:           W = N / k; break;
 			case FACTORING:
 			case FACTORING_CMIN:
-			case FACTORING_CMAX:   W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
+			case FACTORING_CMAX:
+			case WORK_STEALING:    W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
 			default:               W = N; break; //N as worst case estimate
 		}
 		
@@ -3177,6 +3375,100 @@ public class OptimizerRuleBased extends Optimizer
 	}
 
 	
+	///////
+	//REWRITE set shared read-only inputs
+	///
+	
+	/**
+	 * Determines large read-only matrices consumed by CP operations in the parfor
+	 * body, which are pinned once for all local workers and hence counted only once 
+	 * in the memory estimates for the degree of parallelism and recompile budget.
+	 * We select the largest candidates up to a fraction of the local memory budget.
+	 * 
+	 * @param n parfor opt node
+	 * @param vars local variable map
+	 * @param partitionedMatrices map of data partitioned matrices
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected void rewriteSetSharedReadOnlyInputs(OptNode n, LocalVariableMap vars, HashMap<String, PartitionFormat> partitionedMatrices) 
+		throws DMLRuntimeException
+	{
+		Object[] o = OptTreeConverter.getAbstractPlanMapping().getMappedProg(n.getID());
+		ParForStatementBlock pfsb = (ParForStatementBlock) o[0];
+		ParForProgramBlock pfpb = (ParForProgramBlock) o[1];
+		
+		_sharedInputs = new HashMap<String, Double>();
+		if( ALLOW_SHARED_READONLY_INPUTS && n.getExecType() == ExecType.CP )
+		{
+			//collect candidates of sufficient size
+			HashSet<String> cpInputs = new HashSet<String>();
+			rCollectCPInputVariables(n, cpInputs);
+			final HashMap<String, Double> sizes = new HashMap<String, Double>();
+			ArrayList<String> cand = new ArrayList<String>();
+			for( String var : pfsb.getReadOnlyParentVars() ) {
+				Data dat = vars.get(var);
+				if( !(dat instanceof MatrixObject) || !cpInputs.contains(var) 
+					|| partitionedMatrices.containsKey(var) )
+					continue;
+				MatrixObject mo = (MatrixObject) dat;
+				long rows = mo.getNumRows(), cols = mo.getNumColumns(), nnz = mo.getNnz();
+				if( rows <= 0 || cols <= 0 )
+					continue;
+				double sp = (nnz >= 0) ? OptimizerUtils.getSparsity(rows, cols, nnz) : 1.0;
+				double size = OptimizerUtils.estimateSizeExactSparsity(rows, cols, sp);
+				if( size >= SHARED_READONLY_MIN_SIZE ) {
+					cand.add(var);
+					sizes.put(var, size);
+				}
+			}
+			
+			//greedy selection of largest inputs within budget
+			Collections.sort(cand, new Comparator<String>() {
+				@Override
+				public int compare(String o1, String o2) {
+					return Double.compare(sizes.get(o2), sizes.get(o1));
+				}
+			});
+			double budget = _lm * SHARED_READONLY_MAX_FRACTION;
+			double sum = 0;
+			for( String var : cand )
+				if( sum + sizes.get(var) <= budget ) {
+					_sharedInputs.put(var, sizes.get(var));
+					sum += sizes.get(var);
+				}
+		}
+		
+		//modify rtprog
+		pfpb.setSharedReadOnlyVariables(new ArrayList<String>(_sharedInputs.keySet()));
+		
+		_numEvaluatedPlans++;
+		LOG.debug(getOptMode()+" OPT: rewrite 'set shared read-only inputs' - result="+_sharedInputs.keySet()
+			+ " ("+toMB(getSharedInputsSize())+" MB)");
+	}
+	
+	protected double getSharedInputsSize() {
+		double ret = 0;
+		for( Double size : _sharedInputs.values() )
+			ret += size;
+		return ret;
+	}
+	
+	private static void rCollectCPInputVariables( OptNode n, HashSet<String> vars ) 
+	{
+		if( n.getNodeType() == NodeType.HOP ) {
+			if( n.getExecType() == ExecType.CP ) {
+				Hop h = OptTreeConverter.getAbstractPlanMapping().getMappedHop(n.getID());
+				for( Hop c : h.getInput() )
+					if( c instanceof DataOp && ((DataOp)c).getDataOpType() == DataOpTypes.TRANSIENTREAD )
+						vars.add(c.getName());
+			}
+		}
+		else if( !n.isLeaf() ) {
+			for( OptNode c : n.getChilds() )
+				rCollectCPInputVariables(c, vars);
+		}
+	}
+	
 	///////
 	//REWRITE set recompile memory budget
 	///
@@ -3189,8 +3481,11 @@ public class OptimizerRuleBased extends Optimizer
 		if( n.getExecType() == ExecType.CP )
 		{
 			//compute local recompile memory budget
+			//(shared read-only inputs are pinned once, but are visible to all workers)
 			int par = n.getTotalK();
-			newLocalMem = _lm / par;
+			double Msh = getSharedInputsSize();
+			newLocalMem = (Msh > 0 && Msh < _lm) ? 
+				(_lm - Msh) / par + Msh : _lm / par;
 			
 			//modify runtime plan
 			ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
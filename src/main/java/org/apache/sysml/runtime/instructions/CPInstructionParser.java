@@ -191,6 +191,8 @@ public class CPInstructionParser extends InstructionParser
 		String2CPInstructionType.put( "transformencode",CPINSTRUCTION_TYPE.MultiReturnParameterizedBuiltin);
 		String2CPInstructionType.put( "transformmeta",CPINSTRUCTION_TYPE.ParameterizedBuiltin);
 		String2CPInstructionType.put( "toString"    , CPINSTRUCTION_TYPE.ParameterizedBuiltin);
+		String2CPInstructionType.put( "quantileapprox", CPINSTRUCTION_TYPE.ParameterizedBuiltin);
+		String2CPInstructionType.put( "countdistinctapprox", CPINSTRUCTION_TYPE.ParameterizedBuiltin);
 		
 		// Variable Instruction Opcodes 
 		String2CPInstructionType.put( "assignvar"   , CPINSTRUCTION_TYPE.Variable);
@@ -33,6 +33,7 @@ public class CPOperand
 	private ValueType _valueType;
 	private DataType _dataType;
 	private boolean _isLiteral;
+	private volatile ScalarObject _literal; //cached literal scalar object
 	
 	public CPOperand() {
 		this("", ValueType.UNKNOWN, DataType.UNKNOWN);
@@ -70,12 +71,26 @@ public class CPOperand
 		return _isLiteral;
 	}
 	
+	/**
+	 * Obtains the scalar object of a literal operand, which is created
+	 * once and reused across executions of the owning instruction.
+	 * 
+	 * @return scalar object of the literal
+	 */
+	public ScalarObject getLiteral() {
+		if( _literal == null )
+			_literal = ScalarObjectFactory.createScalarObject(_valueType, _name);
+		return _literal;
+	}
+	
 	public void setName(String name) {
 		_name = name;
+		_literal = null;
 	}
 	
 	public void setValueType(ValueType vt) {
 		_valueType = vt;
+		_literal = null;
 	}
 	
 	public void setDataType(DataType dt) {
@@ -84,9 +99,11 @@ public class CPOperand
 	
 	public void setLiteral(boolean literal) {
 		_isLiteral = literal;
+		_literal = null;
 	}
 
 	public void split(String str){
+		_literal = null;
 		String[] opr = str.split(Instruction.VALUETYPE_PREFIX);
 		if ( opr.length == 4 ) {
 			_name = opr[0];
@@ -110,6 +127,7 @@ public class CPOperand
 		_name = o.getName();
 		_valueType = o.getValueType();
 		_dataType = o.getDataType();
+		_literal = null;
 	}
 
 	@Override
@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
@@ -55,7 +56,8 @@ public class CompressionCPInstruction extends UnaryCPInstruction
 		
 		//compress the matrix block
 		CompressedMatrixBlock cmb = new CompressedMatrixBlock(in);
-		cmb.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+		cmb.compress(OptimizerUtils.getConstrainedNumThreads(-1),
+			ConfigurationManager.getCompressionErrorBound());
 		
 		//set output and release input
 		ec.releaseMatrixInput(input1.getName());
@@ -72,7 +72,7 @@ public class DataPartitionCPInstruction extends UnaryCPInstruction
 	{
 		//get input
 		MatrixObject moIn = ec.getMatrixObject(input1.getName());
-		MatrixBlock mb = moIn.acquireRead();
+		MatrixBlock mb = ec.getMatrixInput(input1.getName());
 		
 		//execute operations 
 		MatrixObject moOut = (MatrixObject) ec.getVariable(output.getName());		
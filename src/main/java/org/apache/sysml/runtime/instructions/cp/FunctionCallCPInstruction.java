@@ -173,6 +173,8 @@ public class FunctionCallCPInstruction extends CPInstruction
 			fn_ec.getGPUContext(0).initializeThread();
 		}
 		fn_ec.setVariables(functionVariables);
+		fn_ec.setStatistics(ec.getStatistics());
+		fn_ec.setBufferPoolBypass(ec.isBufferPoolBypass());
 		// execute the function block
 		try {
 			fpb._functionName = this._functionName;
@@ -47,10 +47,10 @@ public class MatrixScalarBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 		CPOperand scalar = ( input1.getDataType() == DataType.MATRIX ) ? input2 : input1;
 		
 		MatrixBlock inBlock = ec.getMatrixInput(mat.getName());
-		ScalarObject constant = (ScalarObject) ec.getScalarInput(scalar.getName(), scalar.getValueType(), scalar.isLiteral());
+		ScalarObject constant = (ScalarObject) ec.getScalarInput(scalar);
 		
-		ScalarOperator sc_op = (ScalarOperator)	_optr;
-		sc_op.setConstant(constant.getDoubleValue());
+		ScalarOperator sc_op = ((ScalarOperator) _optr)
+			.getOperatorWithConstant(constant.getDoubleValue());
 		
 		MatrixBlock retBlock = (MatrixBlock) inBlock.scalarOperations(sc_op, new MatrixBlock());
 
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import java.util.ArrayList;
 
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -74,12 +75,13 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 	{
 		//obtain and pin input frame
 		FrameBlock fin = ec.getFrameInput(input1.getName());
-		String spec = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral()).getStringValue();
+		String spec = ec.getScalarInput(input2).getStringValue();
 		String[] colnames = fin.getColumnNames(); 
 		
 		//execute block transform encode
 		Encoder encoder = EncoderFactory.createEncoder(spec, colnames, fin.getNumColumns(), null);
-		MatrixBlock data = encoder.encode(fin, new MatrixBlock(fin.getNumRows(), fin.getNumColumns(), false)); //build and apply
+		MatrixBlock data = encoder.encode(fin, new MatrixBlock(fin.getNumRows(), fin.getNumColumns(), false),
+			OptimizerUtils.getConstrainedNumThreads(-1)); //build and apply
 		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING));
 		meta.setColumnNames(colnames);
 		
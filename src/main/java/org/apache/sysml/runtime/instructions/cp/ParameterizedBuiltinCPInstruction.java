@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import java.util.HashMap;
 
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.ParameterizedBuiltinFunctionExpression;
 import org.apache.sysml.parser.Statement;
@@ -34,9 +35,11 @@ import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.mr.GroupedAggregateInstruction;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.LibMatrixSketch;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
+import org.apache.sysml.runtime.transform.TfApplyCSVStream;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.decode.Decoder;
 import org.apache.sysml.runtime.transform.decode.DecoderFactory;
@@ -145,7 +148,9 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 		{
 			return new ParameterizedBuiltinCPInstruction(null, paramsMap, out, opcode, str);
 		}
-		else if (	opcode.equals("toString"))
+		else if (	opcode.equals("toString")
+				 || opcode.equals("quantileapprox")
+				 || opcode.equals("countdistinctapprox"))
 		{
 			return new ParameterizedBuiltinCPInstruction(null, paramsMap, out, opcode, str);
 		}
@@ -252,6 +257,15 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			ec.setMatrixOutput(output.getName(), ret);
 			ec.releaseMatrixInput(params.get("target"));
 		}
+		else if ( opcode.equalsIgnoreCase("transformapply")
+			&& TfApplyCSVStream.isStreamingApplicable(ec.getFrameObject(params.get("target")), 
+				ec.getMatrixObject(output.getName())) ) {
+			//streaming transformapply from csv to binary block, w/o read of input frame
+			FrameBlock meta = ec.getFrameInput(params.get("meta"));
+			TfApplyCSVStream.applyToBinaryBlock(ec.getFrameObject(params.get("target")),
+				ec.getMatrixObject(output.getName()), params.get("spec"), meta);
+			ec.releaseFrameInput(params.get("meta"));
+		}
 		else if ( opcode.equalsIgnoreCase("transformapply")) {
 			//acquire locks
 			FrameBlock data = ec.getFrameInput(params.get("target"));
@@ -260,7 +274,8 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			
 			//compute transformapply
 			Encoder encoder = EncoderFactory.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta);
-			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false));
+			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false),
+				OptimizerUtils.getConstrainedNumThreads(-1));
 			
 			//release locks
 			ec.setMatrixOutput(output.getName(), mbout);
@@ -326,6 +341,21 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			ec.releaseCacheableData(getParam("target"));
 			ec.setScalarOutput(output.getName(), new StringObject(out));
 		}
+		else if ( opcode.equalsIgnoreCase("quantileapprox")
+			|| opcode.equalsIgnoreCase("countdistinctapprox") ) {
+			//acquire locks
+			MatrixBlock target = ec.getMatrixInput(params.get("target"));
+			
+			//compute approximate quantile or distinct count via sketches
+			int k = OptimizerUtils.getConstrainedNumThreads(-1);
+			double ret = opcode.equalsIgnoreCase("quantileapprox") ?
+				LibMatrixSketch.quantileApprox(target, Double.parseDouble(params.get("p")), k) :
+				LibMatrixSketch.countDistinctApprox(target, k);
+			
+			//release locks
+			ec.releaseMatrixInput(params.get("target"));
+			ec.setScalarOutput(output.getName(), new DoubleObject(ret));
+		}
 		else {
 			throw new DMLRuntimeException("Unknown opcode : " + opcode);
 		}		
@@ -59,11 +59,13 @@ public class PlusMultCPInstruction extends ArithmeticBinaryCPInstruction
 		//get all the inputs
 		MatrixBlock matrix1 = ec.getMatrixInput(input1.getName());
 		MatrixBlock matrix2 = ec.getMatrixInput(input2.getName());
-		ScalarObject scalar = ec.getScalarInput(input3.getName(), input3.getValueType(), input3.isLiteral()); 
+		ScalarObject scalar = ec.getScalarInput(input3); 
 		
-		//execution
-		((ValueFunctionWithConstant) ((BinaryOperator)_optr).fn).setConstant(scalar.getDoubleValue());
-		MatrixBlock out = (MatrixBlock) matrix1.binaryOperations((BinaryOperator) _optr, matrix2, new MatrixBlock());
+		//execution (w/ new function object to avoid modifying the shared operator)
+		ValueFunctionWithConstant fn = getOpcode().equals("+*") ? 
+			PlusMultiply.getPlusMultiplyFnObject() : MinusMultiply.getMinusMultiplyFnObject();
+		fn.setConstant(scalar.getDoubleValue());
+		MatrixBlock out = (MatrixBlock) matrix1.binaryOperations(new BinaryOperator(fn), matrix2, new MatrixBlock());
 		
 		//release the matrices
 		ec.releaseMatrixInput(input1.getName());
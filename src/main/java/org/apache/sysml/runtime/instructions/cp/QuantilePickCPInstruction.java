@@ -108,7 +108,7 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 					MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
 
 					if ( input2.getDataType() == DataType.SCALAR ) {
-						ScalarObject quantile = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral());
+						ScalarObject quantile = ec.getScalarInput(input2);
 						double picked = matBlock.pickValue(quantile.getDoubleValue());
 						ec.setScalarOutput(output.getName(), new DoubleObject(picked));
 					} 
@@ -126,7 +126,7 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 					MatrixObject mat = ec.getMatrixObject(input1.getName());
 					String fname = mat.getFileName();
 					MetaData mdata = mat.getMetaData();
-					ScalarObject pickindex = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral());
+					ScalarObject pickindex = ec.getScalarInput(input2);
 					
 					if ( mdata != null ) {
 						try {
@@ -181,7 +181,7 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 				else //MR IQM
 				{
 					MatrixObject inputMatrix = (MatrixObject)ec.getVariable(input1.getName());
-					ScalarObject iqsum = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral());
+					ScalarObject iqsum = ec.getScalarInput(input2);
 					
 					double[] q25 = null;
 					double[] q75 = null;
@@ -116,7 +116,7 @@ public class QuaternaryCPInstruction extends ComputationCPInstruction
 		if( qop.hasFourInputs() ) {
 			if (input4.getDataType() == DataType.SCALAR) {
 				matBlock4 = new MatrixBlock(1, 1, false);
-				final double eps = ec.getScalarInput(input4.getName(), input4.getValueType(), input4.isLiteral()).getDoubleValue();
+				final double eps = ec.getScalarInput(input4).getDoubleValue();
 				matBlock4.quickSetValue(0, 0, eps);
 			}
 			else {
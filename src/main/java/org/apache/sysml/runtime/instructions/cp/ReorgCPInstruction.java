@@ -121,10 +121,12 @@ public class ReorgCPInstruction extends UnaryCPInstruction
 		ReorgOperator r_op = (ReorgOperator) _optr;
 		if( r_op.fn instanceof SortIndex ) {
 			//additional attributes for sort
-			int col = (int)ec.getScalarInput(_col.getName(), _col.getValueType(), _col.isLiteral()).getLongValue();
-			boolean desc = ec.getScalarInput(_desc.getName(), _desc.getValueType(), _desc.isLiteral()).getBooleanValue();
-			boolean ixret = ec.getScalarInput(_ixret.getName(), _ixret.getValueType(), _ixret.isLiteral()).getBooleanValue();
-			r_op.fn = SortIndex.getSortIndexFnObject(col, desc, ixret);
+			int col = (int)ec.getScalarInput(_col).getLongValue();
+			boolean desc = ec.getScalarInput(_desc).getBooleanValue();
+			boolean ixret = ec.getScalarInput(_ixret).getBooleanValue();
+			//create a local operator per execution instead of modifying the shared
+			//operator, because instructions are shared across parfor workers and jmlc scripts
+			r_op = new ReorgOperator(SortIndex.getSortIndexFnObject(col, desc, ixret), r_op.getNumThreads());
 		}
 		
 		//execute operation
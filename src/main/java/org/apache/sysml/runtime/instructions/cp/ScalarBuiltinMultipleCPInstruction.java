@@ -48,7 +48,7 @@ public class ScalarBuiltinMultipleCPInstruction extends BuiltinMultipleCPInstruc
 		if (MultipleCP.OperationType.PRINTF.toString().equalsIgnoreCase(getOpcode())) {
 			List<ScalarObject> scalarObjects = new ArrayList<ScalarObject>();
 			for (CPOperand input : inputs) {
-				ScalarObject so = ec.getScalarInput(input.getName(), input.getValueType(), input.isLiteral());
+				ScalarObject so = ec.getScalarInput(input);
 				scalarObjects.add(so);
 			}
 
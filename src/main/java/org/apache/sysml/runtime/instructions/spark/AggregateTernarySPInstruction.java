@@ -33,6 +33,7 @@ import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.spark.functions.AggregateDropCorrectionFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -86,12 +87,15 @@ public class AggregateTernarySPInstruction extends ComputationSPInstruction
 		//execute aggregate ternary operation
 		AggregateTernaryOperator aggop = (AggregateTernaryOperator) _optr;
 		JavaPairRDD<MatrixIndexes,MatrixBlock> out = null;
+		//(partition-local joins if co-partitioned, where zip joins preserve in1 partitioning)
+		boolean copart12 = sec.isCoPartitioned(input1.getName(), input2.getName());
 		if( in3 != null ) { //3 inputs
-			out = in1.join( in2 ).join( in3 )
+			boolean copart13 = copart12 && sec.isCoPartitioned(input1.getName(), input3.getName());
+			out = SparkUtils.join(SparkUtils.join(in1, in2, copart12), in3, copart13)
 				     .mapToPair(new RDDAggregateTernaryFunction(aggop));
 		}
 		else { //2 inputs (third is literal 1)
-			out = in1.join( in2 )
+			out = SparkUtils.join(in1, in2, copart12)
 					 .mapToPair(new RDDAggregateTernaryFunction2(aggop));				
 		}
 		
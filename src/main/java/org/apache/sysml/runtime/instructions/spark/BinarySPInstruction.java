@@ -35,6 +35,7 @@ import org.apache.sysml.runtime.instructions.spark.functions.MatrixScalarUnaryFu
 import org.apache.sysml.runtime.instructions.spark.functions.MatrixVectorBinaryOpPartitionFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.OuterVectorBinaryOpFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.ReplicateVectorFunction;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -111,9 +112,11 @@ public abstract class BinarySPInstruction extends ComputationSPInstruction
 		if( numRepRight > 1 )
 			in2 = in2.flatMapToPair(new ReplicateVectorFunction(rowvector, numRepRight));
 		
-		//execute binary operation
-		JavaPairRDD<MatrixIndexes,MatrixBlock> out = in1
-				.join(in2)
+		//execute binary operation (partition-local join if co-partitioned)
+		boolean copart = numRepLeft <= 1 && numRepRight <= 1
+			&& sec.isCoPartitioned(rddVar1, rddVar2);
+		JavaPairRDD<MatrixIndexes,MatrixBlock> out = SparkUtils
+				.join(in1, in2, copart)
 				.mapValues(new MatrixMatrixBinaryOpFunction(bop));
 		
 		//set output RDD
@@ -121,6 +124,8 @@ public abstract class BinarySPInstruction extends ComputationSPInstruction
 		sec.setRDDHandleForVariable(output.getName(), out);
 		sec.addLineageRDD(output.getName(), rddVar1);
 		sec.addLineageRDD(output.getName(), rddVar2);
+		if( copart )
+			sec.setCoPartitioned(output.getName(), rddVar1);
 	}
 
 	protected void processMatrixBVectorBinaryInstruction(ExecutionContext ec, VectorType vtype) 
@@ -161,6 +166,8 @@ public abstract class BinarySPInstruction extends ComputationSPInstruction
 		sec.setRDDHandleForVariable(output.getName(), out);
 		sec.addLineageRDD(output.getName(), rddVar);
 		sec.addLineageBroadcast(output.getName(), bcastVar);
+		if( !isOuter )
+			sec.setCoPartitioned(output.getName(), rddVar);
 	}
 
 	protected void processMatrixScalarBinaryInstruction(ExecutionContext ec) 
@@ -185,6 +192,7 @@ public abstract class BinarySPInstruction extends ComputationSPInstruction
 		updateUnaryOutputMatrixCharacteristics(sec, rddVar, output.getName());
 		sec.setRDDHandleForVariable(output.getName(), out);
 		sec.addLineageRDD(output.getName(), rddVar);
+		sec.setCoPartitioned(output.getName(), rddVar);
 	}
 
 	protected MatrixCharacteristics updateBinaryMMOutputMatrixCharacteristics(SparkExecutionContext sec, boolean checkCommonDim) 
@@ -36,6 +36,7 @@ import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.CMOperator;
@@ -127,7 +128,8 @@ public class CentralMomentSPInstruction extends UnarySPInstruction
 		else //with weights
 		{
 			JavaPairRDD<MatrixIndexes,MatrixBlock> in2 = sec.getBinaryBlockRDDHandleForVariable( input2.getName() );
-			cmobj = in1.join( in2 )
+			boolean copart = sec.isCoPartitioned(input1.getName(), input2.getName());
+			cmobj = SparkUtils.join(in1, in2, copart)
 					   .values().map(new RDDCMWeightsFunction(cop))
 			           .fold(new CM_COV_Object(), new RDDCMReduceFunction(cop));
 		}
@@ -31,6 +31,7 @@ import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.spark.CompressionSPInstruction.CompressionFunction;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyFrameBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CreateSparseBlockFunction;
@@ -49,25 +50,30 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 	//default storage level
 	private StorageLevel _level = null;
 	
-	public CheckpointSPInstruction(Operator op, CPOperand in, CPOperand out, StorageLevel level, String opcode, String istr) {
+	//compression of read-only inputs
+	private boolean _compress = false;
+	
+	public CheckpointSPInstruction(Operator op, CPOperand in, CPOperand out, StorageLevel level, boolean compress, String opcode, String istr) {
 		super(op, in, out, opcode, istr);
 		_sptype = SPINSTRUCTION_TYPE.Checkpoint;
 		
 		_level = level;
+		_compress = compress;
 	}
 	
 	public static CheckpointSPInstruction parseInstruction ( String str ) 
 		throws DMLRuntimeException 
 	{
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
-		InstructionUtils.checkNumFields(parts, 3);
+		InstructionUtils.checkNumFields(parts, 3, 4);
 		
 		String opcode = parts[0];
 		CPOperand in = new CPOperand(parts[1]);
 		CPOperand out = new CPOperand(parts[2]);
 		StorageLevel level = StorageLevel.fromString(parts[3]);
+		boolean compress = (parts.length > 4) && Boolean.parseBoolean(parts[4]);
 
-		return new CheckpointSPInstruction(null, in, out, level, opcode, str);
+		return new CheckpointSPInstruction(null, in, out, level, compress, opcode, str);
 	}
 	
 	@Override
@@ -107,6 +113,7 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 		// This prevents unnecessary overhead if the dataset is only consumed by cp operations.
 
 		JavaPairRDD<?,?> out = null;
+		boolean copart = true; //key- and partitioning-preserving
 		if( !in.getStorageLevel().equals( _level ) ) 
 		{
 			//(trigger coalesce if intended number of partitions exceeded by 20%
@@ -114,6 +121,7 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 			int numPartitions = SparkUtils.getNumPreferredPartitions(mcIn, in);
 			boolean coalesce = ( 1.2*numPartitions < in.getNumPartitions() 
 					&& !SparkUtils.isHashPartitioned(in) );
+			copart = !coalesce;
 			
 			//checkpoint pre-processing rdd operations
 			if( coalesce ) {
@@ -131,6 +139,18 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 						.mapValues(new CopyFrameBlockFunction(false));	
 			}
 			
+			//compress matrix blocks of read-only inputs per partition (as flagged by the compiler, 
+			//which excludes intermediates that are potentially re-checkpointed per loop iteration)
+			//(blocks that do not compress well are kept uncompressed, and compressed blocks
+			//remain compressed across shuffles due to their externalizable serialization)
+			//note: checkpoints are always compressed lossless because they are transparent
+			//to the script, the lossy error bound only applies to explicit compression
+			if( input1.getDataType()==DataType.MATRIX && _compress && mcIn.getCols() > 1 )
+			{
+				out = ((JavaPairRDD<MatrixIndexes,MatrixBlock>)out)
+					.mapValues(new CompressionFunction());
+			}
+			
 			//convert mcsr into memory-efficient csr if potentially sparse
 			if( input1.getDataType()==DataType.MATRIX 
 				&& OptimizerUtils.checkSparseBlockCSRConversion(mcIn)
@@ -162,6 +182,8 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 			RDDObject outro = new RDDObject(out, output.getName()); //create new rdd object
 			outro.setCheckpointRDD(true);         //mark as checkpointed
 			outro.addLineageChild(inro);          //keep lineage to prevent cycles on cleanup
+			if( copart )                          //keep partitioning for co-partitioned joins
+				outro.setCoPartitioned(inro);
 			cd.setRDDHandle(outro);
 		}
 		sec.setVariable( output.getName(), cd);
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.instructions.spark;
 
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.Function;
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
@@ -64,7 +65,8 @@ public class CompressionSPInstruction extends UnarySPInstruction
 	
 		//execute compression
 		JavaPairRDD<MatrixIndexes,MatrixBlock> out = 
-				in.mapValues(new CompressionFunction());
+				in.mapValues(new CompressionFunction(
+					ConfigurationManager.getCompressionErrorBound()));
 			
 		//set outputs
 		sec.setRDDHandleForVariable(output.getName(), out);
@@ -73,16 +75,32 @@ public class CompressionSPInstruction extends UnarySPInstruction
 
 	public static class CompressionFunction implements Function<MatrixBlock,MatrixBlock> 
 	{	
-		private static final long serialVersionUID = -6528833083609423922L;
+		private static final long serialVersionUID = 2875912397151284374L;
+		
+		private final double _errorBound;
+		
+		public CompressionFunction() {
+			this(0);
+		}
+		
+		public CompressionFunction(double errorBound) {
+			_errorBound = errorBound;
+		}
 
 		@Override
 		public MatrixBlock call(MatrixBlock arg0) 
 			throws Exception 
 		{
+			//pass-through of already compressed or empty blocks
+			if( arg0 instanceof CompressedMatrixBlock || arg0.isEmptyBlock(false) )
+				return arg0;
+			
 			CompressedMatrixBlock cmb = new CompressedMatrixBlock(arg0);
-			cmb.compress();
+			cmb.compress(1, _errorBound);
 			
-			return cmb;
+			//keep uncompressed block if compression is not beneficial
+			//(the shallow copy on construction leaves the input untouched)
+			return (cmb.getCompressionStatistics().ratio > 1) ? cmb : arg0;
 		}
 	}
 }
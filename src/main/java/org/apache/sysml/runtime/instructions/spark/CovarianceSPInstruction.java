@@ -35,6 +35,7 @@ import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.COVOperator;
@@ -100,15 +101,17 @@ public class CovarianceSPInstruction extends BinarySPInstruction
 		CM_COV_Object cmobj = null; 
 		if( input3 == null ) //w/o weights
 		{
-			cmobj = in1.join( in2 )
+			boolean copart = sec.isCoPartitioned(input1.getName(), input2.getName());
+			cmobj = SparkUtils.join(in1, in2, copart)
 					   .values().map(new RDDCOVFunction(cop))
 			           .fold(new CM_COV_Object(), new RDDCOVReduceFunction(cop));
 		}
 		else //with weights
 		{
 			JavaPairRDD<MatrixIndexes,MatrixBlock> in3 = sec.getBinaryBlockRDDHandleForVariable( input3.getName() );
-			cmobj = in1.join( in2 )
-					   .join( in3 )
+			boolean copart12 = sec.isCoPartitioned(input1.getName(), input2.getName());
+			boolean copart13 = copart12 && sec.isCoPartitioned(input1.getName(), input3.getName());
+			cmobj = SparkUtils.join(SparkUtils.join(in1, in2, copart12), in3, copart13)
 					   .values().map(new RDDCOVWeightsFunction(cop))
 			           .fold(new CM_COV_Object(), new RDDCOVReduceFunction(cop));
 		}
@@ -28,6 +28,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
@@ -51,8 +52,10 @@ public class MatrixAppendRSPInstruction extends AppendRSPInstruction
 		JavaPairRDD<MatrixIndexes,MatrixBlock> in2 = sec.getBinaryBlockRDDHandleForVariable( input2.getName() );
 		
 		//execute reduce-append operations (partitioning preserving)
-		JavaPairRDD<MatrixIndexes,MatrixBlock> out = in1
-				.join(in2)
+		//(partition-local join if co-partitioned)
+		boolean copart = sec.isCoPartitioned(input1.getName(), input2.getName());
+		JavaPairRDD<MatrixIndexes,MatrixBlock> out = SparkUtils
+				.join(in1, in2, copart)
 				.mapValues(new ReduceSideAppendFunction(_cbind));
 
 		//put output RDD handle into symbol table
@@ -60,6 +63,8 @@ public class MatrixAppendRSPInstruction extends AppendRSPInstruction
 		sec.setRDDHandleForVariable(output.getName(), out);
 		sec.addLineageRDD(output.getName(), input1.getName());
 		sec.addLineageRDD(output.getName(), input2.getName());		
+		if( copart )
+			sec.setCoPartitioned(output.getName(), input1.getName());
 	}
 
 	private static class ReduceSideAppendFunction implements Function<Tuple2<MatrixBlock, MatrixBlock>, MatrixBlock> 
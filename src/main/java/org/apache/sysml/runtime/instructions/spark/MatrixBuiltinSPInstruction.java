@@ -54,6 +54,7 @@ public class MatrixBuiltinSPInstruction extends BuiltinUnarySPInstruction
 		updateUnaryOutputMatrixCharacteristics(sec);
 		sec.setRDDHandleForVariable(output.getName(), out);	
 		sec.addLineageRDD(output.getName(), input1.getName());
+		sec.setCoPartitioned(output.getName(), input1.getName());
 	}
 
 	private static class RDDMatrixBuiltinUnaryOp implements Function<MatrixBlock,MatrixBlock> 
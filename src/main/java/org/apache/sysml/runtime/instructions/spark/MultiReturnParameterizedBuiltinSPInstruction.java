@@ -30,6 +30,8 @@ import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.util.AccumulatorV2;
@@ -57,8 +59,10 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderBin;
 import org.apache.sysml.runtime.transform.encode.EncoderComposite;
 import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.transform.encode.EncoderFeatureHash;
 import org.apache.sysml.runtime.transform.encode.EncoderMVImpute;
 import org.apache.sysml.runtime.transform.encode.EncoderRecode;
 import org.apache.sysml.runtime.transform.encode.EncoderMVImpute.MVMethod;
@@ -140,6 +144,16 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 			FrameReader reader = FrameReaderFactory.createFrameReader(InputInfo.TextCellInputInfo);
 			FrameBlock meta = reader.readFrameFromHDFS(fometa.getFileName(), accMax.value(), fo.getNumColumns());
 			meta.recomputeColumnCardinality(); //recompute num distinct items per column
+			if( containsBinEncoder(encoderBuild) ) { //equi-width bins from global min/max
+				EncoderBin bin = getBinEncoder(encoderBuild);
+				double[][] minmax = in.map(new TransformEncodeBuild3Function(bin))
+					.reduce(new TransformEncodeGroup3Function());
+				bin.buildBins(minmax[0], minmax[1]);
+				meta = bin.getMetaData(meta);
+			}
+			for( Encoder cencoder : ((EncoderComposite)encoderBuild).getEncoders() )
+				if( cencoder instanceof EncoderFeatureHash ) //domain size of hashed columns
+					cencoder.getMetaData(meta);
 			meta.setColumnNames((colnames!=null)?colnames:meta.getColumnNames());
 			
 			//step 2: transform apply (similar to spark transformapply)
@@ -181,6 +195,18 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 		return false;	
 	}
 
+	private boolean containsBinEncoder(Encoder encoder) {
+		return getBinEncoder(encoder) != null;
+	}
+
+	private EncoderBin getBinEncoder(Encoder encoder) {
+		if( encoder instanceof EncoderComposite )
+			for( Encoder cencoder : ((EncoderComposite)encoder).getEncoders() )
+				if( cencoder instanceof EncoderBin && ((EncoderBin)cencoder).requiresBuild() )
+					return (EncoderBin) cencoder;
+		return null;	
+	}
+
 	private EncoderMVImpute getMVImputeEncoder(Encoder encoder) {
 		if( encoder instanceof EncoderComposite )
 			for( Encoder cencoder : ((EncoderComposite)encoder).getEncoders() )
@@ -422,4 +448,42 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 			return ret.iterator();
 		}
 	}
+	
+	/**
+	 * This function computes the min and max of all binned columns per frame
+	 * block (part of distributed equi-width bin construction).
+	 */
+	public static class TransformEncodeBuild3Function implements Function<Tuple2<Long, FrameBlock>, double[][]>
+	{
+		private static final long serialVersionUID = -3542574316632427869L;
+		
+		private EncoderBin _encoder = null;
+		
+		public TransformEncodeBuild3Function(EncoderBin encoder) {
+			_encoder = encoder;
+		}
+		
+		@Override
+		public double[][] call(Tuple2<Long, FrameBlock> arg0) 
+			throws Exception 
+		{
+			return _encoder.computeColMinMax(arg0._2());
+		}
+	}
+	
+	/**
+	 * This function merges partial column mins and maxs of binned columns
+	 * (part of distributed equi-width bin construction).
+	 */
+	public static class TransformEncodeGroup3Function implements Function2<double[][], double[][], double[][]>
+	{
+		private static final long serialVersionUID = 5671491294216542340L;
+		
+		@Override
+		public double[][] call(double[][] arg0, double[][] arg1) 
+			throws Exception 
+		{
+			return EncoderBin.mergeColMinMax(arg0, arg1);
+		}
+	}
 }
@@ -25,7 +25,9 @@ import java.util.Iterator;
 
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.FlatMapFunction;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
 import org.apache.spark.broadcast.Broadcast;
@@ -46,6 +48,7 @@ import org.apache.sysml.runtime.functionobjects.ParameterizedBuiltin;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.mr.GroupedAggregateInstruction;
 import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast;
 import org.apache.sysml.runtime.instructions.spark.functions.ExtractGroup.ExtractGroupBroadcast;
@@ -61,6 +64,10 @@ import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.LibMatrixSketch;
+import org.apache.sysml.runtime.matrix.data.LibMatrixSketch.DistinctCountSketch;
+import org.apache.sysml.runtime.matrix.data.LibMatrixSketch.MatrixSketch;
+import org.apache.sysml.runtime.matrix.data.LibMatrixSketch.QuantileSketch;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -177,6 +184,11 @@ public class ParameterizedBuiltinSPInstruction  extends ComputationSPInstruction
 				func = ParameterizedBuiltin.getParameterizedBuiltinFnObject(opcode);
 				return new ParameterizedBuiltinSPInstruction(new SimpleOperator(func), paramsMap, out, opcode, str, false);
 			}
+			else if(   opcode.equalsIgnoreCase("quantileapprox")
+					|| opcode.equalsIgnoreCase("countdistinctapprox") )
+			{
+				return new ParameterizedBuiltinSPInstruction(null, paramsMap, out, opcode, str, false);
+			}
 			else {
 				throw new DMLRuntimeException("Unknown opcode (" + opcode + ") for ParameterizedBuiltin Instruction.");
 			}
@@ -494,11 +506,75 @@ public class ParameterizedBuiltinSPInstruction  extends ComputationSPInstruction
 				meta.getNumColumns(), mc.getRowsPerBlock(), mc.getColsPerBlock(), -1);
 			sec.getFrameObject(output.getName()).setSchema(decoder.getSchema());
 		}
+		else if ( opcode.equalsIgnoreCase("quantileapprox")
+			|| opcode.equalsIgnoreCase("countdistinctapprox") ) 
+		{
+			//get input rdd handle
+			String rddVar = params.get("target");
+			JavaPairRDD<MatrixIndexes,MatrixBlock> in = sec.getBinaryBlockRDDHandleForVariable( rddVar );
+			MatrixCharacteristics mc = sec.getMatrixCharacteristics(rddVar);
+			boolean quantile = opcode.equalsIgnoreCase("quantileapprox");
+			double p = quantile ? Double.parseDouble(params.get("p")) : -1;
+			if( quantile && (p < 0 || p > 1) )
+				throw new DMLRuntimeException("Invalid quantile "+p+", expected value in [0,1].");
+			
+			//build partial sketches per partition and merge (one pass, no shuffle),
+			//where zeros are derived from the number of cells to handle empty blocks
+			MatrixSketch sketch = quantile ? new QuantileSketch() : new DistinctCountSketch();
+			sketch = in.values()
+				.mapPartitions(new RDDSketchFunction(sketch))
+				.reduce(new RDDSketchMergeFunction());
+			sketch.addZeros(mc.getRows() * mc.getCols() - sketch.getNumNonZeros());
+			
+			//create scalar output (no lineage information required)
+			double ret = quantile ? ((QuantileSketch)sketch).getQuantile(p) :
+				((DistinctCountSketch)sketch).getEstimate();
+			ec.setScalarOutput(output.getName(), new DoubleObject(output.getName(), ret));
+		}
 		else {
 			throw new DMLRuntimeException("Unknown parameterized builtin opcode: "+opcode);
 		}
 	}
 
+	public static class RDDSketchFunction implements FlatMapFunction<Iterator<MatrixBlock>, MatrixSketch> 
+	{
+		private static final long serialVersionUID = -3861502318307445027L;
+		
+		private final MatrixSketch _sketch;
+		
+		public RDDSketchFunction(MatrixSketch sketch) {
+			_sketch = sketch;
+		}
+		
+		@Override
+		public Iterator<MatrixSketch> call(Iterator<MatrixBlock> arg0) 
+			throws Exception 
+		{
+			//single partial sketch over all blocks of the partition
+			MatrixSketch sketch = _sketch.createEmpty();
+			while( arg0.hasNext() ) {
+				MatrixBlock mb = arg0.next();
+				LibMatrixSketch.updateSketch(mb, sketch, 0, mb.getNumRows());
+			}
+			
+			ArrayList<MatrixSketch> ret = new ArrayList<MatrixSketch>();
+			ret.add(sketch);
+			return ret.iterator();
+		}
+	}
+	
+	public static class RDDSketchMergeFunction implements Function2<MatrixSketch, MatrixSketch, MatrixSketch> 
+	{
+		private static final long serialVersionUID = 5263947861720187393L;
+		
+		@Override
+		public MatrixSketch call(MatrixSketch arg0, MatrixSketch arg1) 
+			throws Exception 
+		{
+			return arg0.merge(arg1);
+		}
+	}
+
 	public static class RDDReplaceFunction implements Function<MatrixBlock, MatrixBlock> 
 	{
 		private static final long serialVersionUID = 6576713401901671659L;
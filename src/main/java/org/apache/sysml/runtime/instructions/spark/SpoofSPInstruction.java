@@ -27,6 +27,7 @@ import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -199,7 +200,18 @@ public class SpoofSPInstruction extends SPInstruction
 		}
 		else if( _class.getSuperclass() == SpoofRowwise.class ) { //row aggregate operator
 			SpoofRowwise op = (SpoofRowwise) CodegenUtils.createInstance(_class); 	
-			RowwiseFunction fmmc = new RowwiseFunction(_class.getName(), _classBytes, bcMatrices, scalars, (int)mcIn.getCols());
+			
+			//row-partition main input if it spans multiple column blocks, because
+			//the generated row operations require entire rows (and side inputs)
+			boolean rowPart = mcIn.getCols() > mcIn.getColsPerBlock();
+			if( rowPart ) {
+				checkValidRowBlockSize(mcIn);
+				in = RDDAggregateUtils.mergeByKey(in.mapToPair(
+					new ShiftToRowBlockFunction(mcIn)), false);
+			}
+			
+			RowwiseFunction fmmc = new RowwiseFunction(_class.getName(), _classBytes, 
+				bcMatrices, scalars, (int)mcIn.getCols(), mcIn.getRowsPerBlock());
 			out = in.mapPartitionsToPair(fmmc, op.getRowType()==RowType.ROW_AGG
 					|| op.getRowType() == RowType.NO_AGG);
 			
@@ -213,13 +225,9 @@ public class SpoofSPInstruction extends SPInstruction
 			}
 			else //row-agg or no-agg 
 			{
-				if( op.getRowType()==RowType.ROW_AGG && mcIn.getCols() > mcIn.getColsPerBlock() ) {
-					//TODO investigate if some other side effect of correct blocks
-					if( out.partitions().size() > mcIn.getNumRowBlocks() )
-						out = RDDAggregateUtils.sumByKeyStable(out, (int)mcIn.getNumRowBlocks(), false);
-					else
-						out = RDDAggregateUtils.sumByKeyStable(out, false);
-				}
+				//split row-partitioned outputs into blocks of regular size
+				if( op.getRowType()==RowType.NO_AGG && rowPart )
+					out = out.flatMapToPair(new SplitRowBlockFunction(mcIn.getColsPerBlock()));
 				
 				sec.setRDDHandleForVariable(_out.getName(), out);
 				
@@ -238,6 +246,24 @@ public class SpoofSPInstruction extends SPInstruction
 		}
 	}
 	
+	private static void checkValidRowBlockSize(MatrixCharacteristics mcIn) 
+		throws DMLRuntimeException 
+	{
+		//row blocks of all columns need to fit into a single matrix block 
+		//(dense arrays limited to 2^31 cells) and into the executor memory
+		long brlen = Math.min(mcIn.getRows(), mcIn.getRowsPerBlock());
+		double sp = mcIn.nnzKnown() ? OptimizerUtils.getSparsity(mcIn) : 1.0;
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(brlen, mcIn.getCols(), (long)(sp*brlen*mcIn.getCols()));
+		if( !sparse && brlen * mcIn.getCols() > Integer.MAX_VALUE )
+			throw new DMLRuntimeException("Rowwise spark operator: dense row blocks of size "
+				+ brlen + "x" + mcIn.getCols() + " exceed the maximum dense block size.");
+		double size = OptimizerUtils.estimateSizeExactSparsity(brlen, mcIn.getCols(), sp);
+		if( size > SparkExecutionContext.getBroadcastMemoryBudget() )
+			throw new DMLRuntimeException("Rowwise spark operator: row blocks of size "
+				+ brlen + "x" + mcIn.getCols() + " (" + OptimizerUtils.toMB(size) + " MB) exceed "
+				+ "the executor memory budget of " + OptimizerUtils.toMB(SparkExecutionContext.getBroadcastMemoryBudget()) + " MB.");
+	}
+	
 	private void updateOutputMatrixCharacteristics(SparkExecutionContext sec, SpoofOperator op) 
 		throws DMLRuntimeException 
 	{
@@ -290,9 +316,11 @@ public class SpoofSPInstruction extends SPInstruction
 		private final byte[] _classBytes;
 		private final String _className;
 		private final int _clen;
+		private final int _brlen;
 		private SpoofRowwise _op = null;
+		private MatrixBlock _inB1 = null;
 		
-		public RowwiseFunction(String className, byte[] classBytes, ArrayList<PartitionedBroadcast<MatrixBlock>> bcMatrices, ArrayList<ScalarObject> scalars, int clen) 
+		public RowwiseFunction(String className, byte[] classBytes, ArrayList<PartitionedBroadcast<MatrixBlock>> bcMatrices, ArrayList<ScalarObject> scalars, int clen, int brlen) 
 			throws DMLRuntimeException
 		{			
 			_className = className;
@@ -300,6 +328,7 @@ public class SpoofSPInstruction extends SPInstruction
 			_vectors = bcMatrices;
 			_scalars = scalars;
 			_clen = clen;
+			_brlen = brlen;
 		}
 		
 		@Override
@@ -352,12 +381,90 @@ public class SpoofSPInstruction extends SPInstruction
 		{
 			ArrayList<MatrixBlock> ret = new ArrayList<MatrixBlock>();
 			ret.add(blkIn);
-			for( PartitionedBroadcast<MatrixBlock> vector : _vectors )
-				ret.add(vector.getBlock((vector.getNumRowBlocks()>=rowIndex)?rowIndex:1, 1));
+			for( int i=0; i<_vectors.size(); i++ ) {
+				PartitionedBroadcast<MatrixBlock> in = _vectors.get(i);
+				if( i==0 && _op.getRowType().isRowTypeB1() ) {
+					//matrix B1 is always required as a whole (reused across blocks)
+					if( _inB1 == null )
+						_inB1 = (in.getNumRowBlocks()==1 && in.getNumColumnBlocks()==1) ? in.getBlock(1, 1) :
+							in.sliceOperations(1, in.getNumRows(), 1, in.getNumCols(), new MatrixBlock());
+					ret.add(_inB1);
+				}
+				else {
+					//row-aligned side inputs (or vectors) w/ all columns
+					int rix = (in.getNumRowBlocks()>=rowIndex) ? rowIndex : 1;
+					ret.add( (in.getNumColumnBlocks()==1) ? in.getBlock(rix, 1) :
+						in.sliceOperations((long)(rix-1)*_brlen+1, Math.min((long)rix*_brlen, 
+							in.getNumRows()), 1, in.getNumCols(), new MatrixBlock()) );
+				}
+			}
 			return ret;
 		}
 	}
 	
+	private static class ShiftToRowBlockFunction implements PairFunction<Tuple2<MatrixIndexes, MatrixBlock>, MatrixIndexes, MatrixBlock> 
+	{
+		private static final long serialVersionUID = 4372146186351727218L;
+		
+		private final long _clen;
+		private final int _bclen;
+		
+		public ShiftToRowBlockFunction(MatrixCharacteristics mc) {
+			_clen = mc.getCols();
+			_bclen = mc.getColsPerBlock();
+		}
+		
+		@Override
+		public Tuple2<MatrixIndexes, MatrixBlock> call(Tuple2<MatrixIndexes, MatrixBlock> arg) 
+			throws Exception 
+		{
+			//place input block into an otherwise empty row block of all columns
+			MatrixIndexes ixIn = arg._1();
+			MatrixBlock blkIn = arg._2();
+			int rlen = blkIn.getNumRows();
+			int cl = (int)(ixIn.getColumnIndex()-1) * _bclen;
+			boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, _clen, blkIn.getNonZeros());
+			MatrixBlock blkOut = new MatrixBlock(rlen, (int)_clen, sparse);
+			if( !blkIn.isEmptyBlock(false) )
+				blkOut.copy(0, rlen-1, cl, cl+blkIn.getNumColumns()-1, blkIn, false);
+			blkOut.setNonZeros(blkIn.getNonZeros());
+			
+			return new Tuple2<MatrixIndexes, MatrixBlock>(
+				new MatrixIndexes(ixIn.getRowIndex(), 1), blkOut);
+		}
+	}
+	
+	private static class SplitRowBlockFunction implements PairFlatMapFunction<Tuple2<MatrixIndexes, MatrixBlock>, MatrixIndexes, MatrixBlock> 
+	{
+		private static final long serialVersionUID = -1540417203429815094L;
+		
+		private final int _bclen;
+		
+		public SplitRowBlockFunction(int bclen) {
+			_bclen = bclen;
+		}
+		
+		@Override
+		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(Tuple2<MatrixIndexes, MatrixBlock> arg) 
+			throws Exception 
+		{
+			//slice row block into blocks of regular column block size
+			MatrixIndexes ixIn = arg._1();
+			MatrixBlock blkIn = arg._2();
+			int rlen = blkIn.getNumRows();
+			int clen = blkIn.getNumColumns();
+			
+			ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret = new ArrayList<Tuple2<MatrixIndexes,MatrixBlock>>();
+			for( int cl=0, cix=1; cl<clen; cl+=_bclen, cix++ ) {
+				MatrixBlock blkOut = blkIn.sliceOperations(0, rlen-1,
+					cl, Math.min(cl+_bclen, clen)-1, new MatrixBlock());
+				ret.add(new Tuple2<MatrixIndexes,MatrixBlock>(
+					new MatrixIndexes(ixIn.getRowIndex(), cix), blkOut));
+			}
+			return ret.iterator();
+		}
+	}
+	
 	private static class CellwiseFunction implements PairFlatMapFunction<Iterator<Tuple2<MatrixIndexes, MatrixBlock>>, MatrixIndexes, MatrixBlock> 
 	{
 		private static final long serialVersionUID = -8209188316939435099L;
@@ -23,6 +23,7 @@ import org.apache.spark.Partitioner;
 
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
  * Default partitioner used for all binary block rdd operations in order
@@ -113,4 +114,9 @@ public class BlockPartitioner extends Partitioner
 			&& _rbPerPart == that._rbPerPart
 			&& _cbPerPart == that._cbPerPart;
 	}
+	
+	@Override
+	public int hashCode() {
+		return UtilFunctions.longHashCode(_rbPerPart, _cbPerPart) * 31 + _numParts;
+	}
 }
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.data;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.spark.SparkContext;
+import org.apache.spark.SparkEnv;
+import org.apache.spark.TaskContext;
+import org.apache.spark.util.TaskCompletionListener;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+
+/**
+ * Executor-wide cache of deserialized broadcast blocks, shared by all concurrent 
+ * tasks of an executor. Blocks are keyed by a broadcast cache key and their block 
+ * index, where the cache key is either the lineage of the broadcast variable (i.e., 
+ * a key assigned on the driver per variable, which only changes if the variable is 
+ * modified) or derived from the broadcast id. Hence, concurrent tasks share a single 
+ * deserialized copy, and repeated broadcasts of an unchanged variable (e.g., across 
+ * loop iterations) reuse already deserialized blocks without fetching the new broadcast.
+ * 
+ * The cache is memory-bounded with LRU eviction. Broadcasts are reference-counted 
+ * by the number of running tasks that accessed them, and blocks of unreferenced 
+ * broadcasts are evicted first. Evicting a block of a referenced broadcast is safe 
+ * as well because tasks keep their own references, but it might cause redundant 
+ * deserialization. Blocks of outdated cache keys (i.e., of modified variables) are 
+ * not removed explicitly, because they are unreferenced by new tasks and hence 
+ * evicted first once the cache exceeds its budget.
+ * 
+ * In local mode, the executor shares the driver JVM and hence its memory with the 
+ * buffer pool of the control program. Since the cache budget is not accounted in 
+ * the buffer pool budget, the cache is disabled in this case.
+ */
+public class BroadcastBlockCache 
+{
+	//enables the executor-wide cache of broadcast blocks
+	public static boolean ALLOW_EXECUTOR_CACHE = true;
+	
+	//fraction of the executor JVM max heap used for cached blocks
+	public static double CACHE_MEM_FRACTION = 0.15;
+	
+	//cache key sequence (driver-side)
+	private static final IDSequence _seq = new IDSequence();
+	
+	//executor-local cache of broadcast blocks in access order, and accounting
+	private static final LinkedHashMap<CacheKey, CacheBlock> _cache 
+		= new LinkedHashMap<CacheKey, CacheBlock>(16, 0.75f, true);
+	private static long _size = 0;
+	private static long _limit = -1;
+	
+	//reference counts of broadcasts and referenced broadcasts per task
+	//(concurrent maps w/ per-entry counts to avoid a global lock on task access)
+	private static final ConcurrentHashMap<Long, AtomicInteger> _refCounts 
+		= new ConcurrentHashMap<Long, AtomicInteger>();
+	private static final ConcurrentHashMap<Long, Set<Long>> _taskRefs 
+		= new ConcurrentHashMap<Long, Set<Long>>();
+	
+	//local mode flag, determined on first access (executor-side)
+	private static volatile Boolean _localMode = null;
+	
+	public static long getNextCacheKey() {
+		return _seq.getNextID();
+	}
+	
+	/**
+	 * Indicates if the executor-wide cache is enabled, which is not the case
+	 * in local mode, where the executor runs inside the driver JVM.
+	 * 
+	 * @return true if the cache should be used
+	 */
+	public static boolean isEnabled() {
+		if( !ALLOW_EXECUTOR_CACHE )
+			return false;
+		if( _localMode == null ) {
+			SparkEnv env = SparkEnv.get();
+			if( env == null )
+				return true; //not yet in spark context
+			_localMode = SparkContext.DRIVER_IDENTIFIER().equals(env.executorId());
+		}
+		return !_localMode;
+	}
+	
+	/**
+	 * Obtains a cached block and marks it as most recently used.
+	 * 
+	 * @param key broadcast cache key
+	 * @param bix linearized block index
+	 * @return cached block, or null if not cached
+	 */
+	public static synchronized CacheBlock get(long key, int bix) {
+		return _cache.get(new CacheKey(key, bix));
+	}
+	
+	/**
+	 * Adds the given block to the cache, unless the block is already cached by
+	 * a concurrent task. If the cache exceeds its memory budget, blocks are evicted
+	 * in LRU order, where blocks of unreferenced broadcasts are evicted first.
+	 * 
+	 * @param key broadcast cache key
+	 * @param bix linearized block index
+	 * @param block deserialized block
+	 * @return the cached block (either the given or an already cached block)
+	 */
+	public static synchronized CacheBlock put(long key, int bix, CacheBlock block) {
+		CacheKey ckey = new CacheKey(key, bix);
+		CacheBlock old = _cache.get(ckey);
+		if( old != null )
+			return old;
+		
+		//reject blocks that exceed the entire budget
+		long size = block.getInMemorySize();
+		if( size > getCacheLimit() )
+			return block;
+		
+		//add block and evict until below limit
+		_cache.put(ckey, block);
+		_size += size;
+		if( _size > getCacheLimit() )
+			evict(true);
+		if( _size > getCacheLimit() )
+			evict(false);
+		return block;
+	}
+	
+	/**
+	 * Registers the current task (if any) as reader of the given broadcast, and 
+	 * releases this reference on task completion.
+	 * 
+	 * @param key broadcast cache key
+	 */
+	public static void pin(long key) {
+		TaskContext tc = TaskContext.get();
+		if( tc == null )
+			return; //not in spark task (e.g., driver)
+		final long taskID = tc.taskAttemptId();
+		
+		//release references on completion of a new task
+		if( pin(taskID, key) ) {
+			tc.addTaskCompletionListener(new TaskCompletionListener() {
+				@Override
+				public void onTaskCompletion(TaskContext context) {
+					unpinTask(taskID);
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Registers the given task as reader of the given broadcast, where the
+	 * reference count is incremented only on the first access of the task.
+	 * 
+	 * @param taskID task attempt id
+	 * @param key broadcast cache key
+	 * @return true if this is the first pinned broadcast of the task
+	 */
+	public static boolean pin(long taskID, long key) {
+		//obtain or create the set of referenced broadcasts of this task
+		Set<Long> keys = _taskRefs.get(taskID);
+		boolean newTask = false;
+		if( keys == null ) {
+			Set<Long> tmp = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+			keys = _taskRefs.putIfAbsent(taskID, tmp);
+			if( keys == null ) {
+				keys = tmp;
+				newTask = true;
+			}
+		}
+		
+		//increment reference count on first access of the task
+		if( keys.add(key) )
+			incrementRefCount(key);
+		return newTask;
+	}
+	
+	/**
+	 * Releases all broadcast references of the given task.
+	 * 
+	 * @param taskID task attempt id
+	 */
+	public static void unpinTask(long taskID) {
+		Set<Long> keys = _taskRefs.remove(taskID);
+		if( keys == null )
+			return;
+		for( Long key : keys ) {
+			AtomicInteger cnt = _refCounts.get(key);
+			if( cnt != null && cnt.decrementAndGet() <= 0 )
+				_refCounts.remove(key, cnt);
+		}
+	}
+	
+	public static int getRefCount(long key) {
+		AtomicInteger cnt = _refCounts.get(key);
+		return (cnt != null) ? Math.max(cnt.get(), 0) : 0;
+	}
+	
+	public static synchronized int size() {
+		return _cache.size();
+	}
+	
+	public static synchronized long getCacheSize() {
+		return _size;
+	}
+	
+	public static synchronized long getCacheLimit() {
+		if( _limit < 0 )
+			_limit = (long)(CACHE_MEM_FRACTION * InfrastructureAnalyzer.getLocalMaxMemory());
+		return _limit;
+	}
+	
+	public static synchronized void setCacheLimit(long limit) {
+		_limit = limit;
+		if( _size > getCacheLimit() )
+			evict(false);
+	}
+	
+	public static synchronized void clear() {
+		_cache.clear();
+		_size = 0;
+	}
+	
+	private static void incrementRefCount(long key) {
+		while( true ) {
+			AtomicInteger cnt = _refCounts.get(key);
+			if( cnt == null ) {
+				if( _refCounts.putIfAbsent(key, new AtomicInteger(1)) == null )
+					return;
+			}
+			else {
+				//counts of zero are about to be removed, retry on new entry
+				int c = cnt.get();
+				if( c > 0 && cnt.compareAndSet(c, c+1) )
+					return;
+				if( c <= 0 )
+					_refCounts.remove(key, cnt);
+			}
+		}
+	}
+	
+	private static void evict(boolean unreferencedOnly) {
+		Iterator<Entry<CacheKey, CacheBlock>> iter = _cache.entrySet().iterator();
+		while( iter.hasNext() && _size > getCacheLimit() ) {
+			Entry<CacheKey, CacheBlock> e = iter.next();
+			if( unreferencedOnly && _refCounts.containsKey(e.getKey()._key) )
+				continue;
+			_size -= e.getValue().getInMemorySize();
+			iter.remove();
+		}
+	}
+	
+	private static class CacheKey
+	{
+		private final long _key;
+		private final int _bix;
+		
+		public CacheKey(long key, int bix) {
+			_key = key;
+			_bix = bix;
+		}
+		
+		@Override
+		public int hashCode() {
+			return Long.hashCode(_key) * 31 + _bix;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof CacheKey) )
+				return false;
+			CacheKey that = (CacheKey) o;
+			return _key == that._key && _bix == that._bix;
+		}
+	}
+}
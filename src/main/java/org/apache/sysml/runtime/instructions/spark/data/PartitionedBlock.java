@@ -19,7 +19,9 @@
 
 package org.apache.sysml.runtime.instructions.spark.data;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.Externalizable;
 import java.io.IOException;
@@ -33,6 +35,7 @@ import java.util.ArrayList;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlockFactory;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
 import org.apache.sysml.runtime.matrix.data.OperationsOnMatrixValues;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
@@ -45,10 +48,20 @@ import org.apache.sysml.runtime.util.IndexRange;
  * per task would create instance-local copies and hence replicate broadcast 
  * variables which are shared by all tasks within an executor.  
  * 
+ * On deserialization, blocks are only copied in serialized form and lazily 
+ * deserialized on first access, which avoids deserializing entire partitions
+ * for tasks that only access a few blocks.
+ * 
  */
 public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 {
+	//lazy deserialization of individual blocks on first access
+	public static boolean LAZY_DESERIALIZATION = true;
+	
 	protected CacheBlock[] _partBlocks = null; 
+	protected volatile byte[][] _partBytes = null; //serialized blocks, if lazy
+	private int _code = -1; //cache block type of serialized blocks
+	private int _numDeserialized = 0;
 	protected long _rlen = -1;
 	protected long _clen = -1;
 	protected int _brlen = -1;
@@ -160,8 +173,38 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
 		int ix = rix*ncblks+cix - _offset;
+		
+		//lazy deserialization of requested block (shared by concurrent tasks)
+		if( _partBytes != null )
+			deserializeBlock(ix);
+		
 		return (T)_partBlocks[ix];
 	}
+	
+	/**
+	 * Obtains the requested block like getBlock, but without retaining a deserialized
+	 * copy of not yet deserialized blocks, which allows external caching of blocks.
+	 * 
+	 * @param rowIndex row block index (1-based)
+	 * @param colIndex column block index (1-based)
+	 * @return block object
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("unchecked")
+	public T readBlock(int rowIndex, int colIndex) 
+		throws DMLRuntimeException 
+	{
+		byte[][] bytes = _partBytes;
+		if( bytes != null && rowIndex > 0 && colIndex > 0 ) {
+			int ix = (rowIndex-1)*getNumColumnBlocks()+(colIndex-1) - _offset;
+			byte[] tmp = (ix >= 0 && ix < bytes.length) ? bytes[ix] : null;
+			if( tmp != null )
+				return (T) deserialize(tmp, _code);
+		}
+		
+		//already deserialized or in-memory block
+		return getBlock(rowIndex, colIndex);
+	}
 
 	public void setBlock(int rowIndex, int colIndex, T block) 
 		throws DMLRuntimeException
@@ -184,19 +227,24 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		long ret = 24; //header
 		ret += 32;    //block array
 		
+		byte[][] bytes = _partBytes;
 		if( _partBlocks != null )
-			for( CacheBlock block : _partBlocks )
-				ret += block.getInMemorySize();
+			for( int i=0; i<_partBlocks.length; i++ )
+				ret += (bytes != null && bytes[i] != null) ? 16 + bytes[i].length :
+					(_partBlocks[i] != null) ? _partBlocks[i].getInMemorySize() : 0;
 		
 		return ret;
 	}
 
 	public long getExactSerializedSize() {
-		long ret = 24; //header
+		long ret = 25; //header
 		
+		byte[][] bytes = _partBytes;
+		boolean lazy = LAZY_DESERIALIZATION || bytes != null;
 		if( _partBlocks != null )
-			for( CacheBlock block : _partBlocks )
-				ret += block.getExactSerializedSize();
+			for( int i=0; i<_partBlocks.length; i++ )
+				ret += (lazy ? 4 : 0) + ((bytes != null && bytes[i] != null) ? 
+					bytes[i].length : _partBlocks[i].getExactSerializedSize());
 		
 		return ret;
 	}
@@ -303,16 +351,32 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	private void writeHeaderAndPayload(DataOutput dos) 
 		throws IOException
 	{
+		byte[][] bytes = _partBytes;
+		boolean lazy = LAZY_DESERIALIZATION || bytes != null;
+		
 		dos.writeLong(_rlen);
 		dos.writeLong(_clen);
 		dos.writeInt(_brlen);
 		dos.writeInt(_bclen);
 		dos.writeInt(_offset);
 		dos.writeInt(_partBlocks.length);
-		dos.writeByte(CacheBlockFactory.getCode(_partBlocks[0]));
+		dos.writeByte(getCode());
+		dos.writeBoolean(lazy);
 		
-		for( CacheBlock block : _partBlocks )
-			block.write(dos);
+		for( int i=0; i<_partBlocks.length; i++ ) {
+			if( lazy && bytes != null && bytes[i] != null ) {
+				//pass-through of not yet deserialized block
+				dos.writeInt(bytes[i].length);
+				dos.write(bytes[i]);
+			}
+			else {
+				//size prefix for lazy deserialization
+				CacheBlock block = _partBlocks[i];
+				if( lazy )
+					dos.writeInt((int)block.getExactSerializedSize());
+				block.write(dos);
+			}
+		}
 	}
 
 	private int readHeader(DataInput dis) 
@@ -334,10 +398,57 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	private void readPayload(DataInput dis, int code) 
 		throws IOException
 	{
+		boolean lazy = dis.readBoolean();
 		int len = _partBlocks.length;
-		for( int i=0; i<len; i++ ) {
-			_partBlocks[i] = CacheBlockFactory.newInstance(code);
-			_partBlocks[i].readFields(dis);
+		
+		if( lazy ) {
+			//copy serialized blocks w/o deserialization
+			byte[][] bytes = new byte[len][];
+			for( int i=0; i<len; i++ ) {
+				bytes[i] = new byte[dis.readInt()];
+				dis.readFully(bytes[i]);
+			}
+			_code = code;
+			_partBytes = bytes;
+		}
+		else {
+			for( int i=0; i<len; i++ ) {
+				_partBlocks[i] = CacheBlockFactory.newInstance(code);
+				_partBlocks[i].readFields(dis);
+			}
+		}
+	}
+	
+	private int getCode() {
+		byte[][] bytes = _partBytes;
+		return (bytes != null) ? _code : 
+			CacheBlockFactory.getCode(_partBlocks[0]);
+	}
+	
+	private synchronized void deserializeBlock(int ix) 
+		throws DMLRuntimeException
+	{
+		byte[][] bytes = _partBytes;
+		if( bytes == null || bytes[ix] == null )
+			return; //already deserialized
+		
+		_partBlocks[ix] = deserialize(bytes[ix], _code);
+		bytes[ix] = null;
+		if( ++_numDeserialized == bytes.length )
+			_partBytes = null; //all blocks available
+	}
+	
+	private static CacheBlock deserialize(byte[] bytes, int code) 
+		throws DMLRuntimeException
+	{
+		try {
+			CacheBlock block = CacheBlockFactory.newInstance(code);
+			block.readFields( (code == 0) ? new CacheDataInput(bytes) :
+				new DataInputStream(new ByteArrayInputStream(bytes)) );
+			return block;
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to deserialize broadcast block.", ex);
 		}
 	}
 }
@@ -33,6 +33,10 @@ import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
  * we got java.lang.IllegalArgumentException: Size exceeds Integer.MAX_VALUE issue.
  * Despite various jiras, this issue still showed up in Spark 1.4/1.5. 
  * 
+ * Meta data is kept redundantly in order to avoid fetching broadcasts for meta 
+ * data requests, and blocks are looked up in the executor-wide broadcast block
+ * cache before fetching and deserializing the broadcast itself.
+ * 
  */
 public class PartitionedBroadcast<T extends CacheBlock> implements Serializable
 {
@@ -41,34 +45,58 @@ public class PartitionedBroadcast<T extends CacheBlock> implements Serializable
 	protected static final long BROADCAST_PARTSIZE = 200L*1024*1024; //200M cells ~ 1.6GB 
 	
 	private Broadcast<PartitionedBlock<T>>[] _pbc = null;
+	private long _key = -1; //executor-local cache key
+	
+	//meta data of partitioned block
+	private long _rlen = -1;
+	private long _clen = -1;
+	private int _brlen = -1;
+	private int _bclen = -1;
 	
 	public PartitionedBroadcast() {
 		//do nothing (required for Externalizable)
 	}
 	
 	public PartitionedBroadcast(Broadcast<PartitionedBlock<T>>[] broadcasts)
+	{
+		this(broadcasts, -1);
+	}
+	
+	public PartitionedBroadcast(Broadcast<PartitionedBlock<T>>[] broadcasts, long key)
 	{
 		_pbc = broadcasts;
+		_key = key;
+		
+		//obtain meta data from driver-local broadcast value
+		PartitionedBlock<T> tmp = broadcasts[0].value();
+		_rlen = tmp.getNumRows();
+		_clen = tmp.getNumCols();
+		_brlen = (int) tmp.getNumRowsPerBlock();
+		_bclen = (int) tmp.getNumColumnsPerBlock();
 	}
 	
 	public Broadcast<PartitionedBlock<T>>[] getBroadcasts() {
 		return _pbc;
 	}
 	
+	public long getCacheKey() {
+		return _key;
+	}
+	
 	public long getNumRows() {
-		return _pbc[0].value().getNumRows();
+		return _rlen;
 	}
 	
 	public long getNumCols() {
-		return _pbc[0].value().getNumCols();
+		return _clen;
 	}
 
 	public int getNumRowBlocks() {
-		return _pbc[0].value().getNumRowBlocks();
+		return (int)Math.ceil((double)_rlen/_brlen);
 	}
 	
 	public int getNumColumnBlocks() {
-		return _pbc[0].value().getNumColumnBlocks();
+		return (int)Math.ceil((double)_clen/_bclen);
 	}
 
 	public static int computeBlocksPerPartition(long rlen, long clen, long brlen, long bclen) {
@@ -76,6 +104,7 @@ public class PartitionedBroadcast<T extends CacheBlock> implements Serializable
 				Math.min(rlen, brlen) / Math.min(clen, bclen));
 	}
 
+	@SuppressWarnings("unchecked")
 	public T getBlock(int rowIndex, int colIndex) 
 		throws DMLRuntimeException 
 	{
@@ -83,14 +112,24 @@ public class PartitionedBroadcast<T extends CacheBlock> implements Serializable
 		
 		if( _pbc.length > 1 ) { 
 			//compute partition index
-			PartitionedBlock<T> tmp = _pbc[0].value();
-			int numPerPart = computeBlocksPerPartition(tmp.getNumRows(), tmp.getNumCols(), 
-					tmp.getNumRowsPerBlock(), tmp.getNumColumnsPerBlock());
-			int ix = (rowIndex-1)*tmp.getNumColumnBlocks()+(colIndex-1);
+			int numPerPart = computeBlocksPerPartition(_rlen, _clen, _brlen, _bclen);
+			int ix = (rowIndex-1)*getNumColumnBlocks()+(colIndex-1);
 			pix = ix / numPerPart;
 		}
-			
-		return _pbc[pix].value().getBlock(rowIndex, colIndex);
+		
+		if( !BroadcastBlockCache.isEnabled() )
+			return _pbc[pix].value().getBlock(rowIndex, colIndex);
+		
+		//probe executor-wide cache, fetch and deserialize on miss
+		//(lineage key if available, otherwise unique key per broadcast)
+		long key = (_key >= 0) ? _key : -1 - _pbc[0].id();
+		int bix = (rowIndex-1)*getNumColumnBlocks()+(colIndex-1);
+		BroadcastBlockCache.pin(key);
+		T ret = (T) BroadcastBlockCache.get(key, bix);
+		if( ret == null )
+			ret = (T) BroadcastBlockCache.put(key, bix, 
+				_pbc[pix].value().readBlock(rowIndex, colIndex));
+		return ret;
 	}
 	
 	public T sliceOperations(long rl, long ru, long cl, long cu, T block) 
@@ -20,9 +20,13 @@
 package org.apache.sysml.runtime.instructions.spark.data;
 
 import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 
 public class RDDObject extends LineageObject
 {
+	//sequence of partitioning ids (identical number of partitions and key placement)
+	private static final IDSequence _partSeq = new IDSequence();
+	
 	private JavaPairRDD<?,?> _rddHandle = null;
 	
 	//meta data on origin of given rdd handle
@@ -31,6 +35,7 @@ public class RDDObject extends LineageObject
 	private String  _hdfsFname = null;     //hdfs filename, if created from hdfs.  
 	private boolean _parRDD = false;       //is a parallelized rdd at driver
 	private boolean _pending = true;       //is a pending rdd operation
+	private long    _partID = -1;          //partitioning id, if known
 	
 	public RDDObject( JavaPairRDD<?,?> rddvar, String varName) {
 		super(varName);
@@ -81,6 +86,37 @@ public class RDDObject extends LineageObject
 		return _pending;
 	}
 	
+	/**
+	 * Marks this rdd as co-partitioned with the given rdd, which requires that
+	 * this rdd was derived from the given rdd via key- and partitioning-preserving
+	 * operations (e.g., mapValues or zipPartitions), i.e., both rdds have the same
+	 * number of partitions and the same placement of keys to partitions.
+	 * 
+	 * @param that rdd object this rdd was derived from
+	 */
+	public void setCoPartitioned(RDDObject that) {
+		if( that._partID < 0 )
+			that._partID = _partSeq.getNextID();
+		_partID = that._partID;
+	}
+	
+	/**
+	 * Indicates if this rdd and the given rdd are co-partitioned, i.e., they
+	 * either have equal spark partitioners or share the same partitioning id,
+	 * which allows partition-local joins without shuffle.
+	 * 
+	 * @param that rdd object
+	 * @return true if both rdds are co-partitioned
+	 */
+	public boolean isCoPartitioned(RDDObject that) {
+		if( _rddHandle.getNumPartitions() != that._rddHandle.getNumPartitions() )
+			return false;
+		if( _partID >= 0 && _partID == that._partID )
+			return true;
+		return _rddHandle.rdd().partitioner().isDefined()
+			&& _rddHandle.rdd().partitioner().equals(that._rddHandle.rdd().partitioner());
+	}
+	
 
 	/**
 	 * Indicates if rdd is an hdfs file or a checkpoint over an hdfs file;
@@ -19,6 +19,7 @@
 package org.apache.sysml.runtime.instructions.spark.functions;
 
 import org.apache.spark.api.java.function.Function;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 
 /**
@@ -44,7 +45,9 @@ public class CopyBlockFunction implements Function<MatrixBlock,MatrixBlock>
 	public MatrixBlock call(MatrixBlock arg0)
 		throws Exception 
 	{
-		if( _deepCopy )
+		//compressed blocks are read-only, hence we avoid a deep copy
+		//that would implicitly decompress the block
+		if( _deepCopy && !(arg0 instanceof CompressedMatrixBlock) )
 			return new MatrixBlock(arg0);
 		else
 			return arg0;
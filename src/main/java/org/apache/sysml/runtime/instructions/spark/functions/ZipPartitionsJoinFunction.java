@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.functions;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.spark.api.java.function.FlatMapFunction2;
+
+import scala.Tuple2;
+
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Partition-local join of two co-partitioned rdds, which is used with zipPartitions
+ * in order to avoid the shuffle and cogroup of a default join. The right partition
+ * is hashed by key, while the left partition is streamed lazily through the join,
+ * preserving the order and hence placement of the left input. The semantics are
+ * equivalent to an inner join over unique keys.
+ * 
+ */
+public class ZipPartitionsJoinFunction<V1,V2> implements FlatMapFunction2<Iterator<Tuple2<MatrixIndexes,V1>>, 
+	Iterator<Tuple2<MatrixIndexes,V2>>, Tuple2<MatrixIndexes,Tuple2<V1,V2>>>
+{
+	private static final long serialVersionUID = -2384721690561937745L;
+
+	@Override
+	public Iterator<Tuple2<MatrixIndexes, Tuple2<V1, V2>>> call(Iterator<Tuple2<MatrixIndexes, V1>> arg0, 
+		Iterator<Tuple2<MatrixIndexes, V2>> arg1) 
+		throws Exception 
+	{
+		//build hash table over right partition
+		HashMap<MatrixIndexes, V2> right = new HashMap<MatrixIndexes, V2>();
+		while( arg1.hasNext() ) {
+			Tuple2<MatrixIndexes, V2> tmp = arg1.next();
+			right.put(tmp._1(), tmp._2());
+		}
+		
+		return new ZipJoinIterator(arg0, right);
+	}
+	
+	/**
+	 * Lazy probe iterator to prevent materialization of entire partition output in-memory.
+	 */
+	private class ZipJoinIterator implements Iterator<Tuple2<MatrixIndexes, Tuple2<V1, V2>>>
+	{
+		private final Iterator<Tuple2<MatrixIndexes, V1>> _left;
+		private final HashMap<MatrixIndexes, V2> _right;
+		private Tuple2<MatrixIndexes, Tuple2<V1, V2>> _next = null;
+		
+		public ZipJoinIterator(Iterator<Tuple2<MatrixIndexes, V1>> left, HashMap<MatrixIndexes, V2> right) {
+			_left = left;
+			_right = right;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			//probe left inputs until next match (skip unmatched keys)
+			while( _next == null && _left.hasNext() ) {
+				Tuple2<MatrixIndexes, V1> tmp = _left.next();
+				V2 rval = _right.get(tmp._1());
+				if( rval != null )
+					_next = new Tuple2<MatrixIndexes, Tuple2<V1, V2>>(
+						tmp._1(), new Tuple2<V1, V2>(tmp._2(), rval));
+			}
+			return _next != null;
+		}
+		
+		@Override
+		public Tuple2<MatrixIndexes, Tuple2<V1, V2>> next() {
+			if( !hasNext() )
+				throw new NoSuchElementException();
+			Tuple2<MatrixIndexes, Tuple2<V1, V2>> ret = _next;
+			_next = null;
+			return ret;
+		}
+		
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -43,10 +43,14 @@ import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
  */
 public class RDDAggregateUtils 
 {	
-	//internal configuration to use tree aggregation (treeReduce w/ depth=2),
-	//this is currently disabled because it was 2x slower than a simple
-	//single-block reduce due to additional overhead for shuffling 
-	private static final boolean TREE_AGGREGATION = false; 
+	//internal configuration of multi-level tree aggregation for reduce-all aggregates:
+	//for small numbers of partitions, a single-level fold is up to 2x faster due to the 
+	//additional shuffle; for many partitions, however, the driver would receive a partial 
+	//aggregate per partition and hence, become the memory and network bottleneck. With 
+	//tree aggregation of depth d, the driver only merges ~numPartitions^(1/d) partials.
+	public static final boolean TREE_AGGREGATION = true;
+	public static final int TREE_AGG_MIN_PARTITIONS = 64;
+	public static final int TREE_AGG_DEPTH = 2;
 
 	public static MatrixBlock sumStable( JavaPairRDD<MatrixIndexes, MatrixBlock> in ) {
 		return sumStable( in.values() );
@@ -55,9 +59,14 @@ public class RDDAggregateUtils
 	public static MatrixBlock sumStable( JavaRDD<MatrixBlock> in )
 	{
 		//stable sum of all blocks with correction block per function instance
-		if( TREE_AGGREGATION ) {
-			return in.treeReduce( 
-					new SumSingleBlockFunction(true) );	
+		if( isTreeAggregation(in) ) {
+			//partition-level in-place kahan aggregation into value and correction 
+			//block, and multi-level aggregation of partials on the executors
+			return in.treeAggregate(
+					new CorrMatrixBlock(new MatrixBlock()),
+					new SumCorrBlockValueFunction(), 
+					new SumCorrBlockCombinerFunction(),
+					TREE_AGG_DEPTH).getValue();
 		}
 		else { //DEFAULT
 			//reduce-all aggregate via fold instead of reduce to allow 
@@ -131,6 +140,15 @@ public class RDDAggregateUtils
 	public static MatrixBlock aggStable( JavaRDD<MatrixBlock> in, AggregateOperator aop )
 	{
 		//stable aggregate of all blocks with correction block per function instance
+		if( isTreeAggregation(in) ) {
+			//multi-level aggregation of partials on the executors 
+			//(see sumStable, but with embedded corrections of the given operator)
+			return in.treeAggregate(
+					new CorrMatrixBlock(new MatrixBlock()),
+					new AggCorrBlockValueFunction(aop), 
+					new AggCorrBlockCombinerFunction(aop),
+					TREE_AGG_DEPTH).getValue();
+		}
 		
 		//reduce-all aggregate via fold instead of reduce to allow 
 		//for update in-place w/o deep copy of left-hand-side blocks
@@ -138,6 +156,11 @@ public class RDDAggregateUtils
 				new MatrixBlock(),
 				new AggregateSingleBlockFunction(aop) );
 	}
+	
+	private static boolean isTreeAggregation( JavaRDD<MatrixBlock> in ) {
+		return TREE_AGGREGATION && TREE_AGG_DEPTH >= 2
+			&& in.getNumPartitions() >= TREE_AGG_MIN_PARTITIONS;
+	}
 
 	public static JavaPairRDD<MatrixIndexes, MatrixBlock> aggByKeyStable( JavaPairRDD<MatrixIndexes, MatrixBlock> in, 
 			AggregateOperator aop) {
@@ -306,6 +329,98 @@ public class RDDAggregateUtils
 		}	
 	}
 
+	/**
+	 * Partition-level sum of blocks (with kahan corrections) for tree aggregation. The 
+	 * first block is deep copied, while all subsequent blocks are aggregated in-place. 
+	 */
+	private static class SumCorrBlockValueFunction implements Function2<CorrMatrixBlock, MatrixBlock, CorrMatrixBlock> 
+	{
+		private static final long serialVersionUID = -2817482659104773641L;
+		
+		private final MergeSumBlockValueFunction _fn = new MergeSumBlockValueFunction();
+		
+		@Override
+		public CorrMatrixBlock call(CorrMatrixBlock arg0, MatrixBlock arg1) 
+			throws Exception 
+		{
+			if( arg1.getNumRows() <= 0 || arg1.getNumColumns() <= 0 )
+				return arg0;
+			else if( arg0.getValue().getNumRows() <= 0 || arg0.getValue().getNumColumns() <= 0 )
+				return arg0.set(new MatrixBlock(arg1), null);
+			return _fn.call(arg0, arg1);
+		}
+	}
+	
+	/**
+	 * Merge of partial sums (with kahan corrections) for tree aggregation, where the 
+	 * partial aggregates are owned by the aggregation and hence, updated in-place.
+	 */
+	private static class SumCorrBlockCombinerFunction implements Function2<CorrMatrixBlock, CorrMatrixBlock, CorrMatrixBlock> 
+	{
+		private static final long serialVersionUID = 5398746311578212456L;
+		
+		private final MergeSumBlockCombinerFunction _fn = new MergeSumBlockCombinerFunction();
+		
+		@Override
+		public CorrMatrixBlock call(CorrMatrixBlock arg0, CorrMatrixBlock arg1) 
+			throws Exception 
+		{
+			if( arg1.getValue().getNumRows() <= 0 || arg1.getValue().getNumColumns() <= 0 )
+				return arg0;
+			else if( arg0.getValue().getNumRows() <= 0 || arg0.getValue().getNumColumns() <= 0 )
+				return arg1;
+			return _fn.call(arg0, arg1);
+		}
+	}
+	
+	/**
+	 * Partition-level aggregation of blocks (with embedded corrections) for tree 
+	 * aggregation, analogous to the sum but for arbitrary aggregation operators.
+	 */
+	private static class AggCorrBlockValueFunction implements Function2<CorrMatrixBlock, MatrixBlock, CorrMatrixBlock> 
+	{
+		private static final long serialVersionUID = 1268327913853482371L;
+		
+		private final MergeAggBlockValueFunction _fn;
+		
+		public AggCorrBlockValueFunction(AggregateOperator aop) {
+			_fn = new MergeAggBlockValueFunction(aop);
+		}
+		
+		@Override
+		public CorrMatrixBlock call(CorrMatrixBlock arg0, MatrixBlock arg1) 
+			throws Exception 
+		{
+			if( arg1.getNumRows() <= 0 || arg1.getNumColumns() <= 0 )
+				return arg0;
+			else if( arg0.getValue().getNumRows() <= 0 || arg0.getValue().getNumColumns() <= 0 )
+				return arg0.set(new MatrixBlock(arg1), null);
+			return _fn.call(arg0, arg1);
+		}
+	}
+	
+	private static class AggCorrBlockCombinerFunction implements Function2<CorrMatrixBlock, CorrMatrixBlock, CorrMatrixBlock> 
+	{
+		private static final long serialVersionUID = -6418232907154183724L;
+		
+		private final MergeAggBlockCombinerFunction _fn;
+		
+		public AggCorrBlockCombinerFunction(AggregateOperator aop) {
+			_fn = new MergeAggBlockCombinerFunction(aop);
+		}
+		
+		@Override
+		public CorrMatrixBlock call(CorrMatrixBlock arg0, CorrMatrixBlock arg1) 
+			throws Exception 
+		{
+			if( arg1.getValue().getNumRows() <= 0 || arg1.getValue().getNumColumns() <= 0 )
+				return arg0;
+			else if( arg0.getValue().getNumRows() <= 0 || arg0.getValue().getNumColumns() <= 0 )
+				return arg1;
+			return _fn.call(arg0, arg1);
+		}
+	}
+
 	private static class CreateBlockCombinerFunction implements Function<MatrixBlock, MatrixBlock> 
 	{
 		private static final long serialVersionUID = 1987501624176848292L;
@@ -41,6 +41,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBinaryCellFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockPairFunction;
+import org.apache.sysml.runtime.instructions.spark.functions.ZipPartitionsJoinFunction;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -121,6 +122,28 @@ public class SparkUtils
 			&& in.rdd().partitioner().get() instanceof HashPartitioner;
 	}
 	
+	/**
+	 * Joins two binary block rdds by key. If both inputs are co-partitioned, we 
+	 * use a partition-local join via zipPartitions, which avoids the shuffle and 
+	 * cogroup of a default join and preserves the partitioning of the left input.
+	 * 
+	 * @param in1 left input JavaPairRDD
+	 * @param in2 right input JavaPairRDD
+	 * @param coPartitioned true if both inputs are known to be co-partitioned
+	 * @param <V1> left value type
+	 * @param <V2> right value type
+	 * @return joined JavaPairRDD
+	 */
+	public static <V1,V2> JavaPairRDD<MatrixIndexes,Tuple2<V1,V2>> join(JavaPairRDD<MatrixIndexes,V1> in1, 
+		JavaPairRDD<MatrixIndexes,V2> in2, boolean coPartitioned)
+	{
+		if( !coPartitioned )
+			return in1.join(in2);
+		
+		return JavaPairRDD.fromJavaRDD(in1.zipPartitions(in2, 
+			new ZipPartitionsJoinFunction<V1,V2>()));
+	}
+	
 	public static int getNumPreferredPartitions(MatrixCharacteristics mc, JavaPairRDD<?,?> in) {
 		if( !mc.dimsKnown(true) && in != null )
 			return in.getNumPartitions();
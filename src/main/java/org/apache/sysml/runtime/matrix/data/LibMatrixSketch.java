@@ -0,0 +1,492 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+
+/**
+ * Library for approximate, single-pass statistics over matrix blocks via
+ * mergeable sketches of constant size, which serve as alternatives for
+ * sort-based quantiles and hash-based distinct counts.
+ *
+ * Current list of supported operations:
+ *  - countDistinctApprox (HyperLogLog distinct count)
+ *  - quantileApprox (KLL quantile sketch)
+ *
+ * All sketches only consume non-zero values, while zeros are added in bulk
+ * based on the number of cells. Partial sketches of row partitions or blocks
+ * are combined via merge, which allows for multi-threaded and distributed
+ * sketch construction.
+ */
+public class LibMatrixSketch
+{
+	//internal configuration parameters
+	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //1M
+	public static final int HLL_INDEX_BITS = 14; //16K registers, ~0.8% std error
+	public static final int KLL_K = 256; //max compactor size, ~1% rank error
+
+	private LibMatrixSketch() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Computes the approximate number of distinct values of all cells of the
+	 * given matrix block, including zeros.
+	 *
+	 * @param in input matrix block
+	 * @param k degree of parallelism
+	 * @return approximate number of distinct values
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static double countDistinctApprox(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		DistinctCountSketch sketch = (DistinctCountSketch)
+			createSketch(in, new DistinctCountSketch(), k);
+		return sketch.getEstimate();
+	}
+
+	/**
+	 * Computes the approximate p-quantile of all cells of the given matrix
+	 * block, including zeros.
+	 *
+	 * @param in input matrix block
+	 * @param p quantile in [0,1]
+	 * @param k degree of parallelism
+	 * @return approximate p-quantile
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static double quantileApprox(MatrixBlock in, double p, int k)
+		throws DMLRuntimeException
+	{
+		if( p < 0 || p > 1 )
+			throw new DMLRuntimeException("Invalid quantile "+p+", expected value in [0,1].");
+		QuantileSketch sketch = (QuantileSketch)
+			createSketch(in, new QuantileSketch(), k);
+		return sketch.getQuantile(p);
+	}
+
+	/**
+	 * Creates a sketch over all cells of the given matrix block, where the
+	 * sketch is built over disjoint row partitions and merged if k>1.
+	 *
+	 * @param in input matrix block
+	 * @param sketch empty sketch
+	 * @param k degree of parallelism
+	 * @return sketch, including zeros
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixSketch createSketch(MatrixBlock in, MatrixSketch sketch, int k)
+		throws DMLRuntimeException
+	{
+		//decompress once upfront to avoid redundant decompression per task
+		if( in instanceof CompressedMatrixBlock )
+			in = ((CompressedMatrixBlock)in).decompress();
+		
+		//sequential execution for small or special cases
+		if( in.isEmptyBlock(false) || k <= 1 || in.rlen == 1
+			|| (long)in.rlen * in.clen < PAR_NUMCELL_THRESHOLD ) {
+			updateSketch(in, sketch, 0, in.rlen);
+		}
+		//multi-threaded sketch construction and merge
+		else {
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<SketchTask> tasks = new ArrayList<SketchTask>();
+				int blklen = (int)(Math.ceil((double)in.rlen/k));
+				for( int i=0; i<k & i*blklen<in.rlen; i++ )
+					tasks.add(new SketchTask(in, sketch.createEmpty(),
+						i*blklen, Math.min((i+1)*blklen, in.rlen)));
+				List<Future<MatrixSketch>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<MatrixSketch> task : taskret )
+					sketch.merge(task.get());
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+
+		//add zeros in bulk w/o scan
+		sketch.addZeros((long)in.rlen * in.clen - sketch.getNumNonZeros());
+		return sketch;
+	}
+
+	/**
+	 * Updates the given sketch with all non-zero values of the given row range,
+	 * which is also used for partial sketches of distributed blocks.
+	 *
+	 * @param in input matrix block
+	 * @param sketch sketch to update
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void updateSketch(MatrixBlock in, MatrixSketch sketch, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		if( in.isEmptyBlock(false) )
+			return;
+		
+		//compressed blocks do not expose sparse/dense blocks
+		if( in instanceof CompressedMatrixBlock )
+			in = ((CompressedMatrixBlock)in).decompress();
+
+		if( in.sparse ) {
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					if( avals[j] != 0 )
+						sketch.add(avals[j]);
+			}
+		}
+		else {
+			double[] a = in.denseBlock;
+			int clen = in.clen;
+			for( int i=rl*clen; i<ru*clen; i++ )
+				if( a[i] != 0 )
+					sketch.add(a[i]);
+		}
+	}
+
+	private static class SketchTask implements Callable<MatrixSketch>
+	{
+		private final MatrixBlock _in;
+		private final MatrixSketch _sketch;
+		private final int _rl;
+		private final int _ru;
+
+		protected SketchTask(MatrixBlock in, MatrixSketch sketch, int rl, int ru) {
+			_in = in;
+			_sketch = sketch;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public MatrixSketch call() throws DMLRuntimeException {
+			updateSketch(_in, _sketch, _rl, _ru);
+			return _sketch;
+		}
+	}
+
+	/**
+	 * Base class of mergeable sketches over the non-zero values of a matrix,
+	 * with zeros added in bulk.
+	 */
+	public static abstract class MatrixSketch implements Serializable
+	{
+		private static final long serialVersionUID = -2468361387125740143L;
+
+		protected long _nnz = 0; //number of non-zero values
+		protected long _nzeros = 0; //number of zero values
+
+		public long getNumNonZeros() {
+			return _nnz;
+		}
+
+		public long getNumValues() {
+			return _nnz + _nzeros;
+		}
+
+		public void addZeros(long n) {
+			_nzeros += Math.max(n, 0);
+		}
+
+		public abstract MatrixSketch createEmpty();
+
+		public abstract void add(double v);
+
+		public abstract MatrixSketch merge(MatrixSketch that);
+	}
+
+	/**
+	 * HyperLogLog sketch for approximate distinct counts, with 2^b registers
+	 * of the maximum leading zero count per register. Merging two sketches
+	 * takes the register-wise maximum, and small cardinalities are estimated
+	 * via linear counting over empty registers.
+	 */
+	public static class DistinctCountSketch extends MatrixSketch
+	{
+		private static final long serialVersionUID = 4197208263514381265L;
+
+		private final int _b;
+		private final byte[] _registers;
+
+		public DistinctCountSketch() {
+			this(HLL_INDEX_BITS);
+		}
+
+		public DistinctCountSketch(int b) {
+			_b = b;
+			_registers = new byte[1 << b];
+		}
+
+		@Override
+		public MatrixSketch createEmpty() {
+			return new DistinctCountSketch(_b);
+		}
+
+		@Override
+		public void add(double v) {
+			long h = hash(Double.doubleToLongBits(v));
+			int ix = (int)(h >>> (64 - _b));
+			byte rho = (byte)(Math.min(Long.numberOfLeadingZeros(h << _b), 64 - _b) + 1);
+			if( rho > _registers[ix] )
+				_registers[ix] = rho;
+			_nnz++;
+		}
+
+		@Override
+		public MatrixSketch merge(MatrixSketch that) {
+			DistinctCountSketch that2 = (DistinctCountSketch) that;
+			if( _b != that2._b )
+				throw new RuntimeException("Incompatible distinct count sketches: "+_b+" vs "+that2._b);
+			for( int i=0; i<_registers.length; i++ )
+				_registers[i] = (byte)Math.max(_registers[i], that2._registers[i]);
+			_nnz += that2._nnz;
+			_nzeros += that2._nzeros;
+			return this;
+		}
+
+		public double getEstimate() {
+			int m = _registers.length;
+			double sum = 0;
+			int nempty = 0;
+			for( int i=0; i<m; i++ ) {
+				sum += 1d / (1L << _registers[i]);
+				nempty += (_registers[i]==0) ? 1 : 0;
+			}
+			double alpha = 0.7213 / (1 + 1.079/m);
+			double est = alpha * m * m / sum;
+
+			//small range correction via linear counting
+			if( est <= 2.5 * m && nempty > 0 )
+				est = m * Math.log((double)m / nempty);
+
+			//zero as additional distinct value, bounded by number of values
+			est = Math.round(est) + ((_nzeros > 0) ? 1 : 0);
+			return Math.min(est, getNumValues());
+		}
+
+		private static long hash(long key) {
+			//murmur3 64bit finalizer (avalanche of all bits)
+			key ^= key >>> 33;
+			key *= 0xff51afd7ed558ccdL;
+			key ^= key >>> 33;
+			key *= 0xc4ceb9fe1a85ec53L;
+			key ^= key >>> 33;
+			return key;
+		}
+	}
+
+	/**
+	 * KLL sketch for approximate quantiles, consisting of a hierarchy of
+	 * compactors where items at level h have a weight of 2^h. A full compactor
+	 * is sorted and either its even or odd items (chosen at random) are promoted
+	 * to the next level. Compactor capacities decrease geometrically toward the
+	 * lower levels, which bounds the size to O(k) items. Merging two sketches
+	 * concatenates compactors level-wise and subsequently compacts.
+	 */
+	public static class QuantileSketch extends MatrixSketch
+	{
+		private static final long serialVersionUID = -5712874692412368371L;
+		private static final double CAPACITY_DECAY = 2d/3;
+
+		private final int _k;
+		private final Random _rand;
+		private double[][] _levels;
+		private int[] _sizes;
+		private int _nlevels;
+		private double _min = Double.POSITIVE_INFINITY;
+		private double _max = Double.NEGATIVE_INFINITY;
+
+		public QuantileSketch() {
+			this(KLL_K);
+		}
+
+		public QuantileSketch(int k) {
+			_k = k;
+			_rand = new Random(7);
+			_levels = new double[4][];
+			_sizes = new int[4];
+			_nlevels = 1;
+			_levels[0] = new double[capacity(0)];
+		}
+
+		@Override
+		public MatrixSketch createEmpty() {
+			return new QuantileSketch(_k);
+		}
+
+		@Override
+		public void add(double v) {
+			if( _sizes[0] == _levels[0].length )
+				_levels[0] = Arrays.copyOf(_levels[0], 2*_levels[0].length);
+			_levels[0][_sizes[0]++] = v;
+			_min = Math.min(_min, v);
+			_max = Math.max(_max, v);
+			_nnz++;
+			if( _sizes[0] >= capacity(0) )
+				compress();
+		}
+
+		@Override
+		public MatrixSketch merge(MatrixSketch that) {
+			QuantileSketch that2 = (QuantileSketch) that;
+			if( _k != that2._k )
+				throw new RuntimeException("Incompatible quantile sketches: "+_k+" vs "+that2._k);
+			while( _nlevels < that2._nlevels )
+				addLevel();
+			for( int h=0; h<that2._nlevels; h++ )
+				append(h, that2._levels[h], 0, that2._sizes[h]);
+			_min = Math.min(_min, that2._min);
+			_max = Math.max(_max, that2._max);
+			_nnz += that2._nnz;
+			_nzeros += that2._nzeros;
+			compress();
+			return this;
+		}
+
+		public double getQuantile(double p) {
+			long n = getNumValues();
+			if( n == 0 )
+				return Double.NaN;
+
+			//exact min and max, incl zeros
+			if( p == 0 || p == 1 ) {
+				double ret = (p == 0) ? _min : _max;
+				return (_nzeros == 0) ? ret : (p == 0) ?
+					Math.min(ret, 0) : Math.max(ret, 0);
+			}
+
+			//collect weighted items, incl zeros as single item
+			int len = (_nzeros > 0) ? 1 : 0;
+			for( int h=0; h<_nlevels; h++ )
+				len += _sizes[h];
+			double[] vals = new double[len];
+			long[] wts = new long[len];
+			int pos = 0;
+			for( int h=0; h<_nlevels; h++ )
+				for( int i=0; i<_sizes[h]; i++, pos++ ) {
+					vals[pos] = _levels[h][i];
+					wts[pos] = 1L << h;
+				}
+			if( _nzeros > 0 ) {
+				vals[pos] = 0;
+				wts[pos] = _nzeros;
+			}
+
+			//sort by value and find first item with cumulative weight >= p*n,
+			//where the total weight of compacted items approximates n
+			Integer[] ix = new Integer[len];
+			for( int i=0; i<len; i++ )
+				ix[i] = i;
+			Arrays.sort(ix, new ValueComparator(vals));
+			long total = 0;
+			for( int i=0; i<len; i++ )
+				total += wts[i];
+			double target = p * total;
+			long cum = 0;
+			for( int i=0; i<len; i++ ) {
+				cum += wts[ix[i]];
+				if( cum >= target )
+					return vals[ix[i]];
+			}
+			return vals[ix[len-1]];
+		}
+
+		private int capacity(int h) {
+			int depth = _nlevels - h - 1;
+			return Math.max((int)Math.ceil(_k * Math.pow(CAPACITY_DECAY, depth)), 2);
+		}
+
+		private void compress() {
+			for( int h=0; h<_nlevels; h++ ) {
+				if( _sizes[h] < capacity(h) )
+					continue;
+				if( h+1 == _nlevels )
+					addLevel();
+
+				//sort level, promote every other item, and keep
+				//the last item on odd sizes in the current level
+				double[] a = _levels[h];
+				int len = _sizes[h];
+				Arrays.sort(a, 0, len);
+				int off = _rand.nextBoolean() ? 1 : 0;
+				int len2 = len - (len % 2);
+				double[] tmp = new double[len2/2];
+				for( int i=off, j=0; i<len2; i+=2, j++ )
+					tmp[j] = a[i];
+				append(h+1, tmp, 0, tmp.length);
+				if( len % 2 == 1 )
+					a[0] = a[len-1];
+				_sizes[h] = len % 2;
+			}
+		}
+
+		private void addLevel() {
+			if( _nlevels == _levels.length ) {
+				_levels = Arrays.copyOf(_levels, 2*_levels.length);
+				_sizes = Arrays.copyOf(_sizes, 2*_sizes.length);
+			}
+			_levels[_nlevels] = new double[2];
+			_sizes[_nlevels] = 0;
+			_nlevels++;
+		}
+
+		private void append(int h, double[] src, int pos, int len) {
+			if( _sizes[h] + len > _levels[h].length )
+				_levels[h] = Arrays.copyOf(_levels[h], Math.max(2*_levels[h].length, _sizes[h]+len));
+			System.arraycopy(src, pos, _levels[h], _sizes[h], len);
+			_sizes[h] += len;
+		}
+	}
+
+	private static class ValueComparator implements Comparator<Integer>
+	{
+		private final double[] _vals;
+
+		public ValueComparator(double[] vals) {
+			_vals = vals;
+		}
+
+		@Override
+		public int compare(Integer o1, Integer o2) {
+			return Double.compare(_vals[o1], _vals[o2]);
+		}
+	}
+}
@@ -54,6 +54,11 @@ public class LeftScalarOperator extends ScalarOperator
 			|| (fn instanceof LessThanEquals && _constant>0));
 	}
 
+	@Override
+	protected ScalarOperator createOperator(ValueFunction p, double cst) {
+		return new LeftScalarOperator(p, cst);
+	}
+
 	@Override
 	public double executeScalar(double in) throws DMLRuntimeException {
 		return fn.execute(_constant, in);
@@ -56,6 +56,11 @@ public class RightScalarOperator extends ScalarOperator
 			|| (fn instanceof Power && _constant!=0));
 	}
 	
+	@Override
+	protected ScalarOperator createOperator(ValueFunction p, double cst) {
+		return new RightScalarOperator(p, cst);
+	}
+
 	@Override
 	public double executeScalar(double in) throws DMLRuntimeException {
 		return fn.execute(in, _constant);
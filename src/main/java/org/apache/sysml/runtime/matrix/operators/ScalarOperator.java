@@ -65,6 +65,23 @@ public abstract class ScalarOperator extends Operator
 			|| (fn instanceof Builtin && ((Builtin)fn).getBuiltinCode()==BuiltinCode.MIN && _constant>=0));
 	}
 	
+	/**
+	 * Obtains a scalar operator for the given constant without modifying
+	 * this operator, which might be shared by concurrent executions of the
+	 * same instruction. For unchanged constants (e.g., literals), this 
+	 * returns the operator itself in order to avoid unnecessary allocations.
+	 * 
+	 * @param cst scalar constant
+	 * @return scalar operator with the given constant
+	 */
+	public ScalarOperator getOperatorWithConstant(double cst) {
+		if( Double.compare(cst, _constant) == 0 )
+			return this;
+		return createOperator(fn, cst);
+	}
+	
+	protected abstract ScalarOperator createOperator(ValueFunction p, double cst);
+	
 	/**
 	 * Apply the scalar operator over a given input value.
 	 * 
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Streaming transformapply from a csv file to a binary block matrix file,
+ * which reads the csv splits in batches of one row block, applies the 
+ * given transform meta data (recode, bin, dummycode, impute, omit), and
+ * directly appends the encoded blocks to the output sequence file. 
+ * Hence, neither the input frame nor the encoded matrix are materialized
+ * in memory, which makes transformapply memory-bounded for arbitrarily 
+ * large inputs.
+ */
+public class TfApplyCSVStream 
+{
+	//enables the streaming transformapply for large csv inputs
+	public static boolean ALLOW_STREAMING = true;
+	
+	//forces the streaming transformapply independent of the input size (for testing)
+	public static boolean FORCE_STREAMING = false;
+	
+	/**
+	 * Indicates if the transformapply of the given input frame into the 
+	 * given output matrix should be streamed, which is the case if the
+	 * input is an unmodified csv file that is not already in memory, 
+	 * the output is a binary block matrix, and the in-memory input frame 
+	 * (of at least two bytes per character) would exceed the local memory 
+	 * budget.
+	 * 
+	 * @param fo input frame object
+	 * @param mo output matrix object
+	 * @return true if streaming transformapply should be used
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static boolean isStreamingApplicable(FrameObject fo, MatrixObject mo) 
+		throws DMLRuntimeException
+	{
+		if( !ALLOW_STREAMING || fo.isDirty() || fo.isCached(true) 
+			|| fo.getRDDHandle() != null || fo.getFileName() == null )
+			return false;
+		
+		//check csv input and binary block output formats
+		if( !(fo.getMetaData() instanceof MatrixFormatMetaData) 
+			|| !(mo.getMetaData() instanceof MatrixFormatMetaData) )
+			return false;
+		MatrixFormatMetaData iimd = (MatrixFormatMetaData) fo.getMetaData();
+		MatrixFormatMetaData oimd = (MatrixFormatMetaData) mo.getMetaData();
+		if( iimd.getInputInfo() != InputInfo.CSVInputInfo
+			|| oimd.getOutputInfo() != OutputInfo.BinaryBlockOutputInfo )
+			return false;
+		
+		//check for large inputs
+		try {
+			long fsize = MapReduceTool.getFilesizeOnHDFS(new Path(fo.getFileName()));
+			return FORCE_STREAMING || 2 * fsize > OptimizerUtils.getLocalMemBudget();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Applies the given transform specification and meta data to the csv
+	 * input of the given frame object and writes the encoded result as 
+	 * binary block matrix to the file of the given matrix object, whose
+	 * matrix characteristics are updated accordingly.
+	 * 
+	 * @param fo input frame object (csv)
+	 * @param mo output matrix object (binary block)
+	 * @param spec transform specification as json string
+	 * @param meta transform meta data frame
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void applyToBinaryBlock(FrameObject fo, MatrixObject mo, String spec, FrameBlock meta) 
+		throws DMLRuntimeException 
+	{
+		CSVFileFormatProperties props = (fo.getFileFormatProperties() instanceof CSVFileFormatProperties) ?
+			(CSVFileFormatProperties) fo.getFileFormatProperties() : new CSVFileFormatProperties();
+		MatrixCharacteristics mc = applyToBinaryBlock(fo.getFileName(), props, fo.getSchema(), 
+			(int)fo.getNumColumns(), spec, meta, mo.getFileName(), (int)mo.getNumRowsPerBlock(), (int)mo.getNumColumnsPerBlock());
+		mo.updateMatrixCharacteristics(mc);
+		mo.setHDFSFileExists(true);
+	}
+	
+	/**
+	 * Applies the given transform specification and meta data to the given
+	 * csv file and writes the encoded result as binary block matrix file.
+	 * 
+	 * @param fnameIn csv input file name
+	 * @param props csv file format properties
+	 * @param schema frame schema, or null for string columns
+	 * @param clen number of columns, or -1 if unknown
+	 * @param spec transform specification as json string
+	 * @param meta transform meta data frame
+	 * @param fnameOut binary block output file name
+	 * @param brlen number of rows per block
+	 * @param bclen number of columns per block
+	 * @return matrix characteristics of the encoded output 
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public static MatrixCharacteristics applyToBinaryBlock(String fnameIn, CSVFileFormatProperties props, 
+			ValueType[] schema, int clen, String spec, FrameBlock meta, String fnameOut, int brlen, int bclen) 
+		throws DMLRuntimeException
+	{
+		String delim = props.getDelim();
+		boolean isFill = props.isFill();
+		double dfillValue = props.getFillValue();
+		String sfillValue = String.valueOf(props.getFillValue());
+		
+		SequenceFile.Writer writer = null;
+		try 
+		{
+			//prepare file access
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			Path pathIn = new Path(fnameIn);
+			FileSystem fsIn = IOUtilFunctions.getFileSystem(pathIn, job);
+			FileInputFormat.addInputPath(job, pathIn);
+			TextInputFormat informat = new TextInputFormat();
+			informat.configure(job);
+			InputSplit[] splits = informat.getSplits(job, 1);
+			splits = IOUtilFunctions.sortInputSplits(splits);
+			if( clen <= 0 )
+				clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, delim);
+			ValueType[] lschema = (schema != null && schema.length == clen) ? 
+				schema : UtilFunctions.nCopies(clen, ValueType.STRING);
+			String[] colnames = FrameBlock.createColNames(clen);
+			
+			//create output sequence file writer
+			Path pathOut = new Path(fnameOut);
+			FileSystem fsOut = IOUtilFunctions.getFileSystem(pathOut, job);
+			MapReduceTool.deleteFileIfExistOnHDFS(fnameOut);
+			writer = new SequenceFile.Writer(fsOut, job, pathOut, MatrixIndexes.class, MatrixBlock.class);
+			
+			//stream csv splits, in batches of row blocks
+			Encoder encoder = null;
+			BlockAppender appender = new BlockAppender(writer, brlen, bclen);
+			FrameBlock batch = new FrameBlock(lschema, colnames);
+			Object[] row = new Object[clen];
+			for( int i=0; i<splits.length; i++ ) {
+				RecordReader<LongWritable, Text> reader = informat.getRecordReader(splits[i], job, Reporter.NULL);
+				LongWritable key = new LongWritable();
+				Text value = new Text();
+				try {
+					//handle header if existing
+					if( i==0 && props.hasHeader() && reader.next(key, value) )
+						colnames = IOUtilFunctions.splitCSV(value.toString().trim(), delim);
+					if( encoder == null ) {
+						batch.setColumnNames(colnames);
+						encoder = EncoderFactory.createEncoder(spec, colnames, clen, meta);
+					}
+					
+					while( reader.next(key, value) ) {
+						String cellStr = value.toString().trim();
+						String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
+						//ignore frame meta data (missing values / num distinct)
+						if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+							continue;
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(fnameIn, cellStr, parts, clen);
+						
+						boolean emptyValuesFound = false;
+						for( int j=0; j<clen; j++ ) {
+							String part = parts[j].trim();
+							if( part.isEmpty() ) {
+								row[j] = (isFill && dfillValue!=0) ?
+									UtilFunctions.stringToObject(lschema[j], sfillValue) : null;
+								emptyValuesFound = true;
+							}
+							else
+								row[j] = UtilFunctions.stringToObject(lschema[j], part);
+						}
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
+						batch.appendRow(row);
+						
+						//encode and append full batch
+						if( batch.getNumRows() == brlen ) {
+							appender.append(encoder.apply(batch, new MatrixBlock(brlen, clen, false)));
+							batch = new FrameBlock(lschema, colnames);
+						}
+					}
+				}
+				finally {
+					IOUtilFunctions.closeSilently(reader);
+				}
+			}
+			
+			//encode and append last partial batch, flush last row block
+			if( batch.getNumRows() > 0 )
+				appender.append(encoder.apply(batch, new MatrixBlock(batch.getNumRows(), clen, false)));
+			appender.flush();
+			
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fsIn, pathIn);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fsOut, pathOut);
+			
+			long ncol = (appender.getNumColumns() >= 0) ? appender.getNumColumns() :
+				(encoder != null && encoder.getNumCols() > 0) ? encoder.getNumCols() : clen;
+			return new MatrixCharacteristics(appender.getNumRows(), ncol, brlen, bclen, appender.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed streaming transformapply of '"+fnameIn+"'.", ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+	
+	/**
+	 * Appender of encoded row batches to a binary block sequence file,
+	 * which aligns the output rows to row blocks (batches might be smaller
+	 * due to omitted rows) and splits them into column blocks.
+	 */
+	private static class BlockAppender 
+	{
+		private final SequenceFile.Writer _writer;
+		private final int _brlen;
+		private final int _bclen;
+		private MatrixBlock _buff = null;
+		private int _buffRows = 0;
+		private long _rows = 0;
+		private long _nnz = 0;
+		
+		public BlockAppender(SequenceFile.Writer writer, int brlen, int bclen) {
+			_writer = writer;
+			_brlen = brlen;
+			_bclen = bclen;
+		}
+		
+		public long getNumRows() {
+			return _rows + _buffRows;
+		}
+		
+		public int getNumColumns() {
+			return (_buff != null) ? _buff.getNumColumns() : -1;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+		
+		public void append(MatrixBlock in) 
+			throws IOException, DMLRuntimeException
+		{
+			int clen = in.getNumColumns();
+			if( _buff == null )
+				_buff = new MatrixBlock(_brlen, clen, false);
+			
+			//copy rows into row block buffer, and write full blocks
+			int rl = 0;
+			while( rl < in.getNumRows() ) {
+				int len = Math.min(in.getNumRows()-rl, _brlen-_buffRows);
+				MatrixBlock tmp = in.sliceOperations(rl, rl+len-1, 0, clen-1, new MatrixBlock());
+				_buff.copy(_buffRows, _buffRows+len-1, 0, clen-1, tmp, false);
+				_buffRows += len;
+				rl += len;
+				if( _buffRows == _brlen )
+					flush();
+			}
+		}
+		
+		public void flush() 
+			throws IOException, DMLRuntimeException
+		{
+			if( _buffRows == 0 )
+				return;
+			
+			//split row block into column blocks and append
+			_buff.recomputeNonZeros();
+			int clen = _buff.getNumColumns();
+			long brix = _rows/_brlen + 1;
+			for( int cl=0, bcix=1; cl<clen; cl+=_bclen, bcix++ ) {
+				int cu = Math.min(cl+_bclen, clen);
+				MatrixBlock block = _buff.sliceOperations(0, _buffRows-1, cl, cu-1, new MatrixBlock());
+				block.examSparsity();
+				_writer.append(new MatrixIndexes(brix, bcix), block);
+				_nnz += block.getNonZeros();
+			}
+			
+			//reset row block buffer
+			_rows += _buffRows;
+			_buffRows = 0;
+			_buff.reset(_brlen, clen, false);
+		}
+	}
+}
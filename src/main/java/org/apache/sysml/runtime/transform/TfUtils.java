@@ -55,6 +55,7 @@ public class TfUtils implements Serializable
 	public static final String TXMETHOD_SCALE     = "scale";
 	public static final String TXMETHOD_OMIT      = "omit";
 	public static final String TXMETHOD_MVRCD     = "mvrcd";
+	public static final String TXMETHOD_HASH      = "hash";
 		
 	//transform meta data constants (frame-based transform)
 	public static final String TXMTD_MVPREFIX = "#Meta"+Lop.DATATYPE_PREFIX+"MV";
@@ -72,6 +73,7 @@ public class TfUtils implements Serializable
 	public static final String JSON_MTHD 	= "methods"; 
 	public static final String JSON_CONSTS = "constants"; 
 	public static final String JSON_NBINS 	= "numbins"; 		
+	public static final String JSON_K 		= "K"; //number of hash buckets
 
 	private String _headerLine = null;
 	private boolean _hasHeader;
@@ -35,6 +35,9 @@ public abstract class Encoder implements Serializable
 {
 	private static final long serialVersionUID = 2299156350718979064L;
 	
+	//internal configuration of multi-threaded build and apply
+	protected static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //min input cells
+	
 	protected int _clen = -1; 
 	protected int[] _colList = null;
 	
@@ -118,6 +121,59 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 	
+	/**
+	 * Block encode with the given degree of parallelism. By default,
+	 * this falls back to single-threaded build and apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return encode(in, out);
+	}
+	
+	/**
+	 * Build the transform meta data for the given block input with the given 
+	 * degree of parallelism. By default, this falls back to a single-threaded build.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		build(in);
+	}
+	
+	/**
+	 * Encode input data blockwise with the given degree of parallelism. By 
+	 * default, this falls back to a single-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out);
+	}
+	
+	/**
+	 * Encode the given row range of the input according to existing transform 
+	 * meta data into the preallocated dense output, which allows a multi-threaded
+	 * apply over row partitions with disjoint output ranges. This is only
+	 * supported by encoders that modify their own columns in-place. 
+	 * 
+	 * @param in input frame block
+	 * @param out preallocated dense output matrix block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		throw new RuntimeException("Row-partitioned apply not supported by "
+			+ getClass().getSimpleName()+".");
+	}
+	
 	/**
 	 * Encode input data according to existing transform meta
 	 * data (transform apply).
@@ -142,4 +198,16 @@ public abstract class Encoder implements Serializable
 	 * @param meta frame block
 	 */
 	public abstract void initMetaData(FrameBlock meta);
+	
+	/**
+	 * Sets up existing meta data for a subsequent incremental build, which
+	 * extends this meta data (e.g., by new distinct items) instead of replacing
+	 * it, while all existing codes remain valid. By default, the existing meta 
+	 * data is used as is.
+	 * 
+	 * @param meta existing meta data frame block
+	 */
+	public void initIncrementalBuild(FrameBlock meta) {
+		initMetaData(meta);
+	}
 }
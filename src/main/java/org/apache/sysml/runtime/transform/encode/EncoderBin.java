@@ -66,6 +66,21 @@ public class EncoderBin extends Encoder
 		if( colsOnly ) {
 			List<Integer> collist = TfMetaUtils.parseBinningColIDs(parsedSpec, colnames);
 			initColList(ArrayUtils.toPrimitive(collist.toArray(new Integer[0])));
+			
+			//parse number of bins per column (if specified) for frame-based build 
+			if( parsedSpec.get(TfUtils.TXMETHOD_BIN) instanceof JSONArray ) {
+				boolean ids = parsedSpec.containsKey("ids") && parsedSpec.getBoolean("ids");
+				JSONArray attrs = (JSONArray) parsedSpec.get(TfUtils.TXMETHOD_BIN);
+				_numBins = new int[_colList.length];
+				for( Object o : attrs ) {
+					JSONObject attr = (JSONObject) o;
+					int colID = ids ? UtilFunctions.toInt(attr.get("id")) :
+						ArrayUtils.indexOf(colnames, attr.get("name")) + 1;
+					int pos = ArrayUtils.indexOf(_colList, colID);
+					if( pos >= 0 && attr.containsKey(TfUtils.JSON_NBINS) )
+						_numBins[pos] = UtilFunctions.toInt(attr.get(TfUtils.JSON_NBINS));
+				}
+			}
 		}
 		else 
 		{
@@ -118,7 +133,100 @@ public class EncoderBin extends Encoder
 
 	@Override
 	public void build(FrameBlock in) {
-		// nothing to do
+		if( !isApplicable() || _numBins == null )
+			return;
+		double[][] minmax = computeColMinMax(in);
+		buildBins(minmax[0], minmax[1]);
+	}
+	
+	/**
+	 * Computes the min and max among non-missing values of all binned columns
+	 * of the given input, which are mergeable across partitions (e.g., for the
+	 * distributed build of equi-width bins, see {@link #mergeColMinMax}).
+	 * 
+	 * @param in input frame block
+	 * @return array of column mins and column maxs (w/ +/-infinity for no values)
+	 */
+	public double[][] computeColMinMax(FrameBlock in) {
+		double[] mins = new double[_colList.length];
+		double[] maxs = new double[_colList.length];
+		Arrays.fill(mins, Double.POSITIVE_INFINITY);
+		Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			for( int i=0; i<in.getNumRows(); i++ ) {
+				Object val = in.get(i, colID-1);
+				if( val == null || val.toString().isEmpty() )
+					continue;
+				double dval = UtilFunctions.objectToDouble(in.getSchema()[colID-1], val);
+				mins[j] = Math.min(mins[j], dval);
+				maxs[j] = Math.max(maxs[j], dval);
+			}
+		}
+		return new double[][]{mins, maxs};
+	}
+	
+	/**
+	 * Merges two partial results of {@link #computeColMinMax} into the first.
+	 * 
+	 * @param a partial column mins and maxs (modified in place)
+	 * @param b partial column mins and maxs
+	 * @return merged column mins and maxs
+	 */
+	public static double[][] mergeColMinMax(double[][] a, double[][] b) {
+		for( int j=0; j<a[0].length; j++ ) {
+			a[0][j] = Math.min(a[0][j], b[0][j]);
+			a[1][j] = Math.max(a[1][j], b[1][j]);
+		}
+		return a;
+	}
+	
+	/**
+	 * Builds equi-width bins from the given column mins and maxs, for all 
+	 * columns without existing bins (existing bins are retained in order to 
+	 * keep codes stable over incremental builds).
+	 * 
+	 * @param mins column mins among non-missing values
+	 * @param maxs column maxs among non-missing values
+	 */
+	public void buildBins(double[] mins, double[] maxs) {
+		if( !isApplicable() || _numBins == null )
+			return;
+		if( _binMins == null ) {
+			_binMins = new double[_colList.length][];
+			_binMaxs = new double[_colList.length][];
+		}
+		for( int j=0; j<_colList.length; j++ ) {
+			if( _numBins[j] <= 0 || (_binMaxs[j] != null && _binMaxs[j].length > 0) )
+				continue;
+			double min = mins[j];
+			double max = maxs[j];
+			if( min > max ) //no non-missing values
+				continue;
+			int nbins = _numBins[j];
+			double width = (max - min) / nbins;
+			_binMins[j] = new double[nbins];
+			_binMaxs[j] = new double[nbins];
+			for( int i=0; i<nbins; i++ ) {
+				_binMins[j][i] = min + i * width;
+				_binMaxs[j][i] = (i < nbins-1) ? min + (i+1) * width : max;
+			}
+		}
+	}
+	
+	/**
+	 * Indicates if this encoder builds bins from the data, i.e., if the 
+	 * number of bins is specified for at least one binned column.
+	 * 
+	 * @return true if bins are built from the data
+	 */
+	public boolean requiresBuild() {
+		if( !isApplicable() || _numBins == null )
+			return false;
+		for( int nbins : _numBins )
+			if( nbins > 0 )
+				return true;
+		return false;
 	}
 	
 	/**
@@ -151,21 +259,51 @@ public class EncoderBin extends Encoder
 
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		applyRows(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
 		for(int j=0; j<_colList.length; j++) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				double inVal = UtilFunctions.objectToDouble(
 						in.getSchema()[colID-1], in.get(i, colID-1));
 				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
-				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;		
+				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;
+				//values out of the bin range (of earlier builds) into last bin
+				if( _binMaxs[j].length > 0 )
+					binID = Math.min(binID, _binMaxs[j].length);
 				out.quickSetValue(i, colID-1, binID);
 			}	
 		}
-		return out;
 	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
+		if( !isApplicable() || _binMins == null )
+			return meta;
+		
+		//allocate output rows (potentially more than recode maps)
+		int maxBins = 0;
+		for( int j=0; j<_colList.length; j++ )
+			if( _binMins[j] != null )
+				maxBins = Math.max(maxBins, _binMins[j].length);
+		meta.ensureAllocatedColumns(maxBins);
+		while( meta.getNumRows() < maxBins )
+			meta.appendRow(new String[meta.getNumColumns()]);
+		
+		//serialize bins as lower and upper bounds
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j]; //1-based
+			if( _binMins[j] == null )
+				continue;
+			for( int i=0; i<_binMins[j].length; i++ )
+				meta.set(i, colID-1, String.valueOf(_binMins[j][i])
+					+ Lop.DATATYPE_PREFIX + String.valueOf(_binMaxs[j][i]));
+			meta.getColumnMetadata(colID-1).setNumDistinct(_binMins[j].length);
+		}
 		return meta;
 	}
 	
@@ -19,7 +19,12 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
@@ -57,9 +62,13 @@ public class EncoderComposite extends Encoder
 	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
 		//build meta data first (for all encoders)
-		for( Encoder encoder : _encoders )
-			encoder.build(in);
+		build(in, k);
 		
 		//propagate meta data 
 		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
@@ -69,10 +78,36 @@ public class EncoderComposite extends Encoder
 			encoder.initMetaData(_meta);
 		
 		//apply meta data
+		return apply(in, out, k);
+	}
+
+	/**
+	 * Incrementally builds the meta data for the given new input on top of the
+	 * given existing meta data (e.g., of a previous transformencode), which 
+	 * extends recode maps by new distinct items with subsequent codes, and
+	 * builds bins and imputation values only for columns without existing
+	 * meta data. Hence, all existing codes remain valid, and previously 
+	 * encoded data and trained models can be reused without a full rebuild.
+	 * 
+	 * @param in new input frame block
+	 * @param meta existing meta data frame block
+	 * @param k degree of parallelism
+	 * @return updated meta data frame block
+	 */
+	public FrameBlock build(FrameBlock in, FrameBlock meta, int k) {
+		//incremental build on existing meta data
 		for( Encoder encoder : _encoders )
-			out = encoder.apply(in, out);
-			
-		return out;
+			encoder.initIncrementalBuild(meta);
+		build(in, k);
+		
+		//propagate meta data for subsequent apply
+		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
+		_meta.setColumnNames(meta.getColumnNames());
+		for( Encoder encoder : _encoders )
+			_meta = encoder.getMetaData(_meta);
+		for( Encoder encoder : _encoders )
+			encoder.initMetaData(_meta);
+		return _meta;
 	}
 
 	@Override
@@ -80,6 +115,12 @@ public class EncoderComposite extends Encoder
 		for( Encoder encoder : _encoders )
 			encoder.build(in);
 	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		for( Encoder encoder : _encoders )
+			encoder.build(in, k);
+	}
 
 	@Override
 	public String[] apply(String[] in) {
@@ -95,6 +136,69 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//sequential apply for small inputs or row-dependent encoders (omit)
+		if( k <= 1 || (long)in.getNumRows()*in.getNumColumns() < PAR_NUMCELL_THRESHOLD
+			|| !isRowPartitionable() || out.isInSparseFormat() )
+			return apply(in, out);
+		
+		//preallocate dense outputs (of recode and dummycode) for disjoint writes,
+		//but sparse dummycoded outputs are constructed after the parallel apply
+		out.allocateDenseBlock();
+		MatrixBlock ret = out;
+		int dcpos = -1;
+		for( int i=0; i<_encoders.size(); i++ )
+			if( _encoders.get(i) instanceof EncoderDummycode ) {
+				EncoderDummycode dc = (EncoderDummycode) _encoders.get(i);
+				if( dc.isSparseOutput(in.getNumRows()) ) {
+					ret = null;
+					dcpos = i;
+				}
+				else {
+					ret = new MatrixBlock(in.getNumRows(), dc.getNumCols(), false);
+					ret.allocateDenseBlock();
+				}
+			}
+		
+		try {
+			//apply all encoders per row partition
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<ApplyTask> tasks = new ArrayList<ApplyTask>();
+			int blklen = (int)Math.ceil((double)in.getNumRows()/k);
+			for( int i=0; i<k && i*blklen<in.getNumRows(); i++ )
+				tasks.add(new ApplyTask(in, out, ret, i*blklen,
+					Math.min((i+1)*blklen, in.getNumRows())));
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> rtask : rtasks )
+				rtask.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		
+		//nnz maintenance (not thread-safe in quickSetValue)
+		if( ret == null ) {
+			//sequential sparse dummycoding and subsequent encoders
+			out.recomputeNonZeros();
+			for( int i=dcpos; i<_encoders.size(); i++ )
+				out = _encoders.get(i).apply(in, out);
+			return out;
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+	
+	private boolean isRowPartitionable() {
+		for( Encoder encoder : _encoders )
+			if( !(encoder instanceof EncoderRecode || encoder instanceof EncoderPassThrough
+				|| encoder instanceof EncoderBin || encoder instanceof EncoderMVImpute 
+				|| encoder instanceof EncoderDummycode || encoder instanceof EncoderFeatureHash) )
+				return false;
+		return true;
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		if( _meta != null )
@@ -109,4 +213,39 @@ public class EncoderComposite extends Encoder
 		for( Encoder encoder : _encoders )
 			encoder.initMetaData(out);
 	}
+
+	private class ApplyTask implements Callable<Object> 
+	{
+		private final FrameBlock _in;
+		private final MatrixBlock _out;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyTask(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			//apply encoders in order, where dummycode switches to the dummycoded output
+			//(or terminates the parallel apply in case of sparse dummycoded outputs)
+			MatrixBlock out = _out;
+			for( Encoder encoder : _encoders ) {
+				if( encoder instanceof EncoderDummycode && _ret == null )
+					break;
+				else if( encoder instanceof EncoderDummycode ) {
+					((EncoderDummycode)encoder).applyRows(_in, out, _ret, _rl, _ru);
+					out = _ret;
+				}
+				else
+					encoder.applyRows(_in, out, _rl, _ru);
+			}
+			return null;
+		}
+	}
 }
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.transform.encode;
 
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -99,13 +100,84 @@ public class EncoderDummycode extends Encoder
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) 
 	{
-		MatrixBlock ret = new MatrixBlock(out.getNumRows(), (int)_dummycodedLength, false);
+		int rlen = out.getNumRows();
 		
-		for( int i=0; i<out.getNumRows(); i++ ) {
+		//dense output, or sparse output w/ at most one non-zero per input column
+		if( !isSparseOutput(rlen) ) {
+			MatrixBlock ret = new MatrixBlock(rlen, (int)_dummycodedLength, false);
+			applyRows(in, out, ret, 0, rlen);
+			return ret;
+		}
+		else if( (long)rlen * out.getNumColumns() > Integer.MAX_VALUE ) {
+			MatrixBlock ret = new MatrixBlock(rlen, (int)_dummycodedLength, true);
+			applyRows(in, out, ret, 0, rlen);
+			return ret;
+		}
+		
+		//sparse output via direct append into preallocated csr 
+		//(exact capacity of one non-zero per input column, in column order)
+		int[] rptr = new int[rlen+1];
+		int[] cix = new int[rlen * out.getNumColumns()];
+		double[] vals = new double[rlen * out.getNumColumns()];
+		int pos = 0;
+		for( int i=0; i<rlen; i++ ) {
+			for(int colID=1, idx=0, ncolID=1; colID <= out.getNumColumns(); colID++) {
+				if(idx < _colList.length && colID==_colList[idx]) {
+					double val = out.quickGetValue(i, colID-1);
+					if( !Double.isNaN(val) ) {
+						cix[pos] = ncolID-1+(int)val-1;
+						vals[pos++] = 1;
+					}
+					ncolID += _domainSizes[idx];
+					idx++;
+				}
+				else {
+					double ptval = UtilFunctions.objectToDouble(in.getSchema()[colID-1], in.get(i, colID-1));
+					if( ptval != 0 ) {
+						cix[pos] = ncolID-1;
+						vals[pos++] = ptval;
+					}
+					ncolID++;
+				}
+			}
+			rptr[i+1] = pos;
+		}
+		return new MatrixBlock(rlen, (int)_dummycodedLength, 
+			pos, new SparseBlockCSR(rptr, cix, vals, pos));
+	}
+	
+	/**
+	 * Indicates if the dummycoded output is in sparse format, where each row 
+	 * has at most one non-zero per input column (w/ exactly one non-zero per
+	 * dummycoded column).
+	 * 
+	 * @param rlen number of rows
+	 * @return true if sparse output
+	 */
+	protected boolean isSparseOutput(int rlen) {
+		return MatrixBlock.evalSparseFormatInMemory(
+			rlen, _dummycodedLength, (long)rlen * _clen);
+	}
+	
+	/**
+	 * Dummycodes the given row range of the recoded input into the
+	 * given output of dummycoded length (see {@link #getNumCols()}).
+	 * Missing values (NaN) of dummycoded columns are encoded as all zeros.
+	 * 
+	 * @param in input frame block
+	 * @param out recoded input matrix block
+	 * @param ret preallocated output matrix block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	protected void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru)
+	{
+		for( int i=rl; i<ru; i++ ) {
 			for(int colID=1, idx=0, ncolID=1; colID <= out.getNumColumns(); colID++) {
 				double val = out.quickGetValue(i, colID-1);
 				if(idx < _colList.length && colID==_colList[idx]) {
-					ret.quickSetValue(i, ncolID-1+(int)val-1, 1);
+					if( !Double.isNaN(val) )
+						ret.quickSetValue(i, ncolID-1+(int)val-1, 1);
 					ncolID += _domainSizes[idx];
 					idx++;
 				}
@@ -116,8 +188,6 @@ public class EncoderDummycode extends Encoder
 				}
 			}
 		}
-		
-		return ret;
 	}
 
 	@Override
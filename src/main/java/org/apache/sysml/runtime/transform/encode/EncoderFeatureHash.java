@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.encode;
+
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Feature hashing encoder for high-cardinality columns, which maps tokens
+ * to K buckets (1-based codes) via their hash values. In contrast to recode,
+ * this requires neither a dictionary build pass nor dictionary meta data, 
+ * and unseen tokens are mapped to valid codes. Hashed columns can be 
+ * dummycoded with a domain size of K.
+ * 
+ */
+public class EncoderFeatureHash extends Encoder
+{
+	private static final long serialVersionUID = 7435806042138687342L;
+	
+	private long _K;
+	
+	public EncoderFeatureHash(JSONObject parsedSpec, String[] colnames, int clen) 
+		throws JSONException 
+	{
+		super(null, clen);
+		_colList = TfMetaUtils.parseJsonIDList(parsedSpec, colnames, TfUtils.TXMETHOD_HASH);
+		if( !parsedSpec.containsKey(TfUtils.JSON_K) )
+			throw new JSONException("Missing number of buckets '"+TfUtils.JSON_K+"' for feature hashing.");
+		_K = UtilFunctions.toInt(parsedSpec.get(TfUtils.JSON_K));
+		if( _K < 1 )
+			throw new JSONException("Invalid number of buckets for feature hashing: "+_K);
+	}
+	
+	public long getNumBuckets() {
+		return _K;
+	}
+	
+	private long getCode(String key) {
+		//hash code of strings is well-defined, and hence consistent across jvms
+		return (key.hashCode() % _K + _K) % _K + 1;
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return apply(in, out);
+	}
+
+	@Override
+	public void build(FrameBlock in) {
+		//do nothing (no meta data)
+	}
+
+	@Override
+	public String[] apply(String[] words) {
+		if( !isApplicable() )
+			return words;
+		
+		for( int colID : _colList ) {
+			String key = UtilFunctions.unquote(words[colID-1].trim());
+			words[colID-1] = key.isEmpty() ? null : Long.toString(getCode(key));
+		}
+		return words;
+	}
+
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		applyRows(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			for( int i=rl; i<ru; i++ ) {
+				Object okey = in.get(i, colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				out.quickSetValue(i, colID-1, (key!=null && !key.isEmpty()) ? 
+						getCode(key) : Double.NaN);
+			}
+		}
+	}
+
+	@Override
+	public FrameBlock getMetaData(FrameBlock meta) {
+		if( !isApplicable() )
+			return meta;
+		
+		//only the domain size (for dummycoding), no dictionaries
+		meta.ensureAllocatedColumns(meta.getNumRows());
+		for( int colID : _colList )
+			meta.getColumnMetadata(colID-1).setNumDistinct(_K);
+		return meta;
+	}
+
+	@Override
+	public void initMetaData(FrameBlock meta) {
+		//do nothing (no meta data)
+	}
+}
@@ -20,10 +20,15 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
@@ -67,6 +72,7 @@ public class EncoderMVImpute extends Encoder
 	private String[] _replacementList = null;		// replacements: for global_mean, mean; and for global_mode, recode id of mode category
 	private String[] _NAstrings = null;
 	private List<Integer> _rcList = null; 
+	private boolean[] _retainList = null;			// existing replacements retained on incremental build
 	private HashMap<Integer,HashMap<String,Long>> _hist = null;
 	
 	public String[] getReplacements() { return _replacementList; }
@@ -300,42 +306,78 @@ public class EncoderMVImpute extends Encoder
 	@Override
 	public void build(FrameBlock in) {
 		try {
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j];
-				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
-					//compute global column mean (scale)
-					long off = _countList[j];
-					for( int i=0; i<in.getNumRows(); i++ )
-						_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
-							in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
-					_replacementList[j] = String.valueOf(_meanList[j]._sum);
-					_countList[j] += in.getNumRows();
-				}
-				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
-					//compute global column mode (categorical), i.e., most frequent category
-					HashMap<String,Long> hist = _hist.containsKey(colID) ? 
-							_hist.get(colID) : new HashMap<String,Long>();
-					for( int i=0; i<in.getNumRows(); i++ ) {
-						String key = String.valueOf(in.get(i, colID-1));
-						if( key != null && !key.isEmpty() ) {
-							Long val = hist.get(key);
-							hist.put(key, (val!=null) ? val+1 : 1);
-						}	
-					}
-					_hist.put(colID, hist);
-					long max = Long.MIN_VALUE; 
-					for( Entry<String, Long> e : hist.entrySet() ) 
-						if( e.getValue() > max  ) {
-							_replacementList[j] = e.getKey();
-							max = e.getValue();
-						}
-				}
-			}
+			for( int j=0; j<_colList.length; j++ )
+				buildColumn(in, j);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( k <= 1 || _colList.length <= 1
+			|| (long)in.getNumRows()*_colList.length < PAR_NUMCELL_THRESHOLD ) {
+			build(in);
+			return;
+		}
+		
+		try {
+			//allocate histograms upfront to avoid concurrent modifications
+			for( int j=0; j<_colList.length; j++ )
+				if( _mvMethodList[j] == MVMethod.GLOBAL_MODE && !_hist.containsKey(_colList[j]) )
+					_hist.put(_colList[j], new HashMap<String,Long>());
+			
+			//build column statistics in parallel (independent state per column)
+			ExecutorService pool = Executors.newFixedThreadPool( 
+				Math.min(k, _colList.length) );
+			ArrayList<MVImputeBuildTask> tasks = new ArrayList<MVImputeBuildTask>();
+			for( int j=0; j<_colList.length; j++ )
+				tasks.add(new MVImputeBuildTask(in, j));
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> rtask : rtasks )
+				rtask.get(); //error handling
 		}
 		catch(Exception ex) {
 			throw new RuntimeException(ex);
 		}
 	}
+	
+	private void buildColumn(FrameBlock in, int j) {
+		int colID = _colList[j];
+		if( _retainList != null && _retainList[j] )
+			return;
+		if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+			//compute global column mean (scale)
+			long off = _countList[j];
+			for( int i=0; i<in.getNumRows(); i++ )
+				_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
+					in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
+			_replacementList[j] = String.valueOf(_meanList[j]._sum);
+			_countList[j] += in.getNumRows();
+		}
+		else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+			//compute global column mode (categorical), i.e., most frequent category
+			HashMap<String,Long> hist = _hist.containsKey(colID) ? 
+					_hist.get(colID) : new HashMap<String,Long>();
+			for( int i=0; i<in.getNumRows(); i++ ) {
+				String key = String.valueOf(in.get(i, colID-1));
+				if( key != null && !key.isEmpty() ) {
+					Long val = hist.get(key);
+					hist.put(key, (val!=null) ? val+1 : 1);
+				}	
+			}
+			if( !_hist.containsKey(colID) )
+				_hist.put(colID, hist);
+			long max = Long.MIN_VALUE; 
+			for( Entry<String, Long> e : hist.entrySet() ) 
+				if( e.getValue() > max  ) {
+					_replacementList[j] = e.getKey();
+					max = e.getValue();
+				}
+		}
+	}
 
 	@Override
 	public String[] apply(String[] words) 
@@ -369,14 +411,19 @@ public class EncoderMVImpute extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		for(int i=0; i<in.getNumRows(); i++) {
+		applyRows(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		for(int i=rl; i<ru; i++) {
 			for(int j=0; j<_colList.length; j++) {
 				int colID = _colList[j];
 				if( Double.isNaN(out.quickGetValue(i, colID-1)) )
 					out.quickSetValue(i, colID-1, Double.parseDouble(_replacementList[j]));
 			}
 		}
-		return out;
 	}
 	
 	@Override
@@ -406,6 +453,21 @@ public class EncoderMVImpute extends Encoder
 		}
 	}
 
+	@Override
+	public void initIncrementalBuild(FrameBlock meta) {
+		//retain existing replacement values (as original tokens) in order to
+		//keep imputed values stable, because global means and modes are not 
+		//mergeable without counts and histograms, which are not part of the meta data
+		_retainList = new boolean[_colList.length];
+		for( int j=0; j<_colList.length; j++ ) {
+			String mvVal = meta.getColumnMetadata(_colList[j]-1).getMvValue();
+			if( mvVal != null && !mvVal.isEmpty() ) {
+				_replacementList[j] = UtilFunctions.unquote(mvVal);
+				_retainList[j] = true;
+			}
+		}
+	}
+
 	public void initRecodeIDList(List<Integer> rcList) {
 		_rcList = rcList;
 	}
@@ -419,4 +481,21 @@ public class EncoderMVImpute extends Encoder
 	public HashMap<String,Long> getHistogram( int colID ) {
 		return _hist.get(colID);
 	}
+
+	private class MVImputeBuildTask implements Callable<Object> 
+	{
+		private final FrameBlock _in;
+		private final int _j;
+		
+		protected MVImputeBuildTask(FrameBlock in, int j) {
+			_in = in;
+			_j = j;
+		}
+		
+		@Override
+		public Object call() {
+			buildColumn(_in, _j);
+			return null;
+		}
+	}
 }
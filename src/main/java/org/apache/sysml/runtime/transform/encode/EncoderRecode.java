@@ -19,10 +19,17 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
@@ -129,6 +136,49 @@ public class EncoderRecode extends Encoder
 		}
 	}
 
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		if( k <= 1 || (long)in.getNumRows()*_colList.length < PAR_NUMCELL_THRESHOLD ) {
+			build(in);
+			return;
+		}
+		
+		//use row partitions per column to obtain at least k tasks
+		int nparts = (int)Math.min(in.getNumRows(), 
+			(k + _colList.length - 1) / _colList.length);
+		int blklen = (int)Math.ceil((double)in.getNumRows()/nparts);
+		
+		try {
+			//build thread-local partial recode maps (distinct tokens in order of first occurrence)
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<RecodeBuildTask> tasks = new ArrayList<RecodeBuildTask>();
+			for( int j=0; j<_colList.length; j++ )
+				for( int p=0; p<nparts; p++ )
+					tasks.add(new RecodeBuildTask(in, _colList[j], p*blklen,
+						Math.min((p+1)*blklen, in.getNumRows())));
+			List<Future<LinkedHashSet<String>>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//merge partial recode maps in row order, which
+			//yields the same codes as a single-threaded build
+			for( int j=0; j<_colList.length; j++ ) {
+				int colID = _colList[j]; //1-based
+				if( !_rcdMaps.containsKey(colID) ) 
+					_rcdMaps.put(colID, new HashMap<String,Long>());
+				HashMap<String,Long> map = _rcdMaps.get(colID);
+				for( int p=0; p<nparts; p++ )
+					for( String key : rtasks.get(j*nparts+p).get() )
+						if( !map.containsKey(key) )
+							map.put(key, Long.valueOf(map.size()+1));
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	public void buildPartial(FrameBlock in) {
 		if( !isApplicable() )
 			return;		
@@ -178,10 +228,16 @@ public class EncoderRecode extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		applyRows(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				Object okey = in.get(i, colID-1);
 				String key = (okey!=null) ? okey.toString() : null;
 				String val = lookupRCDMap(colID, key);			
@@ -189,8 +245,6 @@ public class EncoderRecode extends Encoder
 						Double.parseDouble(val) : Double.NaN);
 			}
 		}
-		
-		return out;
 	}
 
 	@Override
@@ -240,6 +294,19 @@ public class EncoderRecode extends Encoder
 		}
 	}
 	
+	@Override
+	public void initIncrementalBuild(FrameBlock meta) {
+		if( meta == null || meta.getNumRows()<=0 )
+			return;
+		
+		//copy existing recode maps (potentially shared with the meta data
+		//frame), which are extended by new items w/ subsequent codes
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j]; //1-based
+			_rcdMaps.put(colID, new HashMap<String,Long>(meta.getRecodeMap(colID-1)));
+		}
+	}
+	
 	/**
 	 * Returns the Recode map entry which consists of concatenation of code, delimiter and token. 
 	 * @param token	is part of Recode map
@@ -249,5 +316,31 @@ public class EncoderRecode extends Encoder
 	public static String constructRecodeMapEntry(String token, Long code) {
 		return token + Lop.DATATYPE_PREFIX + code.toString();
 	}
+
+	private static class RecodeBuildTask implements Callable<LinkedHashSet<String>> 
+	{
+		private final FrameBlock _in;
+		private final int _colID;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RecodeBuildTask(FrameBlock in, int colID, int rl, int ru) {
+			_in = in;
+			_colID = colID;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public LinkedHashSet<String> call() throws Exception {
+			LinkedHashSet<String> ret = new LinkedHashSet<String>();
+			for( int i=_rl; i<_ru; i++ ) {
+				Object okey = _in.get(i, _colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				if( key!=null && !key.isEmpty() )
+					ret.add(key);
+			}
+			return ret;
+		}
+	}
 }
- 
\ No newline at end of file
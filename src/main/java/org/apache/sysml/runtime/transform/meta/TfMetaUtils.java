@@ -197,7 +197,9 @@ public class TfMetaUtils
 		List<Integer> binIDs = parseBinningColIDs(spec, colnames);
 		
 		//create frame block from in-memory strings
-		return convertToTransformMetaDataFrame(rows, colnames, recodeIDs, binIDs, meta, mvmeta);
+		FrameBlock ret = convertToTransformMetaDataFrame(rows, colnames, recodeIDs, binIDs, meta, mvmeta);
+		setHashDomainSizes(spec, colnames, ret);
+		return ret;
 	}
 
 	/**
@@ -252,7 +254,9 @@ public class TfMetaUtils
 		List<Integer> binIDs = parseBinningColIDs(spec, colnames);
 		
 		//create frame block from in-memory strings
-		return convertToTransformMetaDataFrame(rows, colnames, recodeIDs, binIDs, meta, mvmeta);
+		FrameBlock ret = convertToTransformMetaDataFrame(rows, colnames, recodeIDs, binIDs, meta, mvmeta);
+		setHashDomainSizes(spec, colnames, ret);
+		return ret;
 	}
 	
 	/**
@@ -349,7 +353,10 @@ public class TfMetaUtils
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_RECODE)));
 			List<Integer> dcIDs = Arrays.asList(ArrayUtils.toObject(
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_DUMMYCODE))); 
-			specRecodeIDs = new ArrayList<Integer>(CollectionUtils.union(rcIDs, dcIDs));
+			List<Integer> haIDs = Arrays.asList(ArrayUtils.toObject(
+					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_HASH))); 
+			specRecodeIDs = new ArrayList<Integer>(CollectionUtils.subtract(
+					CollectionUtils.union(rcIDs, dcIDs), haIDs));
 		}
 		catch(Exception ex) {
 			throw new IOException(ex);
@@ -357,6 +364,32 @@ public class TfMetaUtils
 		
 		return specRecodeIDs;
 	}
+	
+	/**
+	 * Sets the number of hash buckets as domain size of all hashed columns,
+	 * which have no materialized meta data but might be dummycoded.
+	 * 
+	 * @param spec transform specification as json string
+	 * @param colnames column names
+	 * @param meta transform meta data frame
+	 * @throws IOException if IOException occurs
+	 */
+	private static void setHashDomainSizes(String spec, String[] colnames, FrameBlock meta) 
+		throws IOException 
+	{
+		try {
+			JSONObject jSpec = new JSONObject(spec);
+			int[] haIDs = TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_HASH);
+			if( haIDs.length > 0 ) {
+				long K = UtilFunctions.toInt(jSpec.get(TfUtils.JSON_K));
+				for( int colID : haIDs )
+					meta.getColumnMetadata(colID-1).setNumDistinct(K);
+			}
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+	}
 
 	public static List<Integer> parseBinningColIDs(String spec, String[] colnames) 
 		throws IOException 
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Statistics of a single program execution (e.g., a JMLC executeScript call),
+ * which are maintained in addition to the global {@link Statistics} in order
+ * to obtain per-execution instruction counts and times from concurrent
+ * executions of the same program. An instance is shared by the execution 
+ * context of the execution and the execution contexts of its local parfor 
+ * workers, and hence is thread-safe.
+ */
+public class ExecutionStatistics 
+{
+	private final HashMap<String,Long> _instTime = new HashMap<String, Long>();
+	private final HashMap<String,Long> _instCounts = new HashMap<String, Long>();
+	private long _numInst = 0;
+	private long _execTime = 0; //in nano sec
+	
+	public synchronized void maintainHeavyHitters( String opcode, long timeNanos ) {
+		Long oldVal = _instTime.getOrDefault(opcode, 0L);
+		_instTime.put(opcode, oldVal + timeNanos);
+		Long oldCnt = _instCounts.getOrDefault(opcode, 0L);
+		_instCounts.put(opcode, oldCnt + 1);
+		_numInst++;
+	}
+	
+	public synchronized Set<String> getHeavyHitterOpCodes() {
+		return new HashSet<String>(_instCounts.keySet());
+	}
+	
+	public synchronized long getHeavyHitterCount( String opcode ) {
+		return _instCounts.getOrDefault(opcode, 0L);
+	}
+	
+	public synchronized long getHeavyHitterTime( String opcode ) {
+		return _instTime.getOrDefault(opcode, 0L);
+	}
+	
+	public synchronized long getNumExecutedInstructions() {
+		return _numInst;
+	}
+	
+	public synchronized void setExecTime( long timeNanos ) {
+		_execTime = timeNanos;
+	}
+	
+	public synchronized long getExecTime() {
+		return _execTime;
+	}
+	
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Total execution time:\t\t" + String.format("%.3f", _execTime*1e-9) + " sec.\n");
+		sb.append("Number of executed inst:\t" + _numInst + ".\n");
+		for( String opcode : _instCounts.keySet() )
+			sb.append("  " + opcode + "\t" + String.format("%.3f", _instTime.get(opcode)*1e-9) 
+				+ " sec\t" + _instCounts.get(opcode) + "\n");
+		return sb.toString();
+	}
+}
@@ -35,6 +35,7 @@ import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.codegen.CodegenClassCache;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -72,6 +73,7 @@ public class Statistics
 	private static final LongAdder hopRecompileTime = new LongAdder(); //in nano sec
 	private static final LongAdder hopRecompilePred = new LongAdder(); //count
 	private static final LongAdder hopRecompileSB = new LongAdder();   //count
+	private static final LongAdder hopRecompileHits = new LongAdder(); //count
 
 	//CODEGEN
 	private static final LongAdder codegenCompileTime = new LongAdder(); //in nano
@@ -81,6 +83,7 @@ public class Statistics
 	private static final LongAdder codegenClassCompile = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -100,6 +103,9 @@ public class Statistics
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static long parforSharedInputs = 0; //count
+	private static long parforWorkStealing = 0; //count
+	private static long parforWorkStealingTasks = 0; //count
 	
 	//heavy hitter counts and times 
 	private static HashMap<String,Long> _cpInstTime = new HashMap<String, Long>();
@@ -249,6 +255,10 @@ public class Statistics
 		hopRecompileSB.add(delta);
 	}
 	
+	public static void incrementHOPRecompilePlanCacheHits() {
+		hopRecompileHits.increment();
+	}
+	
 	public static void incrementCodegenDAGCompile() {
 		codegenHopCompile.increment();
 	}
@@ -277,6 +287,10 @@ public class Statistics
 		codegenPlanCacheTotal.increment();
 	}
 	
+	public static void incrementCodegenClassCacheHits() {
+		codegenClassCacheHits.increment();
+	}
+	
 	public static long getCodegenDAGCompile() {
 		return codegenHopCompile.longValue();
 	}
@@ -304,6 +318,10 @@ public class Statistics
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
+	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
 
 	public static void incrementFunRecompileTime( long delta ) {
 		funRecompileTime.add(delta);
@@ -328,6 +346,15 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForSharedInputs() {
+		parforSharedInputs ++;
+	}
+	
+	public static synchronized void incrementParForWorkStealing(long numTasks) {
+		parforWorkStealing ++;
+		parforWorkStealingTasks += numTasks;
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -373,6 +400,7 @@ public class Statistics
 		hopRecompileTime.reset();
 		hopRecompilePred.reset();
 		hopRecompileSB.reset();
+		hopRecompileHits.reset();
 		
 		funRecompiles.reset();
 		funRecompileTime.reset();
@@ -381,6 +409,9 @@ public class Statistics
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforSharedInputs = 0;
+		parforWorkStealing = 0;
+		parforWorkStealingTasks = 0;
 		
 		lTotalLix.reset();
 		lTotalLixUIP.reset();
@@ -639,6 +670,10 @@ public class Statistics
 		return hopRecompileSB.longValue();
 	}
 	
+	public static long getHopRecompilePlanCacheHits(){
+		return hopRecompileHits.longValue();
+	}
+	
 	public static long getFunRecompileTime(){
 		return funRecompileTime.longValue();
 	}
@@ -662,6 +697,18 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforSharedInputs(){
+		return parforSharedInputs;
+	}
+	
+	public static long getParforWorkStealing(){
+		return parforWorkStealing;
+	}
+	
+	public static long getParforWorkStealingTasks(){
+		return parforWorkStealingTasks;
+	}
 
 	/**
 	 * Returns statistics of the DML program that was recently completed as a string
@@ -725,6 +772,8 @@ public class Statistics
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
+			if( getHopRecompilePlanCacheHits()>0 )
+				sb.append("HOP DAGs recompile plan cache hits:\t" + getHopRecompilePlanCacheHits() + ".\n");
 			if( getFunRecompiles()>0 ) {
 				sb.append("Functions recompiled:\t\t" + getFunRecompiles() + ".\n");
 				sb.append("Functions recompile time:\t" + String.format("%.3f", ((double)getFunRecompileTime())/1000000000) + " sec.\n");	
@@ -734,6 +783,8 @@ public class Statistics
 				sb.append("Codegen compile times (DAG,JC):\t" + String.format("%.3f", (double)getCodegenCompileTime()/1000000000) + "/" + 
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
 				sb.append("Codegen plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
+				if( CodegenClassCache.isEnabled() )
+					sb.append("Codegen class cache hits:\t" + getCodegenClassCacheHits() + ".\n");
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -754,6 +805,10 @@ public class Statistics
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");	
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
+				if( parforSharedInputs>0 )
+					sb.append("ParFor shared read-only inputs:\t" + getParforSharedInputs() + ".\n");
+				if( parforWorkStealing>0 )
+					sb.append("ParFor work-stealing loops/tasks:\t" + getParforWorkStealing() + "/" + getParforWorkStealingTasks() + ".\n");
 			}
 
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
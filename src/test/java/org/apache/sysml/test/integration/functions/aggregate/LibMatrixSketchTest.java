@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.aggregate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.LibMatrixSketch;
+import org.apache.sysml.runtime.matrix.data.LibMatrixSketch.DistinctCountSketch;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LibMatrixSketchTest
+{
+	private final static int rows = 3000;
+	private final static int cols = 400; //>1M cells
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static int ndistinct = 20000;
+
+	private final static double eps_distinct = 0.05; //relative error
+	private final static double eps_quantile = 0.02; //rank error
+
+	@Test
+	public void testCountDistinctDense() throws Exception {
+		runCountDistinctTest(sparsity1, 1);
+	}
+
+	@Test
+	public void testCountDistinctSparse() throws Exception {
+		runCountDistinctTest(sparsity2, 1);
+	}
+
+	@Test
+	public void testCountDistinctDenseMultiThreaded() throws Exception {
+		runCountDistinctTest(sparsity1, 4);
+	}
+
+	@Test
+	public void testQuantileDense() throws Exception {
+		runQuantileTest(sparsity1, 1);
+	}
+
+	@Test
+	public void testQuantileSparse() throws Exception {
+		runQuantileTest(sparsity2, 1);
+	}
+
+	@Test
+	public void testQuantileDenseMultiThreaded() throws Exception {
+		runQuantileTest(sparsity1, 4);
+	}
+
+	@Test
+	public void testDistinctCountMergeExact() throws Exception {
+		//merged partial sketches equal the sketch over all values
+		MatrixBlock mb = createMatrix(rows, cols, sparsity1, 7);
+		DistinctCountSketch s1 = new DistinctCountSketch();
+		DistinctCountSketch s2 = new DistinctCountSketch();
+		DistinctCountSketch s3 = new DistinctCountSketch();
+		LibMatrixSketch.updateSketch(mb, s1, 0, rows);
+		LibMatrixSketch.updateSketch(mb, s2, 0, rows/3);
+		LibMatrixSketch.updateSketch(mb, s3, rows/3, rows);
+		s2.merge(s3);
+		Assert.assertEquals(s1.getNumNonZeros(), s2.getNumNonZeros());
+		Assert.assertEquals(s1.getEstimate(), s2.getEstimate(), 0);
+	}
+
+	@Test
+	public void testQuantileMinMaxExact() throws Exception {
+		MatrixBlock mb = createMatrix(rows, cols, sparsity1, 7);
+		double[] vals = sortedValues(mb);
+		Assert.assertEquals(vals[0], LibMatrixSketch.quantileApprox(mb, 0, 4), 0);
+		Assert.assertEquals(vals[vals.length-1], LibMatrixSketch.quantileApprox(mb, 1, 4), 0);
+	}
+
+	@Test
+	public void testCompressedInput() throws Exception {
+		//sketches over compressed blocks equal sketches over uncompressed blocks
+		MatrixBlock mb = createMatrix(rows, cols, sparsity1, 7);
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		cmb.compress();
+		Assert.assertEquals(LibMatrixSketch.countDistinctApprox(mb, 1),
+			LibMatrixSketch.countDistinctApprox(cmb, 4), 0);
+		Assert.assertEquals(LibMatrixSketch.quantileApprox(mb, 1, 1),
+			LibMatrixSketch.quantileApprox(cmb, 1, 4), 0);
+		DistinctCountSketch s1 = new DistinctCountSketch();
+		LibMatrixSketch.updateSketch(cmb, s1, 0, rows);
+		Assert.assertEquals(mb.getNonZeros(), s1.getNumNonZeros());
+	}
+
+	private void runCountDistinctTest(double sparsity, int k) throws Exception {
+		MatrixBlock mb = createMatrix(rows, cols, sparsity, 7);
+
+		//exact distinct count, incl zeros
+		HashSet<Double> set = new HashSet<Double>();
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				set.add(mb.quickGetValue(i, j));
+
+		double est = LibMatrixSketch.countDistinctApprox(mb, k);
+		Assert.assertEquals(set.size(), est, eps_distinct * set.size());
+	}
+
+	private void runQuantileTest(double sparsity, int k) throws Exception {
+		MatrixBlock mb = createMatrix(rows, cols, sparsity, 7);
+		double[] vals = sortedValues(mb);
+		int n = vals.length;
+
+		for( double p : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99} ) {
+			double q = LibMatrixSketch.quantileApprox(mb, p, k);
+			//rank range of estimate (ties), which needs to cover p +/- eps
+			int lo = lowerBound(vals, q);
+			int hi = lowerBound(vals, Math.nextUp(q));
+			Assert.assertTrue("Wrong quantile "+p+": "+q, (double)lo/n <= p + eps_quantile);
+			Assert.assertTrue("Wrong quantile "+p+": "+q, (double)hi/n >= p - eps_quantile);
+		}
+	}
+
+	private static int lowerBound(double[] vals, double v) {
+		int lo = 0, hi = vals.length;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			if( vals[mid] < v )
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+	private static double[] sortedValues(MatrixBlock mb) {
+		double[] ret = new double[mb.getNumRows() * mb.getNumColumns()];
+		for( int i=0, pos=0; i<mb.getNumRows(); i++ )
+			for( int j=0; j<mb.getNumColumns(); j++ )
+				ret[pos++] = mb.quickGetValue(i, j);
+		Arrays.sort(ret);
+		return ret;
+	}
+
+	private static MatrixBlock createMatrix(int rows, int cols, double sparsity, long seed) throws Exception {
+		Random rand = new Random(seed);
+		double[][] data = new double[rows][cols];
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( rand.nextDouble() < sparsity )
+					data[i][j] = rand.nextInt(ndistinct) - ndistinct/4;
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(data);
+		mb.examSparsity();
+		return mb;
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RDDAggregateUtilsTreeTest
+{
+	private final static int rows = 37;
+	private final static int cols = 53;
+	private final static int numBlocks = 500;
+	private final static int numPartsTree = 100; //>= TREE_AGG_MIN_PARTITIONS
+	private final static int numPartsFold = 8;
+	private final static double eps = 1e-8;
+
+	private static JavaSparkContext sc;
+
+	@BeforeClass
+	public static void setUpClass() {
+		SparkConf conf = SparkExecutionContext.createSystemMLSparkConf()
+			.setAppName("RDDAggregateUtilsTreeTest").setMaster("local[4]");
+		sc = new JavaSparkContext(conf);
+		
+		//partition counts select tree aggregation and single-level fold
+		Assert.assertTrue(RDDAggregateUtils.TREE_AGGREGATION);
+		Assert.assertTrue(numPartsTree >= RDDAggregateUtils.TREE_AGG_MIN_PARTITIONS);
+		Assert.assertTrue(numPartsFold < RDDAggregateUtils.TREE_AGG_MIN_PARTITIONS);
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		sc.stop();
+		sc = null;
+	}
+
+	@Test
+	public void testSumStableDenseTree() throws Exception {
+		runSumTest(0.9, numPartsTree);
+	}
+
+	@Test
+	public void testSumStableSparseTree() throws Exception {
+		runSumTest(0.05, numPartsTree);
+	}
+
+	@Test
+	public void testSumStableDenseFold() throws Exception {
+		runSumTest(0.9, numPartsFold);
+	}
+
+	@Test
+	public void testAggStableDenseTree() throws Exception {
+		runAggTest(0.9, numPartsTree);
+	}
+
+	@Test
+	public void testAggStableSparseTree() throws Exception {
+		runAggTest(0.05, numPartsTree);
+	}
+
+	@Test
+	public void testAggStableMeanDenseTree() throws Exception {
+		runAggCorrTest("uamean", 0.9, numPartsTree);
+	}
+
+	@Test
+	public void testAggStableMeanSparseTree() throws Exception {
+		runAggCorrTest("uamean", 0.05, numPartsTree);
+	}
+
+	@Test
+	public void testAggStableMeanDenseFold() throws Exception {
+		runAggCorrTest("uamean", 0.9, numPartsFold);
+	}
+
+	@Test
+	public void testAggStableColMeansDenseTree() throws Exception {
+		runAggCorrTest("uacmean", 0.9, numPartsTree);
+	}
+
+	@Test
+	public void testAggStableColMeansDenseFold() throws Exception {
+		runAggCorrTest("uacmean", 0.9, numPartsFold);
+	}
+
+	@Test
+	public void testSumStableEmptyBlocksTree() throws Exception {
+		List<MatrixBlock> blocks = new ArrayList<MatrixBlock>();
+		for( int i=0; i<numBlocks; i++ )
+			blocks.add(new MatrixBlock());
+		blocks.set(numBlocks/2, createBlock(0.9, 7));
+		MatrixBlock out = RDDAggregateUtils.sumStable(sc.parallelize(blocks, numPartsTree));
+		compare(blocks.get(numBlocks/2), out);
+	}
+
+	private void runSumTest(double sparsity, int numParts) throws Exception {
+		List<MatrixBlock> blocks = createBlocks(sparsity);
+		JavaRDD<MatrixBlock> in = sc.parallelize(blocks, numParts);
+		MatrixBlock out = RDDAggregateUtils.sumStable(in);
+		compare(sumLocal(blocks), out);
+		//input blocks are not modified in-place
+		compare(createBlocks(sparsity).get(0), in.first());
+	}
+
+	private void runAggTest(double sparsity, int numParts) throws Exception {
+		List<MatrixBlock> blocks = createBlocks(sparsity);
+		AggregateOperator aop = new AggregateOperator(0, 
+			KahanPlus.getKahanPlusFnObject(), true, CorrectionLocationType.NONE);
+		MatrixBlock out = RDDAggregateUtils.aggStable(sc.parallelize(blocks, numParts), aop);
+		compare(sumLocal(blocks), out);
+	}
+
+	private void runAggCorrTest(String opcode, double sparsity, int numParts) throws Exception {
+		//partial aggregates w/ embedded corrections (e.g., mean, count, correction)
+		AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		CorrectionLocationType corrLoc = InstructionUtils.deriveAggregateOperatorCorrectionLocation(opcode);
+		AggregateOperator aop = InstructionUtils.parseAggregateOperator(
+			InstructionUtils.deriveAggregateOperatorOpcode(opcode), "true", corrLoc.toString());
+		List<MatrixBlock> blocks = createBlocks(sparsity);
+		List<MatrixBlock> partials = new ArrayList<MatrixBlock>();
+		for( MatrixBlock mb : blocks )
+			partials.add((MatrixBlock) mb.aggregateUnaryOperations(
+				auop, new MatrixBlock(), rows, cols, new MatrixIndexes(1,1)));
+		
+		//aggregate partials and drop correction
+		MatrixBlock out = RDDAggregateUtils.aggStable(sc.parallelize(partials, numParts), aop);
+		out.dropLastRowsOrColums(aop.correctionLocation);
+		
+		//compare with local means over all blocks (single row for colmeans)
+		MatrixBlock sum = sumLocal(blocks);
+		boolean colAgg = opcode.equals("uacmean");
+		MatrixBlock expected = new MatrixBlock(1, colAgg ? cols : 1, false);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double div = colAgg ? (double)rows * numBlocks : (double)rows * cols * numBlocks;
+				int ix = colAgg ? j : 0;
+				expected.quickSetValue(0, ix, expected.quickGetValue(0, ix) + sum.quickGetValue(i, j) / div);
+			}
+		compare(expected, out);
+	}
+
+	private static List<MatrixBlock> createBlocks(double sparsity) {
+		List<MatrixBlock> ret = new ArrayList<MatrixBlock>();
+		for( int i=0; i<numBlocks; i++ )
+			ret.add(createBlock(sparsity, i+1));
+		return ret;
+	}
+
+	private static MatrixBlock createBlock(double sparsity, long seed) {
+		try {
+			return MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", seed);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static MatrixBlock sumLocal(List<MatrixBlock> blocks) {
+		double[][] ret = new double[rows][cols];
+		for( MatrixBlock mb : blocks )
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					ret[i][j] += mb.quickGetValue(i, j);
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				mb.quickSetValue(i, j, ret[i][j]);
+		return mb;
+	}
+
+	private static void compare(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for( int i=0; i<expected.getNumRows(); i++ )
+			for( int j=0; j<expected.getNumColumns(); j++ )
+				Assert.assertEquals(expected.quickGetValue(i, j), actual.quickGetValue(i, j), eps);
+	}
+}
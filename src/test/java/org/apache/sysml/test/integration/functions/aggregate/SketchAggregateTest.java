@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.aggregate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+
+/**
+ * End-to-end tests of the approximate builtins quantileApprox and
+ * countDistinctApprox over multi-block inputs in CP and Spark, compared
+ * against the exact statistics with the sketch error bounds.
+ */
+public class SketchAggregateTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "QuantileApprox";
+	private final static String TEST_NAME2 = "CountDistinctApprox";
+
+	private final static String TEST_DIR = "functions/aggregate/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + SketchAggregateTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1523;
+	private final static int cols = 1107; //multiple blocks
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int ndistinct = 20000;
+
+	private final static double eps_distinct = 0.05; //relative error
+	private final static double eps_quantile = 0.02; //rank error
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME1,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[]{"R"}));
+		addTestConfiguration(TEST_NAME2,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[]{"R"}));
+	}
+
+	@Test
+	public void testQuantileApproxDenseCP() {
+		runSketchAggregateTest(TEST_NAME1, false, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+
+	@Test
+	public void testQuantileApproxSparseCP() {
+		runSketchAggregateTest(TEST_NAME1, true, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+
+	@Test
+	public void testQuantileApproxDenseSP() {
+		runSketchAggregateTest(TEST_NAME1, false, RUNTIME_PLATFORM.SPARK);
+	}
+
+	@Test
+	public void testQuantileApproxSparseSP() {
+		runSketchAggregateTest(TEST_NAME1, true, RUNTIME_PLATFORM.SPARK);
+	}
+
+	@Test
+	public void testCountDistinctApproxDenseCP() {
+		runSketchAggregateTest(TEST_NAME2, false, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+
+	@Test
+	public void testCountDistinctApproxSparseCP() {
+		runSketchAggregateTest(TEST_NAME2, true, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+
+	@Test
+	public void testCountDistinctApproxDenseSP() {
+		runSketchAggregateTest(TEST_NAME2, false, RUNTIME_PLATFORM.SPARK);
+	}
+
+	@Test
+	public void testCountDistinctApproxSparseSP() {
+		runSketchAggregateTest(TEST_NAME2, true, RUNTIME_PLATFORM.SPARK);
+	}
+
+	private void runSketchAggregateTest(String testname, boolean sparse, RUNTIME_PLATFORM platform)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = platform;
+
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+
+		try
+		{
+			getAndLoadTestConfiguration(testname);
+			boolean quantile = testname.equals(TEST_NAME1);
+			double p = 0.75;
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = quantile ?
+				new String[]{"-explain", "-stats", "-args", input("A"), String.valueOf(p), output("R")} :
+				new String[]{"-explain", "-stats", "-args", input("A"), output("R")};
+
+			//generate integer input data w/ bounded number of distinct values
+			double sparsity = sparse ? sparsity2 : sparsity1;
+			double[][] A = getRandomMatrix(rows, cols, 0, ndistinct, sparsity, 7);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					A[i][j] = Math.floor(A[i][j]);
+			writeInputMatrixWithMTD("A", A, true);
+
+			//run test
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			double ret = dmlfile.get(new CellIndex(1,1));
+
+			//compare with exact statistics
+			if( quantile ) {
+				double[] vals = sortedValues(A);
+				int n = vals.length;
+				int lo = lowerBound(vals, ret);
+				int hi = lowerBound(vals, Math.nextUp(ret));
+				Assert.assertTrue("Wrong quantile "+p+": "+ret, (double)lo/n <= p + eps_quantile);
+				Assert.assertTrue("Wrong quantile "+p+": "+ret, (double)hi/n >= p - eps_quantile);
+			}
+			else {
+				HashSet<Double> set = new HashSet<Double>();
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						set.add(A[i][j]);
+				Assert.assertEquals(set.size(), ret, eps_distinct * set.size());
+			}
+
+			//check for distributed sketch construction
+			String opcode = quantile ? "quantileapprox" : "countdistinctapprox";
+			if( rtplatform == RUNTIME_PLATFORM.SPARK )
+				Assert.assertTrue(heavyHittersContainsSubString("sp_"+opcode));
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+
+	private static int lowerBound(double[] vals, double v) {
+		int lo = 0, hi = vals.length;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			if( vals[mid] < v )
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+
+	private static double[] sortedValues(double[][] A) {
+		double[] ret = new double[rows * cols];
+		for( int i=0, pos=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				ret[pos++] = A[i][j];
+		Arrays.sort(ret);
+		return ret;
+	}
+}
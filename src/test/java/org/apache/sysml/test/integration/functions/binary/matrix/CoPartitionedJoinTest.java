@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.BinaryOp;
+import org.apache.sysml.hops.BinaryOp.AppendMethod;
+import org.apache.sysml.lops.Checkpoint;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Spark tests of partition-local joins over co-partitioned inputs, i.e., 
+ * checkpointed inputs and intermediates derived via key- and partitioning-
+ * preserving operations, for binary matrix-matrix operations, reduce-side
+ * append, covariance (w/ and w/o weights), and aggregate ternary.
+ */
+public class CoPartitionedJoinTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "CoPartitionedJoin";
+	private final static String TEST_DIR = "functions/binary/matrix/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CoPartitionedJoinTest.class.getSimpleName() + "/";
+	
+	private final static double eps = 1e-7;
+	
+	private final static int rows = 2345; //multiple row blocks
+	private final static int cols = 407;  //single output column block
+	
+	private final static double sparsity1 = 0.9; //dense
+	private final static double sparsity2 = 0.1; //sparse
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R1", "R2" })); 
+	}
+
+	@Test
+	public void testCoPartitionedJoinDenseSP() {
+		runCoPartitionedJoinTest(false);
+	}
+	
+	@Test
+	public void testCoPartitionedJoinSparseSP() {
+		runCoPartitionedJoinTest(true);
+	}
+	
+	private void runCoPartitionedJoinTest(boolean sparse)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SPARK;
+		
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			//force reduce-side append (otherwise broadcast-based append)
+			BinaryOp.FORCED_APPEND_METHOD = AppendMethod.MR_RAPPEND;
+			
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-explain", "-stats", "-args", 
+				input("X"), input("v"), output("R1"), output("R2")};
+			fullRScriptName = HOME + TEST_NAME + ".R";
+			rCmd = "Rscript" + " " + fullRScriptName + " " + inputDir() + " " + expectedDir();
+			
+			//generate actual datasets
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			double[][] v = getRandomMatrix(rows, 1, -1, 1, 1.0, 3);
+			writeInputMatrixWithMTD("v", v, true);
+			
+			runTest(true, false, null, -1); 
+			runRScript(true); 
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile1 = readDMLMatrixFromHDFS("R1");
+			HashMap<CellIndex, Double> rfile1  = readRMatrixFromFS("R1");
+			TestUtils.compareMatrices(dmlfile1, rfile1, eps, "Stat-DML", "Stat-R");
+			HashMap<CellIndex, Double> dmlfile2 = readDMLMatrixFromHDFS("R2");
+			HashMap<CellIndex, Double> rfile2  = readRMatrixFromFS("R2");
+			TestUtils.compareMatrices(dmlfile2, rfile2, eps, "Stat-DML", "Stat-R");
+			
+			//check for spark instructions over co-partitioned inputs
+			String[] opcodes = new String[]{Checkpoint.OPCODE, "+", "rappend", "cov", "tak+*"};
+			for( String opcode : opcodes )
+				Assert.assertTrue("Missing opcode sp_"+opcode,
+					heavyHittersContainsSubString("sp_"+opcode));
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			BinaryOp.FORCED_APPEND_METHOD = null;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysml.runtime.instructions.spark.functions.ZipPartitionsJoinFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import scala.Tuple2;
+
+public class ZipPartitionsJoinTest
+{
+	@Test
+	public void testIdenticalKeys() throws Exception {
+		runZipJoinTest(20, 30, 1.0, 1.0);
+	}
+
+	@Test
+	public void testMissingLeftKeys() throws Exception {
+		runZipJoinTest(20, 30, 0.5, 1.0);
+	}
+
+	@Test
+	public void testMissingRightKeys() throws Exception {
+		runZipJoinTest(20, 30, 1.0, 0.3);
+	}
+
+	@Test
+	public void testEmptyPartition() throws Exception {
+		runZipJoinTest(20, 30, 1.0, 0.0);
+	}
+
+	private void runZipJoinTest(int rows, int cols, double frac1, double frac2) throws Exception {
+		Random rand = new Random(7);
+		List<Tuple2<MatrixIndexes,Long>> left = new ArrayList<Tuple2<MatrixIndexes,Long>>();
+		List<Tuple2<MatrixIndexes,Double>> right = new ArrayList<Tuple2<MatrixIndexes,Double>>();
+		for( int i=1; i<=rows; i++ )
+			for( int j=1; j<=cols; j++ ) {
+				if( rand.nextDouble() < frac1 )
+					left.add(new Tuple2<MatrixIndexes,Long>(new MatrixIndexes(i,j), (long)(i*cols+j)));
+				if( rand.nextDouble() < frac2 )
+					right.add(new Tuple2<MatrixIndexes,Double>(new MatrixIndexes(i,j), (double)(i*cols+j)));
+			}
+		Collections.shuffle(right, rand);
+
+		//expected inner join, in order of left input
+		List<MatrixIndexes> expected = new ArrayList<MatrixIndexes>();
+		for( Tuple2<MatrixIndexes,Long> e : left )
+			for( Tuple2<MatrixIndexes,Double> e2 : right )
+				if( e._1().equals(e2._1()) )
+					expected.add(e._1());
+
+		Iterator<Tuple2<MatrixIndexes,Tuple2<Long,Double>>> iter = 
+			new ZipPartitionsJoinFunction<Long,Double>().call(left.iterator(), right.iterator());
+		int pos = 0;
+		while( iter.hasNext() ) {
+			Tuple2<MatrixIndexes,Tuple2<Long,Double>> tmp = iter.next();
+			Assert.assertEquals(expected.get(pos++), tmp._1());
+			Assert.assertEquals(tmp._2()._1().doubleValue(), tmp._2()._2().doubleValue(), 0);
+		}
+		Assert.assertEquals(expected.size(), pos);
+		Assert.assertFalse(iter.hasNext());
+	}
+}
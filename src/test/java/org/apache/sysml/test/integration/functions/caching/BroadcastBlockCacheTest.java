@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.instructions.spark.data.BroadcastBlockCache;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BroadcastBlockCacheTest
+{
+	private final static int blen = 100;
+
+	@Before
+	public void setUp() {
+		BroadcastBlockCache.clear();
+	}
+
+	@After
+	public void tearDown() {
+		BroadcastBlockCache.clear();
+		BroadcastBlockCache.setCacheLimit(-1);
+	}
+
+	@Test
+	public void testPutGet() throws Exception {
+		long key = BroadcastBlockCache.getNextCacheKey();
+		Assert.assertTrue(key != BroadcastBlockCache.getNextCacheKey());
+		MatrixBlock mb1 = createBlock(1);
+		MatrixBlock mb2 = createBlock(2);
+		Assert.assertNull(BroadcastBlockCache.get(key, 0));
+		Assert.assertSame(mb1, BroadcastBlockCache.put(key, 0, mb1));
+		//concurrent put of the same block returns the cached block
+		Assert.assertSame(mb1, BroadcastBlockCache.put(key, 0, mb2));
+		Assert.assertSame(mb1, BroadcastBlockCache.get(key, 0));
+		Assert.assertNull(BroadcastBlockCache.get(key, 1));
+		Assert.assertEquals(mb1.getInMemorySize(), BroadcastBlockCache.getCacheSize());
+		BroadcastBlockCache.clear();
+		Assert.assertNull(BroadcastBlockCache.get(key, 0));
+		Assert.assertEquals(0, BroadcastBlockCache.getCacheSize());
+	}
+
+	@Test
+	public void testMemoryBoundLRU() throws Exception {
+		long key = BroadcastBlockCache.getNextCacheKey();
+		long size = createBlock(0).getInMemorySize();
+		BroadcastBlockCache.setCacheLimit(3 * size);
+		for( int i=0; i<3; i++ )
+			BroadcastBlockCache.put(key, i, createBlock(i));
+		BroadcastBlockCache.get(key, 0); //block 1 least recently used
+		BroadcastBlockCache.put(key, 3, createBlock(3));
+		Assert.assertEquals(3, BroadcastBlockCache.size());
+		Assert.assertNull(BroadcastBlockCache.get(key, 1));
+		Assert.assertNotNull(BroadcastBlockCache.get(key, 0));
+		Assert.assertNotNull(BroadcastBlockCache.get(key, 3));
+		Assert.assertTrue(BroadcastBlockCache.getCacheSize() <= 3 * size);
+	}
+
+	@Test
+	public void testOversizedBlock() throws Exception {
+		long key = BroadcastBlockCache.getNextCacheKey();
+		MatrixBlock mb = createBlock(0);
+		BroadcastBlockCache.setCacheLimit(mb.getInMemorySize() / 2);
+		Assert.assertSame(mb, BroadcastBlockCache.put(key, 0, mb));
+		Assert.assertEquals(0, BroadcastBlockCache.size());
+	}
+
+	@Test
+	public void testRefCountWithoutTask() throws Exception {
+		//no task context (e.g., driver), hence no references
+		long key = BroadcastBlockCache.getNextCacheKey();
+		BroadcastBlockCache.pin(key);
+		Assert.assertEquals(0, BroadcastBlockCache.getRefCount(key));
+		BroadcastBlockCache.unpinTask(7);
+	}
+
+	@Test
+	public void testRefCountTaskPinUnpin() throws Exception {
+		long key1 = BroadcastBlockCache.getNextCacheKey();
+		long key2 = BroadcastBlockCache.getNextCacheKey();
+		//first access per task, repeated access w/o new reference
+		Assert.assertTrue(BroadcastBlockCache.pin(1, key1));
+		Assert.assertFalse(BroadcastBlockCache.pin(1, key1));
+		Assert.assertFalse(BroadcastBlockCache.pin(1, key2));
+		Assert.assertTrue(BroadcastBlockCache.pin(2, key1));
+		Assert.assertEquals(2, BroadcastBlockCache.getRefCount(key1));
+		Assert.assertEquals(1, BroadcastBlockCache.getRefCount(key2));
+		//task completion releases all references of the task
+		BroadcastBlockCache.unpinTask(1);
+		Assert.assertEquals(1, BroadcastBlockCache.getRefCount(key1));
+		Assert.assertEquals(0, BroadcastBlockCache.getRefCount(key2));
+		BroadcastBlockCache.unpinTask(2);
+		BroadcastBlockCache.unpinTask(2); //no-op
+		Assert.assertEquals(0, BroadcastBlockCache.getRefCount(key1));
+		//new task after release
+		Assert.assertTrue(BroadcastBlockCache.pin(1, key1));
+		Assert.assertEquals(1, BroadcastBlockCache.getRefCount(key1));
+		BroadcastBlockCache.unpinTask(1);
+	}
+
+	@Test
+	public void testRefCountConcurrentTasks() throws Exception {
+		final long key = BroadcastBlockCache.getNextCacheKey();
+		final int ntasks = 64;
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			//pin by concurrent tasks, each with repeated accesses
+			ArrayList<Future<Boolean>> rt = new ArrayList<Future<Boolean>>();
+			for( int i=0; i<ntasks; i++ ) {
+				final long taskID = 1000 + i;
+				rt.add(pool.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						boolean ret = BroadcastBlockCache.pin(taskID, key);
+						BroadcastBlockCache.pin(taskID, key);
+						return ret;
+					}
+				}));
+			}
+			for( Future<Boolean> f : rt )
+				Assert.assertTrue(f.get());
+			Assert.assertEquals(ntasks, BroadcastBlockCache.getRefCount(key));
+			
+			//unpin by concurrent tasks, interleaved w/ new pins
+			rt.clear();
+			for( int i=0; i<ntasks; i++ ) {
+				final long taskID = 1000 + i;
+				rt.add(pool.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						BroadcastBlockCache.unpinTask(taskID);
+						boolean ret = BroadcastBlockCache.pin(-taskID, key);
+						BroadcastBlockCache.unpinTask(-taskID);
+						return ret;
+					}
+				}));
+			}
+			for( Future<Boolean> f : rt )
+				Assert.assertTrue(f.get());
+			Assert.assertEquals(0, BroadcastBlockCache.getRefCount(key));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testEvictUnreferencedFirst() throws Exception {
+		long key1 = BroadcastBlockCache.getNextCacheKey();
+		long key2 = BroadcastBlockCache.getNextCacheKey();
+		long size = createBlock(0).getInMemorySize();
+		BroadcastBlockCache.setCacheLimit(3 * size);
+		
+		//running task references key1, key2 outdated (e.g., modified variable)
+		BroadcastBlockCache.pin(1, key1);
+		BroadcastBlockCache.put(key1, 0, createBlock(0));
+		BroadcastBlockCache.put(key1, 1, createBlock(1));
+		BroadcastBlockCache.put(key2, 0, createBlock(2));
+		
+		//most recently used unreferenced block evicted before referenced LRU blocks
+		BroadcastBlockCache.put(key1, 2, createBlock(3));
+		Assert.assertEquals(3, BroadcastBlockCache.size());
+		Assert.assertNull(BroadcastBlockCache.get(key2, 0));
+		for( int i=0; i<3; i++ )
+			Assert.assertNotNull(BroadcastBlockCache.get(key1, i));
+		
+		//all referenced, hence fallback to plain LRU eviction
+		BroadcastBlockCache.put(key1, 3, createBlock(4));
+		Assert.assertEquals(3, BroadcastBlockCache.size());
+		Assert.assertNull(BroadcastBlockCache.get(key1, 0));
+		Assert.assertNotNull(BroadcastBlockCache.get(key1, 3));
+		
+		//after task completion, blocks of key1 are unreferenced as well
+		BroadcastBlockCache.unpinTask(1);
+		BroadcastBlockCache.pin(2, key2);
+		BroadcastBlockCache.put(key2, 1, createBlock(5));
+		Assert.assertNull(BroadcastBlockCache.get(key1, 1));
+		Assert.assertNotNull(BroadcastBlockCache.get(key2, 1));
+		BroadcastBlockCache.put(key2, 2, createBlock(6));
+		Assert.assertNotNull(BroadcastBlockCache.get(key2, 1));
+		Assert.assertNotNull(BroadcastBlockCache.get(key2, 2));
+		Assert.assertEquals(3, BroadcastBlockCache.size());
+		BroadcastBlockCache.unpinTask(2);
+	}
+
+	@Test
+	public void testReadBlockWithoutRetain() throws Exception {
+		MatrixBlock mb = MatrixBlock.randOperations(350, 250, 0.7, -1, 1, "uniform", 7);
+		PartitionedBlock<MatrixBlock> pmb = roundtrip(new PartitionedBlock<MatrixBlock>(mb, blen, blen));
+		long size = pmb.getInMemorySize();
+		MatrixBlock b1 = pmb.readBlock(2, 3);
+		MatrixBlock b2 = pmb.readBlock(2, 3);
+		Assert.assertNotSame(b1, b2);
+		Assert.assertEquals(size, pmb.getInMemorySize());
+		Assert.assertEquals(b1.getNonZeros(), pmb.getBlock(2, 3).getNonZeros());
+		Assert.assertSame(pmb.getBlock(2, 3), pmb.readBlock(2, 3));
+		for( int r=0; r<b1.getNumRows(); r++ )
+			for( int c=0; c<b1.getNumColumns(); c++ )
+				Assert.assertEquals(mb.quickGetValue(blen+r, 2*blen+c), b1.quickGetValue(r, c), 0);
+	}
+
+	private static MatrixBlock createBlock(long seed) throws Exception {
+		return MatrixBlock.randOperations(blen, blen, 1.0, -1, 1, "uniform", seed);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PartitionedBlock<MatrixBlock> roundtrip(PartitionedBlock<MatrixBlock> pmb) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(pmb);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		PartitionedBlock<MatrixBlock> ret = (PartitionedBlock<MatrixBlock>) ois.readObject();
+		ois.close();
+		return ret;
+	}
+}
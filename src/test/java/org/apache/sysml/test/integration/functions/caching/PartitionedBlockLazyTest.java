@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionedBlockLazyTest
+{
+	private final static int rows = 2345;
+	private final static int cols = 1234;
+	private final static int blen = 500;
+
+	@Test
+	public void testLazyDenseRoundtrip() throws Exception {
+		runRoundtripTest(0.9, true, false);
+	}
+
+	@Test
+	public void testLazySparseRoundtrip() throws Exception {
+		runRoundtripTest(0.05, true, false);
+	}
+
+	@Test
+	public void testEagerDenseRoundtrip() throws Exception {
+		runRoundtripTest(0.9, false, false);
+	}
+
+	@Test
+	public void testLazyPartialReserialize() throws Exception {
+		//re-serialization of partially deserialized blocks
+		runRoundtripTest(0.9, true, true);
+	}
+
+	private void runRoundtripTest(double sparsity, boolean lazy, boolean partial) throws Exception {
+		boolean flag = PartitionedBlock.LAZY_DESERIALIZATION;
+		try {
+			PartitionedBlock.LAZY_DESERIALIZATION = lazy;
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, blen, blen);
+
+			PartitionedBlock<MatrixBlock> pmb2 = roundtrip(pmb);
+			Assert.assertEquals(pmb.getExactSerializedSize(), pmb2.getExactSerializedSize());
+			if( partial ) {
+				pmb2.getBlock(1, 1);
+				pmb2.getBlock(3, 2);
+				pmb2 = roundtrip(pmb2);
+			}
+
+			//compare all blocks in reverse order of access
+			for( int i=pmb.getNumRowBlocks(); i>=1; i-- )
+				for( int j=pmb.getNumColumnBlocks(); j>=1; j-- ) {
+					MatrixBlock b1 = pmb.getBlock(i, j);
+					MatrixBlock b2 = pmb2.getBlock(i, j);
+					Assert.assertEquals(b1.getNumRows(), b2.getNumRows());
+					Assert.assertEquals(b1.getNumColumns(), b2.getNumColumns());
+					Assert.assertEquals(b1.getNonZeros(), b2.getNonZeros());
+					for( int r=0; r<b1.getNumRows(); r++ )
+						for( int c=0; c<b1.getNumColumns(); c++ )
+							Assert.assertEquals(b1.quickGetValue(r, c), b2.quickGetValue(r, c), 0);
+				}
+			Assert.assertEquals(pmb.getExactSerializedSize(), pmb2.getExactSerializedSize());
+		}
+		finally {
+			PartitionedBlock.LAZY_DESERIALIZATION = flag;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PartitionedBlock<MatrixBlock> roundtrip(PartitionedBlock<MatrixBlock> pmb) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(pmb);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		PartitionedBlock<MatrixBlock> ret = (PartitionedBlock<MatrixBlock>) ois.readObject();
+		ois.close();
+		return ret;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Asynchronous codegen only compiles fused operators in the background during
+ * dynamic recompilation. The loop body is recompiled in every iteration, 
+ * which initially falls back to unfused operators and later swaps in the 
+ * compiled fused operator from the plan cache.
+ */
+public class AsyncCodegenTest extends AutomatedTestBase 
+{	
+	private static final String TEST_NAME = "asynccodegen";
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + AsyncCodegenTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF_SYNC = "SystemML-config-codegen.xml";
+	private final static String TEST_CONF_ASYNC = "SystemML-config-codegen-async.xml";
+	private static String TEST_CONF = TEST_CONF_ASYNC;
+	
+	private static final double eps = Math.pow(10, -6);
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration( TEST_NAME, new TestConfiguration(
+				TEST_CLASS_DIR, TEST_NAME, new String[] { "S" }) );
+	}
+	
+	@Test
+	public void testCodegenSyncCompilation() {
+		testCodegenIntegration( TEST_NAME, false );
+	}
+	
+	@Test
+	public void testCodegenAsyncCompilation() {
+		testCodegenIntegration( TEST_NAME, true );
+	}
+	
+	private void testCodegenIntegration( String testname, boolean async )
+	{	
+		String oldTestConf = TEST_CONF;
+		TEST_CONF = async ? TEST_CONF_ASYNC : TEST_CONF_SYNC;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-stats", "-args", output("S") };
+			
+			fullRScriptName = HOME + testname + ".R";
+			rCmd = getRCmd(inputDir(), expectedDir());			
+
+			runTest(true, false, null, -1); 
+			runRScript(true); 
+			
+			//compare scalars (equal results for unfused fallback and fused operators)
+			HashMap<CellIndex, Double> dmlfile = readDMLScalarFromHDFS("S");
+			HashMap<CellIndex, Double> rfile  = readRScalarFromFS("S");
+			TestUtils.compareScalars((Double) dmlfile.values().toArray()[0], 
+				(Double) rfile.values().toArray()[0], eps);
+			
+			//the initial plan is always recompiled before execution, hence fused
+			//operators in the heavy hitters confirm the swap after async compilation
+			Assert.assertTrue(heavyHittersContainsSubString("spoofCell", "spoofMA"));
+		}
+		finally {
+			TEST_CONF = oldTestConf;
+		}
+	}	
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -373,7 +373,15 @@ public class CPlanVectorPrimitivesTest extends AutomatedTestBase
 		testVectorBinaryPrimitive(BinType.VECT_POW_SCALAR, InputType.SCALAR, InputType.VECTOR_SPARSE);
 	}
 	
-	//TODO pow vector-vector operations 
+	@Test
+	public void testVectorVectorPowDenseDense() {
+		testVectorBinaryPrimitive(BinType.VECT_POW, InputType.VECTOR_DENSE, InputType.VECTOR_DENSE);
+	}
+	
+	@Test
+	public void testVectorVectorPowSparseDense() {
+		testVectorBinaryPrimitive(BinType.VECT_POW, InputType.VECTOR_SPARSE, InputType.VECTOR_DENSE);
+	}
 	
 	@Test
 	public void testVectorScalarEqualDense() {
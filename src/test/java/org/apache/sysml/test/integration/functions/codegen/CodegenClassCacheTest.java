@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.hops.codegen.SpoofCompiler;
+import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
+import org.apache.sysml.runtime.codegen.CodegenClassCache;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CodegenClassCacheTest 
+{
+	private static final String CACHE_DIR = "target/testTemp/functions/codegen/CodegenClassCacheTest/classcache";
+	
+	private static final String SRC1 = 
+		  "package codegen;\n"
+		+ "public final class TMP12 extends SpoofCellwise {\n"
+		+ "  public TMP12() { super(); }\n"
+		+ "  protected double genexec(double a) {\n"
+		+ "    double TMP10 = a * 2;\n"
+		+ "    double TMP11 = TMP10 + 7;\n"
+		+ "    return TMP11;\n"
+		+ "  }\n"
+		+ "}\n";
+	
+	private static final String SRC2 = 
+		  "package codegen;\n"
+		+ "import org.apache.sysml.runtime.codegen.SpoofCellwise;\n"
+		+ "import org.apache.sysml.runtime.codegen.SpoofCellwise.CellType;\n"
+		+ "import org.apache.sysml.runtime.codegen.SpoofOperator.SideInput;\n"
+		+ "public final class TMP12 extends SpoofCellwise {\n"
+		+ "  public TMP12() { super(CellType.NO_AGG, null, false); }\n"
+		+ "  protected double genexec(double a, SideInput[] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {\n"
+		+ "    double TMP10 = a * 2;\n"
+		+ "    double TMP11 = TMP10 + 7;\n"
+		+ "    return TMP11;\n"
+		+ "  }\n"
+		+ "}\n";
+	
+	@Test
+	public void testEqualPlansDifferentNames() throws Exception {
+		String src2 = SRC1.replace("TMP12", "TMP120")
+			.replace("TMP10", "TMP98").replace("TMP11", "TMP99");
+		String[] c1 = CodegenClassCache.canonicalize("codegen.TMP12", SRC1);
+		String[] c2 = CodegenClassCache.canonicalize("codegen.TMP120", src2);
+		Assert.assertEquals(c1[0], c2[0]);
+		Assert.assertEquals(c1[1], c2[1]);
+		Assert.assertTrue(c1[1].contains("class TMP_"+c1[0]+" "));
+		Assert.assertFalse(c1[1].contains("TMP12"));
+	}
+	
+	@Test
+	public void testDifferentPlans() throws Exception {
+		String src2 = SRC1.replace("a * 2", "a * 3");
+		String[] c1 = CodegenClassCache.canonicalize("codegen.TMP12", SRC1);
+		String[] c2 = CodegenClassCache.canonicalize("codegen.TMP12", src2);
+		Assert.assertNotEquals(c1[0], c2[0]);
+	}
+	
+	@Test
+	public void testWriteReadRoundTrip() throws Exception {
+		try {
+			initClassCache();
+			String key = CodegenClassCache.canonicalize("codegen.TMP12", SRC1)[0];
+			byte[] bytes = new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE, 0, 0, 0, 52, 7};
+			Assert.assertNull(CodegenClassCache.readClass(key));
+			CodegenClassCache.writeClass(key, bytes);
+			Assert.assertTrue(Arrays.equals(bytes, CodegenClassCache.readClass(key)));
+			//no leftover temporary files after the atomic rename
+			Assert.assertEquals(1, new File(CACHE_DIR).list().length);
+		}
+		finally {
+			CodegenClassCache.init(null);
+		}
+	}
+	
+	@Test
+	public void testCompileCacheHit() throws Exception {
+		CompilerType compilerOld = SpoofCompiler.JAVA_COMPILER;
+		boolean statsOld = DMLScript.STATISTICS;
+		SpoofCompiler.JAVA_COMPILER = CompilerType.JANINO;
+		DMLScript.STATISTICS = true;
+		try {
+			initClassCache();
+			long hits = Statistics.getCodegenClassCacheHits();
+			
+			//first compile w/ empty cache writes the class file
+			Class<?> cla1 = CodegenUtils.compileClass("codegen.TMP12", SRC2);
+			Assert.assertEquals(hits, Statistics.getCodegenClassCacheHits());
+			Assert.assertEquals(1, new File(CACHE_DIR).list().length);
+			
+			//second compile of equivalent plan w/ different names (after clearing 
+			//the in-memory class cache as in a new process) hits the class cache
+			CodegenUtils.clearClassCache();
+			String src2 = SRC2.replace("TMP12", "TMP120")
+				.replace("TMP10", "TMP98").replace("TMP11", "TMP99");
+			Class<?> cla2 = CodegenUtils.compileClass("codegen.TMP120", src2);
+			Assert.assertEquals(hits+1, Statistics.getCodegenClassCacheHits());
+			Assert.assertEquals(cla1.getName(), cla2.getName());
+			Assert.assertNotNull(CodegenUtils.createInstance(cla2));
+		}
+		finally {
+			SpoofCompiler.JAVA_COMPILER = compilerOld;
+			DMLScript.STATISTICS = statsOld;
+			CodegenUtils.clearClassCache();
+			CodegenClassCache.init(null);
+		}
+	}
+	
+	private static void initClassCache() {
+		LocalFileUtils.deleteFileIfExists(CACHE_DIR);
+		CodegenClassCache.init(CACHE_DIR);
+		Assert.assertTrue(CodegenClassCache.isEnabled());
+	}
+}
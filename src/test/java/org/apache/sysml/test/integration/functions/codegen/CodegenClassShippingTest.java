@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.hops.codegen.SpoofCompiler;
+import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.codegen.SpoofOperator;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CodegenClassShippingTest 
+{
+	private static final String NAME = "codegen.TMP9001";
+	private static final String SRC = 
+		  "package codegen;\n"
+		+ "import org.apache.sysml.runtime.codegen.SpoofCellwise;\n"
+		+ "import org.apache.sysml.runtime.codegen.SpoofCellwise.CellType;\n"
+		+ "import org.apache.sysml.runtime.codegen.SpoofOperator.SideInput;\n"
+		+ "public final class TMP9001 extends SpoofCellwise {\n"
+		+ "  public TMP9001() { super(CellType.NO_AGG, null, false); }\n"
+		+ "  protected double genexec(double a, SideInput[] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {\n"
+		+ "    double TMP10 = a * 2;\n"
+		+ "    double TMP11 = TMP10 + 7;\n"
+		+ "    return TMP11;\n"
+		+ "  }\n"
+		+ "}\n";
+	
+	private CompilerType _compiler = null;
+	
+	@Before
+	public void setup() {
+		_compiler = SpoofCompiler.JAVA_COMPILER;
+		SpoofCompiler.JAVA_COMPILER = CompilerType.JANINO;
+		CodegenUtils.clearClassCache();
+	}
+	
+	@After
+	public void cleanup() {
+		SpoofCompiler.JAVA_COMPILER = _compiler;
+		CodegenUtils.clearClassCache();
+	}
+	
+	@Test
+	public void testShipCompiledClassFile() throws Exception {
+		byte[] classBytes = compileAndGetClassData();
+		
+		//emulate remote executor w/o compiled class
+		CodegenUtils.clearClassCache();
+		SpoofOperator op = CodegenUtils.createInstance(
+			CodegenUtils.getClass(NAME, classBytes));
+		
+		MatrixBlock in = new MatrixBlock(3, 3, false);
+		in.quickSetValue(1, 2, 4);
+		ArrayList<MatrixBlock> inputs = new ArrayList<MatrixBlock>();
+		inputs.add(in);
+		MatrixBlock out = new MatrixBlock();
+		op.execute(inputs, new ArrayList<ScalarObject>(), out);
+		Assert.assertEquals(15, out.quickGetValue(1, 2), 0);
+		Assert.assertEquals(7, out.quickGetValue(0, 0), 0);
+	}
+	
+	@Test
+	public void testConcurrentClassLoading() throws Exception {
+		final byte[] classBytes = compileAndGetClassData();
+		CodegenUtils.clearClassCache();
+		
+		//concurrent tasks of one executor obtain the same loaded class
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			ArrayList<Callable<Class<?>>> tasks = new ArrayList<Callable<Class<?>>>();
+			for( int i=0; i<32; i++ )
+				tasks.add(new GetClassTask(classBytes));
+			List<Future<Class<?>>> rtasks = pool.invokeAll(tasks);
+			Class<?> cla = rtasks.get(0).get();
+			for( Future<Class<?>> task : rtasks )
+				Assert.assertSame(cla, task.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static byte[] compileAndGetClassData() throws Exception {
+		CodegenUtils.compileClass(NAME, SRC);
+		byte[] ret = CodegenUtils.getClassData(NAME);
+		
+		//check for magic number of java class files (no source code)
+		Assert.assertTrue(ret.length > 4 && (ret[0] & 0xFF) == 0xCA && (ret[1] & 0xFF) == 0xFE
+			&& (ret[2] & 0xFF) == 0xBA && (ret[3] & 0xFF) == 0xBE);
+		return ret;
+	}
+	
+	private static class GetClassTask implements Callable<Class<?>> {
+		private final byte[] _classBytes;
+		
+		public GetClassTask(byte[] classBytes) {
+			_classBytes = classBytes;
+		}
+		
+		@Override
+		public Class<?> call() throws Exception {
+			return CodegenUtils.getClass(NAME, _classBytes);
+		}
+	}
+}
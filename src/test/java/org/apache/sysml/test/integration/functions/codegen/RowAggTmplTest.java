@@ -63,6 +63,10 @@ public class RowAggTmplTest extends AutomatedTestBase
 	private static final String TEST_NAME25 = TEST_NAME+"25"; //-2*(X%*%t(C))+t(rowSums(C^2)), w/ mm
 	private static final String TEST_NAME26 = TEST_NAME+"26"; //t(P)%*%X, w/ mm
 	private static final String TEST_NAME27 = TEST_NAME+"27"; //t(X)%*%(X%*%v), w/ mm 
+	private static final String TEST_NAME28 = TEST_NAME+"28"; //rowSums(X)+rowSums(Y), ncol > blocksize
+	private static final String TEST_NAME29 = TEST_NAME+"29"; //Y=(X>=v); R=Y/rowSums(Y), ncol > blocksize
+	private static final String TEST_NAME30 = TEST_NAME+"30"; //-2*(X%*%t(C))+t(rowSums(C^2)), w/ mm, ncol > blocksize
+	private static final String TEST_NAME31 = TEST_NAME+"31"; //t(X)%*%(X%*%v), w/ sparse (MCSR) X incl empty rows
 	
 	private static final String TEST_DIR = "functions/codegen/";
 	private static final String TEST_CLASS_DIR = TEST_DIR + RowAggTmplTest.class.getSimpleName() + "/";
@@ -74,7 +78,7 @@ public class RowAggTmplTest extends AutomatedTestBase
 	@Override
 	public void setUp() {
 		TestUtils.clearAssertionInformation();
-		for(int i=1; i<=27; i++)
+		for(int i=1; i<=31; i++)
 			addTestConfiguration( TEST_NAME+i, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME+i, new String[] { String.valueOf(i) }) );
 	}
 	
@@ -483,6 +487,66 @@ public class RowAggTmplTest extends AutomatedTestBase
 		testCodegenIntegration( TEST_NAME27, false, ExecType.SPARK );
 	}
 	
+	@Test	
+	public void testCodegenRowAggRewrite28CP() {
+		testCodegenIntegration( TEST_NAME28, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg28CP() {
+		testCodegenIntegration( TEST_NAME28, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg28SP() {
+		testCodegenIntegration( TEST_NAME28, false, ExecType.SPARK );
+	}
+	
+	@Test	
+	public void testCodegenRowAggRewrite29CP() {
+		testCodegenIntegration( TEST_NAME29, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg29CP() {
+		testCodegenIntegration( TEST_NAME29, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg29SP() {
+		testCodegenIntegration( TEST_NAME29, false, ExecType.SPARK );
+	}
+	
+	@Test	
+	public void testCodegenRowAggRewrite30CP() {
+		testCodegenIntegration( TEST_NAME30, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg30CP() {
+		testCodegenIntegration( TEST_NAME30, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg30SP() {
+		testCodegenIntegration( TEST_NAME30, false, ExecType.SPARK );
+	}
+	
+	@Test	
+	public void testCodegenRowAggRewrite31CP() {
+		testCodegenIntegration( TEST_NAME31, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg31CP() {
+		testCodegenIntegration( TEST_NAME31, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenRowAgg31SP() {
+		testCodegenIntegration( TEST_NAME31, false, ExecType.SPARK );
+	}
+	
 	private void testCodegenIntegration( String testname, boolean rewrites, ExecType instType )
 	{	
 		boolean oldFlag = OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION;
@@ -526,6 +590,11 @@ public class RowAggTmplTest extends AutomatedTestBase
 				Assert.assertTrue(!heavyHittersContainsSubString("uark+"));
 			if( testname.equals(TEST_NAME17) )
 				Assert.assertTrue(!heavyHittersContainsSubString("rangeReIndex"));
+
+			//ensure row-partitioned spark operators for inputs w/ multiple column blocks
+			if( instType == ExecType.SPARK && (testname.equals(TEST_NAME28)
+				|| testname.equals(TEST_NAME29) || testname.equals(TEST_NAME30)) )
+				Assert.assertTrue(heavyHittersContainsSubString("sp_spoofRA"));
 		}
 		finally {
 			rtplatform = platformOld;
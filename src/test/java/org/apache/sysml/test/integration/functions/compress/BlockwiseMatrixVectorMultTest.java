@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.spark.CompressionSPInstruction.CompressionFunction;
+import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OperationsOnMatrixValues;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the blockwise (i.e., indexed) matrix-vector multiplication as used
+ * by spark mapmm over rdds of compressed blocks, including the per-block
+ * compression and copy functions used by spark checkpoints.
+ */
+public class BlockwiseMatrixVectorMultTest extends AutomatedTestBase
+{
+	private static final int rows = 1000;
+	private static final int cols = 20;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testDenseRoundRandData() {
+		runBlockwiseMatrixVectorMultTest(sparsity1, true);
+	}
+
+	@Test
+	public void testSparseRoundRandData() {
+		runBlockwiseMatrixVectorMultTest(sparsity2, true);
+	}
+
+	@Test
+	public void testDenseRandData() {
+		runBlockwiseMatrixVectorMultTest(sparsity1, false);
+	}
+
+	@Test
+	public void testSparseRandData() {
+		runBlockwiseMatrixVectorMultTest(sparsity2, false);
+	}
+
+	private void runBlockwiseMatrixVectorMultTest(double sparsity, boolean round)
+	{
+		try
+		{
+			//generate input data
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7);
+			if( round )
+				input = TestUtils.round(input);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock vector = DataConverter.convertToMatrixBlock(
+					TestUtils.generateTestMatrix(cols, 1, 1, 1, 1.0, 3));
+
+			//compress and copy block as done in spark checkpoints
+			MatrixBlock cmb = new CompressionFunction().call(mb);
+			cmb = new CopyBlockFunction(true).call(cmb);
+			if( round ) //expected compression of rounded values
+				Assert.assertTrue(cmb instanceof CompressedMatrixBlock);
+
+			//matrix-vector uncompressed
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+			MatrixBlock ret1 = (MatrixBlock)mb.aggregateBinaryOperations(mb, vector, new MatrixBlock(), abop);
+
+			//blockwise matrix-vector over (potentially) compressed block
+			MatrixIndexes ixOut = new MatrixIndexes();
+			MatrixBlock ret2 = new MatrixBlock();
+			OperationsOnMatrixValues.performAggregateBinary(new MatrixIndexes(1,1), cmb,
+					new MatrixIndexes(1,1), vector, ixOut, ret2, abop);
+
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, 1, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.lops.Checkpoint;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Spark tests of compressed checkpoints of read-only inputs, which compare the
+ * results of mapmm, binary operations, and aggregates over a loop with and 
+ * without compressed linear algebra.
+ */
+public class CompressedCheckpointTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "CompressedCheckpoint";
+	private final static String TEST_DIR = "functions/compress/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CompressedCheckpointTest.class.getSimpleName() + "/";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemML-config-compress.xml");
+	
+	private final static double eps = 1e-8;
+	
+	private final static int rows = 2345;
+	private final static int cols = 1103; //multiple column blocks
+	private final static int iterations = 3;
+	
+	private final static double sparsity1 = 0.9; //dense
+	private final static double sparsity2 = 0.1; //sparse
+	
+	private boolean _compress = false;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" })); 
+	}
+
+	@Test
+	public void testCompressedCheckpointDenseSP() {
+		runCompressedCheckpointTest(false, RUNTIME_PLATFORM.SPARK);
+	}
+	
+	@Test
+	public void testCompressedCheckpointSparseSP() {
+		runCompressedCheckpointTest(true, RUNTIME_PLATFORM.SPARK);
+	}
+	
+	private void runCompressedCheckpointTest(boolean sparse, RUNTIME_PLATFORM platform)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = platform;
+		
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-explain", "-stats", "-args", input("X"), input("v"), 
+				String.valueOf(iterations), output("R")};
+			
+			//generate input data w/ few distinct values per column (compressible)
+			double[][] X = getRandomMatrix(rows, cols, 1, 5, sparse?sparsity2:sparsity1, 7);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					X[i][j] = Math.round(X[i][j]);
+			writeInputMatrixWithMTD("X", X, true);
+			double[][] v = getRandomMatrix(cols, 1, 0, 1, 1.0, 3);
+			writeInputMatrixWithMTD("v", v, true);
+			
+			//run test w/o compressed checkpoints
+			_compress = false;
+			loadTestConfiguration(config);
+			runTest(true, false, null, -1); 
+			HashMap<CellIndex, Double> ucfile = readDMLMatrixFromHDFS("R");
+			
+			//run test w/ compressed checkpoints
+			_compress = true;
+			loadTestConfiguration(config);
+			runTest(true, false, null, -1); 
+			HashMap<CellIndex, Double> cfile = readDMLMatrixFromHDFS("R");
+			
+			//compare matrices 
+			TestUtils.compareMatrices(cfile, ucfile, eps, "Stat-DML-Compressed", "Stat-DML-Uncompressed");
+			Assert.assertTrue(!Checkpoint.CHECKPOINT_COMPRESSED 
+				|| heavyHittersContainsSubString("sp_"+Checkpoint.OPCODE));
+		}
+		finally {
+			_compress = false;
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		return _compress ? TEST_CONF_FILE : super.getConfigTemplateFile();
+	}
+}
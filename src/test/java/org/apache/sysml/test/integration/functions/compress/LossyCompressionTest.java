@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupUncompressed;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock.CompressionStatistics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class LossyCompressionTest extends AutomatedTestBase
+{	
+	private static final int rows = 2023;
+	private static final int cols = 20;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double bound8 = 0.002;  //8 bit
+	private static final double bound16 = 0.00001; //16 bit
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testDenseRandData8Bit() {
+		runLossyCompressionTest(sparsity1, bound8);
+	}
+	
+	@Test
+	public void testSparseRandData8Bit() {
+		runLossyCompressionTest(sparsity2, bound8);
+	}
+	
+	@Test
+	public void testDenseRandData16Bit() {
+		runLossyCompressionTest(sparsity1, bound16);
+	}
+	
+	@Test
+	public void testSparseRandData16Bit() {
+		runLossyCompressionTest(sparsity2, bound16);
+	}
+	
+	private void runLossyCompressionTest(double sparsity, double bound)
+	{
+		try
+		{
+			//generate input data (continuous values, value range 20)
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//lossy compression of given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress(1, bound);
+			CompressionStatistics stats = cmb.getCompressionStatistics();
+			
+			//check achieved error bound and compressed column groups
+			//(columns with fewer distinct values than levels are kept lossless)
+			Assert.assertTrue(stats.errorBound <= bound);
+			if( bound == bound8 && sparsity == sparsity1 ) {
+				Assert.assertEquals(cols, stats.numQuantizedCols);
+				for( ColGroup grp : cmb.getColGroups() )
+					Assert.assertFalse(grp instanceof ColGroupUncompressed);
+			}
+			
+			//decompress and compare with input w/ max abs error (value range 20)
+			MatrixBlock tmp = cmb.decompress();
+			double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(tmp);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 20 * bound);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
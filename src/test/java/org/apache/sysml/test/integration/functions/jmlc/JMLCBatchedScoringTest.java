@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.api.jmlc.BatchedScript;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests batched scoring of many small requests, both asynchronously with
+ * size/latency triggers and synchronously, compared against individual
+ * executions of the prepared script per request.
+ */
+public class JMLCBatchedScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "reuse-glm-predict";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCBatchedScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRequests = 200;
+	private final static int maxBatchRows = 64;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "predicted_y" }) ); 
+	}
+	
+	@Test
+	public void testJMLCBatchedScoreAsyncDense() throws IOException {
+		runJMLCBatchedScoringTest(false, true);
+	}
+	
+	@Test
+	public void testJMLCBatchedScoreAsyncSparse() throws IOException {
+		runJMLCBatchedScoringTest(true, true);
+	}
+	
+	@Test
+	public void testJMLCBatchedScoreSyncDense() throws IOException {
+		runJMLCBatchedScoringTest(false, false);
+	}
+	
+	@Test
+	public void testJMLCBatchedScoreSyncSparse() throws IOException {
+		runJMLCBatchedScoringTest(true, false);
+	}
+
+	private void runJMLCBatchedScoringTest( boolean sparse, boolean async ) 
+		throws IOException
+	{	
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+	
+		//generate requests of 1 to 3 rows 
+		ArrayList<MatrixBlock> Xset = new ArrayList<MatrixBlock>();
+		for( int i=0; i<nRequests; i++ )
+			Xset.add(DataConverter.convertToMatrixBlock(getRandomMatrix(
+				i%3+1, cols, -1, 1, sparse?sparsity2:sparsity1, 7+i)));
+		
+		//establish connection to SystemML
+		Connection conn = new Connection();
+		BatchedScript bscript = null;
+		try
+		{
+			//read and precompile script
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");	
+			PreparedScript pstmt = conn.prepareScript(script, 
+				new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			pstmt.setMatrix("W", conn.convertToDoubleMatrix(modelData, rows, cols), true);
+			
+			//individual scoring per request
+			ArrayList<double[][]> Yset1 = new ArrayList<double[][]>();
+			for( MatrixBlock X : Xset ) {
+				pstmt.setMatrix("X", X, false);
+				Yset1.add(pstmt.executeScript().getMatrix("predicted_y"));
+			}
+			
+			//batched scoring
+			ArrayList<double[][]> Yset2 = new ArrayList<double[][]>();
+			bscript = new BatchedScript(pstmt, "X", "predicted_y", maxBatchRows, 10);
+			if( async ) {
+				ArrayList<Future<MatrixBlock>> rets = new ArrayList<Future<MatrixBlock>>();
+				for( MatrixBlock X : Xset )
+					rets.add(bscript.submit(X));
+				for( Future<MatrixBlock> ret : rets )
+					Yset2.add(DataConverter.convertToDoubleMatrix(ret.get()));
+			}
+			else {
+				List<MatrixBlock> rets = bscript.scoreAll(Xset);
+				for( MatrixBlock ret : rets )
+					Yset2.add(DataConverter.convertToDoubleMatrix(ret));
+			}
+			
+			//compare individual and batched results
+			Assert.assertEquals(Yset1.size(), Yset2.size());
+			for( int i=0; i<nRequests; i++ ) {
+				Assert.assertEquals(Yset1.get(i).length, Yset2.get(i).length);
+				TestUtils.compareMatrices(Yset1.get(i), Yset2.get(i), 
+					Yset1.get(i).length, Yset1.get(i)[0].length, eps);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(bscript);
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+}
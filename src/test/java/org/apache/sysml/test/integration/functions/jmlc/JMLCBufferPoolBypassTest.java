@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests JMLC scoring over plain in-memory matrix blocks without buffer
+ * pool bookkeeping, compared against scoring with the buffer pool, for 
+ * multiple calls of the same prepared script with reused inputs.
+ */
+public class JMLCBufferPoolBypassTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "reuse-msvm-predict";
+	private final static String TEST_NAME2 = "concurrent-scoring"; //matrix-scalar
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCBufferPoolBypassTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRuns = 10;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "predicted_y" }) ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "predicted_y" }) ); 
+	}
+	
+	@Test
+	public void testJMLCBufferPoolBypassDense() throws IOException {
+		runJMLCBufferPoolBypassTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testJMLCBufferPoolBypassSparse() throws IOException {
+		runJMLCBufferPoolBypassTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testJMLCBufferPoolBypassMatrixScalarDense() throws IOException {
+		runJMLCBufferPoolBypassTest(TEST_NAME2, false);
+	}
+	
+	@Test
+	public void testJMLCBufferPoolBypassMatrixScalarSparse() throws IOException {
+		runJMLCBufferPoolBypassTest(TEST_NAME2, true);
+	}
+
+	private void runJMLCBufferPoolBypassTest( String testname, boolean sparse ) 
+		throws IOException
+	{	
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+	
+		//generate inputs
+		ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nRuns; i++ )
+			Xset.add(getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7+i));
+		
+		//establish connection to SystemML
+		Connection conn = new Connection();
+		try
+		{
+			//read and precompile script
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");	
+			PreparedScript pstmt1 = conn.prepareScript(script, 
+				new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			PreparedScript pstmt2 = conn.prepareScript(script, 
+				new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			pstmt2.setBufferPoolBypass(true);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols);
+			pstmt1.setMatrix("W", W, true);
+			pstmt2.setMatrix("W", W, true);
+			
+			//scoring with and without buffer pool, compared per call
+			for( double[][] X : Xset ) {
+				double[][] Y1 = score(pstmt1, X);
+				double[][] Y2 = score(pstmt2, X);
+				TestUtils.compareMatrices(Y1, Y2, Y1.length, Y1[0].length, eps);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static double[][] score(PreparedScript pstmt, double[][] X) 
+		throws Exception 
+	{
+		pstmt.setMatrix("X", X);
+		ResultVariables rs = pstmt.executeScript();
+		return rs.getMatrix("predicted_y");
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.ExecutionStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests concurrent scoring with copies of a single prepared script, 
+ * executed by threads other than the creating thread, compared 
+ * against a sequential execution of the same inputs, including
+ * the per-execution statistics of all executions. The order script
+ * uses input-specific by-columns and directions to expose shared
+ * instruction state across concurrent executions.
+ */
+public class JMLCConcurrentScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "reuse-msvm-predict";
+	private final static String TEST_NAME2 = "concurrent-scoring"; //matrix-scalar
+	private final static String TEST_NAME3 = "concurrent-order"; //order w/ varying by/decreasing
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCConcurrentScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRuns = 32;
+	private final static int nThreads = 4;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "predicted_y" }) ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "predicted_y" }) ); 
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "predicted_y" }) ); 
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreDense() throws IOException {
+		runJMLCConcurrentScoringTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreSparse() throws IOException {
+		runJMLCConcurrentScoringTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testJMLCConcurrentMatrixScalarDense() throws IOException {
+		runJMLCConcurrentScoringTest(TEST_NAME2, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentMatrixScalarSparse() throws IOException {
+		runJMLCConcurrentScoringTest(TEST_NAME2, true);
+	}
+	
+	@Test
+	public void testJMLCConcurrentOrderDense() throws IOException {
+		runJMLCConcurrentScoringTest(TEST_NAME3, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentOrderSparse() throws IOException {
+		runJMLCConcurrentScoringTest(TEST_NAME3, true);
+	}
+
+	private void runJMLCConcurrentScoringTest( String testname, boolean sparse ) 
+		throws IOException
+	{	
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+	
+		//generate inputs
+		ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nRuns; i++ )
+			Xset.add(getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7+i));
+		
+		//establish connection to SystemML
+		Connection conn = new Connection();
+		try
+		{
+			//read and precompile script
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");	
+			final PreparedScript pstmt = conn.prepareScript(script, 
+				new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			pstmt.setMatrix("W", conn.convertToDoubleMatrix(modelData, rows, cols), true);
+			pstmt.setStatistics(true);
+			
+			//sequential scoring
+			ArrayList<ResultVariables> Yset1 = new ArrayList<ResultVariables>();
+			for( double[][] X : Xset )
+				Yset1.add(score(pstmt, X));
+			
+			//concurrent scoring w/ one copy per task
+			ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+			ArrayList<Future<ResultVariables>> rtasks = new ArrayList<Future<ResultVariables>>();
+			for( final double[][] X : Xset )
+				rtasks.add(pool.submit(new Callable<ResultVariables>() {
+					@Override
+					public ResultVariables call() throws Exception {
+						return score(pstmt.copy(), X);
+					}
+				}));
+			ArrayList<ResultVariables> Yset2 = new ArrayList<ResultVariables>();
+			for( Future<ResultVariables> rtask : rtasks )
+				Yset2.add(rtask.get());
+			pool.shutdown();
+			
+			//compare sequential and concurrent results and statistics
+			Assert.assertEquals(Yset1.size(), Yset2.size());
+			for( int i=0; i<nRuns; i++ ) {
+				double[][] Y1 = Yset1.get(i).getMatrix("predicted_y");
+				double[][] Y2 = Yset2.get(i).getMatrix("predicted_y");
+				TestUtils.compareMatrices(Y1, Y2, Y1.length, Y1[0].length, eps);
+				ExecutionStatistics stats1 = Yset1.get(i).getStatistics();
+				ExecutionStatistics stats2 = Yset2.get(i).getStatistics();
+				Assert.assertTrue(stats1.getNumExecutedInstructions() > 0);
+				Assert.assertEquals(stats1.getNumExecutedInstructions(), 
+					stats2.getNumExecutedInstructions());
+				Assert.assertEquals(stats1.getHeavyHitterOpCodes(), 
+					stats2.getHeavyHitterOpCodes());
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static ResultVariables score(PreparedScript pstmt, double[][] X) 
+		throws Exception 
+	{
+		pstmt.setMatrix("X", X);
+		return pstmt.executeScript();
+	}
+}
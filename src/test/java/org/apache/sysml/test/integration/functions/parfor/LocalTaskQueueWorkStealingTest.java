@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
+import org.apache.sysml.runtime.controlprogram.parfor.Task;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueWorkStealingTest
+{
+	@Test
+	public void testSingleWorker() throws Exception {
+		runWorkStealingTest(1, 100, 1, 1);
+	}
+
+	@Test
+	public void testMultipleWorkers() throws Exception {
+		runWorkStealingTest(1, 10000, 1, 16);
+	}
+
+	@Test
+	public void testMultipleWorkersIncrement() throws Exception {
+		runWorkStealingTest(7, 9999, 3, 16);
+	}
+
+	@Test
+	public void testMultipleWorkersTaskSize() throws Exception {
+		runWorkStealingTest(1, 10000, 1, 16, 5);
+	}
+
+	@Test
+	public void testMoreWorkersThanIterations() throws Exception {
+		runWorkStealingTest(1, 5, 1, 16);
+	}
+
+	@Test
+	public void testImbalancedWorkers() throws Exception {
+		//worker 0 consumes nothing, all its iterations need to be stolen
+		final LocalTaskQueueWorkStealing q = new LocalTaskQueueWorkStealing("i",
+			new IntObject(1), new IntObject(1000), new IntObject(1), 4, 1);
+		AtomicIntegerArray counts = new AtomicIntegerArray(1001);
+		Thread[] threads = new Thread[3];
+		for( int w=0; w<3; w++ )
+			threads[w] = new Thread(new Consumer(q, w+1, counts));
+		for( Thread t : threads )
+			t.start();
+		for( Thread t : threads )
+			t.join();
+		checkCounts(counts, 1, 1000, 1);
+	}
+
+	@Test
+	public void testAdaptiveTaskSizes() throws Exception {
+		//cheap iterations lead to larger tasks, but all iterations executed once
+		LocalTaskQueueWorkStealing q = new LocalTaskQueueWorkStealing("i",
+			new IntObject(1), new IntObject(10000), new IntObject(1), 4, 1);
+		AtomicIntegerArray counts = new AtomicIntegerArray(10001);
+		Thread[] threads = new Thread[4];
+		for( int w=0; w<4; w++ )
+			threads[w] = new Thread(new Consumer(q, w, counts, 0.0001));
+		for( Thread t : threads )
+			t.start();
+		for( Thread t : threads )
+			t.join();
+		checkCounts(counts, 1, 10000, 1);
+		Assert.assertTrue(q.getNumCreatedTasks() < 1000);
+	}
+
+	private void runWorkStealingTest(long from, long to, long incr, int k) throws Exception {
+		runWorkStealingTest(from, to, incr, k, 1);
+	}
+
+	private void runWorkStealingTest(long from, long to, long incr, int k, long taskSize) throws Exception {
+		LocalTaskQueueWorkStealing q = new LocalTaskQueueWorkStealing("i",
+			new IntObject(from), new IntObject(to), new IntObject(incr), k, taskSize);
+		AtomicIntegerArray counts = new AtomicIntegerArray((int)to+1);
+		Thread[] threads = new Thread[k];
+		for( int w=0; w<k; w++ )
+			threads[w] = new Thread(new Consumer(q, w, counts));
+		for( Thread t : threads )
+			t.start();
+		for( Thread t : threads )
+			t.join();
+
+		//check that each iteration was executed exactly once
+		checkCounts(counts, from, to, incr);
+		Assert.assertTrue(q.getNumCreatedTasks() >= (to-from)/incr/taskSize);
+	}
+
+	private static void checkCounts(AtomicIntegerArray counts, long from, long to, long incr) {
+		for( int i=0; i<counts.length(); i++ ) {
+			boolean iter = i>=from && i<=to && (i-from)%incr==0;
+			Assert.assertEquals("Wrong count for iteration "+i, iter?1:0, counts.get(i));
+		}
+	}
+
+	private static class Consumer implements Runnable {
+		private final LocalTaskQueue<Task> _q;
+		private final int _ix;
+		private final AtomicIntegerArray _counts;
+		private final double _iterTime; //reported time per iteration
+
+		public Consumer(LocalTaskQueue<Task> q, int ix, AtomicIntegerArray counts) {
+			this(q, ix, counts, -1);
+		}
+
+		public Consumer(LocalTaskQueue<Task> q, int ix, AtomicIntegerArray counts, double iterTime) {
+			_q = q;
+			_ix = ix;
+			_counts = counts;
+			_iterTime = iterTime;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Task t = null;
+				while( (t = _q.dequeueTask(_ix)) != LocalTaskQueue.NO_MORE_TASKS ) {
+					long lfrom = t.getIterations().get(0).getLongValue();
+					long lto = t.getIterations().get(1).getLongValue();
+					long lincr = t.getIterations().get(2).getLongValue();
+					for( long i=lfrom; i<=lto; i+=lincr )
+						_counts.incrementAndGet((int)i);
+					if( _iterTime > 0 )
+						_q.reportTaskTime(_ix, (lto-lfrom)/lincr+1, _iterTime*((lto-lfrom)/lincr+1));
+				}
+			}
+			catch(InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+	}
+}
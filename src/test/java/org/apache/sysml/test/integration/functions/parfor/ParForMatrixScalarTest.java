@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests parfor with matrix-scalar operations of iteration-specific scalars in
+ * the loop body, whose instructions are shared across local workers and 
+ * reused across tasks of remote workers, compared against a for loop.
+ */
+public class ParForMatrixScalarTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_matrixscalar1"; //local
+	private final static String TEST_NAME2 = "parfor_matrixscalar2"; //remote spark
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForMatrixScalarTest.class.getSimpleName() + "/";
+
+	private final static double eps = 1e-10;
+
+	private final static int rows = 200;
+	private final static int cols = 50;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R1", "R2" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R1", "R2" }) );
+	}
+
+	@Test
+	public void testParForMatrixScalarLocal() {
+		runParForMatrixScalarTest(TEST_NAME1, false);
+	}
+
+	@Test
+	public void testParForMatrixScalarRemoteSpark() {
+		runParForMatrixScalarTest(TEST_NAME2, true);
+	}
+
+	private void runParForMatrixScalarTest( String testname, boolean spark )
+	{
+		RUNTIME_PLATFORM oldRT = rtplatform;
+		boolean oldUseSparkConfig = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		
+		if( spark ) {
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+			rtplatform = RUNTIME_PLATFORM.HYBRID_SPARK;
+		}
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+	
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows), 
+				String.valueOf(cols), output("R1"), output("R2") };
+	
+			//run test
+			runTest(true, false, null, -1);
+	
+			//compare parfor and for results
+			HashMap<CellIndex, Double> dmlfile1 = readDMLMatrixFromHDFS("R1");
+			HashMap<CellIndex, Double> dmlfile2 = readDMLMatrixFromHDFS("R2");
+			TestUtils.compareMatrices(dmlfile1, dmlfile2, eps, "ParFor", "For");
+		}
+		finally {
+			rtplatform = oldRT;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = oldUseSparkConfig;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Tests local parfor with a large read-only input that is pinned once for 
+ * all workers and released after the loop, compared against a for loop.
+ */
+public class ParForSharedReadOnlyInputsTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_sharedinputs";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForSharedReadOnlyInputsTest.class.getSimpleName() + "/";
+
+	private final static double eps = 1e-8;
+
+	private final static int rows = 2100; //16.8MB dense
+	private final static int cols = 1000;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R1", "R2", "S" }) );
+	}
+
+	@Test
+	public void testParForSharedReadOnlyInputs() {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-stats", "-args", String.valueOf(rows), 
+			String.valueOf(cols), output("R1"), output("R2"), output("S") };
+
+		//run test (fails on removal of X if not released after the loop)
+		runTest(true, false, null, -1);
+
+		//compare parfor and for results
+		HashMap<CellIndex, Double> dmlfile1 = readDMLMatrixFromHDFS("R1");
+		HashMap<CellIndex, Double> dmlfile2 = readDMLMatrixFromHDFS("R2");
+		TestUtils.compareMatrices(dmlfile1, dmlfile2, eps, "ParFor", "For");
+		
+		//check that X was pinned as shared read-only input
+		Assert.assertEquals(1, Statistics.getParforSharedInputs());
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Tests local parfor with the work-stealing task partitioner and its adaptive
+ * task sizes over imbalanced and highly skewed iterations, compared against 
+ * a sequential for loop. The rule-based optimizer is expected to respect an
+ * explicitly specified work-stealing task partitioner, and to select it for
+ * local parfor by default, where task sizes adapt to the observed costs.
+ */
+public class ParForWorkStealingTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_workstealing1"; //imbalanced
+	private final static String TEST_NAME2 = "parfor_workstealing2"; //highly skewed
+	private final static String TEST_NAME3 = "parfor_workstealing3"; //explicit, rule-based opt
+	private final static String TEST_NAME4 = "parfor_workstealing4"; //default, rule-based opt
+	private final static String TEST_NAME5 = "parfor_workstealing5"; //default, skewed costs
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R1", "R2" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R1", "R2" }) );
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "R1", "R2" }) );
+		addTestConfiguration(TEST_NAME4, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME4, new String[] { "R1", "R2" }) );
+		addTestConfiguration(TEST_NAME5, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME5, new String[] { "R1", "R2" }) );
+	}
+
+	@Test
+	public void testParForWorkStealingSmall() {
+		runParForWorkStealingTest(TEST_NAME1, 7, 50);
+	}
+
+	@Test
+	public void testParForWorkStealingLarge() {
+		runParForWorkStealingTest(TEST_NAME1, 500, 50);
+	}
+	
+	@Test
+	public void testParForWorkStealingSkewed() {
+		runParForWorkStealingTest(TEST_NAME2, 1000, 100);
+	}
+	
+	@Test
+	public void testParForWorkStealingExplicitRuleBased() {
+		//small number of iterations, where the optimizer would not choose work-stealing
+		runParForWorkStealingTest(TEST_NAME3, 7, 50);
+	}
+	
+	@Test
+	public void testParForWorkStealingDefaultRuleBased() {
+		runParForWorkStealingTest(TEST_NAME4, 500, 50);
+	}
+
+	@Test
+	public void testParForAdaptiveTaskSizesDefault() {
+		int rows = 400;
+		
+		//uniform cheap iterations (large tasks)
+		runParForWorkStealingTest(TEST_NAME5, rows, 1000, rows+1);
+		long ntasks1 = Statistics.getParforWorkStealingTasks();
+		
+		//skewed iterations w/ every 10th iteration expensive (small tasks)
+		runParForWorkStealingTest(TEST_NAME5, rows, 1000, 10);
+		long ntasks2 = Statistics.getParforWorkStealingTasks();
+		
+		//check for tasks w/ multiple cheap iterations, and smaller tasks on skew
+		if( InfrastructureAnalyzer.getLocalParallelism() > 1 ) {
+			Assert.assertTrue("Unexpected number of tasks: "+ntasks1, ntasks1 < rows);
+			Assert.assertTrue("Unexpected number of tasks: "+ntasks2+" (vs "+ntasks1+")", ntasks2 > ntasks1);
+		}
+	}
+
+	private void runParForWorkStealingTest( String testname, int rows, int cols ) {
+		runParForWorkStealingTest(testname, rows, cols, -1);
+	}
+	
+	private void runParForWorkStealingTest( String testname, int rows, int cols, int skew )
+	{
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testname + ".dml";
+		programArgs = (skew > 0) ?
+			new String[]{"-stats", "-args", String.valueOf(rows), 
+				String.valueOf(cols), String.valueOf(skew), output("R1"), output("R2") } :
+			new String[]{"-stats", "-args", String.valueOf(rows), 
+				String.valueOf(cols), output("R1"), output("R2") };
+
+		//run test
+		runTest(true, false, null, -1);
+
+		//compare parfor and for results
+		HashMap<CellIndex, Double> dmlfile1 = readDMLMatrixFromHDFS("R1");
+		HashMap<CellIndex, Double> dmlfile2 = readDMLMatrixFromHDFS("R2");
+		TestUtils.compareMatrices(dmlfile1, dmlfile2, eps, "ParFor", "For");
+		
+		//check for work-stealing task queue (w/ rule-based optimizer, 
+		//only selected by default if multiple threads are available)
+		if( testname.equals(TEST_NAME3) || ((testname.equals(TEST_NAME4) 
+			|| testname.equals(TEST_NAME5)) && InfrastructureAnalyzer.getLocalParallelism() > 1) )
+			Assert.assertEquals(1, Statistics.getParforWorkStealing());
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.recompile;
+
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.AggUnaryOp;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.Direction;
+import org.apache.sysml.hops.Hop.OpOp2;
+import org.apache.sysml.hops.recompile.RecompilePlanCache;
+import org.apache.sysml.hops.rewrite.HopRewriteUtils;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+
+/**
+ * Tests the size signatures and lookups of the recompile plan cache, 
+ * i.e., that all inputs of dynamic recompilation are reflected in the
+ * signature and that cached plans are only returned for the same DAG.
+ */
+public class RecompilePlanCacheTest 
+{
+	@Before
+	public void setUp() {
+		RecompilePlanCache.clear();
+	}
+	
+	@After
+	public void tearDown() {
+		RecompilePlanCache.clear();
+		ConfigurationManager.clearLocalConfigs();
+	}
+	
+	@Test
+	public void testSignatureEqualInputs() {
+		ArrayList<Hop> dag = createDag();
+		String sig1 = RecompilePlanCache.createSignature(dag, createVars(100, 10, 7), false);
+		String sig2 = RecompilePlanCache.createSignature(dag, createVars(100, 10, 7), false);
+		Assert.assertNotNull(sig1);
+		Assert.assertEquals(sig1, sig2);
+	}
+	
+	@Test
+	public void testSignatureDifferentSizes() {
+		ArrayList<Hop> dag = createDag();
+		String sig1 = RecompilePlanCache.createSignature(dag, createVars(100, 10, 7), false);
+		String sig2 = RecompilePlanCache.createSignature(dag, createVars(10, 100, 7), false);
+		String sig3 = RecompilePlanCache.createSignature(dag, createVars(100, 10, 3), false);
+		Assert.assertNotEquals(sig1, sig2);
+		Assert.assertNotEquals(sig1, sig3);
+	}
+	
+	@Test
+	public void testSignatureDifferentHopThreads() {
+		ArrayList<Hop> dag = createDag();
+		LocalVariableMap vars = createVars(100, 10, 7);
+		AggUnaryOp agg = (AggUnaryOp) dag.get(0).getInput().get(0);
+		agg.setMaxNumThreads(1);
+		String sig1 = RecompilePlanCache.createSignature(dag, vars, false);
+		agg.setMaxNumThreads(4);
+		String sig2 = RecompilePlanCache.createSignature(dag, vars, false);
+		Assert.assertNotEquals(sig1, sig2);
+	}
+	
+	@Test
+	public void testSignatureDifferentForcedExecType() {
+		ArrayList<Hop> dag = createDag();
+		LocalVariableMap vars = createVars(100, 10, 7);
+		String sig1 = RecompilePlanCache.createSignature(dag, vars, false);
+		dag.get(0).getInput().get(0).setForcedExecType(ExecType.SPARK);
+		String sig2 = RecompilePlanCache.createSignature(dag, vars, false);
+		Assert.assertNotEquals(sig1, sig2);
+	}
+	
+	@Test
+	public void testSignatureDifferentParallelism() {
+		ArrayList<Hop> dag = createDag();
+		LocalVariableMap vars = createVars(100, 10, 7);
+		String sig1 = RecompilePlanCache.createSignature(dag, vars, false);
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig().clone();
+		cconf.set(ConfigType.PARALLEL_CP_MATRIX_OPERATIONS, 
+			!ConfigurationManager.isParallelMatrixOperations());
+		ConfigurationManager.setLocalConfig(cconf);
+		String sig2 = RecompilePlanCache.createSignature(dag, vars, false);
+		Assert.assertNotEquals(sig1, sig2);
+	}
+	
+	@Test
+	public void testSignatureDifferentOptLevel() {
+		ArrayList<Hop> dag = createDag();
+		LocalVariableMap vars = createVars(100, 10, 7);
+		String sig1 = RecompilePlanCache.createSignature(dag, vars, false);
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig().clone();
+		cconf.set(ConfigType.OPT_LEVEL, 
+			(cconf.getInt(ConfigType.OPT_LEVEL) == 4) ? 2 : 4);
+		ConfigurationManager.setLocalConfig(cconf);
+		String sig2 = RecompilePlanCache.createSignature(dag, vars, false);
+		Assert.assertNotEquals(sig1, sig2);
+	}
+	
+	@Test
+	public void testSignatureDifferentConfig() throws DMLRuntimeException {
+		ArrayList<Hop> dag = createDag();
+		LocalVariableMap vars = createVars(100, 10, 7);
+		String sig1 = RecompilePlanCache.createSignature(dag, vars, false);
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CODEGEN, String.valueOf(
+			!ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN)));
+		ConfigurationManager.setLocalConfig(conf);
+		String sig2 = RecompilePlanCache.createSignature(dag, vars, false);
+		Assert.assertNotEquals(sig1, sig2);
+	}
+	
+	@Test
+	public void testPlanCacheHitMiss() {
+		ArrayList<Hop> dag1 = createDag();
+		ArrayList<Hop> dag2 = createDag();
+		String sig1 = RecompilePlanCache.createSignature(dag1, createVars(100, 10, 7), false);
+		String sig2 = RecompilePlanCache.createSignature(dag1, createVars(10, 100, 7), false);
+		ArrayList<Instruction> inst = new ArrayList<Instruction>();
+		RecompilePlanCache.putPlan(dag1, sig1, inst);
+		
+		//hit for same dag and signature
+		Assert.assertSame(inst, RecompilePlanCache.getPlan(dag1, sig1));
+		//miss for different signature or equivalent but different dag
+		Assert.assertNull(RecompilePlanCache.getPlan(dag1, sig2));
+		Assert.assertNull(RecompilePlanCache.getPlan(dag2, sig1));
+		Assert.assertEquals(1, RecompilePlanCache.size());
+	}
+	
+	@Test
+	public void testPlanCacheBoundedSize() {
+		ArrayList<Hop> dag = createDag();
+		for( int i=0; i<2*RecompilePlanCache.MAX_SIZE; i++ ) {
+			String sig = RecompilePlanCache.createSignature(dag, createVars(i+1, 10, 7), false);
+			RecompilePlanCache.putPlan(dag, sig, new ArrayList<Instruction>());
+		}
+		Assert.assertEquals(RecompilePlanCache.MAX_SIZE, RecompilePlanCache.size());
+	}
+	
+	private static ArrayList<Hop> createDag() {
+		//R = X * sum(X) + s
+		Hop X = new DataOp("X", DataType.MATRIX, ValueType.DOUBLE, 
+			DataOpTypes.TRANSIENTREAD, "X", -1, -1, -1, 1000, 1000);
+		Hop s = new DataOp("s", DataType.SCALAR, ValueType.INT, 
+			DataOpTypes.TRANSIENTREAD, "s", 0, 0, -1, -1, -1);
+		Hop agg = HopRewriteUtils.createAggUnaryOp(X, AggOp.SUM, Direction.RowCol);
+		Hop R = HopRewriteUtils.createBinary(HopRewriteUtils.createBinary(X, agg, OpOp2.MULT), s, OpOp2.PLUS);
+		ArrayList<Hop> ret = new ArrayList<Hop>();
+		ret.add(HopRewriteUtils.createBinary(agg, s, OpOp2.PLUS));
+		ret.add(R);
+		return ret;
+	}
+	
+	private static LocalVariableMap createVars(long rows, long cols, long sval) {
+		LocalVariableMap vars = new LocalVariableMap();
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, rows*cols);
+		vars.put("X", new MatrixObject(ValueType.DOUBLE, "X", new MatrixFormatMetaData(
+			mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo)));
+		vars.put("s", new IntObject(sval));
+		return vars;
+	}
+}
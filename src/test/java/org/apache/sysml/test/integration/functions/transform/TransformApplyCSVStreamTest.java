@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Random;
+
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.TfApplyCSVStream;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the streaming transformapply from csv to binary block, both directly 
+ * and via DML scripts with forced streaming, compared against the in-memory
+ * transformencode and transformapply.
+ */
+public class TransformApplyCSVStreamTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "TransformApplyCSVStream";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformApplyCSVStreamTest.class.getSimpleName() + "/";
+	private final static String TEMP_DIR = "target/testTemp/functions/transform/TransformApplyCSVStreamTest/";
+	
+	//datasets and transform specifications
+	private final static String DATASET1 = "homes3/homes.csv";
+	private final static String DATASET2 = "homes/homes.csv"; //w/ missing values
+	private final static String SPEC1 = "homes3/homes.tfspec_recode.json"; 
+	private final static String SPEC2 = "homes3/homes.tfspec_dummy.json";
+	private final static String SPEC3 = "homes3/homes.tfspec_bin.json";
+	private final static String SPEC4 = "homes3/homes.tfspec_impute.json";
+	private final static String SPEC5 = "homes3/homes.tfspec_omit.json";
+	
+	private final static int rows = 2345;
+	private final static int cols = 5;
+	private final static int blen = 100;
+	
+	private final static String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 2]}";
+	private final static String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1, 2], \"dummycode\": [2]}";
+	private final static String SPEC_OMIT = "{\"ids\": true, \"recode\": [1, 2], \"omit\": [3]}";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "y" }) );
+	}
+	
+	@Test
+	public void testStreamRecode() throws Exception {
+		runStreamTest(SPEC_RECODE, false);
+	}
+	
+	@Test
+	public void testStreamRecodeHeader() throws Exception {
+		runStreamTest(SPEC_RECODE, true);
+	}
+	
+	@Test
+	public void testStreamDummycode() throws Exception {
+		runStreamTest(SPEC_DUMMY, false);
+	}
+	
+	@Test
+	public void testStreamOmit() throws Exception {
+		runStreamTest(SPEC_OMIT, false);
+	}
+	
+	@Test
+	public void testHomesStreamRecodeDML() {
+		runStreamDMLTest(DATASET1, SPEC1);
+	}
+	
+	@Test
+	public void testHomesStreamDummycodeDML() {
+		runStreamDMLTest(DATASET1, SPEC2);
+	}
+	
+	@Test
+	public void testHomesStreamBinningDML() {
+		runStreamDMLTest(DATASET1, SPEC3);
+	}
+	
+	@Test
+	public void testHomesStreamImputeDML() {
+		runStreamDMLTest(DATASET2, SPEC4);
+	}
+	
+	@Test
+	public void testHomesStreamOmitDML() {
+		runStreamDMLTest(DATASET2, SPEC5);
+	}
+	
+	private void runStreamTest(String spec, boolean header) throws Exception {
+		String fnameIn = TEMP_DIR + "X.csv";
+		String fnameOut = TEMP_DIR + "Y";
+		try {
+			//create csv input and in-memory frame
+			FrameBlock in = createFrame(rows, cols, 3);
+			writeCSV(in, fnameIn, header);
+			
+			//build meta data and in-memory transformapply
+			Encoder encoder1 = EncoderFactory.createEncoder(spec, in.getColumnNames(), cols, null);
+			encoder1.build(in);
+			FrameBlock meta = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+			Encoder encoder2 = EncoderFactory.createEncoder(spec, in.getColumnNames(), cols, meta);
+			MatrixBlock out1 = encoder2.apply(in, new MatrixBlock(rows, cols, false));
+			
+			//streaming transformapply to binary block
+			CSVFileFormatProperties props = new CSVFileFormatProperties(header, ",", true, 0, null);
+			MatrixCharacteristics mc = TfApplyCSVStream.applyToBinaryBlock(
+				fnameIn, props, null, cols, spec, meta, fnameOut, blen, blen);
+			Assert.assertEquals(out1.getNumRows(), mc.getRows());
+			Assert.assertEquals(out1.getNumColumns(), mc.getCols());
+			Assert.assertEquals(out1.getNonZeros(), mc.getNonZeros());
+			MatrixBlock out2 = DataConverter.readMatrixFromHDFS(fnameOut, 
+				InputInfo.BinaryBlockInputInfo, mc.getRows(), mc.getCols(), blen, blen);
+			
+			//check equal encoded outputs
+			for( int i=0; i<out1.getNumRows(); i++ )
+				for( int j=0; j<out1.getNumColumns(); j++ )
+					Assert.assertEquals(out1.quickGetValue(i, j), out2.quickGetValue(i, j), 0);
+		}
+		finally {
+			MapReduceTool.deleteFileIfExistOnHDFS(fnameIn);
+			MapReduceTool.deleteFileIfExistOnHDFS(fnameOut);
+		}
+	}
+	
+	private void runStreamDMLTest(String dataset, String spec) {
+		RUNTIME_PLATFORM rtold = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			//run in-memory and forced streaming transformapply
+			double[][] R1 = runStreamDMLScript(dataset, spec, false);
+			double[][] R2 = runStreamDMLScript(dataset, spec, true);
+			TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = rtold;
+			TfApplyCSVStream.FORCE_STREAMING = false;
+		}
+	}
+	
+	private double[][] runStreamDMLScript(String dataset, String spec, boolean stream) 
+		throws Exception
+	{
+		TfApplyCSVStream.FORCE_STREAMING = stream;
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+		programArgs = new String[]{"-nvargs", 
+			"DATA=" + HOME + "input/" + dataset,
+			"TFSPEC=" + HOME + "input/" + spec,
+			"TFDATA1=" + output("tfout1"),
+			"TFDATA2=" + output("tfout2") };
+		runTest(true, false, null, -1); 
+		
+		//compare transformencode and transformapply outputs
+		double[][] R1 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+			.createMatrixReader(InputInfo.CSVInputInfo)
+			.readMatrixFromHDFS(output("tfout1"), -1L, -1L, 1000, 1000, -1));
+		double[][] R2 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+			.createMatrixReader(InputInfo.CSVInputInfo)
+			.readMatrixFromHDFS(output("tfout2"), -1L, -1L, 1000, 1000, -1));
+		TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);
+		return R2;
+	}
+	
+	private static FrameBlock createFrame(int rows, int cols, long seed) {
+		FrameBlock ret = new FrameBlock(cols, ValueType.STRING);
+		Random rand = new Random(seed);
+		String[] row = new String[cols];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = "a" + rand.nextInt(50);
+			row[1] = "b" + rand.nextInt(7);
+			row[2] = (rand.nextDouble() < 0.1) ? null : String.valueOf(rand.nextInt(100));
+			for( int j=3; j<cols; j++ )
+				row[j] = String.valueOf(rand.nextDouble());
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+	
+	private static void writeCSV(FrameBlock in, String fname, boolean header) throws Exception {
+		File f = new File(fname);
+		f.getParentFile().mkdirs();
+		BufferedWriter bw = new BufferedWriter(new FileWriter(f));
+		try {
+			if( header ) {
+				String[] names = in.getColumnNames();
+				for( int j=0; j<names.length; j++ )
+					bw.write(((j>0)?",":"") + names[j]);
+				bw.newLine();
+			}
+			for( int i=0; i<in.getNumRows(); i++ ) {
+				for( int j=0; j<in.getNumColumns(); j++ ) {
+					Object val = in.get(i, j);
+					bw.write(((j>0)?",":"") + ((val!=null)?val.toString():""));
+				}
+				bw.newLine();
+			}
+		}
+		finally {
+			bw.close();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.EncoderComposite;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformEncodeIncrementalTest
+{
+	private final static int rows = 500;
+	private final static int cols = 4;
+	
+	private final static String SPEC = "{\"ids\": true, \"recode\": [1, 2], "
+		+ "\"bin\": [{\"id\": 3, \"method\": \"equi-width\", \"numbins\": 4}], "
+		+ "\"impute\": [{\"id\": 4, \"method\": \"global_mean\"}]}";
+	
+	@Test
+	public void testIncrementalBuildSingleThreaded() throws Exception {
+		runIncrementalBuildTest(1);
+	}
+	
+	@Test
+	public void testIncrementalBuildMultiThreaded() throws Exception {
+		runIncrementalBuildTest(4);
+	}
+	
+	private void runIncrementalBuildTest(int k) throws Exception {
+		//full build on first day, incremental build on second day
+		FrameBlock in1 = createFrame(rows, 0, 7);
+		FrameBlock in2 = createFrame(rows, 100, 3); //new tokens, larger values
+		EncoderComposite encoder1 = (EncoderComposite) 
+			EncoderFactory.createEncoder(SPEC, in1.getColumnNames(), cols, null);
+		MatrixBlock out1 = encoder1.encode(in1, new MatrixBlock(rows, cols, false), k);
+		FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		EncoderComposite encoder2 = (EncoderComposite) 
+			EncoderFactory.createEncoder(SPEC, in2.getColumnNames(), cols, null);
+		FrameBlock meta2 = encoder2.build(in2, meta1, k);
+		
+		//check extended recode maps with stable codes
+		for( int j=0; j<2; j++ ) {
+			HashMap<String,Long> map1 = meta1.getRecodeMap(j);
+			HashMap<String,Long> map2 = meta2.getRecodeMap(j);
+			Assert.assertTrue(map2.size() > map1.size());
+			for( Entry<String,Long> e : map1.entrySet() )
+				Assert.assertEquals(e.getValue(), map2.get(e.getKey()));
+			for( int i=0; i<rows; i++ )
+				Assert.assertNotNull(map2.get(in2.get(i, j)));
+			Assert.assertEquals(map2.size(), meta2.getColumnMetadata(j).getNumDistinct());
+		}
+		
+		//check retained bins and imputation values
+		Assert.assertEquals(4, meta2.getColumnMetadata(2).getNumDistinct());
+		for( int i=0; i<4; i++ )
+			Assert.assertEquals(meta1.get(i, 2), meta2.get(i, 2));
+		Assert.assertEquals(meta1.getColumnMetadata(3).getMvValue(), 
+			meta2.getColumnMetadata(3).getMvValue());
+		
+		//check that previously encoded data remains valid
+		MatrixBlock out2 = EncoderFactory.createEncoder(SPEC, in1.getColumnNames(), cols, meta2)
+			.apply(in1, new MatrixBlock(rows, cols, false));
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals(out1.quickGetValue(i, j), out2.quickGetValue(i, j), 0);
+		
+		//check encoding of new data w/ values out of bin range
+		MatrixBlock out3 = encoder2.apply(in2, new MatrixBlock(rows, cols, false));
+		for( int i=0; i<rows; i++ ) {
+			Assert.assertTrue(out3.quickGetValue(i, 0) > 0);
+			Assert.assertTrue(out3.quickGetValue(i, 2) >= 1 && out3.quickGetValue(i, 2) <= 4);
+		}
+	}
+	
+	private static FrameBlock createFrame(int rows, int off, long seed) {
+		FrameBlock ret = new FrameBlock(cols, ValueType.STRING);
+		Random rand = new Random(seed);
+		String[] row = new String[cols];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = "a" + (off + rand.nextInt(50));
+			row[1] = "b" + (off/10 + rand.nextInt(7));
+			row[2] = String.valueOf(off + rand.nextInt(100));
+			row[3] = (rand.nextDouble() < 0.1) ? null : String.valueOf(rand.nextDouble());
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests multi-threaded transform encode (build and apply) against single-threaded
+ * encode. The input is large enough to exceed the parallelization threshold of
+ * 1M cells for both the composite encoder (rows x cols) and the recode encoder
+ * (rows x recoded cols), so the parallel code paths are actually executed.
+ */
+public class TransformEncodeMultiThreadedTest
+{
+	private final static int rows = 360000;
+	private final static int cols = 4; //>1M cells, >1M recode cells
+	
+	private final static String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 2, 3]}";
+	private final static String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1, 2], \"dummycode\": [3]}";
+	
+	@Test
+	public void testEncodeRecodeMultiThreaded() throws Exception {
+		runEncodeTest(SPEC_RECODE, 4);
+	}
+	
+	@Test
+	public void testEncodeDummycodeMultiThreaded() throws Exception {
+		runEncodeTest(SPEC_DUMMY, 4);
+	}
+	
+	@Test
+	public void testEncodeDummycodeManyThreads() throws Exception {
+		runEncodeTest(SPEC_DUMMY, 64);
+	}
+	
+	private void runEncodeTest(String spec, int k) throws Exception {
+		FrameBlock in = createFrame(rows, cols, 7);
+		
+		//single- and multi-threaded build and apply
+		Encoder encoder1 = EncoderFactory.createEncoder(spec, in.getColumnNames(), cols, null);
+		MatrixBlock out1 = encoder1.encode(in, new MatrixBlock(rows, cols, false), 1);
+		FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, in.getColumnNames(), cols, null);
+		MatrixBlock out2 = encoder2.encode(in, new MatrixBlock(rows, cols, false), k);
+		FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		
+		//check equal recode maps (codes in order of first occurrence)
+		for( int j=0; j<3; j++ )
+			Assert.assertEquals(meta1.getRecodeMap(j), meta2.getRecodeMap(j));
+		
+		//check equal encoded outputs
+		Assert.assertEquals(out1.getNumRows(), out2.getNumRows());
+		Assert.assertEquals(out1.getNumColumns(), out2.getNumColumns());
+		Assert.assertEquals(out1.getNonZeros(), out2.getNonZeros());
+		for( int i=0; i<out1.getNumRows(); i++ )
+			for( int j=0; j<out1.getNumColumns(); j++ )
+				Assert.assertEquals(out1.quickGetValue(i, j), out2.quickGetValue(i, j), 0);
+	}
+	
+	private static FrameBlock createFrame(int rows, int cols, long seed) {
+		ValueType[] schema = new ValueType[cols];
+		for( int j=0; j<cols; j++ )
+			schema[j] = (j < 3) ? ValueType.STRING : ValueType.DOUBLE;
+		FrameBlock ret = new FrameBlock(schema);
+		Random rand = new Random(seed);
+		Object[] row = new Object[cols];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = "a" + rand.nextInt(100);
+			row[1] = "b" + rand.nextInt(1000);
+			row[2] = "c" + rand.nextInt(5);
+			for( int j=3; j<cols; j++ )
+				row[j] = rand.nextDouble();
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
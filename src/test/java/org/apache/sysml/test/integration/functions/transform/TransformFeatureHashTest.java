@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformFeatureHashTest
+{
+	private final static int rows = 1000;
+	private final static int cols = 3;
+	private final static int K = 64;
+	
+	private final static String SPEC_HASH = "{\"ids\": true, \"hash\": [1], \"K\": "+K+", \"recode\": [2]}";
+	private final static String SPEC_HASH_DUMMY = "{\"ids\": true, \"hash\": [1], \"K\": "+K+", \"dummycode\": [1, 2]}";
+	
+	@Test
+	public void testFeatureHash() throws Exception {
+		FrameBlock in = createFrame(rows, 7);
+		Encoder encoder = EncoderFactory.createEncoder(SPEC_HASH, in.getColumnNames(), cols, null);
+		MatrixBlock out = encoder.encode(in, new MatrixBlock(rows, cols, false));
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		
+		//check valid and consistent bucket ids, without dictionary
+		Assert.assertEquals(cols, out.getNumColumns());
+		Assert.assertEquals(K, meta.getColumnMetadata(0).getNumDistinct());
+		Assert.assertNull(meta.get(0, 0));
+		for( int i=0; i<rows; i++ ) {
+			double code = out.quickGetValue(i, 0);
+			Assert.assertTrue(code >= 1 && code <= K);
+			for( int i2=0; i2<i; i2++ )
+				if( in.get(i, 0).equals(in.get(i2, 0)) )
+					Assert.assertEquals(code, out.quickGetValue(i2, 0), 0);
+		}
+		
+		//check apply w/ meta data, incl unseen tokens
+		Encoder encoder2 = EncoderFactory.createEncoder(SPEC_HASH, in.getColumnNames(), cols, meta);
+		MatrixBlock out2 = encoder2.apply(in, new MatrixBlock(rows, cols, false));
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals(out.quickGetValue(i, j), out2.quickGetValue(i, j), 0);
+		in.set(0, 0, "unseen");
+		out2 = encoder2.apply(in, new MatrixBlock(rows, cols, false));
+		Assert.assertTrue(out2.quickGetValue(0, 0) >= 1 && out2.quickGetValue(0, 0) <= K);
+	}
+	
+	@Test
+	public void testFeatureHashSparseDummycode() throws Exception {
+		FrameBlock in = createFrame(rows, 7);
+		Encoder encoder1 = EncoderFactory.createEncoder(SPEC_HASH, in.getColumnNames(), cols, null);
+		MatrixBlock codes = encoder1.encode(in, new MatrixBlock(rows, cols, false));
+		Encoder encoder2 = EncoderFactory.createEncoder(SPEC_HASH_DUMMY, in.getColumnNames(), cols, null);
+		MatrixBlock out = encoder2.encode(in, new MatrixBlock(rows, cols, false));
+		int ndistinct = (int)encoder2.getMetaData(new FrameBlock(cols, ValueType.STRING))
+			.getColumnMetadata(1).getNumDistinct();
+		
+		//check sparse one-hot output of hashed and recoded columns
+		Assert.assertEquals(K + ndistinct + 1, out.getNumColumns());
+		Assert.assertTrue(out.isInSparseFormat());
+		Assert.assertEquals(3 * rows, out.getNonZeros());
+		for( int i=0; i<rows; i++ ) {
+			Assert.assertEquals(1, out.quickGetValue(i, (int)codes.quickGetValue(i, 0)-1), 0);
+			Assert.assertEquals(1, out.quickGetValue(i, K+(int)codes.quickGetValue(i, 1)-1), 0);
+			Assert.assertEquals(codes.quickGetValue(i, 2), out.quickGetValue(i, K+ndistinct), 0);
+		}
+	}
+	
+	private static FrameBlock createFrame(int rows, long seed) {
+		FrameBlock ret = new FrameBlock(cols, ValueType.STRING);
+		Random rand = new Random(seed);
+		String[] row = new String[cols];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = "user" + rand.nextInt(100000);
+			row[1] = "c" + rand.nextInt(5);
+			row[2] = String.valueOf(rand.nextInt(100)+1);
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the build of equi-width bins in frame transformencode, where the 
+ * bins are computed from local (CP) or distributed (Spark) column min/max,
+ * and both must yield the same encoded outputs.
+ */
+public class TransformFrameEncodeBinTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "TransformFrameEncodeApply";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformFrameEncodeBinTest.class.getSimpleName() + "/";
+	
+	private final static String DATASET = "homes3/homes.csv";
+	private final static String SPEC = "homes3/homes.tfspec_bin.json"; //incl recode
+	private final static int[] BIN_COLS = new int[]{3, 8}; //1-based
+	private final static int[] NUM_BINS = new int[]{4, 3};
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "y" }) );
+	}
+	
+	@Test
+	public void testHomesBinningSingleNodeVsSpark() {
+		double[][] R1 = runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE);
+		double[][] R2 = runTransformTest(RUNTIME_PLATFORM.SPARK);
+		TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);
+	}
+	
+	private double[][] runTransformTest( RUNTIME_PLATFORM rt )
+	{
+		RUNTIME_PLATFORM rtold = rtplatform;
+		rtplatform = rt;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK || rtplatform == RUNTIME_PLATFORM.HYBRID_SPARK)
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-nvargs", 
+				"DATA=" + HOME + "input/" + DATASET,
+				"TFSPEC=" + HOME + "input/" + SPEC,
+				"TFDATA1=" + output("tfout1"),
+				"TFDATA2=" + output("tfout2"),
+				"OFMT=csv" };
+			runTest(true, false, null, -1); 
+			
+			//read encode/apply outputs and compare
+			double[][] R1 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+				.createMatrixReader(InputInfo.CSVInputInfo)
+				.readMatrixFromHDFS(output("tfout1"), -1L, -1L, 1000, 1000, -1));
+			double[][] R2 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+				.createMatrixReader(InputInfo.CSVInputInfo)
+				.readMatrixFromHDFS(output("tfout2"), -1L, -1L, 1000, 1000, -1));
+			TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);
+			
+			//check bin ids in range, incl first and last bin
+			for( int k=0; k<BIN_COLS.length; k++ ) {
+				double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+				for( int i=0; i<R1.length; i++ ) {
+					min = Math.min(min, R1[i][BIN_COLS[k]-1]);
+					max = Math.max(max, R1[i][BIN_COLS[k]-1]);
+				}
+				Assert.assertEquals(1, min, 0);
+				Assert.assertEquals(NUM_BINS[k], max, 0);
+			}
+			return R1;
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = rtold;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+}
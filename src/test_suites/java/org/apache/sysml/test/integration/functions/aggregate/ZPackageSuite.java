@@ -37,16 +37,19 @@ import org.junit.runners.Suite;
 	FullGroupedAggregateTest.class,
 	FullRowAggregateTest.class,
 	LengthTest.class,
+	LibMatrixSketchTest.class,
 	MaxTest.class,
 	MinTest.class,
 	NColTest.class,
 	NRowTest.class,
 	ProdTest.class,
 	PushdownSumBinaryTest.class,
+	RDDAggregateUtilsTreeTest.class,
 	RowStdDevsTest.class,
 	RowSumsSqTest.class,
 	RowSumTest.class,
 	RowVariancesTest.class,
+	SketchAggregateTest.class,
 	StdDevTest.class,
 	SumSqTest.class,
 	SumTest.class,
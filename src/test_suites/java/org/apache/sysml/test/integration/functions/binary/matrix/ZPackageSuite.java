@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	BinUaggChainTest.class,
 	CentralMomentTest.class,
+	CoPartitionedJoinTest.class,
 	CovarianceTest.class,
 	DiagMatrixMultiplicationTest.class,
 	ElementwiseAdditionMultiplicationTest.class,
@@ -50,7 +51,8 @@ import org.junit.runners.Suite;
 	TransposeMatrixMultiplicationTest.class,
 	UaggOuterChainTest.class,
 	UltraSparseMRMatrixMultiplicationTest.class,
-	ZipMMSparkMatrixMultiplicationTest.class
+	ZipMMSparkMatrixMultiplicationTest.class,
+	ZipPartitionsJoinTest.class
 })
 
 
@@ -34,6 +34,8 @@ import org.junit.runners.Suite;
 	AlgorithmMSVM.class,
 	AlgorithmPNMF.class,
 	CellwiseTmplTest.class,
+	CodegenClassCacheTest.class,
+	CodegenClassShippingTest.class,
 	CompressedCellwiseTest.class,
 	CompressedMultiAggregateTest.class,
 	CompressedOuterProductTest.class,
@@ -39,6 +39,8 @@ import org.junit.runners.Suite;
 	BasicTransposeSelfLeftMatrixMultTest.class,
 	BasicUnaryAggregateTest.class,
 	BasicVectorMatrixMultTest.class,
+	BlockwiseMatrixVectorMultTest.class,
+	CompressedCheckpointTest.class,
 	CompressedL2SVM.class,
 	CompressedLinregCG.class,
 	CompressedSerializationTest.class,
@@ -47,6 +49,7 @@ import org.junit.runners.Suite;
 	LargeParMatrixVectorMultTest.class,
 	LargeParUnaryAggregateTest.class,
 	LargeVectorMatrixMultTest.class,
+	LossyCompressionTest.class,
 	ParCompressionTest.class,
 	ParMatrixMultChainTest.class,
 	ParMatrixVectorMultTest.class,
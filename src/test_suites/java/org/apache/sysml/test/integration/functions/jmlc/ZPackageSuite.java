@@ -33,6 +33,9 @@ import org.junit.runners.Suite;
 	FrameLeftIndexingTest.class,
 	FrameReadMetaTest.class,
 	FrameTransformTest.class,
+	JMLCBatchedScoringTest.class,
+	JMLCBufferPoolBypassTest.class,
+	JMLCConcurrentScoringTest.class,
 	JMLCInputOutputTest.class,
 	JMLCInputStreamReadTest.class,
 	ReuseModelVariablesTest.class,
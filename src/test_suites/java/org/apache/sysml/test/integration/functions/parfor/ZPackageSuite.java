@@ -27,20 +27,27 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	ForLoopPredicateTest.class,
+	LocalTaskQueueWorkStealingTest.class,
 	ParForAdversarialLiteralsTest.class,
 	ParForBlockwiseDataPartitioningTest.class,
 	ParForColwiseDataPartitioningTest.class,
 	ParForDataPartitionLeftIndexingTest.class,
 	ParForDependencyAnalysisTest.class,
+	ParForDisjointResultMergeTest.class,
 	ParForFunctionSerializationTest.class,
+	ParForInMemoryDataPartitioningTest.class,
+	ParForMatrixScalarTest.class,
 	ParForMultipleDataPartitioningTest.class,
 	ParForNaNResultMergeTest.class,
+	ParForOrderTest.class,
 	ParForParallelRemoteResultMergeTest.class,
 	ParForRepeatedOptimizationTest.class,
 	ParForReplaceThreadIDRecompileTest.class,
 	ParForRowwiseDataPartitioningTest.class,
 	ParForRulebasedOptimizerTest.class,
 	ParForSerialRemoteResultMergeTest.class,
+	ParForSharedReadOnlyInputsTest.class,
+	ParForWorkStealingTest.class,
 })
 
 
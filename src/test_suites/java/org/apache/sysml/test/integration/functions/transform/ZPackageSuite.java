@@ -27,10 +27,15 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	FrameCSVReadWriteTest.class,
+	TransformApplyCSVStreamTest.class,
 	TransformCSVFrameEncodeDecodeTest.class,
 	TransformCSVFrameEncodeReadTest.class,
 	TransformEncodeDecodeTest.class,
+	TransformEncodeIncrementalTest.class,
+	TransformEncodeMultiThreadedTest.class,
+	TransformFeatureHashTest.class,
 	TransformFrameEncodeApplyTest.class,
+	TransformFrameEncodeBinTest.class,
 	TransformFrameEncodeDecodeTest.class,
 	TransformFrameEncodeDecodeTokenTest.class,
 })